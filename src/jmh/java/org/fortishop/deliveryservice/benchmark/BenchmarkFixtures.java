@@ -0,0 +1,28 @@
+package org.fortishop.deliveryservice.benchmark;
+
+import java.time.LocalDateTime;
+import org.fortishop.deliveryservice.domain.Delivery;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+
+final class BenchmarkFixtures {
+    static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 1, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    static Delivery delivery(long orderId) {
+        return Delivery.builder()
+                .id(orderId)
+                .orderId(orderId)
+                .status(DeliveryStatus.SHIPPED)
+                .address("서울특별시 강남구 테헤란로 " + orderId + " 포티빌딩 12층")
+                .trackingNumber("CJ" + String.format("%012d", orderId))
+                .deliveryCompany("CJ")
+                .startedAt(NOW.plusHours(2))
+                .paidAt(NOW.plusMinutes(1))
+                .createdAt(NOW)
+                .updatedAt(NOW.plusHours(2))
+                .traceId("4bf92f3577b34da6a3ce929d0e0e4736")
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package org.fortishop.deliveryservice.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.global.logging.DebugTargets;
+import org.fortishop.deliveryservice.global.logging.HotPathLogProperties;
+import org.fortishop.deliveryservice.global.logging.HotPathLogger;
+import org.fortishop.deliveryservice.global.metrics.DeliveryMetrics;
+import org.fortishop.deliveryservice.kafka.DeliveryKafkaProducer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * delivery.changed 발행 경로(ObjectMapper 직렬화 + KafkaTemplate.send + 전송 확인 타이머)를 MockProducer 위에서 잰다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeliveryEventSerializationBenchmark {
+
+    private MockProducer<String, String> mockProducer;
+    private DeliveryKafkaProducer producer;
+    private DeliveryChangedEvent event;
+
+    @Setup
+    public void setUp() {
+        mockProducer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        // 기본 팩토리의 닫기 방지 래퍼를 그대로 쓰도록 실제 프로듀서 생성만 바꾼다.
+        DefaultKafkaProducerFactory<String, String> producerFactory = new DefaultKafkaProducerFactory<>(Map.of()) {
+            @Override
+            protected Producer<String, String> createRawProducer(Map<String, Object> rawConfigs) {
+                return mockProducer;
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        HotPathLogProperties logProperties = new HotPathLogProperties();
+        producer = new DeliveryKafkaProducer(new KafkaTemplate<>(producerFactory), new DeliveryMetrics(meterRegistry),
+                new HotPathLogger(logProperties, new DebugTargets(logProperties), meterRegistry));
+        event = DeliveryChangedEvent.of(BenchmarkFixtures.delivery(1_000_001L), DeliveryStatus.READY);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearHistory() {
+        // MockProducer는 보낸 레코드를 모두 쌓아 두므로 반복마다 비운다.
+        mockProducer.clear();
+    }
+
+    @Benchmark
+    public void sendDeliveryChanged() {
+        producer.sendDeliveryChanged(event);
+    }
+}
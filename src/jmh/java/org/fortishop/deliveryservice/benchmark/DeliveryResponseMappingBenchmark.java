@@ -0,0 +1,30 @@
+package org.fortishop.deliveryservice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.fortishop.deliveryservice.domain.Delivery;
+import org.fortishop.deliveryservice.dto.response.DeliveryResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeliveryResponseMappingBenchmark {
+
+    private Delivery delivery;
+
+    @Setup
+    public void setUp() {
+        delivery = BenchmarkFixtures.delivery(1_000_001L);
+    }
+
+    @Benchmark
+    public DeliveryResponse of() {
+        return DeliveryResponse.of(delivery);
+    }
+}
@@ -0,0 +1,92 @@
+package org.fortishop.deliveryservice.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.fortishop.deliveryservice.controller.DeliveryController;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.response.DeliveryResponse;
+import org.fortishop.deliveryservice.service.DeliveryService;
+import org.fortishop.deliveryservice.stream.DeliveryStatusStreamService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * GET /api/delivery?status= 응답을 Spring MVC와 같은 메시지 컨버터로 렌더링한다. 바이트는 세기만 하고 버린다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeliveryStatusRenderingBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private DeliveryController controller;
+    private MappingJackson2HttpMessageConverter converter;
+    private CountingMessage message;
+
+    @Setup
+    public void setUp() {
+        List<DeliveryResponse> responses = LongStream.rangeClosed(1, size)
+                .mapToObj(orderId -> DeliveryResponse.of(BenchmarkFixtures.delivery(orderId)))
+                .toList();
+        DeliveryService deliveryService = Mockito.mock(DeliveryService.class);
+        Mockito.when(deliveryService.getByStatus(DeliveryStatus.SHIPPED)).thenReturn(responses);
+        controller = new DeliveryController(deliveryService, Mockito.mock(DeliveryStatusStreamService.class));
+        converter = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+        message = new CountingMessage();
+    }
+
+    @Benchmark
+    public long renderByStatus() throws IOException {
+        List<DeliveryResponse> body = controller.getByStatus(DeliveryStatus.SHIPPED).getBody();
+        message.reset();
+        converter.write(body, MediaType.APPLICATION_JSON, message);
+        return message.count;
+    }
+
+    private static final class CountingMessage extends OutputStream implements HttpOutputMessage {
+        private HttpHeaders headers = new HttpHeaders();
+        private long count;
+
+        private void reset() {
+            headers = new HttpHeaders();
+            count = 0;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
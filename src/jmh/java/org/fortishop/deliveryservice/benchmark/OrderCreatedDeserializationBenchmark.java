@@ -0,0 +1,58 @@
+package org.fortishop.deliveryservice.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.fortishop.deliveryservice.dto.event.OrderCreatedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+/**
+ * KafkaConsumerConfig와 같은 설정의 JsonDeserializer로 order.created 페이로드를 역직렬화한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderCreatedDeserializationBenchmark {
+
+    @Param({"1", "20"})
+    public int items;
+
+    private JsonDeserializer<OrderCreatedEvent> deserializer;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        deserializer = new JsonDeserializer<>(OrderCreatedEvent.class);
+        deserializer.addTrustedPackages("*");
+        deserializer.setRemoveTypeHeaders(false);
+        deserializer.setUseTypeMapperForKey(true);
+        deserializer.setUseTypeHeaders(false);
+
+        StringBuilder json = new StringBuilder("{\"orderId\":1000001,\"memberId\":42,\"totalPrice\":128000,")
+                .append("\"address\":\"서울특별시 강남구 테헤란로 1 포티빌딩 12층\",\"items\":[");
+        for (int i = 0; i < items; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"productId\":").append(1000 + i).append(",\"quantity\":2,\"price\":6400}");
+        }
+        json.append("],\"createdAt\":\"2025-05-01T12:00:00\",\"traceId\":\"4bf92f3577b34da6a3ce929d0e0e4736\"}");
+        payload = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        deserializer.close();
+    }
+
+    @Benchmark
+    public OrderCreatedEvent deserialize() {
+        return deserializer.deserialize("order.created", payload);
+    }
+}
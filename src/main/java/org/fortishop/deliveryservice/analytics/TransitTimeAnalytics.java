@@ -0,0 +1,185 @@
+package org.fortishop.deliveryservice.analytics;
+
+import jakarta.annotation.PreDestroy;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.DataFormatException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.domain.TransitTimeSnapshot;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.dto.response.TransitTimeStatsResponse;
+import org.fortishop.deliveryservice.repository.TransitTimeSnapshotRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 배송 완료 시 (완료 일자, 배송사)별 HDR 히스토그램에 배송 소요 시간(초)을 기록한다.
+ * 인스턴스마다 자기 몫의 누적 히스토그램을 주기적으로 저장하고, 조회 시 모든 인스턴스의 스냅샷을 합친다.
+ * 히스토그램은 손실 없이 더할 수 있으므로 전체 테이블 집계 없이 분위수를 구할 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransitTimeAnalytics {
+    static final String UNKNOWN_CARRIER = "UNKNOWN";
+
+    private final TransitTimeSnapshotRepository snapshotRepository;
+    private final TransitTimeProperties properties;
+
+    private final Map<SketchKey, Sketch> sketches = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeliveryChanged(DeliveryChangedEvent event) {
+        if (event.getStatus() != DeliveryStatus.DELIVERED || event.getPreviousStatus() == DeliveryStatus.DELIVERED
+                || event.getStartedAt() == null || event.getCompletedAt() == null) {
+            return;
+        }
+        long seconds = Duration.between(event.getStartedAt(), event.getCompletedAt()).toSeconds();
+        if (seconds < 0) {
+            log.warn("[Analytics] Negative transit time ignored: orderId={}", event.getOrderId());
+            return;
+        }
+        SketchKey key = new SketchKey(event.getCompletedAt().toLocalDate(), carrierOf(event.getDeliveryCompany()));
+        sketches.computeIfAbsent(key, k -> new Sketch(newHistogram())).record(Math.min(seconds, maxSeconds()));
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.analytics.transit-time.snapshot-interval:60000}")
+    public void snapshot() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate oldestRetained = now.toLocalDate().minusDays(properties.getRetainedDays() - 1L);
+        int saved = 0;
+        for (Map.Entry<SketchKey, Sketch> entry : sketches.entrySet()) {
+            SketchKey key = entry.getKey();
+            Sketch sketch = entry.getValue();
+            if (sketch.dirty.getAndSet(false)) {
+                try {
+                    save(key, sketch.histogram.copy(), now);
+                    saved++;
+                } catch (Exception e) {
+                    sketch.dirty.set(true);
+                    log.error("[Analytics] Failed to save transit time snapshot: {}", key, e);
+                }
+            }
+            if (key.day().isBefore(oldestRetained) && !sketch.dirty.get()) {
+                sketches.remove(key, sketch);
+            }
+        }
+        if (saved > 0) {
+            log.info("[Analytics] Saved transit time snapshots: count={}", saved);
+        }
+    }
+
+    @PreDestroy
+    void flush() {
+        snapshot();
+    }
+
+    public List<TransitTimeStatsResponse> stats(LocalDate from, LocalDate to, String carrier) {
+        Map<SketchKey, Histogram> merged = new TreeMap<>(Comparator.comparing(SketchKey::day)
+                .thenComparing(SketchKey::carrier));
+        // 메모리 값을 먼저 떠 둔다. 그사이 보존 기간이 지나 비워진 스케치는 아래에서 스냅샷으로 읽는다.
+        Map<SketchKey, Histogram> local = new HashMap<>();
+        sketches.forEach((key, sketch) -> {
+            if (!key.day().isBefore(from) && !key.day().isAfter(to) && matches(key.carrier(), carrier)) {
+                local.put(key, sketch.histogram.copy());
+            }
+        });
+        for (TransitTimeSnapshot snapshot : snapshotRepository.findAllByDayBetween(from, to)) {
+            SketchKey key = new SketchKey(snapshot.getDay(), snapshot.getCarrier());
+            // 이 인스턴스의 스냅샷은 저장 주기만큼 늦으므로 메모리에 남아 있으면 메모리 값을 대신 쓴다.
+            if (!matches(snapshot.getCarrier(), carrier)
+                    || properties.getInstanceId().equals(snapshot.getInstanceId()) && local.containsKey(key)) {
+                continue;
+            }
+            merge(merged, key, decode(snapshot.getHistogram()));
+        }
+        local.forEach((key, histogram) -> merge(merged, key, histogram));
+
+        List<TransitTimeStatsResponse> result = new ArrayList<>(merged.size());
+        merged.forEach((key, histogram) -> result.add(new TransitTimeStatsResponse(key.day(), key.carrier(),
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50.0),
+                histogram.getValueAtPercentile(95.0),
+                histogram.getValueAtPercentile(99.0),
+                histogram.getMaxValue())));
+        return result;
+    }
+
+    private void save(SketchKey key, Histogram histogram, LocalDateTime now) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        byte[] encoded = new byte[length];
+        buffer.flip();
+        buffer.get(encoded);
+
+        TransitTimeSnapshot snapshot = snapshotRepository
+                .findByInstanceIdAndDayAndCarrier(properties.getInstanceId(), key.day(), key.carrier())
+                .orElseGet(() -> TransitTimeSnapshot.builder()
+                        .instanceId(properties.getInstanceId())
+                        .day(key.day())
+                        .carrier(key.carrier())
+                        .build());
+        snapshot.update(histogram.getTotalCount(), encoded, now);
+        snapshotRepository.save(snapshot);
+    }
+
+    private void merge(Map<SketchKey, Histogram> merged, SketchKey key, Histogram histogram) {
+        merged.computeIfAbsent(key, k -> newHistogram()).add(histogram);
+    }
+
+    private Histogram decode(byte[] encoded) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), maxSeconds());
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("손상된 배송 소요 시간 스냅샷입니다.", e);
+        }
+    }
+
+    private Histogram newHistogram() {
+        return new ConcurrentHistogram(maxSeconds(), properties.getSignificantDigits());
+    }
+
+    private long maxSeconds() {
+        return properties.getMaxTransitTime().toSeconds();
+    }
+
+    private static boolean matches(String value, String carrier) {
+        return carrier == null || carrier.isBlank() || carrier.equals(value);
+    }
+
+    private static String carrierOf(String deliveryCompany) {
+        return deliveryCompany == null || deliveryCompany.isBlank() ? UNKNOWN_CARRIER : deliveryCompany;
+    }
+
+    private record SketchKey(LocalDate day, String carrier) {
+    }
+
+    private static final class Sketch {
+        private final Histogram histogram;
+        private final AtomicBoolean dirty = new AtomicBoolean();
+
+        private Sketch(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        private void record(long seconds) {
+            histogram.recordValue(seconds);
+            dirty.set(true);
+        }
+    }
+}
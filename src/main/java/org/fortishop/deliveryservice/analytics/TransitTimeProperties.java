@@ -0,0 +1,20 @@
+package org.fortishop.deliveryservice.analytics;
+
+import java.time.Duration;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.analytics.transit-time")
+@Getter
+@Setter
+public class TransitTimeProperties {
+    private String instanceId = UUID.randomUUID().toString();
+    private int retainedDays = 2;
+    private Duration maxTransitTime = Duration.ofDays(30);
+    private int significantDigits = 3;
+    private int maxQueryDays = 31;
+}
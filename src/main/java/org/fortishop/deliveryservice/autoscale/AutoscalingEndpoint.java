@@ -0,0 +1,22 @@
+package org.fortishop.deliveryservice.autoscale;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /actuator/autoscaling 은 마지막 샘플을 돌려준다. 외부 오토스케일러는 desiredReplicas를 폴링하면 된다.
+ */
+@Component
+@Endpoint(id = "autoscaling")
+@RequiredArgsConstructor
+public class AutoscalingEndpoint {
+
+    private final AutoscalingMonitor monitor;
+
+    @ReadOperation
+    public AutoscalingSignal signal() throws Exception {
+        return monitor.latest();
+    }
+}
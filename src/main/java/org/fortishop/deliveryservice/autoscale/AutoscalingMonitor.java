@@ -0,0 +1,279 @@
+package org.fortishop.deliveryservice.autoscale;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.MemberDescription;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.fortishop.deliveryservice.kafka.backpressure.KafkaBackpressureController;
+import org.fortishop.deliveryservice.kafka.config.KafkaProperties;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 리스너 그룹의 전체 lag, 커넥션 풀 대기, 동시 HTTP 요청을 주기적으로 모아 레플리카 권고를 만든다.
+ * 이 인스턴스에 배정된 파티션의 lag이 회복 불가로 판정되면 readiness를 REFUSING_TRAFFIC으로 내리고, 풀리면 되돌린다.
+ */
+@Slf4j
+@Component
+public class AutoscalingMonitor {
+    private static final String POOL_ACQUIRE = "hikaricp.connections.acquire";
+    private static final String POOL_PENDING = "hikaricp.connections.pending";
+    private static final String HTTP_ACTIVE = "http.server.requests.active";
+
+    private final AutoscalingProperties properties;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final KafkaProperties kafkaProperties;
+    private final KafkaBackpressureController backpressureController;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScalingPolicy policy;
+    private final Map<String, AtomicLong> lagGauges = new ConcurrentHashMap<>();
+
+    private volatile AutoscalingSignal latest;
+    private Admin admin;
+    private boolean refusingTraffic;
+    private double lastAcquireNanos;
+    private long lastAcquireCount;
+
+    public AutoscalingMonitor(AutoscalingProperties properties, KafkaListenerEndpointRegistry listenerRegistry,
+                              KafkaProperties kafkaProperties,
+                              KafkaBackpressureController backpressureController, MeterRegistry meterRegistry,
+                              ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.listenerRegistry = listenerRegistry;
+        this.kafkaProperties = kafkaProperties;
+        this.backpressureController = backpressureController;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.policy = new ScalingPolicy(properties);
+
+        Gauge.builder("delivery.autoscaling.desired.replicas", this,
+                        monitor -> monitor.latest == null ? Double.NaN : monitor.latest.desiredReplicas())
+                .register(meterRegistry);
+        Gauge.builder("delivery.autoscaling.unrecoverable", this,
+                        monitor -> monitor.latest != null && monitor.latest.unrecoverable() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (admin != null) {
+            admin.close();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.autoscaling.interval:15000}",
+            initialDelayString = "${delivery.autoscaling.interval:15000}")
+    public void scheduledSample() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            sample();
+        } catch (Exception e) {
+            log.warn("[Autoscaling] Failed to sample signals: {}", e.toString());
+        }
+    }
+
+    public AutoscalingSignal latest() throws Exception {
+        AutoscalingSignal signal = latest;
+        return signal != null ? signal : sample();
+    }
+
+    synchronized AutoscalingSignal sample() throws Exception {
+        Map<String, Set<String>> topicsByGroup = topicsByGroup();
+        List<GroupLag> lags = new ArrayList<>();
+        long assignedLag = 0;
+        for (Map.Entry<String, Set<String>> entry : topicsByGroup.entrySet()) {
+            Map<TopicPartition, Long> partitionLags = new HashMap<>();
+            lags.addAll(groupLag(entry.getKey(), entry.getValue(), partitionLags));
+            for (TopicPartition partition : assignedPartitions(entry.getKey())) {
+                assignedLag += partitionLags.getOrDefault(partition, 0L);
+            }
+        }
+        ScalingPolicy.Sample sample = new ScalingPolicy.Sample(currentReplicas(topicsByGroup.keySet()), lags,
+                assignedLag, poolWaitMillis(), pendingConnections(), inFlightRequests(),
+                backpressureController.isAnyPaused(), LocalDateTime.now());
+
+        AutoscalingSignal signal = policy.evaluate(sample, System.currentTimeMillis());
+        latest = signal;
+        for (GroupLag lag : lags) {
+            lagGauge(lag).set(lag.lag());
+        }
+        updateReadiness(signal);
+        return signal;
+    }
+
+    private void updateReadiness(AutoscalingSignal signal) {
+        if (signal.unrecoverable() && !refusingTraffic) {
+            refusingTraffic = true;
+            log.error("[Autoscaling] Lag is not recoverable, refusing traffic: assignedLag={}, reasons={}",
+                    signal.assignedLag(), signal.reasons());
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        } else if (!signal.unrecoverable() && refusingTraffic) {
+            refusingTraffic = false;
+            log.info("[Autoscaling] Lag is draining again, accepting traffic: assignedLag={}", signal.assignedLag());
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    private Map<String, Set<String>> topicsByGroup() {
+        Map<String, Set<String>> topicsByGroup = new LinkedHashMap<>();
+        for (String listenerId : properties.getListenerIds()) {
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+            String[] topics = container == null ? null : container.getContainerProperties().getTopics();
+            if (topics == null || container.getGroupId() == null) {
+                continue;
+            }
+            topicsByGroup.computeIfAbsent(container.getGroupId(), key -> new LinkedHashSet<>()).addAll(List.of(topics));
+        }
+        return topicsByGroup;
+    }
+
+    /**
+     * 그룹 안에서 이 인스턴스의 리스너 컨테이너에 지금 배정된 파티션.
+     */
+    private Set<TopicPartition> assignedPartitions(String group) {
+        Set<TopicPartition> assigned = new LinkedHashSet<>();
+        for (String listenerId : properties.getListenerIds()) {
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+            if (container == null || !group.equals(container.getGroupId())) {
+                continue;
+            }
+            Collection<TopicPartition> partitions = container.getAssignedPartitions();
+            if (partitions != null) {
+                assigned.addAll(partitions);
+            }
+        }
+        return assigned;
+    }
+
+    private List<GroupLag> groupLag(String group, Set<String> topics, Map<TopicPartition, Long> partitionLags)
+            throws Exception {
+        Map<TopicPartition, OffsetAndMetadata> committed = admin().listConsumerGroupOffsets(group)
+                .partitionsToOffsetAndMetadata().get(timeoutMillis(), TimeUnit.MILLISECONDS);
+        Map<String, TopicDescription> descriptions = admin().describeTopics(topics).allTopicNames()
+                .get(timeoutMillis(), TimeUnit.MILLISECONDS);
+
+        Map<TopicPartition, OffsetSpec> latestSpec = new HashMap<>();
+        Map<TopicPartition, OffsetSpec> earliestSpec = new HashMap<>();
+        for (TopicDescription description : descriptions.values()) {
+            description.partitions().forEach(partition -> {
+                TopicPartition topicPartition = new TopicPartition(description.name(), partition.partition());
+                latestSpec.put(topicPartition, OffsetSpec.latest());
+                earliestSpec.put(topicPartition, OffsetSpec.earliest());
+            });
+        }
+        Map<TopicPartition, ListOffsetsResultInfo> ends = admin().listOffsets(latestSpec).all()
+                .get(timeoutMillis(), TimeUnit.MILLISECONDS);
+        Map<TopicPartition, ListOffsetsResultInfo> starts = admin().listOffsets(earliestSpec).all()
+                .get(timeoutMillis(), TimeUnit.MILLISECONDS);
+
+        List<GroupLag> lags = new ArrayList<>();
+        for (TopicDescription description : descriptions.values()) {
+            long lag = 0;
+            for (var partition : description.partitions()) {
+                TopicPartition topicPartition = new TopicPartition(description.name(), partition.partition());
+                OffsetAndMetadata offset = committed.get(topicPartition);
+                // 아직 커밋이 없는 파티션은 남아 있는 레코드 전체를 밀린 것으로 본다.
+                long position = offset != null ? offset.offset() : starts.get(topicPartition).offset();
+                long partitionLag = Math.max(0, ends.get(topicPartition).offset() - position);
+                partitionLags.put(topicPartition, partitionLag);
+                lag += partitionLag;
+            }
+            lags.add(new GroupLag(group, description.name(), description.partitions().size(), lag));
+        }
+        return lags;
+    }
+
+    private int currentReplicas(Collection<String> groups) throws Exception {
+        if (groups.isEmpty()) {
+            return 1;
+        }
+        int replicas = 0;
+        for (ConsumerGroupDescription group : admin().describeConsumerGroups(groups).all()
+                .get(timeoutMillis(), TimeUnit.MILLISECONDS).values()) {
+            // 한 인스턴스가 리스너마다 멤버를 여럿 두므로 호스트 수로 인스턴스를 센다.
+            long hosts = group.members().stream().map(MemberDescription::host).distinct().count();
+            replicas = Math.max(replicas, (int) hosts);
+        }
+        return Math.max(replicas, 1);
+    }
+
+    private double poolWaitMillis() {
+        double totalNanos = 0;
+        long count = 0;
+        for (Timer timer : meterRegistry.find(POOL_ACQUIRE).timers()) {
+            totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+            count += timer.count();
+        }
+        // 누적 타이머의 직전 샘플 대비 증가분으로 이번 구간의 평균 대기 시간을 구한다.
+        double waitMillis = count > lastAcquireCount
+                ? (totalNanos - lastAcquireNanos) / (count - lastAcquireCount) / 1_000_000.0
+                : 0;
+        lastAcquireNanos = totalNanos;
+        lastAcquireCount = count;
+        return waitMillis;
+    }
+
+    private int pendingConnections() {
+        return (int) meterRegistry.find(POOL_PENDING).gauges().stream().mapToDouble(Gauge::value).sum();
+    }
+
+    private long inFlightRequests() {
+        return meterRegistry.find(HTTP_ACTIVE).longTaskTimers().stream().mapToLong(LongTaskTimer::activeTasks).sum();
+    }
+
+    private AtomicLong lagGauge(GroupLag lag) {
+        return lagGauges.computeIfAbsent(lag.group() + "/" + lag.topic(), key -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("delivery.kafka.consumer.lag", value, AtomicLong::get)
+                    .tag("group", lag.group())
+                    .tag("topic", lag.topic())
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+
+    private Admin admin() {
+        if (admin == null) {
+            admin = Admin.create(Map.of(
+                    AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers(),
+                    AdminClientConfig.CLIENT_ID_CONFIG, "delivery-autoscaling",
+                    AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, (int) timeoutMillis()));
+        }
+        return admin;
+    }
+
+    private long timeoutMillis() {
+        return properties.getAdminTimeout().toMillis();
+    }
+}
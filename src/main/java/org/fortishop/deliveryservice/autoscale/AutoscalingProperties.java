@@ -0,0 +1,40 @@
+package org.fortishop.deliveryservice.autoscale;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.autoscaling")
+@Getter
+@Setter
+public class AutoscalingProperties {
+    private boolean enabled = true;
+    // lag을 계산할 리스너. 인스턴스마다 고유 그룹을 쓰는 delivery.changed 리스너는 제외한다.
+    private List<String> listenerIds = new ArrayList<>(List.of("orderCreatedListener", "paymentFailedListener",
+            "paymentCompletedListener"));
+    private int minReplicas = 1;
+    private int maxReplicas = 10;
+    /**
+     * 레플리카 하나가 감당할 것으로 보는 그룹 전체 lag. 토픽 파티션 수보다 많은 레플리카는 권하지 않는다.
+     */
+    private long targetLagPerReplica = 5_000;
+    /**
+     * 인스턴스당 목표 커넥션 대기 시간(샘플 구간 평균).
+     */
+    private Duration targetPoolWait = Duration.ofMillis(20);
+    /**
+     * 인스턴스당 목표 동시 HTTP 요청 수.
+     */
+    private int targetInFlightRequests = 40;
+    /**
+     * 이 인스턴스에 배정된 파티션의 lag이 이 값을 넘은 채 window 동안 줄지 않으면 회복 불가로 보고 readiness를 내린다.
+     */
+    private long unrecoverableLag = 500_000;
+    private Duration unrecoverableWindow = Duration.ofMinutes(5);
+    private Duration adminTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,23 @@
+package org.fortishop.deliveryservice.autoscale;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 외부 오토스케일러가 폴링하는 한 번의 샘플. desiredReplicas는 세 신호가 각각 요구하는 레플리카 수 중 최댓값이다.
+ */
+public record AutoscalingSignal(
+        int desiredReplicas,
+        int currentReplicas,
+        long totalLag,
+        long assignedLag,
+        List<GroupLag> lags,
+        double poolWaitMillis,
+        int pendingConnections,
+        long inFlightRequests,
+        boolean backpressurePaused,
+        boolean unrecoverable,
+        List<String> reasons,
+        LocalDateTime sampledAt
+) {
+}
@@ -0,0 +1,4 @@
+package org.fortishop.deliveryservice.autoscale;
+
+public record GroupLag(String group, String topic, int partitions, long lag) {
+}
@@ -0,0 +1,112 @@
+package org.fortishop.deliveryservice.autoscale;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 샘플을 레플리카 권고와 회복 불가 판정으로 바꾼다.
+ * lag은 그룹 전체의 적체이므로 목표 lag으로 나눠 필요한 레플리카 수를 구하고(파티션 수가 상한),
+ * 커넥션 대기와 동시 요청은 인스턴스별 값이므로 현재 레플리카 수에 목표 대비 비율을 곱한다.
+ * 백프레셔가 리스너를 멈춘 동안 쌓이는 lag은 DB를 지키려고 일부러 미룬 것이므로, 레플리카를 늘려 DB 부하를 키우지 않도록
+ * lag 권고는 현재 레플리카 수를 넘지 않게 하고 회복 불가 판정도 하지 않는다.
+ * 회복 불가는 그룹 전체 lag이 아니라 이 인스턴스에 배정된 파티션의 lag으로 판단해, 모든 레플리카가 한꺼번에 빠지지 않게 한다.
+ */
+class ScalingPolicy {
+
+    private final AutoscalingProperties properties;
+    private final Deque<long[]> lagHistory = new ArrayDeque<>();
+
+    ScalingPolicy(AutoscalingProperties properties) {
+        this.properties = properties;
+    }
+
+    synchronized AutoscalingSignal evaluate(Sample sample, long nowMillis) {
+        List<String> reasons = new ArrayList<>();
+        int current = Math.max(sample.currentReplicas(), 1);
+        int desired = properties.getMinReplicas();
+
+        long totalLag = sample.lags().stream().mapToLong(GroupLag::lag).sum();
+        for (GroupLag lag : sample.lags()) {
+            int forLag = Math.min(ceilDiv(lag.lag(), properties.getTargetLagPerReplica()), lag.partitions());
+            if (sample.backpressurePaused()) {
+                forLag = Math.min(forLag, current);
+            }
+            if (forLag > desired) {
+                desired = forLag;
+                reasons.add("lag " + lag.group() + "/" + lag.topic() + "=" + lag.lag());
+            }
+        }
+
+        double targetWait = properties.getTargetPoolWait().toNanos() / 1_000_000.0;
+        if (targetWait > 0 && sample.poolWaitMillis() > targetWait) {
+            int forPool = (int) Math.ceil(current * sample.poolWaitMillis() / targetWait);
+            if (forPool > desired) {
+                desired = forPool;
+                reasons.add("poolWaitMs=" + String.format("%.1f", sample.poolWaitMillis()));
+            }
+        }
+        if (properties.getTargetInFlightRequests() > 0
+                && sample.inFlightRequests() > properties.getTargetInFlightRequests()) {
+            int forRequests = (int) Math.ceil((double) current * sample.inFlightRequests()
+                    / properties.getTargetInFlightRequests());
+            if (forRequests > desired) {
+                desired = forRequests;
+                reasons.add("inFlight=" + sample.inFlightRequests());
+            }
+        }
+        desired = Math.max(properties.getMinReplicas(), Math.min(properties.getMaxReplicas(), desired));
+
+        if (sample.backpressurePaused()) {
+            reasons.add("backpressure paused listeners, lag capped at current replicas");
+        }
+
+        boolean unrecoverable = unrecoverable(sample.assignedLag(), sample.backpressurePaused(), nowMillis);
+        if (unrecoverable) {
+            reasons.add("assigned partitions not draining for " + properties.getUnrecoverableWindow());
+        }
+        return new AutoscalingSignal(desired, sample.currentReplicas(), totalLag, sample.assignedLag(),
+                sample.lags(), sample.poolWaitMillis(), sample.pendingConnections(), sample.inFlightRequests(),
+                sample.backpressurePaused(), unrecoverable, reasons, sample.sampledAt());
+    }
+
+    private boolean unrecoverable(long assignedLag, boolean backpressurePaused, long nowMillis) {
+        // 멈춘 동안 lag이 느는 것은 의도한 것이므로 window를 새로 시작한다.
+        if (backpressurePaused || assignedLag < properties.getUnrecoverableLag()) {
+            lagHistory.clear();
+            return false;
+        }
+        lagHistory.addLast(new long[]{nowMillis, assignedLag});
+        long windowMillis = properties.getUnrecoverableWindow().toMillis();
+        // window보다 오래된 샘플 중 가장 최근 것 하나만 기준점으로 남긴다.
+        while (lagHistory.size() > 1) {
+            Iterator<long[]> samples = lagHistory.iterator();
+            samples.next();
+            if (nowMillis - samples.next()[0] < windowMillis) {
+                break;
+            }
+            lagHistory.removeFirst();
+        }
+        long[] oldest = lagHistory.peekFirst();
+        // 임계값 위에 window 내내 머물렀고 그동안 순감소가 없으면 지금 레플리카로는 따라잡지 못한다.
+        return nowMillis - oldest[0] >= windowMillis && assignedLag >= oldest[1];
+    }
+
+    private static int ceilDiv(long value, long divisor) {
+        if (divisor <= 0) {
+            return 0;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (value + divisor - 1) / divisor);
+    }
+
+    /**
+     * @param assignedLag 이 인스턴스의 리스너에 배정된 파티션의 lag 합
+     */
+    record Sample(int currentReplicas, List<GroupLag> lags, long assignedLag, double poolWaitMillis,
+                  int pendingConnections, long inFlightRequests, boolean backpressurePaused,
+                  LocalDateTime sampledAt) {
+    }
+}
@@ -0,0 +1,4 @@
+package org.fortishop.deliveryservice.cache;
+
+public record CachedDelivery(Long deliveryId, Long orderId, String traceId) {
+}
@@ -0,0 +1,212 @@
+package org.fortishop.deliveryservice.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * payment.failed 파티션 중 이 인스턴스에 할당된 파티션의 READY 배송을 메모리에 보관한다.
+ * orderId 키가 항상 같은 파티션으로 가므로, 할당 시 해당 파티션 몫만 적재하고 회수 시 비운다.
+ * 캐시에 없으면 DB로 확인하고, 상태 전이는 조건부 UPDATE로 처리하므로 캐시가 늦어도 정합성은 유지된다.
+ * <p>
+ * 적재는 READY 전체를 훑으므로 poll 스레드에서 하지 않고 전용 스레드로 넘긴다. 리밸런스 콜백이 길어져
+ * max.poll.interval.ms를 넘기면 다시 리밸런스가 일어나기 때문이다. 적재가 끝나기 전에는 캐시에 없는 만큼 DB로 확인한다.
+ */
+@Slf4j
+@Component
+public class DeliveryStateCache implements ConsumerAwareRebalanceListener {
+    static final String TOPIC = "payment.failed";
+    private static final int WARM_UP_PAGE_SIZE = 5_000;
+
+    private final DeliveryRepository deliveryRepository;
+    private final DeliveryEventBus eventBus;
+    private final ShardTemplate shardTemplate;
+
+    private final Map<Long, CachedDelivery> ready = new ConcurrentHashMap<>();
+    private final Set<Integer> ownedPartitions = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> pendingWarmUp = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean warmUpScheduled = new AtomicBoolean();
+    private final ExecutorService warmer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "delivery-state-cache-warmer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile int partitionCount;
+
+    public DeliveryStateCache(DeliveryRepository deliveryRepository, DeliveryEventBus eventBus,
+                              ShardTemplate shardTemplate, MeterRegistry meterRegistry) {
+        this.deliveryRepository = deliveryRepository;
+        this.eventBus = eventBus;
+        this.shardTemplate = shardTemplate;
+        Gauge.builder("delivery.state.cache.size", ready, Map::size).register(meterRegistry);
+        Gauge.builder("delivery.state.cache.partitions", ownedPartitions, Set::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        eventBus.subscribe(this::onDeliveryChanged);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        warmer.shutdownNow();
+    }
+
+    public Map<Long, CachedDelivery> findReady(Collection<Long> orderIds) {
+        if (ready.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, CachedDelivery> found = new HashMap<>();
+        for (Long orderId : orderIds) {
+            CachedDelivery cached = ready.get(orderId);
+            if (cached != null) {
+                found.put(orderId, cached);
+            }
+        }
+        return found;
+    }
+
+    public void evict(Long orderId) {
+        ready.remove(orderId);
+    }
+
+    public int size() {
+        return ready.size();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Set<Integer> assigned = partitionsOf(partitions);
+        if (assigned.isEmpty()) {
+            return;
+        }
+        partitionCount = consumer.partitionsFor(TOPIC).size();
+        ownedPartitions.addAll(assigned);
+        pendingWarmUp.addAll(assigned);
+        scheduleWarmUp();
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        evictPartitions(partitionsOf(partitions));
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        evictPartitions(partitionsOf(partitions));
+    }
+
+    /**
+     * 협력적 리밸런스로 할당이 여러 번 나눠 와도 대기 중인 파티션을 모아 한 번의 스캔으로 적재한다.
+     */
+    private void scheduleWarmUp() {
+        if (warmUpScheduled.compareAndSet(false, true)) {
+            warmer.execute(this::drainWarmUp);
+        }
+    }
+
+    private void drainWarmUp() {
+        try {
+            Set<Integer> partitions = Set.copyOf(pendingWarmUp);
+            pendingWarmUp.removeAll(partitions);
+            if (!partitions.isEmpty()) {
+                warmUp(partitions);
+            }
+        } catch (Exception e) {
+            log.warn("[StateCache] Warm-up failed, falling back to DB lookups: {}", e.getMessage());
+        } finally {
+            warmUpScheduled.set(false);
+            if (!pendingWarmUp.isEmpty()) {
+                scheduleWarmUp();
+            }
+        }
+    }
+
+    private void warmUp(Set<Integer> partitions) {
+        long startedAt = System.currentTimeMillis();
+        int loaded = 0;
+        for (int shardLoaded : shardTemplate.onEachShard(() -> warmUpShard(partitions))) {
+            loaded += shardLoaded;
+        }
+        log.info("[StateCache] Warmed partitions={}, loaded={}, elapsedMs={}", partitions, loaded,
+                System.currentTimeMillis() - startedAt);
+    }
+
+    private int warmUpShard(Set<Integer> partitions) {
+        long lastId = 0L;
+        int loaded = 0;
+        List<CachedDelivery> page;
+        do {
+            page = deliveryRepository.findCachedByStatusAfter(DeliveryStatus.READY, lastId,
+                    PageRequest.of(0, WARM_UP_PAGE_SIZE));
+            for (CachedDelivery delivery : page) {
+                // 적재 중에 회수된 파티션은 더 채우지 않는다.
+                int partition = partitionOf(delivery.orderId());
+                if (partitions.contains(partition) && ownedPartitions.contains(partition)) {
+                    ready.put(delivery.orderId(), delivery);
+                    loaded++;
+                }
+                lastId = delivery.deliveryId();
+            }
+        } while (page.size() == WARM_UP_PAGE_SIZE);
+        return loaded;
+    }
+
+    private void evictPartitions(Set<Integer> partitions) {
+        if (partitions.isEmpty() || partitionCount == 0) {
+            return;
+        }
+        ownedPartitions.removeAll(partitions);
+        pendingWarmUp.removeAll(partitions);
+        ready.keySet().removeIf(orderId -> partitions.contains(partitionOf(orderId)));
+        log.info("[StateCache] Evicted partitions={}", partitions);
+    }
+
+    private void onDeliveryChanged(DeliveryChangedEvent event) {
+        if (event.getStatus() == DeliveryStatus.READY) {
+            if (partitionCount > 0 && ownedPartitions.contains(partitionOf(event.getOrderId()))) {
+                ready.put(event.getOrderId(),
+                        new CachedDelivery(event.getDeliveryId(), event.getOrderId(), event.getTraceId()));
+            }
+        } else {
+            ready.remove(event.getOrderId());
+        }
+    }
+
+    private int partitionOf(Long orderId) {
+        // 상위 서비스가 orderId 문자열을 키로 기본 파티셔너를 사용한다고 가정한다.
+        byte[] key = orderId.toString().getBytes(StandardCharsets.UTF_8);
+        return Utils.toPositive(Utils.murmur2(key)) % partitionCount;
+    }
+
+    private static Set<Integer> partitionsOf(Collection<TopicPartition> partitions) {
+        return partitions.stream()
+                .filter(partition -> TOPIC.equals(partition.topic()))
+                .map(TopicPartition::partition)
+                .collect(Collectors.toSet());
+    }
+}
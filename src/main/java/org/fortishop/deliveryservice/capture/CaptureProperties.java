@@ -0,0 +1,22 @@
+package org.fortishop.deliveryservice.capture;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.capture")
+@Getter
+@Setter
+public class CaptureProperties {
+    private boolean enabled = false;
+    private String directory = "capture";
+    /**
+     * DeliveryController 요청 중 기록할 비율(0~1). Kafka 레코드는 모두 기록한다.
+     */
+    private double httpSampleRate = 0.01;
+    private DataSize maxFileSize = DataSize.ofMegabytes(256);
+    private int queueSize = 10_000;
+}
@@ -0,0 +1,67 @@
+package org.fortishop.deliveryservice.capture;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * {@link CaptureWriter}가 쓴 파일을 순서대로 읽는다. 기록 중 종료로 잘린 마지막 레코드는 끝으로 본다.
+ */
+public class CaptureReader implements Closeable {
+    private static final CaptureRecord.Type[] TYPES = CaptureRecord.Type.values();
+
+    private final DataInputStream in;
+
+    public CaptureReader(InputStream input) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(input, 64 * 1_024));
+        byte[] magic = new byte[CaptureWriter.MAGIC.length];
+        in.readFully(magic);
+        int version = in.readUnsignedByte();
+        if (!Arrays.equals(magic, CaptureWriter.MAGIC) || version != CaptureWriter.VERSION) {
+            throw new IOException("캡처 파일 형식이 아닙니다: version=" + version);
+        }
+    }
+
+    /**
+     * @return 다음 레코드, 파일 끝이면 null
+     */
+    public CaptureRecord next() throws IOException {
+        byte[] bytes;
+        try {
+            int length = in.readInt();
+            bytes = new byte[length];
+            in.readFully(bytes);
+        } catch (EOFException e) {
+            return null;
+        }
+        DataInputStream body = new DataInputStream(new ByteArrayInputStream(bytes));
+        CaptureRecord.Type type = TYPES[body.readUnsignedByte()];
+        long timestamp = body.readLong();
+        String source = readString(body);
+        String key = readString(body);
+        byte[] payload = new byte[body.readInt()];
+        body.readFully(payload);
+        return new CaptureRecord(type, timestamp, source, key, payload);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static String readString(DataInputStream body) throws IOException {
+        int length = body.readShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        body.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,14 @@
+package org.fortishop.deliveryservice.capture;
+
+/**
+ * 캡처 파일의 레코드 하나.
+ *
+ * @param source Kafka는 토픽, HTTP는 "메서드 경로?쿼리"
+ * @param key    Kafka 레코드 키. HTTP는 Content-Type이며 둘 다 없으면 null
+ */
+public record CaptureRecord(Type type, long timestamp, String source, String key, byte[] payload) {
+
+    public enum Type {
+        KAFKA, HTTP
+    }
+}
@@ -0,0 +1,73 @@
+package org.fortishop.deliveryservice.capture;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 캡처 파일 형식: 매직 "DCAP", 버전 1바이트, 그 뒤로 레코드가 이어진다.
+ * 레코드는 int 길이 뒤에 본문이 오며, 본문은 타입(1), 타임스탬프(8), 출처(short 길이 + UTF-8),
+ * 키(short 길이 + UTF-8, 없으면 -1), 페이로드(int 길이 + 바이트) 순이다.
+ * 길이를 앞에 두어 잘린 마지막 레코드는 읽을 때 버릴 수 있다.
+ */
+public class CaptureWriter implements Closeable {
+    static final byte[] MAGIC = {'D', 'C', 'A', 'P'};
+    static final int VERSION = 1;
+
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1_024);
+    private final DataOutputStream body = new DataOutputStream(buffer);
+    private long bytesWritten;
+
+    public CaptureWriter(OutputStream output) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(output, 64 * 1_024));
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        bytesWritten = MAGIC.length + 1;
+    }
+
+    public void write(CaptureRecord record) throws IOException {
+        buffer.reset();
+        body.writeByte(record.type().ordinal());
+        body.writeLong(record.timestamp());
+        writeString(record.source());
+        writeString(record.key());
+        byte[] payload = record.payload() == null ? new byte[0] : record.payload();
+        body.writeInt(payload.length);
+        body.write(payload);
+
+        out.writeInt(buffer.size());
+        buffer.writeTo(out);
+        bytesWritten += Integer.BYTES + buffer.size();
+    }
+
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            body.writeShort(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("캡처 문자열이 너무 깁니다: " + bytes.length);
+        }
+        body.writeShort(bytes.length);
+        body.write(bytes);
+    }
+}
@@ -0,0 +1,63 @@
+package org.fortishop.deliveryservice.capture;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.deliveryservice.controller.DeliveryController;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+/**
+ * DeliveryController로 가는 요청 중 일부를 본문과 함께 기록한다. SSE 구독과 다른 컨트롤러는 제외한다.
+ * 경로로는 같은 접두사를 쓰는 컨트롤러를 가릴 수 없으므로, 요청을 처리한 뒤 매핑된 핸들러로 판단한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "delivery.capture", name = "enabled", havingValue = "true")
+public class HttpCaptureFilter extends OncePerRequestFilter {
+
+    private final TrafficRecorder recorder;
+    private final CaptureProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return ThreadLocalRandom.current().nextDouble() >= properties.getHttpSampleRate();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long timestamp = System.currentTimeMillis();
+        ContentCachingRequestWrapper wrapper = new ContentCachingRequestWrapper(request);
+        try {
+            chain.doFilter(wrapper, response);
+        } finally {
+            if (isCaptured(request)) {
+                record(request, wrapper, timestamp);
+            }
+        }
+    }
+
+    private static boolean isCaptured(HttpServletRequest request) {
+        return request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler
+                && handler.getBeanType() == DeliveryController.class
+                && !SseEmitter.class.isAssignableFrom(handler.getMethod().getReturnType());
+    }
+
+    private void record(HttpServletRequest request, ContentCachingRequestWrapper wrapper, long timestamp) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String query = request.getQueryString();
+        String source = request.getMethod() + " " + path + (query == null ? "" : "?" + query);
+        recorder.record(new CaptureRecord(CaptureRecord.Type.HTTP, timestamp, source,
+                request.getContentType(), wrapper.getContentAsByteArray()));
+    }
+}
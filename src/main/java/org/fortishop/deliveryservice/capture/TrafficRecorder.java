@@ -0,0 +1,163 @@
+package org.fortishop.deliveryservice.capture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 소비한 Kafka 레코드와 표본 HTTP 요청을 캡처 파일로 남긴다.
+ * 처리 스레드는 큐에 넣기만 하고 파일 쓰기는 전용 스레드가 한다. 큐가 차면 버리고 개수만 센다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "delivery.capture", name = "enabled", havingValue = "true")
+public class TrafficRecorder {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final CaptureProperties properties;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<CaptureRecord> queue;
+    private final Counter recorded;
+    private final Counter dropped;
+    private volatile boolean running = true;
+    private Thread writerThread;
+    private CaptureWriter writer;
+
+    public TrafficRecorder(CaptureProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueSize());
+        this.recorded = Counter.builder("delivery.capture.recorded").register(meterRegistry);
+        this.dropped = Counter.builder("delivery.capture.dropped").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        Files.createDirectories(Path.of(properties.getDirectory()));
+        writerThread = new Thread(this::drain, "delivery-capture-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("[Capture] Recording traffic to {}", Path.of(properties.getDirectory()).toAbsolutePath());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public void record(CaptureRecord record) {
+        if (queue.offer(record)) {
+            recorded.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public <T> RecordInterceptor<String, T> recordInterceptor() {
+        return (record, consumer) -> {
+            captureKafka(record);
+            return record;
+        };
+    }
+
+    public <T> BatchInterceptor<String, T> batchInterceptor() {
+        return (records, consumer) -> {
+            records.forEach(this::captureKafka);
+            return records;
+        };
+    }
+
+    private void captureKafka(ConsumerRecord<String, ?> record) {
+        try {
+            // 컨슈머는 역직렬화한 값만 넘겨주므로 같은 JSON으로 다시 직렬화해 둔다.
+            record(new CaptureRecord(CaptureRecord.Type.KAFKA, record.timestamp(), record.topic(), record.key(),
+                    objectMapper.writeValueAsBytes(record.value())));
+        } catch (Exception e) {
+            dropped.increment();
+            log.debug("[Capture] Failed to capture record: topic={}", record.topic(), e);
+        }
+    }
+
+    private void drain() {
+        List<CaptureRecord> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                CaptureRecord first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    flush();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, 1_000);
+                for (CaptureRecord record : batch) {
+                    writerFor().write(record);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                dropped.increment(batch.size());
+                log.error("[Capture] Failed to write capture file", e);
+                closeWriter();
+            } finally {
+                batch.clear();
+            }
+        }
+        closeWriter();
+    }
+
+    private CaptureWriter writerFor() throws IOException {
+        if (writer != null && writer.bytesWritten() >= properties.getMaxFileSize().toBytes()) {
+            closeWriter();
+        }
+        if (writer == null) {
+            Path file = Path.of(properties.getDirectory(), "capture-" + LocalDateTime.now().format(FILE_TIME)
+                    + "-" + ProcessHandle.current().pid() + ".dcap");
+            writer = new CaptureWriter(Files.newOutputStream(file));
+            log.info("[Capture] Opened capture file: {}", file);
+        }
+        return writer;
+    }
+
+    private void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            log.error("[Capture] Failed to flush capture file", e);
+        }
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.error("[Capture] Failed to close capture file", e);
+        }
+        writer = null;
+    }
+}
@@ -0,0 +1,239 @@
+package org.fortishop.deliveryservice.capture;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+/**
+ * 캡처 파일을 타임스탬프 순으로 병합해 로컬 인스턴스에 다시 흘려보낸다.
+ * Kafka 레코드는 같은 토픽·키로 발행하고, HTTP 요청은 base-url 앞에 붙여 보낸다.
+ * <pre>
+ * gradle replayTraffic -Preplay.input=capture -Preplay.speed=2 \
+ *     -Preplay.bootstrap-servers=localhost:9092 -Preplay.base-url=http://localhost:8080
+ * </pre>
+ * speed가 0이면 간격 없이 최대 속도로 보낸다.
+ */
+@Slf4j
+public class TrafficReplayer {
+    private static final int MAX_IN_FLIGHT_HTTP = 256;
+
+    private final double speed;
+    private final Producer<String, byte[]> producer;
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Semaphore httpPermits = new Semaphore(MAX_IN_FLIGHT_HTTP);
+    private final Map<String, LongAdder> sent = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> httpStatuses = new ConcurrentHashMap<>();
+    private final AtomicLong maxBehindMillis = new AtomicLong();
+
+    TrafficReplayer(double speed, Producer<String, byte[]> producer, HttpClient httpClient, String baseUrl) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("speed는 0 이상이어야 합니다.");
+        }
+        this.speed = speed;
+        this.producer = producer;
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        List<Path> files = captureFiles(Path.of(required(options, "input")));
+        double speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+
+        KafkaProducer<String, byte[]> producer = null;
+        if (options.containsKey("bootstrap-servers")) {
+            Properties props = new Properties();
+            props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, options.get("bootstrap-servers"));
+            props.put(ProducerConfig.LINGER_MS_CONFIG, 1);
+            producer = new KafkaProducer<>(props, new StringSerializer(), new ByteArraySerializer());
+        }
+        HttpClient httpClient = options.containsKey("base-url")
+                ? HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build()
+                : null;
+
+        try {
+            new TrafficReplayer(speed, producer, httpClient, options.get("base-url")).replay(files);
+        } finally {
+            if (producer != null) {
+                producer.close();
+            }
+        }
+    }
+
+    void replay(List<Path> files) throws IOException, InterruptedException {
+        PriorityQueue<Cursor> cursors =
+                new PriorityQueue<>(Comparator.comparingLong(cursor -> cursor.head.timestamp()));
+        try {
+            for (Path file : files) {
+                Cursor cursor = new Cursor(new CaptureReader(Files.newInputStream(file)));
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                } else {
+                    cursor.reader.close();
+                }
+            }
+            if (cursors.isEmpty()) {
+                log.warn("[Replay] No records in {}", files);
+                return;
+            }
+
+            long firstTimestamp = cursors.peek().head.timestamp();
+            long startedAt = System.nanoTime();
+            while (!cursors.isEmpty()) {
+                Cursor cursor = cursors.poll();
+                CaptureRecord record = cursor.head;
+                waitUntilDue(startedAt, record.timestamp() - firstTimestamp);
+                send(record);
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                } else {
+                    cursor.reader.close();
+                }
+            }
+            if (producer != null) {
+                producer.flush();
+            }
+            httpPermits.acquire(MAX_IN_FLIGHT_HTTP);
+            httpPermits.release(MAX_IN_FLIGHT_HTTP);
+            log.info("[Replay] Completed: sent={}, httpStatuses={}, maxBehindMs={}, elapsedMs={}",
+                    new TreeMap<>(sent), new TreeMap<>(httpStatuses), maxBehindMillis.get(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        } finally {
+            for (Cursor cursor : cursors) {
+                cursor.reader.close();
+            }
+        }
+    }
+
+    private void waitUntilDue(long startedAt, long offsetMillis) {
+        if (speed == 0) {
+            return;
+        }
+        long due = startedAt + (long) (TimeUnit.MILLISECONDS.toNanos(offsetMillis) / speed);
+        long now;
+        while ((now = System.nanoTime()) < due) {
+            LockSupport.parkNanos(due - now);
+        }
+        maxBehindMillis.accumulateAndGet(TimeUnit.NANOSECONDS.toMillis(now - due), Math::max);
+    }
+
+    private void send(CaptureRecord record) throws InterruptedException {
+        switch (record.type()) {
+            case KAFKA -> {
+                if (producer == null) {
+                    return;
+                }
+                producer.send(new ProducerRecord<>(record.source(), record.key(), record.payload()));
+                count(record.source());
+            }
+            case HTTP -> {
+                if (httpClient == null) {
+                    return;
+                }
+                sendHttp(record);
+                count("http");
+            }
+        }
+    }
+
+    private void sendHttp(CaptureRecord record) throws InterruptedException {
+        String[] methodAndPath = record.source().split(" ", 2);
+        byte[] body = record.payload();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + methodAndPath[1]))
+                .timeout(Duration.ofSeconds(30))
+                .method(methodAndPath[0], body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        if (record.key() != null) {
+            request.header("Content-Type", record.key());
+        }
+        httpPermits.acquire();
+        httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, e) -> {
+                    httpPermits.release();
+                    int status = e == null ? response.statusCode() : -1;
+                    httpStatuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                });
+    }
+
+    private void count(String source) {
+        sent.computeIfAbsent(source, key -> new LongAdder()).increment();
+    }
+
+    private static List<Path> captureFiles(Path input) throws IOException {
+        if (!Files.isDirectory(input)) {
+            return List.of(input);
+        }
+        try (Stream<Path> paths = Files.list(input)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(".dcap"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new TreeMap<>();
+        List<String> invalid = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                invalid.add(arg);
+                continue;
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        if (!invalid.isEmpty()) {
+            throw new IllegalArgumentException("--이름=값 형식이 아닌 인자: " + invalid);
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("--" + name + " 인자가 필요합니다.");
+        }
+        return value;
+    }
+
+    private static final class Cursor {
+        private final CaptureReader reader;
+        private CaptureRecord head;
+
+        private Cursor(CaptureReader reader) {
+            this.reader = reader;
+        }
+
+        private boolean advance() throws IOException {
+            head = reader.next();
+            return head != null;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package org.fortishop.deliveryservice.carrier;
+
+public record CarrierAssignment(String deliveryCompany, String trackingNumber) {
+}
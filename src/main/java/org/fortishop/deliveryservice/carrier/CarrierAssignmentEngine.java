@@ -0,0 +1,51 @@
+package org.fortishop.deliveryservice.carrier;
+
+import lombok.RequiredArgsConstructor;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryExceptionType;
+import org.fortishop.deliveryservice.stats.DeliveryStatusIndex;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배송 중(SHIPPED) 건수를 가중치로 나눈 부하가 가장 낮은 배송사를 고르고 송장 번호를 발급한다.
+ * 부하는 클러스터 전체 상태 색인에서 읽으므로 배정에 외부 호출이나 DB 조회가 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CarrierAssignmentEngine {
+
+    private final CarrierProperties properties;
+    private final TrackingNumberAllocator allocator;
+    private final DeliveryStatusIndex statusIndex;
+
+    /**
+     * @param deliveryCompany 지정된 배송사. null이면 부하 기준으로 고른다.
+     */
+    public CarrierAssignment assign(String deliveryCompany) {
+        CarrierProperties.Carrier carrier = deliveryCompany == null || deliveryCompany.isBlank()
+                ? select()
+                : properties.find(deliveryCompany);
+        if (carrier == null) {
+            throw new DeliveryException(DeliveryExceptionType.CARRIER_NOT_AVAILABLE);
+        }
+        return new CarrierAssignment(carrier.getCode(), allocator.next(carrier));
+    }
+
+    private CarrierProperties.Carrier select() {
+        CarrierProperties.Carrier selected = null;
+        double lowest = Double.MAX_VALUE;
+        for (CarrierProperties.Carrier carrier : properties.getCarriers()) {
+            long inFlight = statusIndex.count(carrier.getCode(), DeliveryStatus.SHIPPED);
+            if (carrier.getWeight() <= 0 || inFlight >= carrier.getMaxInFlight()) {
+                continue;
+            }
+            double load = (double) (inFlight + 1) / carrier.getWeight();
+            if (load < lowest) {
+                lowest = load;
+                selected = carrier;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,34 @@
+package org.fortishop.deliveryservice.carrier;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.carrier")
+@Getter
+@Setter
+public class CarrierProperties {
+    private int blockSize = 1_000;
+    private List<Carrier> carriers = new ArrayList<>();
+
+    public Carrier find(String code) {
+        return carriers.stream()
+                .filter(carrier -> carrier.getCode().equals(code))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Getter
+    @Setter
+    public static class Carrier {
+        private String code;
+        private String prefix;
+        private int weight = 1;
+        private long maxInFlight = Long.MAX_VALUE;
+        private int waveCapacity = 200;
+    }
+}
@@ -0,0 +1,138 @@
+package org.fortishop.deliveryservice.carrier;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배송사별 일련번호를 DB에서 blockSize 단위로 예약하고, 예약한 구간은 메모리에서 CAS로 나눠 준다.
+ * 구간을 절반 쓰면 다음 구간을 백그라운드에서 미리 예약해 두므로, 발급 스레드는 보통 락도 DB 왕복도 없이 번호를 받는다.
+ * 미리 받은 구간이 없을 때만 구간을 다 쓴 스레드가 직접 예약한다.
+ * 재시작 시 남은 구간은 버려지므로 번호에 빈틈은 생기지만 중복은 생기지 않는다.
+ */
+@Slf4j
+@Component
+public class TrackingNumberAllocator {
+
+    private static final CompletableFuture<Block> CLAIMED = CompletableFuture.completedFuture(null);
+
+    private final TrackingNumberBlockReserver reserver;
+    private final CarrierProperties properties;
+    private final ShardTemplate shardTemplate;
+    private final Map<String, AtomicReference<Block>> blocks = new ConcurrentHashMap<>();
+    private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tracking-number-prefetcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TrackingNumberAllocator(TrackingNumberBlockReserver reserver, CarrierProperties properties,
+                                   ShardTemplate shardTemplate) {
+        this.reserver = reserver;
+        this.properties = properties;
+        this.shardTemplate = shardTemplate;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        prefetcher.shutdownNow();
+    }
+
+    public String next(CarrierProperties.Carrier carrier) {
+        AtomicReference<Block> current = blocks.computeIfAbsent(carrier.getCode(),
+                code -> new AtomicReference<>(Block.EMPTY));
+        while (true) {
+            Block block = current.get();
+            long serial = block.next.getAndIncrement();
+            if (serial < block.end) {
+                if (serial == block.prefetchAt) {
+                    prefetch(carrier.getCode(), block);
+                }
+                return TrackingNumbers.format(carrier.getPrefix(), serial);
+            }
+            refill(carrier.getCode(), current, block);
+        }
+    }
+
+    private void refill(String code, AtomicReference<Block> current, Block exhausted) {
+        synchronized (current) {
+            if (current.get() != exhausted) {
+                // 다른 스레드가 이미 새 구간을 받아 왔다.
+                return;
+            }
+            Block prefetched = prefetched(code, exhausted);
+            current.set(prefetched != null ? prefetched : reserve(code));
+        }
+    }
+
+    /**
+     * 구간을 다 쓴 스레드가 먼저 자리를 차지했으면 예약하지 않는다. 늦게 도착한 선예약이 구간을 버리지 않게 하기 위해서다.
+     */
+    private void prefetch(String code, Block block) {
+        CompletableFuture<Block> successor = new CompletableFuture<>();
+        if (!block.successor.compareAndSet(null, successor)) {
+            return;
+        }
+        try {
+            prefetcher.execute(() -> {
+                try {
+                    successor.complete(reserve(code));
+                } catch (RuntimeException e) {
+                    successor.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중이면 구간을 다 쓴 스레드가 직접 예약한다.
+            successor.completeExceptionally(e);
+        }
+    }
+
+    private Block prefetched(String code, Block exhausted) {
+        CompletableFuture<Block> successor = exhausted.successor.getAndSet(CLAIMED);
+        if (successor == null) {
+            return null;
+        }
+        try {
+            return successor.join();
+        } catch (CompletionException e) {
+            log.warn("[Carrier] Prefetch of tracking number block failed, reserving inline: carrier={}, reason={}",
+                    code, e.getCause() == null ? e.getMessage() : e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 시퀀스는 홈 샤드의 전역 테이블이므로 주문 샤드에서 호출돼도 홈 샤드에서 예약한다.
+     */
+    private Block reserve(String code) {
+        int size = properties.getBlockSize();
+        long start = shardTemplate.onHomeShard(() -> reserver.reserve(code, size));
+        log.info("[Carrier] Reserved tracking number block: carrier={}, start={}, size={}", code, start, size);
+        return new Block(start, start + size);
+    }
+
+    private static final class Block {
+        private static final Block EMPTY = new Block(0, 0);
+
+        private final AtomicLong next;
+        private final long end;
+        private final long prefetchAt;
+        private final AtomicReference<CompletableFuture<Block>> successor = new AtomicReference<>();
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+            this.prefetchAt = start == end ? -1 : start + (end - start) / 2;
+        }
+    }
+}
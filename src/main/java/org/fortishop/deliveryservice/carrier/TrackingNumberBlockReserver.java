@@ -0,0 +1,36 @@
+package org.fortishop.deliveryservice.carrier;
+
+import lombok.RequiredArgsConstructor;
+import org.fortishop.deliveryservice.repository.TrackingNumberSequenceRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 배송사 일련번호 구간 하나를 별도 트랜잭션에서 예약한다.
+ * 행을 잠그고 읽은 값만큼 바로 올리므로 여러 레플리카가 동시에 예약해도 재시도 없이 서로 다른 구간을 받는다.
+ * 호출한 쪽의 영속성 컨텍스트를 쓰지 않아 오래된 값을 읽지 않고, 실패해도 바깥 트랜잭션을 롤백 전용으로 만들지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrackingNumberBlockReserver {
+
+    private final TrackingNumberSequenceRepository repository;
+
+    /**
+     * @return 예약한 구간의 첫 번호. 바깥 트랜잭션이 롤백돼도 예약은 되돌아가지 않는다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(String carrier, int size) {
+        Long start = repository.lockNextValue(carrier);
+        if (start == null) {
+            repository.insertIfAbsent(carrier);
+            start = repository.lockNextValue(carrier);
+        }
+        if (start + size - 1 > TrackingNumbers.MAX_SERIAL) {
+            throw new IllegalStateException("송장 번호 범위를 모두 사용했습니다: " + carrier);
+        }
+        repository.advance(carrier, size);
+        return start;
+    }
+}
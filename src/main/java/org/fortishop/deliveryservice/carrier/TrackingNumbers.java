@@ -0,0 +1,48 @@
+package org.fortishop.deliveryservice.carrier;
+
+/**
+ * 송장 번호는 "접두어 + 11자리 일련번호 + Luhn 검증 숫자" 형식이다.
+ */
+public final class TrackingNumbers {
+    static final int SERIAL_DIGITS = 11;
+    static final long MAX_SERIAL = 99_999_999_999L;
+
+    private TrackingNumbers() {
+    }
+
+    public static String format(String prefix, long serial) {
+        String digits = String.format("%0" + SERIAL_DIGITS + "d", serial);
+        return prefix + digits + checkDigit(digits);
+    }
+
+    public static boolean isValid(String trackingNumber, String prefix) {
+        if (trackingNumber == null || !trackingNumber.startsWith(prefix)
+                || trackingNumber.length() != prefix.length() + SERIAL_DIGITS + 1) {
+            return false;
+        }
+        String digits = trackingNumber.substring(prefix.length(), trackingNumber.length() - 1);
+        for (int i = 0; i < digits.length(); i++) {
+            if (!Character.isDigit(digits.charAt(i))) {
+                return false;
+            }
+        }
+        return trackingNumber.charAt(trackingNumber.length() - 1) == (char) ('0' + checkDigit(digits));
+    }
+
+    static int checkDigit(String digits) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -11,7 +11,9 @@ import org.fortishop.deliveryservice.dto.request.TrackingUpdateRequest;
 import org.fortishop.deliveryservice.dto.response.DeliveryResponse;
 import org.fortishop.deliveryservice.global.Responder;
 import org.fortishop.deliveryservice.service.DeliveryService;
+import org.fortishop.deliveryservice.stream.DeliveryStatusStreamService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -21,12 +23,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/delivery")
 public class DeliveryController {
     private final DeliveryService deliveryService;
+    private final DeliveryStatusStreamService deliveryStatusStreamService;
 
     @PostMapping
     public ResponseEntity<DeliveryResponse> createDelivery(@Valid @RequestBody DeliveryRequest request) {
@@ -38,6 +42,11 @@ public class DeliveryController {
         return Responder.success(deliveryService.getByOrderId(orderId));
     }
 
+    @GetMapping(value = "/{orderId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatus(@PathVariable(name = "orderId") Long orderId) {
+        return deliveryStatusStreamService.subscribe(orderId, () -> deliveryService.getByOrderId(orderId));
+    }
+
     @GetMapping
     public ResponseEntity<List<DeliveryResponse>> getByStatus(@RequestParam(name = "status") DeliveryStatus status) {
         if (status == DeliveryStatus.CANCELLED) {
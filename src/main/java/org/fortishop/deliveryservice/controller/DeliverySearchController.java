@@ -0,0 +1,39 @@
+package org.fortishop.deliveryservice.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.fortishop.deliveryservice.dto.response.DeliverySearchResponse;
+import org.fortishop.deliveryservice.global.Responder;
+import org.fortishop.deliveryservice.search.DeliverySearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/delivery/search")
+public class DeliverySearchController {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final DeliverySearchService deliverySearchService;
+
+    @GetMapping
+    public ResponseEntity<DeliverySearchResponse> search(
+            @RequestParam(name = "trackingNumber", required = false) String trackingNumber,
+            @RequestParam(name = "address", required = false) String address,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        boolean byTrackingNumber = trackingNumber != null && !trackingNumber.isBlank();
+        boolean byAddress = address != null && !address.isBlank();
+        if (byTrackingNumber == byAddress) {
+            throw new IllegalArgumentException("trackingNumber와 address 중 하나만 지정해야 합니다.");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        return Responder.success(byTrackingNumber
+                ? deliverySearchService.searchByTrackingNumber(trackingNumber)
+                : deliverySearchService.searchByAddress(address, cursor, size));
+    }
+}
@@ -0,0 +1,44 @@
+package org.fortishop.deliveryservice.controller;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.deliveryservice.analytics.TransitTimeAnalytics;
+import org.fortishop.deliveryservice.analytics.TransitTimeProperties;
+import org.fortishop.deliveryservice.dto.response.DeliveryCountsResponse;
+import org.fortishop.deliveryservice.dto.response.TransitTimeStatsResponse;
+import org.fortishop.deliveryservice.global.Responder;
+import org.fortishop.deliveryservice.stats.DeliveryStatusIndex;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/delivery/stats")
+public class DeliveryStatsController {
+    private final DeliveryStatusIndex deliveryStatusIndex;
+    private final TransitTimeAnalytics transitTimeAnalytics;
+    private final TransitTimeProperties transitTimeProperties;
+
+    @GetMapping("/counts")
+    public ResponseEntity<DeliveryCountsResponse> counts() {
+        return Responder.success(deliveryStatusIndex.counts());
+    }
+
+    @GetMapping("/transit-times")
+    public ResponseEntity<List<TransitTimeStatsResponse>> transitTimes(
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "carrier", required = false) String carrier) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= transitTimeProperties.getMaxQueryDays()) {
+            throw new IllegalArgumentException(
+                    "조회 기간은 " + transitTimeProperties.getMaxQueryDays() + "일 이내여야 합니다.");
+        }
+        return Responder.success(transitTimeAnalytics.stats(from, to, carrier));
+    }
+}
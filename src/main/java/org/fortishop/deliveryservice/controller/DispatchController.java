@@ -0,0 +1,54 @@
+package org.fortishop.deliveryservice.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.deliveryservice.carrier.CarrierProperties;
+import org.fortishop.deliveryservice.dispatch.DispatchWavePlanner;
+import org.fortishop.deliveryservice.dto.response.DispatchPlanResponse;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryExceptionType;
+import org.fortishop.deliveryservice.global.Responder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/delivery/dispatch")
+public class DispatchController {
+    private static final int MAX_WAVES = 50;
+    private static final int MAX_CAPACITY = 10_000;
+
+    private final DispatchWavePlanner dispatchWavePlanner;
+    private final CarrierProperties carrierProperties;
+
+    @GetMapping("/waves")
+    public ResponseEntity<DispatchPlanResponse> planWaves(
+            @RequestParam(name = "carrier", required = false) String carrier,
+            @RequestParam(name = "waves", defaultValue = "1") int waves,
+            @RequestParam(name = "capacity", required = false) Integer capacity) {
+        if (waves < 1 || waves > MAX_WAVES) {
+            throw new IllegalArgumentException("waves는 1 이상 " + MAX_WAVES + " 이하여야 합니다.");
+        }
+        if (capacity != null && (capacity < 1 || capacity > MAX_CAPACITY)) {
+            throw new IllegalArgumentException("capacity는 1 이상 " + MAX_CAPACITY + " 이하여야 합니다.");
+        }
+        return Responder.success(dispatchWavePlanner.plan(capacities(carrier, capacity), waves));
+    }
+
+    private Map<String, Integer> capacities(String carrier, Integer capacity) {
+        Map<String, Integer> capacities = new LinkedHashMap<>();
+        for (CarrierProperties.Carrier configured : carrierProperties.getCarriers()) {
+            if (carrier == null || carrier.equals(configured.getCode())) {
+                capacities.put(configured.getCode(), capacity != null ? capacity : configured.getWaveCapacity());
+            }
+        }
+        if (capacities.isEmpty()) {
+            throw new DeliveryException(DeliveryExceptionType.CARRIER_NOT_AVAILABLE);
+        }
+        return capacities;
+    }
+}
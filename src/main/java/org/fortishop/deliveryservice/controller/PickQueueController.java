@@ -0,0 +1,29 @@
+package org.fortishop.deliveryservice.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.fortishop.deliveryservice.dto.response.PickQueueResponse;
+import org.fortishop.deliveryservice.global.Responder;
+import org.fortishop.deliveryservice.pick.PickQueueIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/delivery/pick-queue")
+public class PickQueueController {
+    private static final int MAX_PAGE_SIZE = 1_000;
+
+    private final PickQueueIndex pickQueueIndex;
+
+    @GetMapping
+    public ResponseEntity<PickQueueResponse> read(@RequestParam(name = "cursor", required = false) String cursor,
+                                                  @RequestParam(name = "size", defaultValue = "100") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        return Responder.success(pickQueueIndex.read(cursor, size));
+    }
+}
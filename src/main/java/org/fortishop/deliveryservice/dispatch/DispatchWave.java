@@ -0,0 +1,22 @@
+package org.fortishop.deliveryservice.dispatch;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class DispatchWave {
+
+    private final String carrier;
+    private final int sequence;
+    private final int size;
+    private final List<RegionBatch> regions;
+
+    @Getter
+    @AllArgsConstructor
+    public static class RegionBatch {
+        private final String region;
+        private final List<Long> orderIds;
+    }
+}
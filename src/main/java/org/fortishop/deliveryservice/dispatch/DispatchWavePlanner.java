@@ -0,0 +1,265 @@
+package org.fortishop.deliveryservice.dispatch;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.dto.response.DispatchPlanResponse;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.warmup.WarmUpTask;
+import org.fortishop.deliveryservice.pick.PaidReadyRow;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제된 READY 배송을 권역별로 결제 시각 순 정렬해 보관하고, 이를 배송사별 용량 단위의 출고 웨이브로 나눈다.
+ * 색인은 delivery.changed 버스로 갱신되므로 계획할 때 테이블을 다시 읽지 않는다.
+ * 계획은 조회일 뿐이며, 실제 출고(startDelivery)가 일어나면 버스를 통해 색인에서 빠진다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DispatchWavePlanner implements WarmUpTask {
+    private static final int WARM_UP_PAGE_SIZE = 1_000;
+
+    private final DeliveryEventBus eventBus;
+    private final DeliveryRepository deliveryRepository;
+    private final ShardTemplate shardTemplate;
+
+    private final Map<String, NavigableSet<Entry>> regions = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entriesByOrderId = new ConcurrentHashMap<>();
+    private final Set<Long> removedDuringWarmUp = new ConcurrentSkipListSet<>();
+    // 웜업은 구독보다 늦게 백그라운드에서 시작하므로, 그 사이의 제거도 기록하도록 처음부터 켜 둔다.
+    private volatile boolean warmingUp = true;
+
+    @PostConstruct
+    void subscribe() {
+        eventBus.subscribe(this::onDeliveryChanged);
+    }
+
+    @Override
+    public void warmUp() {
+        int loaded = 0;
+        try {
+            for (int shardLoaded : shardTemplate.onEachShard(this::warmUpShard)) {
+                loaded += shardLoaded;
+            }
+        } finally {
+            warmingUp = false;
+            removedDuringWarmUp.clear();
+        }
+        log.info("[Dispatch] Warmed up: size={}, regions={}", loaded, regions.size());
+    }
+
+    private int warmUpShard() {
+        long lastId = 0L;
+        int loaded = 0;
+        List<PaidReadyRow> page;
+        do {
+            page = deliveryRepository.findPaidRowsAfter(DeliveryStatus.READY, lastId,
+                    PageRequest.of(0, WARM_UP_PAGE_SIZE));
+            for (PaidReadyRow row : page) {
+                if (addIfAbsent(row.orderId(), RegionNormalizer.normalize(row.address()), row.paidAt())) {
+                    loaded++;
+                }
+                lastId = row.deliveryId();
+            }
+        } while (page.size() == WARM_UP_PAGE_SIZE);
+        return loaded;
+    }
+
+    /**
+     * 가장 오래 기다린 배송이 있는 권역부터 웨이브를 채운다. 한 권역은 가능한 한 한 웨이브에 담고,
+     * 용량을 넘는 권역만 여러 웨이브로 나눈다. 채우던 웨이브의 남은 자리보다 크지만 빈 웨이브에는 들어가는 권역은
+     * 나누지 않고 다음 웨이브로 넘긴다. 한 번의 계획에서 같은 배송이 두 웨이브에 들어가지 않는다.
+     *
+     * @param carriers 배송사별 웨이브 용량
+     * @param wavesPerCarrier 배송사마다 만들 웨이브 수
+     */
+    public DispatchPlanResponse plan(Map<String, Integer> carriers, int wavesPerCarrier) {
+        List<Cursor> cursors = new ArrayList<>();
+        regions.forEach((region, entries) -> {
+            Iterator<Entry> iterator = entries.iterator();
+            if (iterator.hasNext()) {
+                cursors.add(new Cursor(region, iterator));
+            }
+        });
+        cursors.sort(Comparator.comparingLong((Cursor cursor) -> cursor.oldest.paidAtMicros)
+                .thenComparing(cursor -> cursor.region));
+
+        List<DispatchWave> waves = new ArrayList<>();
+        int planned = 0;
+        int next = 0;
+        for (int sequence = 1; sequence <= wavesPerCarrier; sequence++) {
+            for (Map.Entry<String, Integer> carrier : carriers.entrySet()) {
+                int capacity = carrier.getValue();
+                List<DispatchWave.RegionBatch> batches = new ArrayList<>();
+                int size = 0;
+                while (size < capacity && next < cursors.size()) {
+                    Cursor cursor = cursors.get(next);
+                    if (size > 0) {
+                        int remaining = cursor.remainingUpTo(capacity);
+                        if (remaining > capacity - size && remaining <= capacity) {
+                            break;
+                        }
+                    }
+                    List<Long> orderIds = cursor.take(capacity - size);
+                    batches.add(new DispatchWave.RegionBatch(cursor.region, orderIds));
+                    size += orderIds.size();
+                    if (cursor.isExhausted()) {
+                        next++;
+                    }
+                }
+                if (size == 0) {
+                    break;
+                }
+                waves.add(new DispatchWave(carrier.getKey(), sequence, size, batches));
+                planned += size;
+            }
+        }
+        return new DispatchPlanResponse(waves, planned, entriesByOrderId.size());
+    }
+
+    public int size() {
+        return entriesByOrderId.size();
+    }
+
+    private void onDeliveryChanged(DeliveryChangedEvent event) {
+        if (event.getStatus() == DeliveryStatus.READY && event.getPaidAt() != null) {
+            add(event.getOrderId(), event.getRegion(), event.getPaidAt());
+        } else {
+            remove(event.getOrderId());
+        }
+    }
+
+    // 주문별 항목과 권역 버킷은 entriesByOrderId.compute 안에서 함께 바꾼다. 같은 주문의 추가·제거가 서로 끼어들면
+    // 권역 버킷에 주인 없는 항목이 남아 이후 모든 계획에 나오기 때문이다.
+    private void add(Long orderId, String region, LocalDateTime paidAt) {
+        Entry entry = newEntry(orderId, region, paidAt);
+        entriesByOrderId.compute(orderId, (key, previous) -> {
+            if (entry.equals(previous)) {
+                return previous;
+            }
+            if (previous != null) {
+                // 주소가 바뀌어 권역이 달라지면 옮긴다.
+                unlink(previous);
+            }
+            link(entry);
+            return entry;
+        });
+    }
+
+    /**
+     * 웜업 스캔 결과는 버스로 먼저 들어온 항목이나 적재 중 빠진 주문을 덮어쓰지 않는다.
+     */
+    private boolean addIfAbsent(Long orderId, String region, LocalDateTime paidAt) {
+        Entry entry = newEntry(orderId, region, paidAt);
+        return entriesByOrderId.compute(orderId, (key, previous) -> {
+            if (previous != null || removedDuringWarmUp.contains(key)) {
+                return previous;
+            }
+            link(entry);
+            return entry;
+        }) == entry;
+    }
+
+    private void remove(Long orderId) {
+        entriesByOrderId.compute(orderId, (key, entry) -> {
+            if (warmingUp) {
+                removedDuringWarmUp.add(key);
+            }
+            if (entry != null) {
+                unlink(entry);
+            }
+            return null;
+        });
+    }
+
+    private void link(Entry entry) {
+        regions.compute(entry.region, (key, entries) -> {
+            NavigableSet<Entry> bucket = entries != null ? entries : new ConcurrentSkipListSet<>();
+            bucket.add(entry);
+            return bucket;
+        });
+    }
+
+    private void unlink(Entry entry) {
+        regions.computeIfPresent(entry.region, (key, entries) -> {
+            entries.remove(entry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    private static Entry newEntry(Long orderId, String region, LocalDateTime paidAt) {
+        return new Entry(toMicros(paidAt), orderId, region != null ? region : RegionNormalizer.UNKNOWN);
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), time);
+    }
+
+    private record Entry(long paidAtMicros, long orderId, String region) implements Comparable<Entry> {
+
+        @Override
+        public int compareTo(Entry other) {
+            int compared = Long.compare(paidAtMicros, other.paidAtMicros);
+            return compared != 0 ? compared : Long.compare(orderId, other.orderId);
+        }
+    }
+
+    /**
+     * 권역 버킷을 한 번만 훑는다. 남은 건수는 필요한 만큼만 앞서 읽어 두고, 앞서 읽은 항목부터 꺼낸다.
+     */
+    private static final class Cursor {
+        private final String region;
+        private final Iterator<Entry> iterator;
+        private final Deque<Entry> lookahead = new ArrayDeque<>();
+        private final Entry oldest;
+
+        private Cursor(String region, Iterator<Entry> iterator) {
+            this.region = region;
+            this.iterator = iterator;
+            this.oldest = iterator.next();
+            lookahead.add(oldest);
+        }
+
+        /**
+         * 남은 건수. limit을 넘으면 limit + 1을 돌려준다.
+         */
+        private int remainingUpTo(int limit) {
+            while (lookahead.size() <= limit && iterator.hasNext()) {
+                lookahead.add(iterator.next());
+            }
+            return lookahead.size();
+        }
+
+        private List<Long> take(int limit) {
+            List<Long> orderIds = new ArrayList<>(Math.min(limit, 1_024));
+            while (orderIds.size() < limit && !isExhausted()) {
+                orderIds.add((lookahead.isEmpty() ? iterator.next() : lookahead.poll()).orderId);
+            }
+            return orderIds;
+        }
+
+        private boolean isExhausted() {
+            return lookahead.isEmpty() && !iterator.hasNext();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.fortishop.deliveryservice.dispatch;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 주소에서 출고 묶음 단위가 되는 권역 키를 뽑는다.
+ * 5자리 우편번호가 있으면 앞 3자리("P063")를, 없으면 "시도 시군구"("서울 강남구")를 쓴다.
+ */
+public final class RegionNormalizer {
+    static final String UNKNOWN = "UNKNOWN";
+
+    private static final Pattern POSTAL_CODE = Pattern.compile("(?<!\\d)(\\d{5})(?!\\d)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Map<String, String> PROVINCES = Map.ofEntries(
+            Map.entry("충청북도", "충북"), Map.entry("충청남도", "충남"),
+            Map.entry("전라북도", "전북"), Map.entry("전북특별자치도", "전북"), Map.entry("전라남도", "전남"),
+            Map.entry("경상북도", "경북"), Map.entry("경상남도", "경남"),
+            Map.entry("강원특별자치도", "강원"), Map.entry("제주특별자치도", "제주"),
+            Map.entry("세종특별자치시", "세종"));
+    private static final Pattern PROVINCE_SUFFIX = Pattern.compile("(특별시|광역시|특별자치시|특별자치도|도|시)$");
+
+    private RegionNormalizer() {
+    }
+
+    public static String normalize(String address) {
+        if (address == null || address.isBlank()) {
+            return UNKNOWN;
+        }
+        Matcher postal = POSTAL_CODE.matcher(address);
+        if (postal.find()) {
+            return "P" + postal.group(1).substring(0, 3);
+        }
+        String[] tokens = WHITESPACE.split(address.strip(), 3);
+        String province = province(tokens[0]);
+        return tokens.length > 1 ? province + " " + tokens[1] : province;
+    }
+
+    private static String province(String token) {
+        String alias = PROVINCES.get(token);
+        if (alias != null) {
+            return alias;
+        }
+        String stripped = PROVINCE_SUFFIX.matcher(token).replaceFirst("");
+        return stripped.isEmpty() ? token : stripped;
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -16,9 +17,17 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.fortishop.deliveryservice.search.AddressNormalizer;
 
+/**
+ * 송장번호 유니크 색인(uk_deliveries_tracking_number)과 주소 FULLTEXT 색인은 JPA 스키마 생성에 맡기지 않는다.
+ * 기존 데이터의 중복 확인이 먼저 필요하므로 docs/runbook/deliveries-search-indexes.md 절차로 샤드마다 만든다.
+ */
 @Entity
-@Table(name = "deliveries")
+@Table(name = "deliveries", indexes = {
+        @Index(name = "idx_deliveries_status_paid_at", columnList = "status, paidAt"),
+        @Index(name = "idx_deliveries_status_id", columnList = "status, id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -37,6 +46,12 @@ public class Delivery {
     @Column(columnDefinition = "TEXT")
     private String address;
 
+    /**
+     * 주소 검색용 정규화 값. MySQL에는 런북 절차로 ngram FULLTEXT 색인(ft_deliveries_address_ngram)을 만든다.
+     */
+    @Column(length = 500)
+    private String addressNormalized;
+
     private String trackingNumber;
 
     private String deliveryCompany;
@@ -45,14 +60,20 @@ public class Delivery {
 
     private LocalDateTime completedAt;
 
+    private LocalDateTime paidAt;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
 
     private String traceId;
 
+    @Enumerated(EnumType.STRING)
+    private DeliveryStatus slaBreachedStatus;
+
     @PrePersist
     protected void onCreate() {
+        this.addressNormalized = AddressNormalizer.normalize(address);
         this.createdAt = LocalDateTime.now();
         this.updatedAt = this.createdAt;
     }
@@ -69,6 +90,7 @@ public class Delivery {
 
     public void updateAddress(String address) {
         this.address = address;
+        this.addressNormalized = AddressNormalizer.normalize(address);
     }
 
     public void startDelivery(LocalDateTime startedAt) {
@@ -81,6 +103,10 @@ public class Delivery {
         this.completedAt = completedAt;
     }
 
+    public void markPaid(LocalDateTime paidAt) {
+        this.paidAt = paidAt;
+    }
+
     public void cancel() {
         this.status = DeliveryStatus.CANCELLED;
         this.updatedAt = LocalDateTime.now();
@@ -0,0 +1,58 @@
+package org.fortishop.deliveryservice.domain;
+
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * order.created보다 먼저 도착해 주문 키로 보관하는 이벤트. 보관 테이블마다 공통인 키와 만료 시각을 담는다.
+ */
+@MappedSuperclass
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public abstract class ParkedEvent implements Persistable<Long> {
+
+    @Id
+    private Long orderId;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime expiresAt;
+
+    // 키를 직접 지정하므로 save가 merge 전 SELECT를 하지 않도록 새 엔티티임을 알린다.
+    @Transient
+    private boolean isNew = true;
+
+    protected ParkedEvent(Long orderId, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.orderId = orderId;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public Long getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+}
@@ -0,0 +1,20 @@
+package org.fortishop.deliveryservice.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "pending_compensations", indexes = @Index(name = "idx_pending_compensations_expires_at", columnList = "expiresAt"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PendingCompensation extends ParkedEvent {
+
+    @Builder
+    public PendingCompensation(Long orderId, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        super(orderId, createdAt, expiresAt);
+    }
+}
@@ -0,0 +1,25 @@
+package org.fortishop.deliveryservice.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "pending_payments", indexes = @Index(name = "idx_pending_payments_expires_at", columnList = "expiresAt"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PendingPayment extends ParkedEvent {
+
+    private LocalDateTime paidAt;
+
+    @Builder
+    public PendingPayment(Long orderId, LocalDateTime paidAt, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        super(orderId, createdAt, expiresAt);
+        this.paidAt = paidAt;
+    }
+}
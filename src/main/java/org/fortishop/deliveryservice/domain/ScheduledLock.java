@@ -0,0 +1,35 @@
+package org.fortishop.deliveryservice.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "scheduled_locks")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class ScheduledLock {
+
+    @Id
+    private String name;
+
+    private String lockedBy;
+
+    private LocalDateTime lockedAt;
+
+    private LocalDateTime lockedUntil;
+
+    private long fencingToken;
+
+    public boolean isHeldByOther(String owner, LocalDateTime now) {
+        return lockedBy != null && !lockedBy.equals(owner) && lockedUntil.isAfter(now);
+    }
+}
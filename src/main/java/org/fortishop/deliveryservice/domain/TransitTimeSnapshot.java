@@ -0,0 +1,54 @@
+package org.fortishop.deliveryservice.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "transit_time_snapshots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_transit_time_snapshots_instance_day_carrier",
+                columnNames = {"instanceId", "day", "carrier"}),
+        indexes = @Index(name = "idx_transit_time_snapshots_day", columnList = "day"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class TransitTimeSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String instanceId;
+
+    private LocalDate day;
+
+    private String carrier;
+
+    private long totalCount;
+
+    @Lob
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] histogram;
+
+    private LocalDateTime updatedAt;
+
+    public void update(long totalCount, byte[] histogram, LocalDateTime updatedAt) {
+        this.totalCount = totalCount;
+        this.histogram = histogram;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,55 @@
+package org.fortishop.deliveryservice.dto.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.fortishop.deliveryservice.dispatch.RegionNormalizer;
+import org.fortishop.deliveryservice.domain.Delivery;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+
+/**
+ * 모든 인스턴스가 받는 delivery.changed 브로드캐스트 메시지. 고객 주소는 싣지 않고 출고 묶음에 필요한 권역 키만 보낸다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeliveryChangedEvent {
+    private Long orderId;
+    private Long deliveryId;
+    private DeliveryStatus previousStatus;
+    private DeliveryStatus status;
+    private String region;
+    private String trackingNumber;
+    private String deliveryCompany;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime paidAt;
+    private LocalDateTime changedAt;
+    private String traceId;
+
+    public static DeliveryChangedEvent of(Delivery delivery, DeliveryStatus previousStatus) {
+        return DeliveryChangedEvent.builder()
+                .orderId(delivery.getOrderId())
+                .deliveryId(delivery.getId())
+                .previousStatus(previousStatus)
+                .status(delivery.getStatus())
+                .region(RegionNormalizer.normalize(delivery.getAddress()))
+                .trackingNumber(delivery.getTrackingNumber())
+                .deliveryCompany(delivery.getDeliveryCompany())
+                .startedAt(delivery.getStartedAt())
+                .completedAt(delivery.getCompletedAt())
+                .paidAt(delivery.getPaidAt())
+                .changedAt(LocalDateTime.now())
+                .traceId(delivery.getTraceId())
+                .build();
+    }
+
+    @JsonIgnore
+    public boolean isStatusChanged() {
+        return previousStatus != status;
+    }
+}
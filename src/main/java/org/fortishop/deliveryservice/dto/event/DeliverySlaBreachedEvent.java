@@ -0,0 +1,23 @@
+package org.fortishop.deliveryservice.dto.event;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeliverySlaBreachedEvent {
+
+    private Long orderId;
+    private Long deliveryId;
+    private DeliveryStatus status;
+    private LocalDateTime since;
+    private LocalDateTime deadline;
+    private LocalDateTime breachedAt;
+    private String traceId;
+}
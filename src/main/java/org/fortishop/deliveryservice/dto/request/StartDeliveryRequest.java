@@ -1,17 +1,22 @@
 package org.fortishop.deliveryservice.dto.request;
 
-import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+/**
+ * 두 값을 모두 비우면 배송사와 송장 번호를 자동 배정하고, 배송사만 지정하면 해당 배송사 송장 번호를 발급한다.
+ */
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
 public class StartDeliveryRequest {
-    @NotBlank
     private String trackingNumber;
 
-    @NotBlank
     private String deliveryCompany;
+
+    public boolean hasTrackingInfo() {
+        return trackingNumber != null && !trackingNumber.isBlank()
+                && deliveryCompany != null && !deliveryCompany.isBlank();
+    }
 }
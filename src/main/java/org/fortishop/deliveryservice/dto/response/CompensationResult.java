@@ -0,0 +1,16 @@
+package org.fortishop.deliveryservice.dto.response;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+
+@Getter
+@AllArgsConstructor
+public class CompensationResult {
+
+    private final List<Long> cancelled;
+    private final Map<Long, DeliveryStatus> notCancellable;
+    private final List<Long> missing;
+}
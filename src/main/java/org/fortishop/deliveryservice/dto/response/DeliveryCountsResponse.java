@@ -0,0 +1,16 @@
+package org.fortishop.deliveryservice.dto.response;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+
+@Getter
+@AllArgsConstructor
+public class DeliveryCountsResponse {
+
+    private final long total;
+    private final Map<DeliveryStatus, Long> byStatus;
+    private final Map<String, Map<DeliveryStatus, Long>> byCarrier;
+    private final boolean warmedUp;
+}
@@ -23,11 +23,12 @@ public class DeliveryResponse {
     private LocalDateTime completedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private LocalDateTime paidAt;
 
     public static DeliveryResponse of(Delivery delivery) {
         return new DeliveryResponse(delivery.getId(), delivery.getOrderId(), delivery.getStatus(),
                 delivery.getAddress(),
                 delivery.getTrackingNumber(), delivery.getDeliveryCompany(), delivery.getStartedAt(),
-                delivery.getCompletedAt(), delivery.getCreatedAt(), delivery.getUpdatedAt());
+                delivery.getCompletedAt(), delivery.getCreatedAt(), delivery.getUpdatedAt(), delivery.getPaidAt());
     }
 }
@@ -0,0 +1,15 @@
+package org.fortishop.deliveryservice.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class DeliverySearchResponse {
+
+    private final List<DeliveryResponse> items;
+    private final String nextCursor;
+    private final int size;
+    private final boolean hasNext;
+}
@@ -0,0 +1,38 @@
+package org.fortishop.deliveryservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED, force = true)
+@AllArgsConstructor
+public class DeliveryStatusResponse {
+
+    private Long orderId;
+    private DeliveryStatus previousStatus;
+    private DeliveryStatus status;
+    private String trackingNumber;
+    private String deliveryCompany;
+    private LocalDateTime changedAt;
+
+    public static DeliveryStatusResponse of(DeliveryChangedEvent event) {
+        return new DeliveryStatusResponse(event.getOrderId(), event.getPreviousStatus(), event.getStatus(),
+                event.getTrackingNumber(), event.getDeliveryCompany(), event.getChangedAt());
+    }
+
+    public static DeliveryStatusResponse of(DeliveryResponse delivery) {
+        return new DeliveryStatusResponse(delivery.getOrderId(), null, delivery.getStatus(),
+                delivery.getTrackingNumber(), delivery.getDeliveryCompany(), delivery.getUpdatedAt());
+    }
+
+    @JsonIgnore
+    public boolean isTerminal() {
+        return status == DeliveryStatus.DELIVERED || status == DeliveryStatus.CANCELLED;
+    }
+}
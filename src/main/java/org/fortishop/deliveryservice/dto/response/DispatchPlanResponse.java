@@ -0,0 +1,15 @@
+package org.fortishop.deliveryservice.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.fortishop.deliveryservice.dispatch.DispatchWave;
+
+@Getter
+@AllArgsConstructor
+public class DispatchPlanResponse {
+
+    private final List<DispatchWave> waves;
+    private final int planned;
+    private final int ready;
+}
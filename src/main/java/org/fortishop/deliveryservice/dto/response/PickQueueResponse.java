@@ -0,0 +1,15 @@
+package org.fortishop.deliveryservice.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.fortishop.deliveryservice.pick.PickQueueItem;
+
+@Getter
+@AllArgsConstructor
+public class PickQueueResponse {
+
+    private final List<PickQueueItem> items;
+    private final String nextCursor;
+    private final boolean hasMore;
+}
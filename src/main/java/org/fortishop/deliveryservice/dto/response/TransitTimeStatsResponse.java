@@ -0,0 +1,18 @@
+package org.fortishop.deliveryservice.dto.response;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TransitTimeStatsResponse {
+
+    private final LocalDate day;
+    private final String carrier;
+    private final long count;
+    private final long p50Seconds;
+    private final long p95Seconds;
+    private final long p99Seconds;
+    private final long maxSeconds;
+}
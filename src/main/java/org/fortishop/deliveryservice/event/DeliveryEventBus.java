@@ -0,0 +1,33 @@
+package org.fortishop.deliveryservice.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * delivery.changed 토픽으로 수신한 클러스터 전체의 배송 변경을 인스턴스 내부 구독자에게 전달한다.
+ * 구독자는 Kafka 리스너 스레드에서 호출되므로 블로킹 작업 없이 즉시 반환해야 한다.
+ */
+@Slf4j
+@Component
+public class DeliveryEventBus {
+
+    private final List<Consumer<DeliveryChangedEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    public void subscribe(Consumer<DeliveryChangedEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void publish(DeliveryChangedEvent event) {
+        for (Consumer<DeliveryChangedEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (Exception e) {
+                log.error("[EventBus] Subscriber failed: orderId={}", event.getOrderId(), e);
+            }
+        }
+    }
+}
@@ -4,7 +4,13 @@ import org.fortishop.deliveryservice.global.exception.BaseExceptionType;
 import org.springframework.http.HttpStatus;
 
 public enum DeliveryExceptionType implements BaseExceptionType {
-    DELIVERY_NOT_FOUND("D001", "해당 주문에 대한 배송 정보가 존재하지 않습니다.", HttpStatus.NOT_FOUND);;
+    DELIVERY_NOT_FOUND("D001", "해당 주문에 대한 배송 정보가 존재하지 않습니다.", HttpStatus.NOT_FOUND),
+    STREAM_SUBSCRIBER_LIMIT_EXCEEDED("D002", "배송 상태 구독자가 너무 많습니다. 잠시 후 다시 시도해주세요.",
+            HttpStatus.SERVICE_UNAVAILABLE),
+    SERVICE_OVERLOADED("D003", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.", HttpStatus.SERVICE_UNAVAILABLE),
+    CARRIER_NOT_AVAILABLE("D004", "배정할 수 있는 배송사가 없습니다.", HttpStatus.SERVICE_UNAVAILABLE),
+    DUPLICATE_TRACKING_NUMBER("D005", "이미 다른 배송에 등록된 송장 번호입니다.", HttpStatus.CONFLICT),
+    ADDRESS_SEARCH_NOT_READY("D006", "주소 검색 색인이 아직 준비되지 않았습니다.", HttpStatus.SERVICE_UNAVAILABLE);
 
     private final String errorCode;
     private final String errorMessage;
@@ -0,0 +1,73 @@
+package org.fortishop.deliveryservice.global.admission;
+
+/**
+ * AIMD 방식의 동시성 제한기.
+ * 응답 지연이 임계값 이하이면 한도를 RTT 윈도우당 1씩 늘리고, 초과하거나 실패하면 비율로 줄인다.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double EWMA_WEIGHT = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+
+    private double limit;
+    private int inFlight;
+    private double averageLatencyNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized boolean acquire(long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (inFlight >= (int) limit) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void release(long latencyNanos, boolean success) {
+        inFlight--;
+        averageLatencyNanos = averageLatencyNanos == 0
+                ? latencyNanos
+                : averageLatencyNanos * (1 - EWMA_WEIGHT) + latencyNanos * EWMA_WEIGHT;
+
+        if (!success || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        } else if (inFlight * 2 >= (int) limit) {
+            // 한도 근처까지 사용 중일 때만 늘려야 유휴 상태에서 한도가 부풀지 않는다.
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        notifyAll();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized double getAverageLatencyMillis() {
+        return averageLatencyNanos / 1_000_000.0;
+    }
+}
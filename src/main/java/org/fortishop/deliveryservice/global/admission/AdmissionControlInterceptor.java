@@ -0,0 +1,43 @@
+package org.fortishop.deliveryservice.global.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryExceptionType;
+import org.fortishop.deliveryservice.global.Responder;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Component
+@RequiredArgsConstructor
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final AdmissionController admissionController;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        Bulkhead bulkhead = HttpMethod.GET.matches(request.getMethod()) ? Bulkhead.READ : Bulkhead.WRITE;
+        AdmissionController.Permit permit = admissionController.tryAcquire(bulkhead);
+        if (permit == null) {
+            DeliveryExceptionType type = DeliveryExceptionType.SERVICE_OVERLOADED;
+            response.setHeader("Retry-After", "1");
+            Responder.error(response, type.getErrorCode(), type.getErrorMessage(), type.getHttpStatus());
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof AdmissionController.Permit acquired) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            acquired.release(ex == null && response.getStatus() < 500);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.fortishop.deliveryservice.global.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryExceptionType;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AdmissionController {
+
+    private final AdmissionProperties properties;
+    private final Map<Bulkhead, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(Bulkhead.class);
+    private final Map<Bulkhead, Counter> rejections = new EnumMap<>(Bulkhead.class);
+
+    public AdmissionController(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (Bulkhead bulkhead : Bulkhead.values()) {
+            AdmissionProperties.Limit limit = properties.get(bulkhead);
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limit.getInitialLimit(),
+                    limit.getMinLimit(), limit.getMaxLimit(), limit.getLatencyThreshold().toNanos());
+            limiters.put(bulkhead, limiter);
+
+            String tag = bulkhead.name().toLowerCase();
+            Gauge.builder("delivery.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("bulkhead", tag).register(meterRegistry);
+            Gauge.builder("delivery.admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("bulkhead", tag).register(meterRegistry);
+            rejections.put(bulkhead, Counter.builder("delivery.admission.rejected")
+                    .tag("bulkhead", tag).register(meterRegistry));
+        }
+    }
+
+    public Permit tryAcquire(Bulkhead bulkhead) {
+        if (!properties.isEnabled()) {
+            return Permit.NOOP;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.get(bulkhead);
+        if (!limiter.tryAcquire()) {
+            rejections.get(bulkhead).increment();
+            return null;
+        }
+        return new Permit(limiter, System.nanoTime());
+    }
+
+    public <T> T executeKafka(Supplier<T> task) {
+        return executeKafka(1, task);
+    }
+
+    /**
+     * 배치 리스너용. 한도 조정에는 걸린 시간을 레코드 수로 나눈 레코드당 지연을 쓰므로,
+     * 수백 건 묶음도 단건 리스너와 같은 지연 기준(delivery.admission.kafka.latency-threshold)으로 판단한다.
+     */
+    public <T> T executeKafka(int records, Supplier<T> task) {
+        if (!properties.isEnabled()) {
+            return task.get();
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.get(Bulkhead.KAFKA);
+        try {
+            if (!limiter.acquire(properties.getKafkaAcquireTimeout().toNanos())) {
+                rejections.get(Bulkhead.KAFKA).increment();
+                throw new DeliveryException(DeliveryExceptionType.SERVICE_OVERLOADED);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeliveryException(DeliveryExceptionType.SERVICE_OVERLOADED);
+        }
+
+        Permit permit = new Permit(limiter, System.nanoTime());
+        boolean success = false;
+        try {
+            T result = task.get();
+            success = true;
+            return result;
+        } finally {
+            permit.release(success, records);
+        }
+    }
+
+    public void executeKafka(Runnable task) {
+        executeKafka(1, task);
+    }
+
+    public void executeKafka(int records, Runnable task) {
+        executeKafka(records, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter(Bulkhead bulkhead) {
+        return limiters.get(bulkhead);
+    }
+
+    public static class Permit {
+        static final Permit NOOP = new Permit(null, 0L);
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long startedAt;
+
+        private Permit(AdaptiveConcurrencyLimiter limiter, long startedAt) {
+            this.limiter = limiter;
+            this.startedAt = startedAt;
+        }
+
+        public void release(boolean success) {
+            release(success, 1);
+        }
+
+        void release(boolean success, int units) {
+            if (limiter != null) {
+                limiter.release((System.nanoTime() - startedAt) / Math.max(1, units), success);
+            }
+        }
+    }
+}
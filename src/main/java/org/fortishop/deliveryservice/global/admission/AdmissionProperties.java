@@ -0,0 +1,49 @@
+package org.fortishop.deliveryservice.global.admission;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.admission")
+@Getter
+@Setter
+public class AdmissionProperties {
+    private boolean enabled = true;
+    private Limit read = new Limit(100, 10, 150, Duration.ofMillis(200));
+    private Limit write = new Limit(40, 4, 80, Duration.ofMillis(300));
+    private Limit kafka = new Limit(8, 1, 16, Duration.ofMillis(500));
+    private Duration kafkaAcquireTimeout = Duration.ofSeconds(10);
+
+    public Limit get(Bulkhead bulkhead) {
+        return switch (bulkhead) {
+            case READ -> read;
+            case WRITE -> write;
+            case KAFKA -> kafka;
+        };
+    }
+
+    /**
+     * latencyThreshold는 HTTP 벌크헤드에서는 요청 하나, KAFKA 벌크헤드에서는 레코드 하나에 걸린 시간의 기준이다.
+     */
+    @Getter
+    @Setter
+    public static class Limit {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private Duration latencyThreshold;
+
+        public Limit() {
+        }
+
+        public Limit(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThreshold = latencyThreshold;
+        }
+    }
+}
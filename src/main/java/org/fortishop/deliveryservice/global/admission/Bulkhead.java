@@ -0,0 +1,7 @@
+package org.fortishop.deliveryservice.global.admission;
+
+public enum Bulkhead {
+    READ,   // 조회 API
+    WRITE,  // 변경 API
+    KAFKA   // Kafka 리스너
+}
@@ -0,0 +1,25 @@
+package org.fortishop.deliveryservice.global.config;
+
+import lombok.RequiredArgsConstructor;
+import org.fortishop.deliveryservice.global.admission.AdmissionControlInterceptor;
+import org.fortishop.deliveryservice.global.logging.DebugContextInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+    private final DebugContextInterceptor debugContextInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(debugContextInterceptor)
+                .addPathPatterns("/api/delivery/**");
+        registry.addInterceptor(admissionControlInterceptor)
+                .addPathPatterns("/api/delivery/**")
+                .excludePathPatterns("/api/delivery/*/stream");
+    }
+}
@@ -0,0 +1,22 @@
+package org.fortishop.deliveryservice.global.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("fortishop.delivery.DbCall")
+@Label("Repository Call")
+@Category({"FortiShop", "Database"})
+@StackTrace(false)
+public class DbCallEvent extends Event {
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,134 @@
+package org.fortishop.deliveryservice.global.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 최근 maxAge만큼을 디스크에 굴려 가며 담는 상시 JFR 녹화. 요청이 오거나 지연 임계값을 넘으면 그 구간을 파일로 덤프한다.
+ * 자동 덤프는 쿨다운 안에 한 번만, 전용 스레드에서 수행해 느린 요청을 더 느리게 만들지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "delivery.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeliveryFlightRecorder {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final JfrProperties properties;
+    private final AtomicLong lastAutoDumpAt = new AtomicLong(NEVER);
+    private final ExecutorService dumper = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "delivery-jfr-dumper");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Recording recording;
+
+    public DeliveryFlightRecorder(JfrProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void start() throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration(properties.getSettings()));
+        recording.setName("delivery-continuous");
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.getMaxAge());
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        recording.enable(StateTransitionEvent.class);
+        recording.enable(KafkaProcessingEvent.class);
+        recording.enable(DbCallEvent.class).withThreshold(properties.getDbCallThreshold());
+        recording.start();
+        log.info("[JFR] Continuous recording started: settings={}, maxAge={}", properties.getSettings(),
+                properties.getMaxAge());
+    }
+
+    @PreDestroy
+    void stop() {
+        dumper.shutdownNow();
+        recording.close();
+    }
+
+    public boolean isRecording() {
+        return recording.getState() == RecordingState.RUNNING;
+    }
+
+    public synchronized Path dump(String reason) throws IOException {
+        Path directory = Path.of(properties.getDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("delivery-" + FILE_TIME.format(LocalDateTime.now()) + "-" + sanitize(reason)
+                + ".jfr");
+        recording.dump(file);
+        prune();
+        log.info("[JFR] Dumped recording: file={}, reason={}", file.toAbsolutePath(), reason);
+        return file;
+    }
+
+    public List<Path> dumps() throws IOException {
+        Path directory = Path.of(properties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // 파일 이름이 시각으로 시작하므로 이름순이 곧 시간순이다.
+            return files.filter(file -> file.getFileName().toString().endsWith(".jfr")).sorted().toList();
+        }
+    }
+
+    /**
+     * 지연 임계값을 넘은 작업을 알린다. 쿨다운이 지났으면 백그라운드에서 덤프한다.
+     */
+    public void onLatencyBreach(String source, long elapsedNanos) {
+        if (elapsedNanos < properties.getLatencyThreshold().toNanos()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = lastAutoDumpAt.get();
+        if (last != NEVER && now - last < properties.getAutoDumpCooldown().toNanos()) {
+            return;
+        }
+        if (!lastAutoDumpAt.compareAndSet(last, now)) {
+            return;
+        }
+        log.warn("[JFR] Latency threshold breached, dumping recording: source={}, elapsedMs={}", source,
+                elapsedNanos / 1_000_000);
+        dumper.execute(() -> {
+            try {
+                dump("slow-" + source);
+            } catch (Exception e) {
+                log.warn("[JFR] Failed to dump recording: source={}", source, e);
+            }
+        });
+    }
+
+    private void prune() throws IOException {
+        List<Path> files = dumps();
+        for (Path file : files.subList(0, Math.max(0, files.size() - properties.getMaxDumps()))) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String sanitize(String reason) {
+        if (reason == null || reason.isBlank()) {
+            return "manual";
+        }
+        String safe = reason.replaceAll("[^A-Za-z0-9._-]", "_");
+        return safe.length() > 60 ? safe.substring(0, 60) : safe;
+    }
+}
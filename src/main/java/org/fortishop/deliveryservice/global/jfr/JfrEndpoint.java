@@ -0,0 +1,53 @@
+package org.fortishop.deliveryservice.global.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /actuator/jfr 는 녹화 상태와 남아 있는 덤프 목록을, POST /actuator/jfr {"reason": "..."} 는 즉시 덤프한다.
+ */
+@Component
+@Endpoint(id = "jfr")
+@ConditionalOnProperty(prefix = "delivery.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+    private final DeliveryFlightRecorder flightRecorder;
+
+    @ReadOperation
+    public Map<String, Object> status() throws IOException {
+        List<Map<String, Object>> dumps = new ArrayList<>();
+        for (Path file : flightRecorder.dumps()) {
+            dumps.add(describe(file));
+        }
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("recording", flightRecorder.isRecording());
+        status.put("dumps", dumps);
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> dump(@Nullable String reason) throws IOException {
+        return describe(flightRecorder.dump(reason));
+    }
+
+    private Map<String, Object> describe(Path file) throws IOException {
+        Map<String, Object> dump = new LinkedHashMap<>();
+        dump.put("file", file.toAbsolutePath().toString());
+        dump.put("bytes", Files.size(file));
+        dump.put("modifiedAt", Files.getLastModifiedTime(file).toInstant().toString());
+        return dump;
+    }
+}
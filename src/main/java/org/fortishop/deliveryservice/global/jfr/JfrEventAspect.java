@@ -0,0 +1,132 @@
+package org.fortishop.deliveryservice.global.jfr;
+
+import java.util.Collection;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * DeliveryService 호출과 저장소 호출을 JFR 이벤트로 남긴다.
+ * 단건 작업은 호출을 시작할 때 전이 이벤트를 열어 두고, 같은 스레드에서 발행되는 DeliveryChangedEvent로 상태를 채운 뒤
+ * 호출이 끝날 때 커밋한다. 일괄 작업의 전이는 건별로 순간 이벤트가 된다.
+ * 녹화가 꺼져 있으면 이벤트는 isEnabled()에서 걸러져 할당 외 비용이 없다.
+ */
+@Aspect
+@Component
+public class JfrEventAspect {
+    private static final ThreadLocal<Operation> CURRENT = new ThreadLocal<>();
+
+    private final ObjectProvider<DeliveryFlightRecorder> flightRecorder;
+    private final ClassValue<String> repositoryNames = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(candidate)
+                        && !candidate.getName().startsWith("org.springframework.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        }
+    };
+
+    public JfrEventAspect(ObjectProvider<DeliveryFlightRecorder> flightRecorder) {
+        this.flightRecorder = flightRecorder;
+    }
+
+    @Around("execution(public * org.fortishop.deliveryservice.service.DeliveryService.*(..))")
+    public Object recordService(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (CURRENT.get() != null) {
+            // 샤드 라우터 안쪽의 위임 호출은 바깥 호출 하나로 기록한다.
+            return joinPoint.proceed();
+        }
+        String name = joinPoint.getSignature().getName();
+        Object[] args = joinPoint.getArgs();
+        StateTransitionEvent pending = new StateTransitionEvent();
+        boolean single = pending.isEnabled() && !(args.length > 0 && args[0] instanceof Collection<?>);
+        Operation operation = new Operation(name, single ? pending : null);
+        if (single) {
+            pending.begin();
+        }
+
+        CURRENT.set(operation);
+        long startedAt = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            CURRENT.remove();
+            if (single && pending.toStatus != null) {
+                pending.commit();
+            }
+            breach("service." + name, System.nanoTime() - startedAt);
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object recordDbCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        DbCallEvent event = new DbCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repositoryNames.get(joinPoint.getThis().getClass());
+                event.method = joinPoint.getSignature().getName();
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    @EventListener
+    public void onDeliveryChanged(DeliveryChangedEvent changed) {
+        if (!changed.isStatusChanged()) {
+            return;
+        }
+        Operation operation = CURRENT.get();
+        if (operation != null && operation.pending != null && operation.pending.toStatus == null) {
+            fill(operation.pending, changed, operation.name);
+            return;
+        }
+        StateTransitionEvent event = new StateTransitionEvent();
+        if (event.isEnabled()) {
+            fill(event, changed, operation == null ? null : operation.name);
+            event.commit();
+        }
+    }
+
+    private void breach(String source, long elapsedNanos) {
+        DeliveryFlightRecorder recorder = flightRecorder.getIfAvailable();
+        if (recorder != null) {
+            recorder.onLatencyBreach(source, elapsedNanos);
+        }
+    }
+
+    private static void fill(StateTransitionEvent event, DeliveryChangedEvent changed, String operation) {
+        event.orderId = changed.getOrderId();
+        event.fromStatus = name(changed.getPreviousStatus());
+        event.toStatus = name(changed.getStatus());
+        event.operation = operation;
+        event.traceId = changed.getTraceId();
+    }
+
+    private static String name(DeliveryStatus status) {
+        return status == null ? null : status.name();
+    }
+
+    private record Operation(String name, StateTransitionEvent pending) {
+    }
+}
@@ -0,0 +1,33 @@
+package org.fortishop.deliveryservice.global.jfr;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.jfr")
+@Getter
+@Setter
+public class JfrProperties {
+    private boolean enabled = true;
+    /**
+     * JDK 기본 설정 이름. default는 1% 미만 오버헤드, profile은 더 자세한 대신 무겁다.
+     */
+    private String settings = "default";
+    private Duration maxAge = Duration.ofMinutes(15);
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+    private String directory = "jfr";
+    private int maxDumps = 20;
+    /**
+     * 저장소 호출 이벤트는 이보다 오래 걸린 것만 남긴다.
+     */
+    private Duration dbCallThreshold = Duration.ofMillis(5);
+    /**
+     * DeliveryService 호출이나 Kafka 처리 한 번이 이보다 오래 걸리면 녹화를 자동으로 덤프한다.
+     */
+    private Duration latencyThreshold = Duration.ofSeconds(2);
+    private Duration autoDumpCooldown = Duration.ofMinutes(10);
+}
@@ -0,0 +1,116 @@
+package org.fortishop.deliveryservice.global.jfr;
+
+import java.util.StringJoiner;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 리스너 처리 한 번을 KafkaProcessingEvent로 남기고, 지연 임계값을 넘으면 녹화 덤프를 요청한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class KafkaJfrInterceptor {
+    private static final ThreadLocal<Pending> PENDING = ThreadLocal.withInitial(Pending::new);
+
+    private final ObjectProvider<DeliveryFlightRecorder> flightRecorder;
+
+    public <T> RecordInterceptor<String, T> recordInterceptor() {
+        return new RecordInterceptor<>() {
+            @Override
+            public ConsumerRecord<String, T> intercept(ConsumerRecord<String, T> record,
+                                                       Consumer<String, T> consumer) {
+                begin();
+                return record;
+            }
+
+            @Override
+            public void success(ConsumerRecord<String, T> record, Consumer<String, T> consumer) {
+                complete(record.topic(), String.valueOf(record.partition()), record.offset(), 1, true);
+            }
+
+            @Override
+            public void failure(ConsumerRecord<String, T> record, Exception exception, Consumer<String, T> consumer) {
+                complete(record.topic(), String.valueOf(record.partition()), record.offset(), 1, false);
+            }
+        };
+    }
+
+    public <T> BatchInterceptor<String, T> batchInterceptor() {
+        return new BatchInterceptor<>() {
+            @Override
+            public ConsumerRecords<String, T> intercept(ConsumerRecords<String, T> records,
+                                                        Consumer<String, T> consumer) {
+                begin();
+                return records;
+            }
+
+            @Override
+            public void success(ConsumerRecords<String, T> records, Consumer<String, T> consumer) {
+                completeBatch(records, true);
+            }
+
+            @Override
+            public void failure(ConsumerRecords<String, T> records, Exception exception, Consumer<String, T> consumer) {
+                completeBatch(records, false);
+            }
+        };
+    }
+
+    private void begin() {
+        Pending pending = PENDING.get();
+        pending.startedAt = System.nanoTime();
+        KafkaProcessingEvent event = new KafkaProcessingEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            pending.event = event;
+        } else {
+            pending.event = null;
+        }
+    }
+
+    private void completeBatch(ConsumerRecords<String, ?> records, boolean success) {
+        if (records.isEmpty()) {
+            return;
+        }
+        ConsumerRecord<String, ?> first = records.iterator().next();
+        StringJoiner partitions = new StringJoiner(",");
+        for (TopicPartition partition : records.partitions()) {
+            partitions.add(String.valueOf(partition.partition()));
+        }
+        complete(first.topic(), partitions.toString(), first.offset(), records.count(), success);
+    }
+
+    private void complete(String topic, String partitions, long firstOffset, int recordCount, boolean success) {
+        Pending pending = PENDING.get();
+        long elapsed = System.nanoTime() - pending.startedAt;
+        KafkaProcessingEvent event = pending.event;
+        pending.event = null;
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.topic = topic;
+                event.partitions = partitions;
+                event.firstOffset = firstOffset;
+                event.recordCount = recordCount;
+                event.success = success;
+                event.commit();
+            }
+        }
+        DeliveryFlightRecorder recorder = flightRecorder.getIfAvailable();
+        if (recorder != null) {
+            recorder.onLatencyBreach("kafka." + topic, elapsed);
+        }
+    }
+
+    private static final class Pending {
+        private long startedAt;
+        private KafkaProcessingEvent event;
+    }
+}
@@ -0,0 +1,30 @@
+package org.fortishop.deliveryservice.global.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("fortishop.delivery.KafkaProcessing")
+@Label("Kafka Record Processing")
+@Description("리스너 한 번의 처리. 배치 리스너는 배치 전체를 하나의 이벤트로 남긴다.")
+@Category({"FortiShop", "Kafka"})
+@StackTrace(false)
+public class KafkaProcessingEvent extends Event {
+    @Label("Topic")
+    String topic;
+
+    @Label("Partitions")
+    String partitions;
+
+    @Label("First Offset")
+    long firstOffset;
+
+    @Label("Record Count")
+    int recordCount;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,30 @@
+package org.fortishop.deliveryservice.global.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("fortishop.delivery.StateTransition")
+@Label("Delivery State Transition")
+@Description("배송 상태 전이. 기간은 전이를 일으킨 DeliveryService 호출 전체다.")
+@Category({"FortiShop", "Delivery"})
+@StackTrace(false)
+public class StateTransitionEvent extends Event {
+    @Label("Order Id")
+    long orderId;
+
+    @Label("From")
+    String fromStatus;
+
+    @Label("To")
+    String toStatus;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Trace Id")
+    String traceId;
+}
@@ -0,0 +1,25 @@
+package org.fortishop.deliveryservice.global.lease;
+
+import java.time.Duration;
+import lombok.Getter;
+
+@Getter
+public class Lease {
+
+    private final String name;
+    private final long fencingToken;
+    private final Duration leaseFor;
+    private final boolean stolen;
+    private volatile boolean lost;
+
+    Lease(String name, long fencingToken, Duration leaseFor, boolean stolen) {
+        this.name = name;
+        this.fencingToken = fencingToken;
+        this.leaseFor = leaseFor;
+        this.stolen = stolen;
+    }
+
+    void markLost() {
+        this.lost = true;
+    }
+}
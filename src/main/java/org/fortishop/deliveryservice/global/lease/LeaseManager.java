@@ -0,0 +1,76 @@
+package org.fortishop.deliveryservice.global.lease;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.domain.ScheduledLock;
+import org.fortishop.deliveryservice.repository.ScheduledLockRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * scheduled_locks 행 하나를 작업별 임대로 쓴다. 획득할 때마다 펜싱 토큰이 1씩 오르므로,
+ * 임대를 잃은 뒤 늦게 깨어난 노드의 연장·해제는 토큰이 맞지 않아 무시된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaseManager {
+
+    private final ScheduledLockRepository repository;
+    private final LeaseProperties properties;
+
+    /**
+     * @return 획득한 임대, 다른 노드가 유효한 임대를 갖고 있으면 null
+     */
+    public Lease tryAcquire(String name, Duration leaseFor) {
+        LocalDateTime now = LocalDateTime.now();
+        ScheduledLock current = findOrCreate(name, now);
+        if (current.isHeldByOther(properties.getOwner(), now)) {
+            return null;
+        }
+        int acquired = repository.acquire(name, properties.getOwner(), current.getFencingToken(), now,
+                now.plus(leaseFor));
+        if (acquired == 0) {
+            // 같은 순간 다른 노드가 먼저 토큰을 올렸다.
+            return null;
+        }
+        boolean stolen = current.getLockedBy() != null && !current.getLockedBy().equals(properties.getOwner());
+        if (stolen) {
+            log.warn("[Lease] Took over expired lease: job={}, previousOwner={}", name, current.getLockedBy());
+        }
+        return new Lease(name, current.getFencingToken() + 1, leaseFor, stolen);
+    }
+
+    public boolean renew(Lease lease) {
+        boolean renewed = repository.renew(lease.getName(), properties.getOwner(), lease.getFencingToken(),
+                LocalDateTime.now().plus(lease.getLeaseFor())) == 1;
+        if (!renewed) {
+            lease.markLost();
+        }
+        return renewed;
+    }
+
+    public void release(Lease lease) {
+        repository.release(lease.getName(), properties.getOwner(), lease.getFencingToken(), LocalDateTime.now());
+    }
+
+    private ScheduledLock findOrCreate(String name, LocalDateTime now) {
+        Optional<ScheduledLock> found = repository.findById(name);
+        if (found.isPresent()) {
+            return found.get();
+        }
+        try {
+            return repository.saveAndFlush(ScheduledLock.builder()
+                    .name(name)
+                    .lockedUntil(now)
+                    .fencingToken(0L)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 같은 작업 행을 먼저 만들었다.
+            return repository.findById(name).orElseThrow(() -> e);
+        }
+    }
+}
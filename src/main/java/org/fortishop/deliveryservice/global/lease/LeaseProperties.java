@@ -0,0 +1,17 @@
+package org.fortishop.deliveryservice.global.lease;
+
+import java.time.Duration;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.lease")
+@Getter
+@Setter
+public class LeaseProperties {
+    private String owner = UUID.randomUUID().toString();
+    private Duration defaultLeaseFor = Duration.ofSeconds(30);
+}
@@ -0,0 +1,27 @@
+package org.fortishop.deliveryservice.global.lease;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@code @Scheduled} 메서드에 함께 붙이면 scheduled_locks 임대를 얻은 노드 하나에서만 실행된다.
+ * 실행 중에는 임대를 주기적으로 연장하며, 노드가 죽으면 임대 만료 후 다른 노드가 이어받는다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LeasedJob {
+
+    /**
+     * 작업 이름. 비어 있으면 "클래스명.메서드명"을 쓴다.
+     */
+    String name() default "";
+
+    /**
+     * 임대 시간(ISO-8601). 비어 있으면 delivery.lease.default-lease-for를 쓴다.
+     */
+    String leaseFor() default "";
+}
@@ -0,0 +1,124 @@
+package org.fortishop.deliveryservice.global.lease;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Aspect
+@Component
+public class LeasedJobAspect {
+
+    private final LeaseManager leaseManager;
+    private final LeaseProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "delivery-lease-renewer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LeasedJobAspect(LeaseManager leaseManager, LeaseProperties properties, MeterRegistry meterRegistry) {
+        this.leaseManager = leaseManager;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    @Around("@annotation(leasedJob)")
+    public Object runLeased(ProceedingJoinPoint joinPoint, LeasedJob leasedJob) throws Throwable {
+        String name = nameOf(joinPoint, leasedJob);
+        Duration leaseFor = leasedJob.leaseFor().isBlank()
+                ? properties.getDefaultLeaseFor()
+                : Duration.parse(leasedJob.leaseFor());
+
+        Lease lease;
+        try {
+            lease = leaseManager.tryAcquire(name, leaseFor);
+        } catch (Exception e) {
+            log.warn("[Lease] Failed to acquire lease, skipping run: job={}", name, e);
+            lease = null;
+        }
+        if (lease == null) {
+            counter("delivery.job.skipped", name).increment();
+            return null;
+        }
+        if (lease.isStolen()) {
+            counter("delivery.job.lease.stolen", name).increment();
+        }
+
+        long renewEvery = Math.max(leaseFor.toMillis() / 3, 1);
+        Lease held = lease;
+        ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(() -> renew(held), renewEvery, renewEvery,
+                TimeUnit.MILLISECONDS);
+        LeasedJobContext.set(lease);
+        long startedAt = System.nanoTime();
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            outcome = "failure";
+            throw t;
+        } finally {
+            renewal.cancel(false);
+            LeasedJobContext.clear();
+            Timer.builder("delivery.job.run")
+                    .tag("job", name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            if (!lease.isLost()) {
+                release(lease);
+            }
+        }
+    }
+
+    private void renew(Lease lease) {
+        try {
+            if (!lease.isLost() && !leaseManager.renew(lease)) {
+                counter("delivery.job.lease.lost", lease.getName()).increment();
+                log.warn("[Lease] Lost lease while running: job={}, token={}", lease.getName(),
+                        lease.getFencingToken());
+            }
+        } catch (Exception e) {
+            log.warn("[Lease] Failed to renew lease: job={}", lease.getName(), e);
+        }
+    }
+
+    private void release(Lease lease) {
+        try {
+            leaseManager.release(lease);
+        } catch (Exception e) {
+            // 해제하지 못해도 임대 만료 후 다른 노드가 이어받는다.
+            log.warn("[Lease] Failed to release lease: job={}", lease.getName(), e);
+        }
+    }
+
+    private Counter counter(String meter, String job) {
+        return Counter.builder(meter).tag("job", job).register(meterRegistry);
+    }
+
+    private static String nameOf(ProceedingJoinPoint joinPoint, LeasedJob leasedJob) {
+        if (!leasedJob.name().isBlank()) {
+            return leasedJob.name();
+        }
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        return signature.getDeclaringType().getSimpleName() + "." + signature.getName();
+    }
+}
@@ -0,0 +1,29 @@
+package org.fortishop.deliveryservice.global.lease;
+
+/**
+ * 실행 중인 {@link LeasedJob}의 임대를 노출한다. 작업이 쓰기 전에 {@link #isValid()}를 확인하거나
+ * 펜싱 토큰을 함께 기록하면, 임대를 잃은 노드의 늦은 쓰기를 막을 수 있다.
+ */
+public final class LeasedJobContext {
+    private static final ThreadLocal<Lease> CURRENT = new ThreadLocal<>();
+
+    private LeasedJobContext() {
+    }
+
+    public static Lease current() {
+        return CURRENT.get();
+    }
+
+    public static boolean isValid() {
+        Lease lease = CURRENT.get();
+        return lease != null && !lease.isLost();
+    }
+
+    static void set(Lease lease) {
+        CURRENT.set(lease);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
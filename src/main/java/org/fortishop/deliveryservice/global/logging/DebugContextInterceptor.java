@@ -0,0 +1,43 @@
+package org.fortishop.deliveryservice.global.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 디버그 대상이 있을 때만 경로의 orderId를 MDC에 넣어, 그 주문의 요청 처리 중 찍히는 로그가 레벨과 관계없이 남게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DebugContextInterceptor implements HandlerInterceptor {
+    private static final String PUT_ATTRIBUTE = DebugContextInterceptor.class.getName() + ".put";
+
+    private final DebugTargets debugTargets;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!debugTargets.isActive()) {
+            return true;
+        }
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> map && map.get(DebugTargets.MDC_ORDER_ID) instanceof String orderId) {
+            MDC.put(DebugTargets.MDC_ORDER_ID, orderId);
+            request.setAttribute(PUT_ATTRIBUTE, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(PUT_ATTRIBUTE) != null) {
+            request.removeAttribute(PUT_ATTRIBUTE);
+            MDC.remove(DebugTargets.MDC_ORDER_ID);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.fortishop.deliveryservice.global.logging;
+
+import java.time.Duration;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /actuator/debuglog 는 디버그 대상 목록을, POST {"orderId": 1, "ttl": "10m"} 는 대상 추가를,
+ * DELETE ?orderId=1 은 대상 해제를 한다. DELETE에 인자가 없으면 모두 해제한다.
+ */
+@Component
+@Endpoint(id = "debuglog")
+@RequiredArgsConstructor
+public class DebugLogEndpoint {
+
+    private final DebugTargets debugTargets;
+
+    @ReadOperation
+    public Map<String, Object> targets() {
+        return debugTargets.snapshot();
+    }
+
+    @WriteOperation
+    public Map<String, Object> add(@Nullable Long orderId, @Nullable String traceId, @Nullable Duration ttl) {
+        debugTargets.add(orderId, traceId, ttl);
+        return debugTargets.snapshot();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> remove(@Nullable Long orderId, @Nullable String traceId) {
+        if (orderId == null && traceId == null) {
+            debugTargets.clear();
+        } else {
+            debugTargets.remove(orderId, traceId);
+        }
+        return debugTargets.snapshot();
+    }
+}
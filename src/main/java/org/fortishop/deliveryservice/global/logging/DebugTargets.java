@@ -0,0 +1,144 @@
+package org.fortishop.deliveryservice.global.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.DeliveryServiceApplication;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * 런타임에 켜는 주문 단위 디버그 모드. 등록한 orderId·traceId에 대해서는 샘플링과 로그 레벨을 건너뛰고 모두 남긴다.
+ * 서비스 패키지의 로그 호출 중 MDC의 orderId·traceId가 대상이거나 {@link #MARKER}가 붙은 것은 레벨과 관계없이 통과시킨다.
+ */
+@Slf4j
+@Component
+public class DebugTargets {
+    public static final String MDC_ORDER_ID = "orderId";
+    public static final String MDC_TRACE_ID = "traceId";
+    public static final Marker MARKER = MarkerFactory.getMarker("DEBUG_TARGET");
+    private static final String BASE_PACKAGE = DeliveryServiceApplication.class.getPackageName();
+
+    private final HotPathLogProperties properties;
+    private final Map<String, Long> orderIds = new ConcurrentHashMap<>();
+    private final Map<String, Long> traceIds = new ConcurrentHashMap<>();
+    private final TurboFilter turboFilter = new DebugTargetTurboFilter();
+    private volatile boolean active;
+
+    public DebugTargets(HotPathLogProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void install() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            turboFilter.setContext(context);
+            turboFilter.start();
+            context.addTurboFilter(turboFilter);
+        }
+    }
+
+    @PreDestroy
+    void uninstall() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            context.getTurboFilterList().remove(turboFilter);
+        }
+    }
+
+    public void add(Long orderId, String traceId, Duration ttl) {
+        if (orderId == null && (traceId == null || traceId.isBlank())) {
+            throw new IllegalArgumentException("orderId나 traceId 중 하나는 있어야 합니다.");
+        }
+        if (orderIds.size() + traceIds.size() >= properties.getMaxDebugTargets()) {
+            throw new IllegalArgumentException("디버그 대상은 최대 " + properties.getMaxDebugTargets() + "개입니다.");
+        }
+        long expiresAt = System.currentTimeMillis() + (ttl == null ? properties.getDebugTtl() : ttl).toMillis();
+        if (orderId != null) {
+            orderIds.put(orderId.toString(), expiresAt);
+        }
+        if (traceId != null && !traceId.isBlank()) {
+            traceIds.put(traceId, expiresAt);
+        }
+        active = true;
+        log.info("[Logging] Debug target added: orderId={}, traceId={}, expiresAt={}", orderId, traceId, expiresAt);
+    }
+
+    public void remove(Long orderId, String traceId) {
+        if (orderId != null) {
+            orderIds.remove(orderId.toString());
+        }
+        if (traceId != null) {
+            traceIds.remove(traceId);
+        }
+        refreshActive();
+    }
+
+    public void clear() {
+        orderIds.clear();
+        traceIds.clear();
+        active = false;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public boolean matches(Long orderId, String traceId) {
+        return active && matchesKeys(orderId == null ? null : orderId.toString(), traceId);
+    }
+
+    public Map<String, Object> snapshot() {
+        return Map.of("orderIds", new TreeMap<>(orderIds), "traceIds", new TreeMap<>(traceIds));
+    }
+
+    private boolean matchesKeys(String orderId, String traceId) {
+        return matches(orderIds, orderId) || matches(traceIds, traceId);
+    }
+
+    private boolean matches(Map<String, Long> targets, String key) {
+        if (key == null) {
+            return false;
+        }
+        Long expiresAt = targets.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis()) {
+            targets.remove(key, expiresAt);
+            refreshActive();
+            return false;
+        }
+        return true;
+    }
+
+    private void refreshActive() {
+        active = !orderIds.isEmpty() || !traceIds.isEmpty();
+    }
+
+    private final class DebugTargetTurboFilter extends TurboFilter {
+        @Override
+        public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                                  Throwable t) {
+            // 대상이 없을 때는 모든 로그 호출이 여기서 바로 빠져나가야 한다.
+            if (!active || !logger.getName().startsWith(BASE_PACKAGE)) {
+                return FilterReply.NEUTRAL;
+            }
+            if (marker != null && marker.contains(MARKER)) {
+                return FilterReply.ACCEPT;
+            }
+            return matchesKeys(MDC.get(MDC_ORDER_ID), MDC.get(MDC_TRACE_ID)) ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.fortishop.deliveryservice.global.logging;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 핫패스 로그의 이벤트 종류별 샘플링 비율과 초당 한도. 키는 {@link HotPathLogger}의 이벤트 종류(kafka-received 등)다.
+ * 비동기 appender 큐 크기는 logback-spring.xml이 delivery.logging.async.queue-size로 읽는다.
+ */
+@Component
+@ConfigurationProperties(prefix = "delivery.logging")
+@Getter
+@Setter
+public class HotPathLogProperties {
+    private double defaultSampleRate = 1.0;
+    private Map<String, Double> sampleRates = new HashMap<>();
+    /**
+     * 이벤트 종류별 초당 최대 줄 수. 음수면 무제한이다.
+     */
+    private int defaultRateLimit = 20;
+    private Map<String, Integer> rateLimits = new HashMap<>();
+    /**
+     * 디버그 대상으로 등록한 orderId·traceId가 자동으로 풀리기까지의 시간.
+     */
+    private Duration debugTtl = Duration.ofMinutes(30);
+    private int maxDebugTargets = 100;
+}
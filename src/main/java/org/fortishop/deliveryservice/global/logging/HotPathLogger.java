@@ -0,0 +1,128 @@
+package org.fortishop.deliveryservice.global.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 레코드·이벤트마다 찍히는 핫패스 로그를 이벤트 종류별로 샘플링하고 초당 한도로 자른다.
+ * 통과한 줄에는 event·orderId·eventTraceId를 키-값으로 붙이고, 그 사이 버린 줄 수를 suppressed로 알린다.
+ * detail은 디버그 대상일 때만 계산하므로 페이로드 직렬화 같은 비싼 인자는 Supplier로 넘긴다.
+ */
+@Component
+public class HotPathLogger {
+    public static final String KAFKA_RECEIVED = "kafka-received";
+    public static final String KAFKA_BATCH_RECEIVED = "kafka-batch-received";
+    public static final String KAFKA_SENT = "kafka-sent";
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final HotPathLogProperties properties;
+    private final DebugTargets debugTargets;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, EventType> types = new ConcurrentHashMap<>();
+
+    public HotPathLogger(HotPathLogProperties properties, DebugTargets debugTargets, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.debugTargets = debugTargets;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void info(Logger logger, String type, Long orderId, String traceId, String message, Object... args) {
+        info(logger, type, orderId, traceId, null, message, args);
+    }
+
+    public void info(Logger logger, String type, Long orderId, String traceId, Supplier<?> detail, String message,
+                     Object... args) {
+        boolean debug = debugTargets.matches(orderId, traceId);
+        long suppressed = 0;
+        if (!debug) {
+            if (!logger.isInfoEnabled()) {
+                return;
+            }
+            suppressed = typeOf(type).admit(System.nanoTime());
+            if (suppressed < 0) {
+                return;
+            }
+        }
+
+        LoggingEventBuilder builder = logger.makeLoggingEventBuilder(Level.INFO)
+                .addKeyValue("event", type);
+        if (orderId != null) {
+            builder.addKeyValue("orderId", orderId);
+        }
+        if (traceId != null) {
+            builder.addKeyValue("eventTraceId", traceId);
+        }
+        for (Object arg : args) {
+            builder.addArgument(arg);
+        }
+        StringBuilder format = new StringBuilder(message);
+        if (suppressed > 0) {
+            builder.addKeyValue("suppressed", suppressed).addArgument(suppressed);
+            format.append(" (suppressed={})");
+        }
+        if (debug) {
+            builder.addMarker(DebugTargets.MARKER);
+            if (detail != null) {
+                builder.addArgument(detail);
+                format.append(" detail={}");
+            }
+        }
+        builder.setMessage(format.toString()).log();
+    }
+
+    private EventType typeOf(String type) {
+        return types.computeIfAbsent(type, key -> new EventType(
+                properties.getSampleRates().getOrDefault(key, properties.getDefaultSampleRate()),
+                properties.getRateLimits().getOrDefault(key, properties.getDefaultRateLimit()),
+                Counter.builder("delivery.logging.suppressed").tag("event", key).register(meterRegistry)));
+    }
+
+    /**
+     * 1초 고정 창으로 세는 이벤트 종류별 한도. 잠금은 통과 여부를 정하는 몇 줄 동안만 잡는다.
+     */
+    private static final class EventType {
+        private final double sampleRate;
+        private final int perSecond;
+        private final Counter suppressedCounter;
+        private long windowStart = Long.MIN_VALUE;
+        private int admitted;
+        private long suppressed;
+
+        private EventType(double sampleRate, int perSecond, Counter suppressedCounter) {
+            this.sampleRate = sampleRate;
+            this.perSecond = perSecond;
+            this.suppressedCounter = suppressedCounter;
+        }
+
+        /**
+         * 남길 줄이면 직전 줄 이후 버린 수를, 버릴 줄이면 -1을 돌려준다.
+         */
+        private long admit(long nowNanos) {
+            boolean sampled = sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+            synchronized (this) {
+                if (windowStart == Long.MIN_VALUE || nowNanos - windowStart >= WINDOW_NANOS) {
+                    windowStart = nowNanos;
+                    admitted = 0;
+                }
+                if (!sampled || (perSecond >= 0 && admitted >= perSecond)) {
+                    suppressed++;
+                    suppressedCounter.increment();
+                    return -1;
+                }
+                admitted++;
+                long dropped = suppressed;
+                suppressed = 0;
+                return dropped;
+            }
+        }
+    }
+}
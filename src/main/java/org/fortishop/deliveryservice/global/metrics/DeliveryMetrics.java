@@ -0,0 +1,102 @@
+package org.fortishop.deliveryservice.global.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배송 단계별 타이머. 성공 경로 타이머는 한 번 만든 뒤 재사용해 요청마다 태그를 조립하지 않는다.
+ * 실패 경로는 드물어서 예외 이름을 태그로 붙여 그때그때 조회한다.
+ */
+@Component
+public class DeliveryMetrics {
+    public static final String SERVICE = "delivery.service";
+    public static final String KAFKA_CONSUMER = "delivery.kafka.consumer";
+    public static final String KAFKA_PRODUCER_ACK = "delivery.kafka.producer.ack";
+    public static final String ORDER_LAG = "delivery.order.lag";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> serviceTimers = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, Timer> consumerTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> producerTimers = new ConcurrentHashMap<>();
+    private final Timer orderLag;
+
+    public DeliveryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.orderLag = Timer.builder(ORDER_LAG)
+                .description("order.created 이벤트 생성부터 배송 행 저장까지")
+                .register(meterRegistry);
+    }
+
+    public void recordService(Class<?> type, Method method, long nanos, Throwable error) {
+        Timer timer = error == null
+                ? serviceTimers.computeIfAbsent(method, key -> serviceTimer(type, key, NONE))
+                : serviceTimer(type, method, error.getClass().getSimpleName());
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordConsumer(TopicPartition partition, long nanos, Throwable error) {
+        Timer timer = error == null
+                ? consumerTimers.computeIfAbsent(partition, key -> consumerTimer(key, "success"))
+                : consumerTimer(partition, "failure");
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordProducerAck(String topic, long nanos, Throwable error) {
+        Timer timer = error == null
+                ? producerTimers.computeIfAbsent(topic, key -> producerTimer(key, "success"))
+                : producerTimer(topic, "failure");
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 이벤트의 createdAt(ISO-8601 로컬 시각)부터 배송 행이 저장된 시각까지 기록한다.
+     * 형식이 다르거나 시계가 어긋나 음수가 되면 기록하지 않는다.
+     */
+    public void recordOrderLag(String eventCreatedAt, LocalDateTime persistedAt) {
+        if (eventCreatedAt == null || persistedAt == null) {
+            return;
+        }
+        try {
+            Duration lag = Duration.between(LocalDateTime.parse(eventCreatedAt), persistedAt);
+            if (!lag.isNegative()) {
+                orderLag.record(lag);
+            }
+        } catch (DateTimeParseException e) {
+            // 생산자 쪽 형식이 바뀌어도 소비 경로는 영향받지 않는다.
+        }
+    }
+
+    private Timer serviceTimer(Class<?> type, Method method, String exception) {
+        return Timer.builder(SERVICE)
+                .tag("class", type.getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    private Timer consumerTimer(TopicPartition partition, String outcome) {
+        return Timer.builder(KAFKA_CONSUMER)
+                .tag("topic", partition.topic())
+                .tag("partition", String.valueOf(partition.partition()))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Timer producerTimer(String topic, String outcome) {
+        return Timer.builder(KAFKA_PRODUCER_ACK)
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
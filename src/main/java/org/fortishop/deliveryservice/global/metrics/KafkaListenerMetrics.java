@@ -0,0 +1,76 @@
+package org.fortishop.deliveryservice.global.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 리스너 처리 시간을 토픽·파티션별로 잰다. 인터셉터는 컨테이너 스레드에서 호출되므로 시작 시각은 스레드별로 둔다.
+ * 배치는 한 번 잰 시간을 배치에 담긴 파티션마다 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class KafkaListenerMetrics {
+    private static final ThreadLocal<long[]> STARTED_AT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final DeliveryMetrics deliveryMetrics;
+
+    public <T> RecordInterceptor<String, T> recordInterceptor() {
+        return new RecordInterceptor<>() {
+            @Override
+            public ConsumerRecord<String, T> intercept(ConsumerRecord<String, T> record,
+                                                       Consumer<String, T> consumer) {
+                STARTED_AT.get()[0] = System.nanoTime();
+                return record;
+            }
+
+            @Override
+            public void success(ConsumerRecord<String, T> record, Consumer<String, T> consumer) {
+                deliveryMetrics.recordConsumer(new TopicPartition(record.topic(), record.partition()), elapsed(), null);
+            }
+
+            @Override
+            public void failure(ConsumerRecord<String, T> record, Exception exception, Consumer<String, T> consumer) {
+                deliveryMetrics.recordConsumer(new TopicPartition(record.topic(), record.partition()), elapsed(),
+                        exception);
+            }
+        };
+    }
+
+    public <T> BatchInterceptor<String, T> batchInterceptor() {
+        return new BatchInterceptor<>() {
+            @Override
+            public ConsumerRecords<String, T> intercept(ConsumerRecords<String, T> records,
+                                                        Consumer<String, T> consumer) {
+                STARTED_AT.get()[0] = System.nanoTime();
+                return records;
+            }
+
+            @Override
+            public void success(ConsumerRecords<String, T> records, Consumer<String, T> consumer) {
+                recordBatch(records, null);
+            }
+
+            @Override
+            public void failure(ConsumerRecords<String, T> records, Exception exception, Consumer<String, T> consumer) {
+                recordBatch(records, exception);
+            }
+        };
+    }
+
+    private void recordBatch(ConsumerRecords<String, ?> records, Exception exception) {
+        long nanos = elapsed();
+        for (TopicPartition partition : records.partitions()) {
+            deliveryMetrics.recordConsumer(partition, nanos, exception);
+        }
+    }
+
+    private static long elapsed() {
+        return System.nanoTime() - STARTED_AT.get()[0];
+    }
+}
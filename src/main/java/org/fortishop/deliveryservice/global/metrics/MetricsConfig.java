@@ -0,0 +1,47 @@
+package org.fortishop.deliveryservice.global.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 배송 타이머에 SLO 버킷을 붙인다. 버킷이 있어야 Prometheus가 트레이스 id exemplar를 함께 내보낸다.
+ * 저장소 쿼리는 Spring Boot가 기록하는 spring.data.repository.invocations 타이머에 같은 방식으로 버킷을 붙인다.
+ */
+@Configuration
+public class MetricsConfig {
+    static final String REPOSITORY_INVOCATIONS = "spring.data.repository.invocations";
+
+    @Bean
+    public MeterFilter deliverySloMeterFilter(MetricsProperties properties) {
+        Map<String, double[]> slos = Map.of(
+                DeliveryMetrics.SERVICE, nanos(properties.getServiceSlo()),
+                REPOSITORY_INVOCATIONS, nanos(properties.getRepositorySlo()),
+                DeliveryMetrics.KAFKA_CONSUMER, nanos(properties.getKafkaSlo()),
+                DeliveryMetrics.KAFKA_PRODUCER_ACK, nanos(properties.getKafkaSlo()),
+                DeliveryMetrics.ORDER_LAG, nanos(properties.getLagSlo()));
+
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                double[] slo = slos.get(id.getName());
+                if (slo == null) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .serviceLevelObjectives(slo)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    private static double[] nanos(List<Duration> durations) {
+        return durations.stream().mapToDouble(Duration::toNanos).sorted().toArray();
+    }
+}
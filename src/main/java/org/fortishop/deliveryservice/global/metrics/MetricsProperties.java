@@ -0,0 +1,27 @@
+package org.fortishop.deliveryservice.global.metrics;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 타이머별 SLO 버킷 경계. 전체 백분위 히스토그램 대신 이 경계만 내보내 시계열 수를 묶어 둔다.
+ */
+@Component
+@ConfigurationProperties(prefix = "delivery.metrics")
+@Getter
+@Setter
+public class MetricsProperties {
+    private List<Duration> serviceSlo = millis(5, 10, 25, 50, 100, 250, 500, 1_000, 2_500);
+    private List<Duration> repositorySlo = millis(1, 2, 5, 10, 25, 50, 100, 250, 1_000);
+    private List<Duration> kafkaSlo = millis(5, 10, 25, 50, 100, 250, 500, 1_000, 5_000);
+    private List<Duration> lagSlo = millis(50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, 60_000);
+
+    private static List<Duration> millis(long... values) {
+        return Arrays.stream(values).mapToObj(Duration::ofMillis).toList();
+    }
+}
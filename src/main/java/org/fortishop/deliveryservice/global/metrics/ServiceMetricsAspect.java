@@ -0,0 +1,35 @@
+package org.fortishop.deliveryservice.global.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+/**
+ * DeliveryService 구현의 공개 메서드마다 실행 시간을 잰다.
+ * 샤딩을 켜면 샤드 라우터와 샤드별 위임이 class 태그로 나뉘어 함께 기록된다.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private final DeliveryMetrics deliveryMetrics;
+
+    @Around("execution(public * org.fortishop.deliveryservice.service.DeliveryService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startedAt = System.nanoTime();
+        Throwable error = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            error = t;
+            throw t;
+        } finally {
+            deliveryMetrics.recordService(joinPoint.getTarget().getClass(),
+                    ((MethodSignature) joinPoint.getSignature()).getMethod(), System.nanoTime() - startedAt, error);
+        }
+    }
+}
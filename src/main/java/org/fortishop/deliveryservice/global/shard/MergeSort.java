@@ -0,0 +1,41 @@
+package org.fortishop.deliveryservice.global.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 샤드별로 이미 정렬된 결과를 k-way 병합한다.
+ */
+public final class MergeSort {
+
+    private MergeSort() {
+    }
+
+    public static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> comparator, int limit) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>((a, b) -> comparator.compare(a.value(), b.value()));
+        int total = 0;
+        for (List<T> list : sorted) {
+            total += list.size();
+            if (!list.isEmpty()) {
+                heads.add(new Head<>(list, 0));
+            }
+        }
+        List<T> merged = new ArrayList<>(Math.min(total, limit));
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head<T> head = heads.poll();
+            merged.add(head.value());
+            if (head.index() + 1 < head.list().size()) {
+                heads.add(new Head<>(head.list(), head.index() + 1));
+            }
+        }
+        return merged;
+    }
+
+    private record Head<T>(List<T> list, int index) {
+        T value() {
+            return list.get(index);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.fortishop.deliveryservice.global.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * delivery.sharding.reshard.enabled=true로 띄운 인스턴스가 기동 직후 한 번 재배치를 실행한다.
+ * 재배치 중에는 쓰기를 멈춰야 하며, 끝나면 shards를 targets로 바꿔 다시 배포한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "delivery.sharding.reshard", name = "enabled", havingValue = "true")
+public class ReshardingRunner implements ApplicationRunner {
+
+    private final ShardingProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ShardingProperties.Reshard reshard = properties.getReshard();
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        try {
+            List<DataSource> sources = new ArrayList<>();
+            for (ShardingProperties.Shard shard : properties.getShards()) {
+                sources.add(pool(pools, shard));
+            }
+            List<DataSource> targets = new ArrayList<>();
+            for (ShardingProperties.Shard shard : reshard.getTargets()) {
+                targets.add(pool(pools, shard));
+            }
+            log.info("[Reshard] Started: sources={}, targets={}", sources.size(), targets.size());
+            Map<String, Long> moved = new ReshardingTool(sources, targets, properties.getBucketCount(),
+                    reshard.getChunkSize(), reshard.isDeleteMoved()).run();
+            log.info("[Reshard] Completed: moved={}", moved);
+        } finally {
+            pools.values().forEach(HikariDataSource::close);
+        }
+    }
+
+    private static DataSource pool(Map<String, HikariDataSource> pools, ShardingProperties.Shard shard) {
+        // 같은 URL은 같은 물리 샤드이므로 풀을 공유해 ReshardingTool이 이동 대상에서 뺀다.
+        return pools.computeIfAbsent(shard.getUrl(),
+                url -> ShardingConfig.createDataSource(shard, "delivery-reshard-" + pools.size()));
+    }
+}
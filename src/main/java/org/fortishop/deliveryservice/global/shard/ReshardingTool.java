@@ -0,0 +1,135 @@
+package org.fortishop.deliveryservice.global.shard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 샤드 수를 바꿀 때 주문 키 기준으로 행을 새 배치의 샤드로 옮긴다.
+ * 복사 후 삭제 순서이고 이미 복사된 주문은 건너뛰므로, 중간에 멈춰도 다시 실행하면 이어서 끝난다.
+ * 원본과 대상이 같은 DataSource 인스턴스이면 같은 물리 샤드로 보고 옮기지 않는다.
+ */
+@Slf4j
+public class ReshardingTool {
+    static final List<Table> TABLES = List.of(
+            // 배송 id는 샤드마다 따로 증가하므로 대상 샤드에서 새로 발급받는다.
+            new Table("deliveries", "id", Set.of("id")),
+            new Table("pending_compensations", "order_id", Set.of()),
+            new Table("pending_payments", "order_id", Set.of()));
+
+    private final List<DataSource> sources;
+    private final List<DataSource> targets;
+    private final int bucketCount;
+    private final int chunkSize;
+    private final boolean deleteMoved;
+
+    public ReshardingTool(List<DataSource> sources, List<DataSource> targets, int bucketCount, int chunkSize,
+                          boolean deleteMoved) {
+        if (sources.isEmpty() || targets.isEmpty()) {
+            throw new IllegalArgumentException("원본과 대상 샤드는 하나 이상이어야 합니다.");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize는 0보다 커야 합니다.");
+        }
+        this.sources = sources;
+        this.targets = targets;
+        this.bucketCount = bucketCount;
+        this.chunkSize = chunkSize;
+        this.deleteMoved = deleteMoved;
+    }
+
+    /**
+     * @return 테이블별로 옮긴 행 수
+     */
+    public Map<String, Long> run() {
+        Map<String, Long> moved = new LinkedHashMap<>();
+        for (Table table : TABLES) {
+            long count = 0;
+            for (int source = 0; source < sources.size(); source++) {
+                count += moveTable(table, source);
+            }
+            moved.put(table.name(), count);
+            log.info("[Reshard] Moved table={}, rows={}", table.name(), count);
+        }
+        return moved;
+    }
+
+    private long moveTable(Table table, int sourceIndex) {
+        DataSource source = sources.get(sourceIndex);
+        JdbcTemplate sourceJdbc = new JdbcTemplate(source);
+        Object lastKey = 0L;
+        long moved = 0;
+        List<Map<String, Object>> chunk;
+        do {
+            chunk = sourceJdbc.queryForList("select * from " + table.name() + " where " + table.keyColumn()
+                    + " > ? order by " + table.keyColumn() + " limit " + chunkSize, lastKey);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            // queryForList는 컬럼명 대소문자를 가리지 않는 맵을 돌려준다.
+            lastKey = chunk.get(chunk.size() - 1).get(table.keyColumn());
+
+            Map<Integer, List<Map<String, Object>>> byTarget = new LinkedHashMap<>();
+            for (Map<String, Object> row : chunk) {
+                long orderId = ((Number) row.get("order_id")).longValue();
+                int target = ShardResolver.shardOf(orderId, bucketCount, targets.size());
+                if (targets.get(target) != source) {
+                    byTarget.computeIfAbsent(target, key -> new ArrayList<>()).add(row);
+                }
+            }
+            for (Map.Entry<Integer, List<Map<String, Object>>> entry : byTarget.entrySet()) {
+                copy(table, new JdbcTemplate(targets.get(entry.getKey())), entry.getValue());
+                if (deleteMoved) {
+                    delete(table, sourceJdbc, entry.getValue());
+                }
+                moved += entry.getValue().size();
+            }
+        } while (chunk.size() == chunkSize);
+        return moved;
+    }
+
+    private void copy(Table table, JdbcTemplate target, List<Map<String, Object>> rows) {
+        List<Long> orderIds = orderIds(rows);
+        Set<Long> existing = new HashSet<>(target.queryForList("select order_id from " + table.name()
+                + " where order_id in (" + placeholders(orderIds.size()) + ")", Long.class, orderIds.toArray()));
+
+        List<String> columns = rows.get(0).keySet().stream()
+                .filter(column -> !table.excluded().contains(column.toLowerCase()))
+                .toList();
+        String sql = "insert into " + table.name() + " (" + String.join(", ", columns) + ") values ("
+                + placeholders(columns.size()) + ")";
+        List<Object[]> batch = rows.stream()
+                .filter(row -> !existing.contains(((Number) row.get("order_id")).longValue()))
+                .map(row -> columns.stream().map(row::get).toArray())
+                .toList();
+        if (!batch.isEmpty()) {
+            target.batchUpdate(sql, batch);
+        }
+    }
+
+    private void delete(Table table, JdbcTemplate source, List<Map<String, Object>> rows) {
+        List<Long> orderIds = orderIds(rows);
+        source.update("delete from " + table.name() + " where order_id in (" + placeholders(orderIds.size()) + ")",
+                orderIds.toArray());
+    }
+
+    private static List<Long> orderIds(List<Map<String, Object>> rows) {
+        return rows.stream()
+                .map(row -> ((Number) row.get("order_id")).longValue())
+                .toList();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    record Table(String name, String keyColumn, Set<String> excluded) {
+    }
+}
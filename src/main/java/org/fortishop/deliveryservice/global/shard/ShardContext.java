@@ -0,0 +1,32 @@
+package org.fortishop.deliveryservice.global.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호. 트랜잭션이 커넥션을 얻기 전에 정해져 있어야 한다.
+ * 지정하지 않으면 0번(홈) 샤드를 쓰며, 잠금·시퀀스·통계 스냅샷 같은 전역 테이블은 홈 샤드에 있다.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
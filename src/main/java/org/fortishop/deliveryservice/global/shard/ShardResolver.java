@@ -0,0 +1,21 @@
+package org.fortishop.deliveryservice.global.shard;
+
+/**
+ * orderId를 고정 개수의 버킷으로 해시한 뒤, 버킷 구간을 샤드에 나눠 준다.
+ * 버킷 수는 바꾸지 않으므로 샤드 수가 바뀌어도 한 버킷의 행은 통째로 한 샤드에서 다른 샤드로만 옮겨진다.
+ */
+public final class ShardResolver {
+
+    private ShardResolver() {
+    }
+
+    public static int bucketOf(long orderId, int bucketCount) {
+        long hash = orderId * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        return (int) ((hash & Long.MAX_VALUE) % bucketCount);
+    }
+
+    public static int shardOf(long orderId, int bucketCount, int shardCount) {
+        return (int) ((long) bucketOf(orderId, bucketCount) * shardCount / bucketCount);
+    }
+}
@@ -0,0 +1,102 @@
+package org.fortishop.deliveryservice.global.shard;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 샤드별 실행을 감싼다. 샤딩을 끄면 샤드가 하나뿐이고 컨텍스트도 건드리지 않는다.
+ * 샤드마다 트랜잭션이 따로 열리도록, 호출부는 이 안에서 트랜잭션 메서드를 호출해야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardTemplate {
+
+    private final ShardingProperties properties;
+
+    public int shardCount() {
+        return properties.shardCount();
+    }
+
+    public int shardOf(Long orderId) {
+        return properties.isEnabled()
+                ? ShardResolver.shardOf(orderId, properties.getBucketCount(), shardCount())
+                : 0;
+    }
+
+    public <T> T onShard(int shard, Supplier<T> action) {
+        return properties.isEnabled()
+                ? ShardContext.callOn(shard, () -> withoutBoundEntityManager(action))
+                : action.get();
+    }
+
+    public <T> T forOrder(Long orderId, Supplier<T> action) {
+        return onShard(shardOf(orderId), action);
+    }
+
+    /**
+     * 잠금·시퀀스 같은 전역 테이블은 주문 샤드 안에서 호출돼도 홈 샤드에서 읽고 쓴다.
+     */
+    public <T> T onHomeShard(Supplier<T> action) {
+        return onShard(0, action);
+    }
+
+    public void forEachShard(Runnable action) {
+        for (int shard = 0; shard < shardCount(); shard++) {
+            onShard(shard, () -> {
+                action.run();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * 모든 샤드에서 같은 작업을 실행해 샤드 순서대로 결과를 돌려준다. 정렬이 필요하면 호출부가 병합한다.
+     */
+    public <T> List<T> onEachShard(Supplier<T> action) {
+        List<T> results = new ArrayList<>(shardCount());
+        for (int shard = 0; shard < shardCount(); shard++) {
+            results.add(onShard(shard, action));
+        }
+        return results;
+    }
+
+    /**
+     * 엔티티 id는 샤드 안에서만 유일하다. open-in-view처럼 요청에 묶인 EntityManager를 여러 샤드가 함께 쓰면
+     * 다른 샤드의 같은 id 행이 먼저 읽은 엔티티로 바뀌므로, 트랜잭션 밖이면 샤드마다 잠시 떼어 내 새 영속성 컨텍스트를 쓰게 한다.
+     * 이미 트랜잭션 안이면 커넥션도 정해져 있으므로 건드리지 않는다.
+     */
+    private static <T> T withoutBoundEntityManager(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        Map<Object, Object> suspended = new HashMap<>();
+        TransactionSynchronizationManager.getResourceMap().forEach((key, holder) -> {
+            if (key instanceof EntityManagerFactory) {
+                suspended.put(key, holder);
+            }
+        });
+        suspended.keySet().forEach(TransactionSynchronizationManager::unbindResource);
+        try {
+            return action.get();
+        } finally {
+            suspended.forEach(TransactionSynchronizationManager::bindResource);
+        }
+    }
+
+    public Map<Integer, List<Long>> partition(Collection<Long> orderIds) {
+        Map<Integer, List<Long>> partitions = new LinkedHashMap<>();
+        for (Long orderId : orderIds) {
+            partitions.computeIfAbsent(shardOf(orderId), shard -> new ArrayList<>()).add(orderId);
+        }
+        return partitions;
+    }
+}
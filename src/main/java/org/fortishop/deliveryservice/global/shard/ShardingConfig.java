@@ -0,0 +1,52 @@
+package org.fortishop.deliveryservice.global.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@ConditionalOnProperty(prefix = "delivery.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardingProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        List<ShardingProperties.Shard> shards = properties.getShards();
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("delivery.sharding.shards가 비어 있습니다.");
+        }
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            HikariDataSource shard = createDataSource(shards.get(i), "delivery-shard-" + i);
+            // 라우팅 데이터소스 뒤의 풀은 Boot가 찾지 못하므로 샤드마다 풀 지표를 직접 연결한다.
+            meterRegistry.ifAvailable(registry -> shard.setMetricsTrackerFactory(
+                    new MicrometerMetricsTrackerFactory(registry)));
+            targets.put(i, shard);
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(targets.get(0));
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    static HikariDataSource createDataSource(ShardingProperties.Shard shard, String poolName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl(shard.getUrl());
+        dataSource.setUsername(shard.getUsername());
+        dataSource.setPassword(shard.getPassword());
+        dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+        return dataSource;
+    }
+}
@@ -0,0 +1,41 @@
+package org.fortishop.deliveryservice.global.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.sharding")
+@Getter
+@Setter
+public class ShardingProperties {
+    private boolean enabled = false;
+    private int bucketCount = 1_024;
+    private List<Shard> shards = new ArrayList<>();
+    private Reshard reshard = new Reshard();
+
+    public int shardCount() {
+        return enabled ? shards.size() : 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Reshard {
+        private boolean enabled = false;
+        private List<Shard> targets = new ArrayList<>();
+        private int chunkSize = 1_000;
+        private boolean deleteMoved = true;
+    }
+}
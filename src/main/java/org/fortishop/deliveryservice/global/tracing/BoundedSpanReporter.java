@@ -0,0 +1,139 @@
+package org.fortishop.deliveryservice.global.tracing;
+
+import brave.handler.MutableSpan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import zipkin2.reporter.BytesEncoder;
+import zipkin2.reporter.BytesMessageSender;
+
+/**
+ * 샘플링을 통과한 스팬을 모아 Zipkin으로 보낸다.
+ * 호출 스레드는 큐에 넣기만 하고, 큐가 차거나 전송이 실패하면 버리고 개수만 센다.
+ * 전송 스레드는 batchSize개가 모이거나 첫 스팬 이후 flushInterval이 지나면 한 번에 보낸다.
+ * sender가 없으면(Zipkin 전송이 꺼진 경우) 받은 스팬을 그냥 버린다.
+ */
+@Slf4j
+public class BoundedSpanReporter {
+    static final String DROPPED = "delivery.tracing.spans.dropped";
+
+    private final BytesMessageSender sender;
+    private final BytesEncoder<MutableSpan> encoder;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<MutableSpan> queue;
+    private final Counter reported;
+    private final Counter queueFull;
+    private final Counter sendFailed;
+    private volatile boolean running = true;
+    private Thread senderThread;
+
+    public BoundedSpanReporter(TracingProperties.Reporter properties, BytesMessageSender sender,
+                               BytesEncoder<MutableSpan> encoder, MeterRegistry meterRegistry) {
+        this.sender = sender;
+        this.encoder = encoder;
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueSize());
+        this.reported = Counter.builder("delivery.tracing.spans.reported").register(meterRegistry);
+        this.queueFull = Counter.builder(DROPPED).tag("reason", "queue_full").register(meterRegistry);
+        this.sendFailed = Counter.builder(DROPPED).tag("reason", "send_failed").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (sender == null) {
+            log.info("[Tracing] No Zipkin sender, sampled spans will be discarded");
+            return;
+        }
+        senderThread = new Thread(this::drain, "delivery-span-reporter");
+        senderThread.setDaemon(true);
+        senderThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (senderThread != null) {
+            senderThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public void report(MutableSpan span) {
+        if (sender == null) {
+            return;
+        }
+        if (!queue.offer(span)) {
+            queueFull.increment();
+        }
+    }
+
+    private void drain() {
+        List<MutableSpan> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                MutableSpan first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch, System.nanoTime() + flushIntervalNanos);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fill(List<MutableSpan> batch, long deadline) throws InterruptedException {
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            MutableSpan next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void send(List<MutableSpan> batch) {
+        List<byte[]> message = new ArrayList<>(batch.size());
+        int messageBytes = 0;
+        for (MutableSpan span : batch) {
+            byte[] encoded = encoder.encode(span);
+            // 목록 구분자까지 넉넉히 더해 messageMaxBytes를 넘기 전에 끊는다.
+            if (!message.isEmpty() && messageBytes + encoded.length + message.size() + 2 > sender.messageMaxBytes()) {
+                sendMessage(message);
+                message = new ArrayList<>();
+                messageBytes = 0;
+            }
+            message.add(encoded);
+            messageBytes += encoded.length;
+        }
+        sendMessage(message);
+    }
+
+    private void sendMessage(List<byte[]> message) {
+        try {
+            sender.send(message);
+            reported.increment(message.size());
+        } catch (Exception e) {
+            sendFailed.increment(message.size());
+            log.debug("[Tracing] Failed to send spans: count={}", message.size(), e);
+        }
+    }
+}
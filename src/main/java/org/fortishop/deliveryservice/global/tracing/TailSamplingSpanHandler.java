@@ -0,0 +1,205 @@
+package org.fortishop.deliveryservice.global.tracing;
+
+import brave.Span;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * 트레이스를 남길지 로컬 루트 스팬이 끝날 때 정한다.
+ * 자식 스팬은 루트가 끝날 때까지 모아 두고, 트레이스 안에 오류가 있거나 루트가 느리면 헤드 샘플링과 상관없이 남긴다.
+ * 나머지는 헤드 샘플링된 것 중 키(엔드포인트·토픽)별 초당 한도 안에 드는 것만 남긴다.
+ * 남긴 스팬은 {@link BoundedSpanReporter}로 넘기고, 뒤의 핸들러(기본 Zipkin 리포터)에는 넘기지 않는다.
+ */
+public class TailSamplingSpanHandler extends SpanHandler implements Ordered {
+    static final String TRACES = "delivery.tracing.traces";
+    private static final int DECIDED_CAPACITY = 4_096;
+
+    private final TracingProperties properties;
+    private final TraceRateLimiter rateLimiter;
+    private final BoundedSpanReporter reporter;
+    private final Map<Long, PendingTrace> pending = new ConcurrentHashMap<>();
+    // 루트보다 늦게 끝나는 비동기 자식 스팬이 같은 결정을 따르도록 최근 결정을 기억한다.
+    private final Map<Long, Boolean> decided = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > DECIDED_CAPACITY;
+        }
+    });
+    private final Counter sampled;
+    private final Counter promotedError;
+    private final Counter promotedSlow;
+    private final Counter dropped;
+    private final Counter bufferFull;
+
+    public TailSamplingSpanHandler(TracingProperties properties, BoundedSpanReporter reporter,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = new TraceRateLimiter(properties.getRateLimits(), properties.getDefaultRateLimit(),
+                properties.getMaxKeys());
+        this.reporter = reporter;
+        this.sampled = Counter.builder(TRACES).tag("decision", "sampled").register(meterRegistry);
+        this.promotedError = Counter.builder(TRACES).tag("decision", "error").register(meterRegistry);
+        this.promotedSlow = Counter.builder(TRACES).tag("decision", "slow").register(meterRegistry);
+        this.dropped = Counter.builder(TRACES).tag("decision", "dropped").register(meterRegistry);
+        this.bufferFull = Counter.builder(BoundedSpanReporter.DROPPED).tag("reason", "buffer_full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (context.isLocalRoot()) {
+            decide(context, span);
+            return false;
+        }
+        Boolean decision = decided.get(context.localRootId());
+        if (decision == null) {
+            decision = buffer(context.localRootId(), span);
+        }
+        if (Boolean.TRUE.equals(decision)) {
+            reporter.report(span);
+        }
+        return false;
+    }
+
+    /**
+     * 루트가 끝나지 않은 채 pendingTimeout이 지난 트레이스를 버린다. 유실된 루트나 결정 뒤에 도착한 자식이 여기에 남는다.
+     */
+    @Scheduled(fixedDelayString = "${delivery.tracing.purge-interval:10000}")
+    public void purgeStale() {
+        long cutoff = System.nanoTime() - properties.getPendingTimeout().toNanos();
+        pending.values().removeIf(trace -> trace.createdAt - cutoff < 0);
+    }
+
+    int pendingTraces() {
+        return pending.size();
+    }
+
+    private Boolean buffer(long rootId, MutableSpan span) {
+        PendingTrace trace = pending.get(rootId);
+        if (trace == null) {
+            if (pending.size() >= properties.getMaxPendingTraces()) {
+                bufferFull.increment();
+                return Boolean.FALSE;
+            }
+            trace = pending.computeIfAbsent(rootId, id -> new PendingTrace());
+        }
+        synchronized (trace) {
+            if (trace.closed) {
+                return decided.get(rootId);
+            }
+            trace.error |= isError(span);
+            if (trace.spans.size() < properties.getMaxSpansPerTrace()) {
+                trace.spans.add(span);
+            } else {
+                bufferFull.increment();
+            }
+            return null;
+        }
+    }
+
+    private void decide(TraceContext context, MutableSpan root) {
+        long rootId = context.localRootId();
+        PendingTrace trace = pending.remove(rootId);
+        List<MutableSpan> children = List.of();
+        boolean keep;
+        if (trace != null) {
+            synchronized (trace) {
+                trace.closed = true;
+                children = trace.spans;
+                keep = keep(context, root, trace.error || isError(root));
+                // 닫는 중에 도착한 자식이 결정을 바로 볼 수 있도록 잠금 안에서 기록한다.
+                decided.put(rootId, keep);
+            }
+        } else {
+            keep = keep(context, root, isError(root));
+            decided.put(rootId, keep);
+        }
+        if (!keep) {
+            return;
+        }
+        children.forEach(reporter::report);
+        reporter.report(root);
+    }
+
+    private boolean keep(TraceContext context, MutableSpan root, boolean error) {
+        if (error) {
+            promotedError.increment();
+            return true;
+        }
+        if (isSlow(root)) {
+            promotedSlow.increment();
+            return true;
+        }
+        if (root.debug() || (context.sampled() && rateLimiter.tryAcquire(keyOf(root), System.nanoTime()))) {
+            sampled.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private boolean isSlow(MutableSpan span) {
+        long elapsedMicros = span.finishTimestamp() - span.startTimestamp();
+        long threshold = isMessaging(span) ? properties.getSlowKafkaThreshold().toNanos()
+                : properties.getSlowHttpThreshold().toNanos();
+        return span.startTimestamp() != 0 && TimeUnit.MICROSECONDS.toNanos(elapsedMicros) >= threshold;
+    }
+
+    static boolean isError(MutableSpan span) {
+        if (span.error() != null || span.tag("error") != null) {
+            return true;
+        }
+        String exception = span.tag("exception");
+        if (exception != null && !"none".equalsIgnoreCase(exception)) {
+            return true;
+        }
+        return "SERVER_ERROR".equals(span.tag("outcome"));
+    }
+
+    /**
+     * Micrometer 관측이 남긴 태그로 한도 키를 만든다. Kafka 리스너는 토픽, HTTP 서버는 메서드와 URI 템플릿이다.
+     */
+    static String keyOf(MutableSpan span) {
+        String topic = span.tag("messaging.source.name");
+        if (topic == null) {
+            topic = span.tag("messaging.destination.name");
+        }
+        if (topic != null) {
+            return topic;
+        }
+        String uri = span.tag("uri");
+        if (uri != null) {
+            String method = span.tag("method");
+            return method == null ? uri : method + " " + uri;
+        }
+        return span.name() == null ? TraceRateLimiter.OTHER : span.name();
+    }
+
+    private static boolean isMessaging(MutableSpan span) {
+        return span.kind() == Span.Kind.CONSUMER || span.tag("messaging.system") != null;
+    }
+
+    private static final class PendingTrace {
+        private final long createdAt = System.nanoTime();
+        private final List<MutableSpan> spans = new ArrayList<>();
+        private boolean error;
+        private boolean closed;
+    }
+}
@@ -0,0 +1,59 @@
+package org.fortishop.deliveryservice.global.tracing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키별 토큰 버킷. 초당 한도만큼 채워지고 최대 1초치까지 쌓인다.
+ * 음수 한도는 무제한, 0은 항상 거절이다.
+ */
+class TraceRateLimiter {
+    static final String OTHER = "other";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, Integer> limits;
+    private final int defaultLimit;
+    private final int maxKeys;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    TraceRateLimiter(Map<String, Integer> limits, int defaultLimit, int maxKeys) {
+        this.limits = Map.copyOf(limits);
+        this.defaultLimit = defaultLimit;
+        this.maxKeys = maxKeys;
+    }
+
+    boolean tryAcquire(String key, long nowNanos) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            String bucketKey = buckets.size() < maxKeys ? key : OTHER;
+            bucket = buckets.computeIfAbsent(bucketKey, k -> new Bucket(limits.getOrDefault(k, defaultLimit), nowNanos));
+        }
+        return bucket.tryAcquire(nowNanos);
+    }
+
+    private static final class Bucket {
+        private final int perSecond;
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(int perSecond, long nowNanos) {
+            this.perSecond = perSecond;
+            this.tokens = Math.max(perSecond, 0);
+            this.refilledAt = nowNanos;
+        }
+
+        private synchronized boolean tryAcquire(long nowNanos) {
+            if (perSecond < 0) {
+                return true;
+            }
+            tokens = Math.min(perSecond, tokens + (double) (nowNanos - refilledAt) * perSecond / NANOS_PER_SECOND);
+            refilledAt = nowNanos;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
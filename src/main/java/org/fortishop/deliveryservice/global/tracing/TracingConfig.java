@@ -0,0 +1,54 @@
+package org.fortishop.deliveryservice.global.tracing;
+
+import brave.TracingCustomizer;
+import brave.handler.MutableSpan;
+import brave.sampler.RateLimitingSampler;
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import zipkin2.reporter.BytesEncoder;
+import zipkin2.reporter.BytesMessageSender;
+import zipkin2.reporter.brave.MutableSpanBytesEncoder;
+
+/**
+ * 확률 샘플러와 기본 Zipkin 리포터 대신 초당 한도 샘플러, 꼬리 샘플링 핸들러, 유한 큐 리포터를 쓴다.
+ * Zipkin 전송이 꺼져 있으면 리포터는 받은 스팬을 버린다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "delivery.tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public Sampler rateLimitingSampler(TracingProperties properties) {
+        return RateLimitingSampler.create(properties.getTracesPerSecond());
+    }
+
+    /**
+     * 헤드 샘플링에서 빠진 트레이스도 스팬을 기록하게 해 끝날 때 오류·지연 여부를 볼 수 있게 한다.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "delivery.tracing", name = "tail-sampling", havingValue = "true",
+            matchIfMissing = true)
+    public TracingCustomizer alwaysSampleLocalCustomizer() {
+        return builder -> builder.alwaysSampleLocal();
+    }
+
+    @Bean
+    public BoundedSpanReporter boundedSpanReporter(TracingProperties properties,
+                                                   ObjectProvider<BytesMessageSender> sender,
+                                                   ObjectProvider<BytesEncoder<MutableSpan>> encoder,
+                                                   MeterRegistry meterRegistry) {
+        return new BoundedSpanReporter(properties.getReporter(), sender.getIfAvailable(),
+                encoder.getIfAvailable(() -> MutableSpanBytesEncoder.JSON_V2), meterRegistry);
+    }
+
+    @Bean
+    public TailSamplingSpanHandler tailSamplingSpanHandler(TracingProperties properties,
+                                                           BoundedSpanReporter reporter,
+                                                           MeterRegistry meterRegistry) {
+        return new TailSamplingSpanHandler(properties, reporter, meterRegistry);
+    }
+}
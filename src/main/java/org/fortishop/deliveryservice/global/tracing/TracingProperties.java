@@ -0,0 +1,50 @@
+package org.fortishop.deliveryservice.global.tracing;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.tracing")
+@Getter
+@Setter
+public class TracingProperties {
+    private boolean enabled = true;
+    /**
+     * 이 인스턴스에서 시작하는 트레이스의 헤드 샘플링 한도(초당). 0이면 오류·지연 트레이스만 남는다.
+     */
+    private int tracesPerSecond = 20;
+    /**
+     * 키별 초당 트레이스 한도. HTTP는 "GET /api/delivery/{orderId}", Kafka는 토픽 이름이 키다.
+     * 점이나 공백이 있는 키는 yml에서 "[order.created]"처럼 대괄호로 감싼다.
+     */
+    private Map<String, Integer> rateLimits = new HashMap<>(Map.of("order.created", 2));
+    private int defaultRateLimit = 5;
+    /**
+     * 서로 다른 키가 이보다 많아지면 나머지는 한 버킷을 함께 쓴다.
+     */
+    private int maxKeys = 256;
+    /**
+     * 헤드 샘플링에서 빠진 트레이스도 로컬에서는 기록해 두었다가 오류나 지연이면 보고한다.
+     * 끄면 샘플링되지 않은 스팬은 만들어지지 않아 CPU를 덜 쓰지만 오류 트레이스를 놓칠 수 있다.
+     */
+    private boolean tailSampling = true;
+    private Duration slowHttpThreshold = Duration.ofSeconds(1);
+    private Duration slowKafkaThreshold = Duration.ofMillis(500);
+    private int maxPendingTraces = 5_000;
+    private int maxSpansPerTrace = 128;
+    private Duration pendingTimeout = Duration.ofSeconds(30);
+    private Reporter reporter = new Reporter();
+
+    @Getter
+    @Setter
+    public static class Reporter {
+        private int queueSize = 10_000;
+        private int batchSize = 256;
+        private Duration flushInterval = Duration.ofSeconds(1);
+    }
+}
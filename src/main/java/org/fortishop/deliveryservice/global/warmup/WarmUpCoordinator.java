@@ -0,0 +1,89 @@
+package org.fortishop.deliveryservice.global.warmup;
+
+import jakarta.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 색인 웜업을 ApplicationReadyEvent 리스너 안에서 차례로 돌리지 않고 전용 스레드로 넘긴다.
+ * 기동 완료는 웜업을 기다리지 않고, 끝나지 않은 웜업이 있는 동안에는 {@link WarmUpHealthIndicator}가 readiness를 막는다.
+ * 실패한 웜업은 기록만 하고 readiness를 계속 막지 않는다. 해당 색인은 버스 변경으로만 채워진다.
+ */
+@Slf4j
+@Component
+public class WarmUpCoordinator {
+
+    private final Map<String, WarmUpTask> tasks;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor;
+
+    public WarmUpCoordinator(ObjectProvider<WarmUpTask> tasks, @Value("${delivery.warm-up.threads:2}") int threads) {
+        this.tasks = new LinkedHashMap<>();
+        tasks.orderedStream().forEach(task -> this.tasks.put(nameOf(task), task));
+        this.pending.addAll(this.tasks.keySet());
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "delivery-warm-up-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long startedAt = System.currentTimeMillis();
+        tasks.forEach((name, task) -> executor.execute(() -> run(name, task, startedAt)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean isWarming() {
+        return !pending.isEmpty();
+    }
+
+    public List<String> pending() {
+        return pending.stream().sorted().toList();
+    }
+
+    public List<String> failed() {
+        return failed.stream().sorted().toList();
+    }
+
+    private void run(String name, WarmUpTask task, long startedAt) {
+        long taskStartedAt = System.currentTimeMillis();
+        try {
+            task.warmUp();
+            log.info("[WarmUp] Finished: task={}, elapsedMs={}", name, System.currentTimeMillis() - taskStartedAt);
+        } catch (Exception e) {
+            failed.add(name);
+            log.error("[WarmUp] Failed, continuing with bus updates only: task={}", name, e);
+        } finally {
+            pending.remove(name);
+            if (pending.isEmpty()) {
+                log.info("[WarmUp] All warm-ups finished: tasks={}, failed={}, elapsedMs={}", tasks.size(),
+                        failed.size(), System.currentTimeMillis() - startedAt);
+            }
+        }
+    }
+
+    private static String nameOf(WarmUpTask task) {
+        return ClassUtils.getUserClass(task).getSimpleName();
+    }
+}
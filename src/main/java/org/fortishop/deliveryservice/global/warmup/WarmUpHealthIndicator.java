@@ -0,0 +1,29 @@
+package org.fortishop.deliveryservice.global.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * 웜업이 끝나기 전에는 OUT_OF_SERVICE(warming)로 응답한다. readiness 그룹에 포함해 트래픽을 받기 전에 색인이 차도록 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmUpHealthIndicator implements HealthIndicator {
+    static final Status WARMING = new Status(Status.OUT_OF_SERVICE.getCode(), "warming");
+
+    private final WarmUpCoordinator coordinator;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = coordinator.isWarming()
+                ? Health.status(WARMING).withDetail("pending", coordinator.pending())
+                : Health.up();
+        if (!coordinator.failed().isEmpty()) {
+            builder.withDetail("failed", coordinator.failed());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,10 @@
+package org.fortishop.deliveryservice.global.warmup;
+
+/**
+ * 기동 후 테이블을 훑어 메모리 색인을 채우는 작업. {@link WarmUpCoordinator}가 백그라운드에서 한 번 실행한다.
+ * 적재 중에도 delivery.changed 버스 변경은 계속 들어오므로, 구현체는 스캔 결과가 더 최신 변경을 덮어쓰지 않게 해야 한다.
+ */
+public interface WarmUpTask {
+
+    void warmUp();
+}
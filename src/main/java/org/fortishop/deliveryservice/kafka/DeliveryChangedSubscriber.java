@@ -0,0 +1,134 @@
+package org.fortishop.deliveryservice.kafka;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.TopicPartitionOffset;
+import org.springframework.kafka.support.TopicPartitionOffset.SeekPosition;
+import org.springframework.stereotype.Component;
+
+/**
+ * delivery.changed의 모든 파티션을 컨슈머 그룹 없이 직접 할당(assign)받아 {@link DeliveryEventBus}로 넘긴다.
+ * 오프셋을 커밋하지 않으므로 재시작이나 스케일 아웃마다 버려지는 그룹이 남지 않고, 리밸런스도 기다리지 않는다.
+ * <p>
+ * 읽기는 프로세스 시작 시각보다 replay-margin만큼 앞선 지점부터 시작한다. 색인 웜업은 시작 이후에 테이블을 읽으므로
+ * 그동안 발행된 변경은 여기서 다시 받아 메운다. 시작 전의 변경은 다시 받지 않고 웜업이 테이블에서 채운다.
+ * 파티션 목록은 시작할 때 한 번 읽으므로, 토픽 파티션을 늘리면 재시작해야 새 파티션을 받는다.
+ */
+@Slf4j
+@Component
+public class DeliveryChangedSubscriber implements SmartLifecycle {
+    static final String TOPIC = "delivery.changed";
+    private static final Duration METADATA_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(5);
+
+    private final ConcurrentKafkaListenerContainerFactory<String, DeliveryChangedEvent> containerFactory;
+    private final DeliveryEventBus eventBus;
+    private final long replayFromMillis;
+
+    private ConcurrentMessageListenerContainer<String, DeliveryChangedEvent> container;
+    private Thread assigner;
+    private volatile boolean running;
+
+    public DeliveryChangedSubscriber(
+            @Qualifier("deliveryChangedListenerContainerFactory")
+            ConcurrentKafkaListenerContainerFactory<String, DeliveryChangedEvent> containerFactory,
+            DeliveryEventBus eventBus,
+            @Value("${delivery.event-bus.replay-margin:30s}") Duration replayMargin) {
+        this.containerFactory = containerFactory;
+        this.eventBus = eventBus;
+        this.replayFromMillis = ManagementFactory.getRuntimeMXBean().getStartTime() - replayMargin.toMillis();
+    }
+
+    /**
+     * 파티션 조회는 브로커가 늦게 떠도 기동을 막지 않도록 별도 스레드에서 재시도한다.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        assigner = new Thread(this::assignAndStart, "delivery-changed-assigner");
+        assigner.setDaemon(true);
+        assigner.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (assigner != null) {
+            assigner.interrupt();
+            assigner = null;
+        }
+        if (container != null) {
+            container.stop();
+            container = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return AbstractMessageListenerContainer.DEFAULT_PHASE;
+    }
+
+    private void assignAndStart() {
+        while (running) {
+            try {
+                List<Integer> partitions = partitions();
+                if (!partitions.isEmpty()) {
+                    startContainer(partitions);
+                    return;
+                }
+                log.warn("[EventBus] No partitions found for {}, retrying", TOPIC);
+            } catch (Exception e) {
+                log.warn("[EventBus] Failed to read partitions of {}: {}", TOPIC, e.getMessage());
+            }
+            try {
+                Thread.sleep(RETRY_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private List<Integer> partitions() {
+        try (Consumer<?, ?> consumer = containerFactory.getConsumerFactory().createConsumer()) {
+            List<PartitionInfo> infos = consumer.partitionsFor(TOPIC, METADATA_TIMEOUT);
+            return infos == null ? List.of() : infos.stream().map(PartitionInfo::partition).sorted().toList();
+        }
+    }
+
+    private synchronized void startContainer(List<Integer> partitions) {
+        if (!running) {
+            return;
+        }
+        TopicPartitionOffset[] offsets = partitions.stream()
+                .map(partition -> new TopicPartitionOffset(TOPIC, partition, replayFromMillis, SeekPosition.TIMESTAMP))
+                .toArray(TopicPartitionOffset[]::new);
+        container = containerFactory.createContainer(offsets);
+        container.setBeanName("deliveryChangedListener");
+        container.setupMessageListener(
+                (MessageListener<String, DeliveryChangedEvent>) record -> eventBus.publish(record.value()));
+        container.start();
+        log.info("[EventBus] Assigned {}: partitions={}, replayFrom={}", TOPIC, partitions, replayFromMillis);
+    }
+}
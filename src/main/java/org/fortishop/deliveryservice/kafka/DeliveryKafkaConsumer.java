@@ -1,11 +1,23 @@
 package org.fortishop.deliveryservice.kafka;
 
+import java.time.Duration;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.dispatch.RegionNormalizer;
 import org.fortishop.deliveryservice.dto.event.OrderCreatedEvent;
+import org.fortishop.deliveryservice.dto.event.PaymentCompletedEvent;
 import org.fortishop.deliveryservice.dto.event.PaymentFailedEvent;
 import org.fortishop.deliveryservice.dto.request.DeliveryRequest;
+import org.fortishop.deliveryservice.dto.response.DeliveryResponse;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryExceptionType;
+import org.fortishop.deliveryservice.global.admission.AdmissionController;
+import org.fortishop.deliveryservice.global.logging.DebugTargets;
+import org.fortishop.deliveryservice.global.logging.HotPathLogger;
+import org.fortishop.deliveryservice.global.metrics.DeliveryMetrics;
 import org.fortishop.deliveryservice.service.DeliveryService;
+import org.slf4j.MDC;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
@@ -14,15 +26,23 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class DeliveryKafkaConsumer {
+    private static final Duration OVERLOAD_REDELIVERY_DELAY = Duration.ofSeconds(2);
 
     private final DeliveryService deliveryService;
+    private final AdmissionController admissionController;
+    private final DeliveryMetrics deliveryMetrics;
+    private final HotPathLogger hotPathLogger;
 
-    @KafkaListener(topics = "order.created", groupId = "delivery-group", containerFactory = "orderCreatedListenerContainerFactory")
+    @KafkaListener(id = "orderCreatedListener", idIsGroup = false, topics = "order.created", groupId = "delivery-group", containerFactory = "orderCreatedListenerContainerFactory")
     public void consumeOrderCreated(OrderCreatedEvent event, Acknowledgment ack) {
-        try {
-            log.info("[Kafka] Received order.created: orderId={}, traceId={}", event.getOrderId(), event.getTraceId());
+        try (MDC.MDCCloseable ignored = MDC.putCloseable(DebugTargets.MDC_ORDER_ID,
+                String.valueOf(event.getOrderId()))) {
+            hotPathLogger.info(log, HotPathLogger.KAFKA_RECEIVED, event.getOrderId(), event.getTraceId(),
+                    () -> describe(event), "[Kafka] Received order.created: orderId={}, traceId={}",
+                    event.getOrderId(), event.getTraceId());
             DeliveryRequest request = new DeliveryRequest(event.getOrderId(), event.getAddress(), event.getTraceId());
-            deliveryService.createDelivery(request);
+            DeliveryResponse created = admissionController.executeKafka(() -> deliveryService.createDelivery(request));
+            deliveryMetrics.recordOrderLag(event.getCreatedAt(), created.getCreatedAt());
             ack.acknowledge();
         } catch (Exception e) {
             log.error("처리 실패: order.created", e);
@@ -30,18 +50,50 @@ public class DeliveryKafkaConsumer {
         }
     }
 
-    @KafkaListener(topics = "payment.failed", groupId = "delivery-group", containerFactory = "paymentFailedListenerContainerFactory")
-    public void consumePaymentFailed(PaymentFailedEvent event, Acknowledgment ack) {
+    @KafkaListener(id = "paymentFailedListener", idIsGroup = false, topics = "payment.failed", groupId = "delivery-group", containerFactory = "paymentFailedListenerContainerFactory")
+    public void consumePaymentFailed(List<PaymentFailedEvent> events, Acknowledgment ack) {
+        hotPathLogger.info(log, HotPathLogger.KAFKA_BATCH_RECEIVED, null, null,
+                "[Kafka] Received payment.failed batch: size={}", events.size());
+        List<Long> orderIds = events.stream().map(PaymentFailedEvent::getOrderId).toList();
+        consumeBatch("payment.failed", events.size(), ack,
+                () -> deliveryService.compensateDeliveriesOnPaymentFailure(orderIds));
+    }
+
+    @KafkaListener(id = "paymentCompletedListener", idIsGroup = false, topics = "payment.completed", groupId = "delivery-group", containerFactory = "paymentCompletedListenerContainerFactory")
+    public void consumePaymentCompleted(List<PaymentCompletedEvent> events, Acknowledgment ack) {
+        hotPathLogger.info(log, HotPathLogger.KAFKA_BATCH_RECEIVED, null, null,
+                "[Kafka] Received payment.completed batch: size={}", events.size());
+        List<Long> orderIds = events.stream().map(PaymentCompletedEvent::getOrderId).toList();
+        consumeBatch("payment.completed", events.size(), ack, () -> deliveryService.markDeliveriesPaid(orderIds));
+    }
+
+    private void consumeBatch(String topic, int size, Acknowledgment ack, Runnable task) {
         try {
-            log.info("[Kafka] Received payment.failed: orderId={}, traceId={}", event.getOrderId(), event.getTraceId());
-            deliveryService.compensateDeliveryOnPaymentFailure(event.getOrderId());
+            admissionController.executeKafka(size, task);
             ack.acknowledge();
+        } catch (DeliveryException e) {
+            if (e.getExceptionType() != DeliveryExceptionType.SERVICE_OVERLOADED) {
+                log.error("처리 실패: {}", topic, e);
+                throw e;
+            }
+            // 과부하로 거절된 배치는 DLQ로 보내지 않고 잠시 후 통째로 다시 받는다.
+            log.warn("[Kafka] {} batch deferred by admission control: size={}", topic, size);
+            ack.nack(0, OVERLOAD_REDELIVERY_DELAY);
         } catch (Exception e) {
-            log.error("처리 실패: payment.failed", e);
+            log.error("처리 실패: {}", topic, e);
             throw e;
         }
     }
 
+    /**
+     * 디버그 대상 상세 로그. 고객 주소는 남기지 않고 권역 키만 남긴다.
+     */
+    private static String describe(OrderCreatedEvent event) {
+        return "memberId=" + event.getMemberId() + ", region=" + RegionNormalizer.normalize(event.getAddress())
+                + ", createdAt=" + event.getCreatedAt()
+                + ", items=" + (event.getItems() == null ? 0 : event.getItems().size());
+    }
+
     @KafkaListener(topics = "order.created.dlq", groupId = "delivery-dlq-group")
     public void handleDlq(OrderCreatedEvent event) {
         log.error("[DLQ 메시지 확인] order.created 처리 실패 : {}", event);
@@ -53,4 +105,10 @@ public class DeliveryKafkaConsumer {
         log.error("[DLQ 메시지 확인] payment.failed 처리 실패 : {}", event);
         // slack 또는 이메일로 개발자, 관리자에게 알림
     }
+
+    @KafkaListener(topics = "payment.completed.dlq", groupId = "delivery-dlq-group")
+    public void handleDlq(PaymentCompletedEvent event) {
+        log.error("[DLQ 메시지 확인] payment.completed 처리 실패 : {}", event);
+        // slack 또는 이메일로 개발자, 관리자에게 알림
+    }
 }
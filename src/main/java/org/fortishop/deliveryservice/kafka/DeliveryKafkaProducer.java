@@ -7,13 +7,15 @@ import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fortishop.deliveryservice.domain.Delivery;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
 import org.fortishop.deliveryservice.dto.event.DeliveryCompletedEvent;
+import org.fortishop.deliveryservice.dto.event.DeliverySlaBreachedEvent;
 import org.fortishop.deliveryservice.dto.event.DeliveryStartedEvent;
-import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
-import org.fortishop.deliveryservice.exception.delivery.DeliveryExceptionType;
-import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.fortishop.deliveryservice.global.logging.HotPathLogger;
+import org.fortishop.deliveryservice.global.metrics.DeliveryMetrics;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Slf4j
 @Component
@@ -21,15 +23,14 @@ import org.springframework.stereotype.Component;
 public class DeliveryKafkaProducer {
 
     private final KafkaTemplate<String, String> kafkaTemplate;
-    private final DeliveryRepository deliveryRepository;
+    private final DeliveryMetrics deliveryMetrics;
+    private final HotPathLogger hotPathLogger;
     private final ObjectMapper objectMapper = new ObjectMapper()
             .registerModule(new JavaTimeModule())
             .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-    public void sendDeliveryStarted(Long orderId) {
-        Delivery delivery = deliveryRepository.findByOrderId(orderId)
-                .orElseThrow(() -> new DeliveryException(DeliveryExceptionType.DELIVERY_NOT_FOUND));
-
+    public void sendDeliveryStarted(Delivery delivery) {
+        Long orderId = delivery.getOrderId();
         DeliveryStartedEvent event = DeliveryStartedEvent.builder()
                 .orderId(delivery.getOrderId())
                 .deliveryId(delivery.getId())
@@ -41,17 +42,16 @@ public class DeliveryKafkaProducer {
 
         try {
             String payload = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send("delivery.started", orderId.toString(), payload);
-            log.info("[Kafka] Sent delivery.started: {}", payload);
+            send("delivery.started", orderId.toString(), payload);
+            hotPathLogger.info(log, HotPathLogger.KAFKA_SENT, orderId, delivery.getTraceId(), () -> payload,
+                    "[Kafka] Sent delivery.started: orderId={}", orderId);
         } catch (Exception e) {
             log.error("[Kafka] Failed to serialize delivery.started event", e);
         }
     }
 
-    public void sendDeliveryCompleted(Long orderId) {
-        Delivery delivery = deliveryRepository.findByOrderId(orderId)
-                .orElseThrow(() -> new DeliveryException(DeliveryExceptionType.DELIVERY_NOT_FOUND));
-
+    public void sendDeliveryCompleted(Delivery delivery) {
+        Long orderId = delivery.getOrderId();
         DeliveryCompletedEvent event = DeliveryCompletedEvent.builder()
                 .orderId(delivery.getOrderId())
                 .deliveryId(delivery.getId())
@@ -61,10 +61,38 @@ public class DeliveryKafkaProducer {
 
         try {
             String payload = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send("delivery.completed", orderId.toString(), payload);
-            log.info("[Kafka] Sent delivery.completed: {}", payload);
+            send("delivery.completed", orderId.toString(), payload);
+            hotPathLogger.info(log, HotPathLogger.KAFKA_SENT, orderId, delivery.getTraceId(), () -> payload,
+                    "[Kafka] Sent delivery.completed: orderId={}", orderId);
         } catch (Exception e) {
             log.error("[Kafka] Failed to serialize delivery.completed event", e);
         }
     }
+
+    public void sendSlaBreached(DeliverySlaBreachedEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            send("delivery.sla.breached", event.getOrderId().toString(), payload);
+            hotPathLogger.info(log, HotPathLogger.KAFKA_SENT, event.getOrderId(), event.getTraceId(), () -> payload,
+                    "[Kafka] Sent delivery.sla.breached: orderId={}", event.getOrderId());
+        } catch (Exception e) {
+            log.error("[Kafka] Failed to serialize delivery.sla.breached event", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void sendDeliveryChanged(DeliveryChangedEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            send("delivery.changed", event.getOrderId().toString(), payload);
+        } catch (Exception e) {
+            log.error("[Kafka] Failed to serialize delivery.changed event", e);
+        }
+    }
+
+    private void send(String topic, String key, String payload) {
+        long startedAt = System.nanoTime();
+        kafkaTemplate.send(topic, key, payload).whenComplete((result, e) ->
+                deliveryMetrics.recordProducerAck(topic, System.nanoTime() - startedAt, e));
+    }
 }
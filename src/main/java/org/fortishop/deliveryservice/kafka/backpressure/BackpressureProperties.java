@@ -0,0 +1,25 @@
+package org.fortishop.deliveryservice.kafka.backpressure;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.backpressure")
+@Getter
+@Setter
+public class BackpressureProperties {
+    private boolean enabled = true;
+    private double pauseSaturation = 0.9;
+    private double resumeSaturation = 0.6;
+    private Duration pauseLatency = Duration.ofMillis(500);
+    private Duration resumeLatency = Duration.ofMillis(100);
+    private int resumeAfterHealthySamples = 3;
+    // 재개 순서. 앞에 있는 리스너부터 하나씩 재개한다.
+    private List<String> listenerIds = new ArrayList<>(List.of("paymentFailedListener", "orderCreatedListener",
+            "paymentCompletedListener"));
+}
@@ -0,0 +1,184 @@
+package org.fortishop.deliveryservice.kafka.backpressure;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * DB 커넥션 풀 포화도와 쿼리 지연을 주기적으로 관찰해 DB가 나빠지면 리스너 컨테이너를 멈추고,
+ * 회복되면 한 번에 하나씩 재개한다. 멈춘 동안 쌓인 메시지는 Kafka lag으로 남는다.
+ * 샤딩 중에는 샤드마다 풀과 프로브를 따로 보고, 가장 나쁜 샤드를 기준으로 판단한다.
+ */
+@Slf4j
+@Component
+public class KafkaBackpressureController {
+
+    private final BackpressureProperties properties;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final DataSource dataSource;
+    private final ShardTemplate shardTemplate;
+    private final Counter pauseCounter;
+
+    private volatile double saturation;
+    private volatile long probeLatencyMillis;
+    private int healthySamples;
+
+    public KafkaBackpressureController(BackpressureProperties properties,
+                                       KafkaListenerEndpointRegistry listenerRegistry,
+                                       DataSource dataSource,
+                                       ShardTemplate shardTemplate,
+                                       MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.listenerRegistry = listenerRegistry;
+        this.dataSource = dataSource;
+        this.shardTemplate = shardTemplate;
+        this.pauseCounter = Counter.builder("delivery.kafka.backpressure.pauses").register(meterRegistry);
+
+        Gauge.builder("delivery.db.pool.saturation", this, c -> c.saturation).register(meterRegistry);
+        Gauge.builder("delivery.db.probe.latency", this, c -> c.probeLatencyMillis)
+                .baseUnit("milliseconds").register(meterRegistry);
+        for (String listenerId : properties.getListenerIds()) {
+            Gauge.builder("delivery.kafka.backpressure.paused", this, c -> c.isPaused(listenerId) ? 1 : 0)
+                    .tag("listener", listenerId).register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.backpressure.interval:5000}")
+    public void sample() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        double worstSaturation = 0;
+        int awaiting = 0;
+        long worstLatencyMillis = 0;
+        List<ShardSample> samples = shardTemplate.onEachShard(this::sampleShard);
+        for (int shard = 0; shard < samples.size(); shard++) {
+            ShardSample sample = samples.get(shard);
+            if (sample.awaiting() > 0 || sample.latencyMillis() >= properties.getPauseLatency().toMillis()) {
+                log.debug("[Backpressure] Degraded shard={}, sample={}", shard, sample);
+            }
+            worstSaturation = Math.max(worstSaturation, sample.saturation());
+            awaiting += sample.awaiting();
+            worstLatencyMillis = Math.max(worstLatencyMillis, sample.latencyMillis());
+        }
+        saturation = worstSaturation;
+        probeLatencyMillis = worstLatencyMillis;
+        evaluate(worstSaturation, awaiting, worstLatencyMillis);
+    }
+
+    /**
+     * 현재 샤드 컨텍스트의 풀과 프로브를 본다. 라우팅 데이터소스는 unwrap·getConnection을 현재 샤드로 보낸다.
+     */
+    private ShardSample sampleShard() {
+        HikariPoolMXBean pool = poolBean();
+        double poolSaturation = 0;
+        int awaiting = 0;
+        if (pool != null && pool.getTotalConnections() > 0) {
+            poolSaturation = (double) pool.getActiveConnections() / pool.getTotalConnections();
+            awaiting = pool.getThreadsAwaitingConnection();
+        }
+        // 커넥션 대기가 있으면 프로브 자체가 막히므로 건너뛰고 포화로 판단한다.
+        long latencyMillis = awaiting == 0 ? probe() : 0;
+        return new ShardSample(poolSaturation, awaiting, latencyMillis);
+    }
+
+    synchronized void evaluate(double saturation, int awaiting, long latencyMillis) {
+        boolean degraded = awaiting > 0
+                || saturation >= properties.getPauseSaturation()
+                || latencyMillis >= properties.getPauseLatency().toMillis();
+        boolean healthy = awaiting == 0
+                && saturation <= properties.getResumeSaturation()
+                && latencyMillis <= properties.getResumeLatency().toMillis();
+
+        if (degraded) {
+            healthySamples = 0;
+            pauseAll(saturation, awaiting, latencyMillis);
+            return;
+        }
+        if (!healthy) {
+            healthySamples = 0;
+            return;
+        }
+        if (++healthySamples >= properties.getResumeAfterHealthySamples()) {
+            resumeNext();
+        }
+    }
+
+    public boolean isPaused(String listenerId) {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+        return container != null && container.isPauseRequested();
+    }
+
+    /**
+     * 백프레셔가 멈춘 리스너가 하나라도 있는지. 이 동안 쌓이는 lag은 의도한 것이다.
+     */
+    public boolean isAnyPaused() {
+        return properties.isEnabled() && properties.getListenerIds().stream().anyMatch(this::isPaused);
+    }
+
+    private void pauseAll(double saturation, int awaiting, long latencyMillis) {
+        for (String listenerId : properties.getListenerIds()) {
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+            if (container != null && container.isRunning() && !container.isPauseRequested()) {
+                container.pause();
+                pauseCounter.increment();
+                log.warn("[Backpressure] Paused listener={}, saturation={}, awaiting={}, latencyMs={}",
+                        listenerId, String.format("%.2f", saturation), awaiting, latencyMillis);
+            }
+        }
+    }
+
+    private void resumeNext() {
+        List<String> listenerIds = properties.getListenerIds();
+        for (String listenerId : listenerIds) {
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+            if (container != null && container.isPauseRequested()) {
+                container.resume();
+                healthySamples = 0;
+                log.info("[Backpressure] Resumed listener={}", listenerId);
+                return;
+            }
+        }
+    }
+
+    private long probe() {
+        long startedAt = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(5);
+            statement.execute("SELECT 1");
+        } catch (SQLException e) {
+            log.warn("[Backpressure] DB probe failed: {}", e.getMessage());
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    private HikariPoolMXBean poolBean() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            }
+        } catch (SQLException e) {
+            log.debug("[Backpressure] DataSource is not Hikari", e);
+        }
+        return null;
+    }
+
+    private record ShardSample(double saturation, int awaiting, long latencyMillis) {
+    }
+}
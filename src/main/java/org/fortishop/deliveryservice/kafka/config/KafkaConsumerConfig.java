@@ -1,15 +1,27 @@
 package org.fortishop.deliveryservice.kafka.config;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.fortishop.deliveryservice.cache.DeliveryStateCache;
+import org.fortishop.deliveryservice.capture.TrafficRecorder;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
 import org.fortishop.deliveryservice.dto.event.OrderCreatedEvent;
+import org.fortishop.deliveryservice.dto.event.PaymentCompletedEvent;
 import org.fortishop.deliveryservice.dto.event.PaymentFailedEvent;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryExceptionType;
+import org.fortishop.deliveryservice.global.jfr.KafkaJfrInterceptor;
+import org.fortishop.deliveryservice.global.metrics.KafkaListenerMetrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
@@ -18,18 +30,30 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.CompositeBatchInterceptor;
+import org.springframework.kafka.listener.CompositeRecordInterceptor;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.RecordInterceptor;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.StringUtils;
+import org.springframework.util.backoff.BackOff;
 import org.springframework.util.backoff.FixedBackOff;
 
 @Configuration
 @RequiredArgsConstructor
 public class KafkaConsumerConfig {
 
+    private static final BackOff OVERLOAD_BACK_OFF = new FixedBackOff(2000L, FixedBackOff.UNLIMITED_ATTEMPTS);
+
     private final KafkaProperties kafkaProperties;
+    private final DeliveryStateCache deliveryStateCache;
+    private final ObjectProvider<TrafficRecorder> trafficRecorder;
+    private final KafkaListenerMetrics kafkaListenerMetrics;
+    private final KafkaJfrInterceptor kafkaJfrInterceptor;
 
     @Bean
     public KafkaTemplate<String, Object> kafkaTemplate() {
@@ -68,13 +92,43 @@ public class KafkaConsumerConfig {
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, OrderCreatedEvent> orderCreatedListenerContainerFactory(
             KafkaTemplate<String, Object> kafkaTemplate) {
-        return createListenerContainerFactory(OrderCreatedEvent.class, "order.created.dlq", kafkaTemplate);
+        ConcurrentKafkaListenerContainerFactory<String, OrderCreatedEvent> factory =
+                createListenerContainerFactory(OrderCreatedEvent.class, "order.created.dlq", kafkaTemplate);
+        factory.setRecordInterceptor(recordInterceptor());
+        // 리스너를 옵저베이션 안에서 실행해 처리 시간 타이머에 트레이스 id exemplar가 붙도록 한다.
+        factory.getContainerProperties().setObservationEnabled(true);
+        return factory;
     }
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, PaymentFailedEvent> paymentFailedListenerContainerFactory(
             KafkaTemplate<String, Object> kafkaTemplate) {
-        return createListenerContainerFactory(PaymentFailedEvent.class, "payment.failed.dlq", kafkaTemplate);
+        ConcurrentKafkaListenerContainerFactory<String, PaymentFailedEvent> factory =
+                createListenerContainerFactory(PaymentFailedEvent.class, "payment.failed.dlq", kafkaTemplate);
+        // 결제 실패는 장애 시 한꺼번에 몰려오므로 poll 단위로 묶어 일괄 보상한다.
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setConsumerRebalanceListener(deliveryStateCache);
+        factory.setBatchInterceptor(batchInterceptor(true));
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PaymentCompletedEvent> paymentCompletedListenerContainerFactory(
+            KafkaTemplate<String, Object> kafkaTemplate) {
+        ConcurrentKafkaListenerContainerFactory<String, PaymentCompletedEvent> factory =
+                createListenerContainerFactory(PaymentCompletedEvent.class, "payment.completed.dlq", kafkaTemplate);
+        factory.setBatchListener(true);
+        factory.setBatchInterceptor(batchInterceptor(false));
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, DeliveryChangedEvent> deliveryChangedListenerContainerFactory() {
+        // 인스턴스마다 모든 파티션을 그룹 없이 직접 할당받아 전체 변경을 받는다. group.id가 없으면 오프셋을 커밋하지 않는다.
+        ConcurrentKafkaListenerContainerFactory<String, DeliveryChangedEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(createConsumerFactory(DeliveryChangedEvent.class, null, "latest", false));
+        return factory;
     }
 
     private <T> ConcurrentKafkaListenerContainerFactory<String, T> createListenerContainerFactory(
@@ -88,17 +142,63 @@ public class KafkaConsumerConfig {
                 kafkaTemplate, (r, e) -> new TopicPartition(dlqTopic, r.partition())
         );
         DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(1000L, 3));
+        errorHandler.setBackOffFunction((record, ex) -> isOverloaded(ex) ? OVERLOAD_BACK_OFF : null);
         factory.setCommonErrorHandler(errorHandler);
 
         return factory;
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> RecordInterceptor<String, T> recordInterceptor() {
+        List<RecordInterceptor<String, T>> interceptors = new ArrayList<>();
+        interceptors.add(kafkaListenerMetrics.recordInterceptor());
+        interceptors.add(kafkaJfrInterceptor.recordInterceptor());
+        trafficRecorder.ifAvailable(recorder -> interceptors.add(recorder.recordInterceptor()));
+        return new CompositeRecordInterceptor<>(interceptors.toArray(RecordInterceptor[]::new));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> BatchInterceptor<String, T> batchInterceptor(boolean capture) {
+        List<BatchInterceptor<String, T>> interceptors = new ArrayList<>();
+        interceptors.add(kafkaListenerMetrics.batchInterceptor());
+        interceptors.add(kafkaJfrInterceptor.batchInterceptor());
+        if (capture) {
+            trafficRecorder.ifAvailable(recorder -> interceptors.add(recorder.batchInterceptor()));
+        }
+        return new CompositeBatchInterceptor<>(interceptors.toArray(BatchInterceptor[]::new));
+    }
+
+    private static boolean isOverloaded(Exception ex) {
+        // 과부하로 거절된 레코드는 DLQ로 보내지 않고 처리될 때까지 재시도한다.
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeliveryException deliveryException
+                    && deliveryException.getExceptionType() == DeliveryExceptionType.SERVICE_OVERLOADED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private <T> ConsumerFactory<String, T> createConsumerFactory(Class<T> valueType) {
+        return createConsumerFactory(valueType, kafkaProperties.getConsumer().getGroupId(),
+                kafkaProperties.getConsumer().getAutoOffsetReset(), true);
+    }
+
+    private <T> ConsumerFactory<String, T> createConsumerFactory(Class<T> valueType, String groupId,
+                                                                 String autoOffsetReset, boolean staticMembership) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers());
-        props.put(ConsumerConfig.GROUP_ID_CONFIG, kafkaProperties.getConsumer().getGroupId());
-        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, kafkaProperties.getConsumer().getAutoOffsetReset());
+        if (groupId != null) {
+            props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        }
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+        if (staticMembership && StringUtils.hasText(kafkaProperties.getConsumer().getGroupInstanceId())) {
+            // 정적 멤버십: 재시작해도 같은 파티션을 돌려받아 리밸런스와 캐시 재적재가 줄어든다.
+            props.put(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG,
+                    kafkaProperties.getConsumer().getGroupInstanceId() + "-" + valueType.getSimpleName());
+        }
 
         JsonDeserializer<T> deserializer = new JsonDeserializer<>(valueType);
         deserializer.addTrustedPackages("*");
@@ -18,5 +18,6 @@ public class KafkaProperties {
     public static class Consumer {
         private String groupId;
         private String autoOffsetReset;
+        private String groupInstanceId;
     }
 }
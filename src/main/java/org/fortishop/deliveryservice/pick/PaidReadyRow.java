@@ -0,0 +1,6 @@
+package org.fortishop.deliveryservice.pick;
+
+import java.time.LocalDateTime;
+
+public record PaidReadyRow(Long deliveryId, Long orderId, String address, LocalDateTime paidAt) {
+}
@@ -0,0 +1,159 @@
+package org.fortishop.deliveryservice.pick;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.dispatch.RegionNormalizer;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.dto.response.PickQueueResponse;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.warmup.WarmUpTask;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제가 끝나 출고 가능한 READY 배송을 결제 시각 순으로 보관하는 색인.
+ * 커서는 (결제 시각, orderId)라서 어느 인스턴스에 요청해도 같은 순서로 이어서 읽을 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PickQueueIndex implements WarmUpTask {
+    private static final int WARM_UP_PAGE_SIZE = 1_000;
+
+    private final DeliveryEventBus eventBus;
+    private final DeliveryRepository deliveryRepository;
+    private final ShardTemplate shardTemplate;
+
+    private final ConcurrentSkipListMap<Key, PickQueueItem> queue = new ConcurrentSkipListMap<>();
+    private final Map<Long, Key> keysByOrderId = new ConcurrentHashMap<>();
+    private final Set<Long> removedDuringWarmUp = new ConcurrentSkipListSet<>();
+    // 웜업은 구독보다 늦게 백그라운드에서 시작하므로, 그 사이의 제거도 기록하도록 처음부터 켜 둔다.
+    private volatile boolean warmingUp = true;
+
+    @PostConstruct
+    void subscribe() {
+        eventBus.subscribe(this::onDeliveryChanged);
+    }
+
+    @Override
+    public void warmUp() {
+        int loaded = 0;
+        try {
+            for (int shardLoaded : shardTemplate.onEachShard(this::warmUpShard)) {
+                loaded += shardLoaded;
+            }
+        } finally {
+            warmingUp = false;
+            removedDuringWarmUp.clear();
+        }
+        log.info("[PickQueue] Warmed up: size={}", loaded);
+    }
+
+    private int warmUpShard() {
+        long lastId = 0L;
+        int loaded = 0;
+        List<PaidReadyRow> page;
+        do {
+            page = deliveryRepository.findPaidRowsAfter(DeliveryStatus.READY, lastId,
+                    PageRequest.of(0, WARM_UP_PAGE_SIZE));
+            for (PaidReadyRow row : page) {
+                if (!removedDuringWarmUp.contains(row.orderId())) {
+                    add(new PickQueueItem(row.orderId(), row.deliveryId(), RegionNormalizer.normalize(row.address()),
+                            row.paidAt()));
+                    loaded++;
+                }
+                lastId = row.deliveryId();
+            }
+        } while (page.size() == WARM_UP_PAGE_SIZE);
+        return loaded;
+    }
+
+    public PickQueueResponse read(String cursor, int size) {
+        Map<Key, PickQueueItem> tail = cursor == null || cursor.isBlank()
+                ? queue
+                : queue.tailMap(Key.parse(cursor), false);
+
+        List<PickQueueItem> items = new ArrayList<>(Math.min(size, 1_000));
+        Key last = null;
+        Iterator<Map.Entry<Key, PickQueueItem>> iterator = tail.entrySet().iterator();
+        while (items.size() < size && iterator.hasNext()) {
+            Map.Entry<Key, PickQueueItem> entry = iterator.next();
+            items.add(entry.getValue());
+            last = entry.getKey();
+        }
+        String nextCursor = last != null ? last.format() : cursor;
+        return new PickQueueResponse(items, nextCursor, iterator.hasNext());
+    }
+
+    public int size() {
+        return keysByOrderId.size();
+    }
+
+    private void onDeliveryChanged(DeliveryChangedEvent event) {
+        if (event.getStatus() == DeliveryStatus.READY && event.getPaidAt() != null) {
+            add(new PickQueueItem(event.getOrderId(), event.getDeliveryId(), event.getRegion(), event.getPaidAt()));
+        } else {
+            remove(event.getOrderId());
+        }
+    }
+
+    private void add(PickQueueItem item) {
+        Key key = new Key(toMicros(item.getPaidAt()), item.getOrderId());
+        Key previous = keysByOrderId.put(item.getOrderId(), key);
+        if (previous != null && !previous.equals(key)) {
+            queue.remove(previous);
+        }
+        queue.put(key, item);
+    }
+
+    private void remove(Long orderId) {
+        if (warmingUp) {
+            removedDuringWarmUp.add(orderId);
+        }
+        Key key = keysByOrderId.remove(orderId);
+        if (key != null) {
+            queue.remove(key);
+        }
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), time);
+    }
+
+    private record Key(long paidAtMicros, long orderId) implements Comparable<Key> {
+
+        static Key parse(String cursor) {
+            int separator = cursor.indexOf('_');
+            if (separator < 0) {
+                throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+            }
+            return new Key(Long.parseLong(cursor.substring(0, separator)),
+                    Long.parseLong(cursor.substring(separator + 1)));
+        }
+
+        String format() {
+            return paidAtMicros + "_" + orderId;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int compared = Long.compare(paidAtMicros, other.paidAtMicros);
+            return compared != 0 ? compared : Long.compare(orderId, other.orderId);
+        }
+    }
+}
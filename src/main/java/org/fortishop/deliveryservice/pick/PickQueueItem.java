@@ -0,0 +1,15 @@
+package org.fortishop.deliveryservice.pick;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PickQueueItem {
+
+    private final Long orderId;
+    private final Long deliveryId;
+    private final String region;
+    private final LocalDateTime paidAt;
+}
@@ -1,16 +1,125 @@
 package org.fortishop.deliveryservice.repository;
 
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.fortishop.deliveryservice.cache.CachedDelivery;
 import org.fortishop.deliveryservice.domain.Delivery;
 import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.pick.PaidReadyRow;
+import org.fortishop.deliveryservice.sla.SlaRow;
+import org.fortishop.deliveryservice.stats.StatusRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
 
     Optional<Delivery> findByOrderId(Long orderId);
 
+    Optional<Delivery> findByTrackingNumber(String trackingNumber);
+
+    boolean existsByTrackingNumberAndOrderIdNot(String trackingNumber, Long orderId);
+
+    @Query(value = "select * from deliveries "
+            + "where match(address_normalized) against (:query in boolean mode) "
+            + "order by created_at desc, order_id desc limit :limit", nativeQuery = true)
+    List<Delivery> searchByAddress(@Param("query") String query, @Param("limit") int limit);
+
+    @Query(value = "select * from deliveries "
+            + "where match(address_normalized) against (:query in boolean mode) "
+            + "and (created_at < :createdAt or (created_at = :createdAt and order_id < :orderId)) "
+            + "order by created_at desc, order_id desc limit :limit", nativeQuery = true)
+    List<Delivery> searchByAddressBefore(@Param("query") String query,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("orderId") Long orderId,
+                                         @Param("limit") int limit);
+
+    List<Delivery> findAllByAddressNormalizedIsNullAndAddressIsNotNull(Pageable pageable);
+
+    @Modifying
+    @Query("update Delivery d set d.addressNormalized = :normalized where d.id = :id")
+    int updateAddressNormalized(@Param("id") Long id, @Param("normalized") String normalized);
+
     List<Delivery> findAllByStatus(DeliveryStatus status);
+
+    List<Delivery> findAllByOrderIdIn(Collection<Long> orderIds);
+
+    /**
+     * 행을 잠근 채 읽는다. 같은 트랜잭션이 끝날 때까지 다른 트랜잭션이 상태를 바꾸지 못한다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from Delivery d where d.orderId in :orderIds")
+    List<Delivery> findAllByOrderIdInForUpdate(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * 엔티티를 읽지 않고 주어진 상태인 행만 잠가 그 orderId를 돌려준다.
+     */
+    @Query(value = "select order_id from deliveries where order_id in (:orderIds) and status = :status for update",
+            nativeQuery = true)
+    List<Long> lockOrderIdsByStatus(@Param("orderIds") Collection<Long> orderIds, @Param("status") String status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Delivery d set d.status = :to, d.updatedAt = :now "
+            + "where d.orderId in :orderIds and d.status = :from")
+    int updateStatusByOrderIdIn(@Param("orderIds") Collection<Long> orderIds,
+                                @Param("from") DeliveryStatus from,
+                                @Param("to") DeliveryStatus to,
+                                @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Delivery d set d.paidAt = :paidAt, d.updatedAt = :paidAt "
+            + "where d.orderId in :orderIds and d.status = :status and d.paidAt is null")
+    int markPaidByOrderIdIn(@Param("orderIds") Collection<Long> orderIds,
+                            @Param("status") DeliveryStatus status,
+                            @Param("paidAt") LocalDateTime paidAt);
+
+    @Query("select new org.fortishop.deliveryservice.pick.PaidReadyRow(d.id, d.orderId, d.address, d.paidAt) "
+            + "from Delivery d where d.status = :status and d.paidAt is not null and d.id > :lastId order by d.id")
+    List<PaidReadyRow> findPaidRowsAfter(@Param("status") DeliveryStatus status,
+                                         @Param("lastId") Long lastId,
+                                         Pageable pageable);
+
+    @Query("select new org.fortishop.deliveryservice.cache.CachedDelivery(d.id, d.orderId, d.traceId) "
+            + "from Delivery d where d.status = :status and d.id > :lastId order by d.id")
+    List<CachedDelivery> findCachedByStatusAfter(@Param("status") DeliveryStatus status,
+                                                 @Param("lastId") Long lastId,
+                                                 Pageable pageable);
+
+    @Query("select new org.fortishop.deliveryservice.stats.StatusRow(d.id, d.orderId, d.status, d.deliveryCompany) "
+            + "from Delivery d where d.id > :lastId order by d.id")
+    List<StatusRow> findStatusRowsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("select new org.fortishop.deliveryservice.sla.SlaRow(d.id, d.orderId, d.status, d.createdAt, d.startedAt, d.traceId) "
+            + "from Delivery d where d.status = :status and d.id > :lastId "
+            + "and (d.slaBreachedStatus is null or d.slaBreachedStatus <> :status) order by d.id")
+    List<SlaRow> findSlaRowsAfter(@Param("status") DeliveryStatus status,
+                                  @Param("lastId") Long lastId,
+                                  Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("update Delivery d set d.slaBreachedStatus = :status "
+            + "where d.orderId = :orderId and d.status = :status and d.createdAt <= :threshold "
+            + "and (d.slaBreachedStatus is null or d.slaBreachedStatus <> :status)")
+    int claimCreatedSlaBreach(@Param("orderId") Long orderId,
+                              @Param("status") DeliveryStatus status,
+                              @Param("threshold") LocalDateTime threshold);
+
+    @Transactional
+    @Modifying
+    @Query("update Delivery d set d.slaBreachedStatus = :status "
+            + "where d.orderId = :orderId and d.status = :status and d.startedAt <= :threshold "
+            + "and (d.slaBreachedStatus is null or d.slaBreachedStatus <> :status)")
+    int claimStartedSlaBreach(@Param("orderId") Long orderId,
+                              @Param("status") DeliveryStatus status,
+                              @Param("threshold") LocalDateTime threshold);
 }
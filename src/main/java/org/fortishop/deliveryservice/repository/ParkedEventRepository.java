@@ -0,0 +1,29 @@
+package org.fortishop.deliveryservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.fortishop.deliveryservice.domain.ParkedEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+@NoRepositoryBean
+public interface ParkedEventRepository<E extends ParkedEvent> extends JpaRepository<E, Long> {
+
+    List<E> findAllByExpiresAtAfter(LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from #{#entityName} p where p.orderId in :orderIds")
+    int deleteAllByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Transactional
+    @Modifying
+    @Query("delete from #{#entityName} p where p.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,8 @@
+package org.fortishop.deliveryservice.repository;
+
+import org.fortishop.deliveryservice.domain.PendingCompensation;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PendingCompensationRepository extends ParkedEventRepository<PendingCompensation> {
+}
@@ -0,0 +1,8 @@
+package org.fortishop.deliveryservice.repository;
+
+import org.fortishop.deliveryservice.domain.PendingPayment;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PendingPaymentRepository extends ParkedEventRepository<PendingPayment> {
+}
@@ -0,0 +1,44 @@
+package org.fortishop.deliveryservice.repository;
+
+import java.time.LocalDateTime;
+import org.fortishop.deliveryservice.domain.ScheduledLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ScheduledLockRepository extends JpaRepository<ScheduledLock, String> {
+
+    @Transactional
+    @Modifying
+    @Query("update ScheduledLock l set l.lockedBy = :owner, l.lockedAt = :now, l.lockedUntil = :until, "
+            + "l.fencingToken = l.fencingToken + 1 "
+            + "where l.name = :name and l.fencingToken = :token and (l.lockedUntil <= :now or l.lockedBy = :owner "
+            + "or l.lockedBy is null)")
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("token") long expectedToken,
+                @Param("now") LocalDateTime now,
+                @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("update ScheduledLock l set l.lockedUntil = :until "
+            + "where l.name = :name and l.fencingToken = :token and l.lockedBy = :owner")
+    int renew(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("token") long token,
+              @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("update ScheduledLock l set l.lockedBy = null, l.lockedUntil = :now "
+            + "where l.name = :name and l.fencingToken = :token and l.lockedBy = :owner")
+    int release(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("token") long token,
+                @Param("now") LocalDateTime now);
+}
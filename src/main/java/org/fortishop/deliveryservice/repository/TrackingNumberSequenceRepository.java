@@ -0,0 +1,28 @@
+package org.fortishop.deliveryservice.repository;
+
+import org.fortishop.deliveryservice.domain.TrackingNumberSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrackingNumberSequenceRepository extends JpaRepository<TrackingNumberSequence, String> {
+
+    @Modifying
+    @Query(value = "insert ignore into tracking_number_sequences (carrier, next_value) values (:carrier, 1)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("carrier") String carrier);
+
+    /**
+     * 영속성 컨텍스트를 거치지 않고 행을 잠근 채 현재 값을 읽는다.
+     */
+    @Query(value = "select next_value from tracking_number_sequences where carrier = :carrier for update",
+            nativeQuery = true)
+    Long lockNextValue(@Param("carrier") String carrier);
+
+    @Modifying
+    @Query("update TrackingNumberSequence s set s.nextValue = s.nextValue + :size where s.carrier = :carrier")
+    int advance(@Param("carrier") String carrier, @Param("size") long size);
+}
@@ -0,0 +1,16 @@
+package org.fortishop.deliveryservice.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.fortishop.deliveryservice.domain.TransitTimeSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TransitTimeSnapshotRepository extends JpaRepository<TransitTimeSnapshot, Long> {
+
+    Optional<TransitTimeSnapshot> findByInstanceIdAndDayAndCarrier(String instanceId, LocalDate day, String carrier);
+
+    List<TransitTimeSnapshot> findAllByDayBetween(LocalDate from, LocalDate to);
+}
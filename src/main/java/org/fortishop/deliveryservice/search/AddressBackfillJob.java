@@ -0,0 +1,30 @@
+package org.fortishop.deliveryservice.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.global.lease.LeasedJob;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AddressBackfillJob {
+    private static final int CHUNK_SIZE = 500;
+
+    private final DeliverySearchService deliverySearchService;
+    private final ShardTemplate shardTemplate;
+
+    @LeasedJob(name = "address-normalized-backfill")
+    @Scheduled(fixedDelayString = "${delivery.search.backfill-interval:60000}")
+    public void backfill() {
+        int filled = shardTemplate.onEachShard(() -> deliverySearchService.backfillNormalizedAddresses(CHUNK_SIZE))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        if (filled > 0) {
+            log.info("[Search] Backfilled normalized addresses: count={}", filled);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.fortishop.deliveryservice.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 검색용 주소 정규화: NFKC 정규화 후 소문자로 바꾸고, 글자·숫자 외 문자는 공백 하나로 합친다.
+ * 저장할 때와 검색어에 같은 규칙을 적용해야 ngram 색인이 일치한다.
+ */
+public final class AddressNormalizer {
+    static final int MAX_LENGTH = 500;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private AddressNormalizer() {
+    }
+
+    public static String normalize(String address) {
+        if (address == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(address, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        normalized = NON_WORD.matcher(normalized).replaceAll(" ").strip();
+        return normalized.length() > MAX_LENGTH ? normalized.substring(0, MAX_LENGTH) : normalized;
+    }
+}
@@ -0,0 +1,119 @@
+package org.fortishop.deliveryservice.search;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.domain.Delivery;
+import org.fortishop.deliveryservice.dto.response.DeliveryResponse;
+import org.fortishop.deliveryservice.dto.response.DeliverySearchResponse;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryExceptionType;
+import org.fortishop.deliveryservice.global.shard.MergeSort;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeliverySearchService {
+    static final int MIN_FRAGMENT_LENGTH = 2;
+    private static final Comparator<Delivery> NEWEST_FIRST = Comparator
+            .comparing(Delivery::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Delivery::getOrderId, Comparator.reverseOrder());
+
+    private final DeliveryRepository deliveryRepository;
+    private final ShardTemplate shardTemplate;
+    private final SearchProperties properties;
+
+    public DeliverySearchResponse searchByTrackingNumber(String trackingNumber) {
+        String normalized = trackingNumber.strip();
+        // 송장번호에는 샤드 키가 없으므로 모든 샤드에 묻는다.
+        List<DeliveryResponse> items = shardTemplate.onEachShard(() ->
+                        deliveryRepository.findByTrackingNumber(normalized).map(DeliveryResponse::of)).stream()
+                .flatMap(Optional::stream)
+                .toList();
+        if (items.size() > 1) {
+            // 유니크 색인은 샤드 안에서만 걸리므로 샤드 사이 중복은 여기서 드러난다. 아무 쪽이나 돌려주지 않는다.
+            log.error("[Search] Tracking number registered on several shards: trackingNumber={}, orderIds={}",
+                    normalized, items.stream().map(DeliveryResponse::getOrderId).toList());
+            throw new DeliveryException(DeliveryExceptionType.DUPLICATE_TRACKING_NUMBER);
+        }
+        return new DeliverySearchResponse(items, null, 1, false);
+    }
+
+    /**
+     * 최신순으로 검색한다. 커서는 마지막 항목의 (생성 시각, orderId)라서 깊은 페이지도 앞 페이지를 정렬해 버리지 않는다.
+     * FULLTEXT 색인 없이 MATCH를 실행하면 MySQL 오류가 나므로, 색인을 만들고 delivery.search.address-enabled를 켜기 전에는
+     * 조회하지 않고 거절한다.
+     */
+    public DeliverySearchResponse searchByAddress(String fragment, String cursor, int size) {
+        if (!properties.isAddressEnabled()) {
+            throw new DeliveryException(DeliveryExceptionType.ADDRESS_SEARCH_NOT_READY);
+        }
+        String normalized = AddressNormalizer.normalize(fragment);
+        if (normalized == null || normalized.length() < MIN_FRAGMENT_LENGTH) {
+            throw new IllegalArgumentException("주소 검색어는 " + MIN_FRAGMENT_LENGTH + "자 이상이어야 합니다.");
+        }
+        // 정규화 결과에는 따옴표가 없으므로 그대로 구문 검색어로 쓴다.
+        String query = "\"" + normalized + "\"";
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.parse(cursor);
+        // 샤드마다 같은 커서 뒤에서 size+1건씩만 받아 병합한다.
+        List<List<Delivery>> perShard = shardTemplate.onEachShard(() -> after == null
+                ? deliveryRepository.searchByAddress(query, size + 1)
+                : deliveryRepository.searchByAddressBefore(query, after.createdAt(), after.orderId(), size + 1));
+        List<Delivery> found = perShard.size() == 1
+                ? perShard.get(0)
+                : MergeSort.merge(perShard, NEWEST_FIRST, size + 1);
+        boolean hasNext = found.size() > size;
+        List<Delivery> page = found.subList(0, Math.min(size, found.size()));
+        String nextCursor = page.isEmpty() ? cursor : Cursor.of(page.get(page.size() - 1)).format();
+        List<DeliveryResponse> items = page.stream().map(DeliveryResponse::of).toList();
+        return new DeliverySearchResponse(items, nextCursor, size, hasNext);
+    }
+
+    /**
+     * 정규화 컬럼이 생기기 전에 저장된 배송을 채운다. updatedAt은 건드리지 않는다.
+     *
+     * @return 채운 건수
+     */
+    @Transactional
+    public int backfillNormalizedAddresses(int limit) {
+        List<Delivery> pending = deliveryRepository.findAllByAddressNormalizedIsNullAndAddressIsNotNull(
+                PageRequest.of(0, limit));
+        for (Delivery delivery : pending) {
+            deliveryRepository.updateAddressNormalized(delivery.getId(),
+                    AddressNormalizer.normalize(delivery.getAddress()));
+        }
+        return pending.size();
+    }
+
+    private record Cursor(LocalDateTime createdAt, long orderId) {
+        private static final LocalDateTime EPOCH = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+
+        static Cursor of(Delivery delivery) {
+            return new Cursor(delivery.getCreatedAt(), delivery.getOrderId());
+        }
+
+        static Cursor parse(String cursor) {
+            int separator = cursor.indexOf('_');
+            try {
+                return new Cursor(EPOCH.plus(Long.parseLong(cursor.substring(0, separator)), ChronoUnit.MICROS),
+                        Long.parseLong(cursor.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+            }
+        }
+
+        String format() {
+            return ChronoUnit.MICROS.between(EPOCH, createdAt) + "_" + orderId;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.fortishop.deliveryservice.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.search")
+@Getter
+@Setter
+public class SearchProperties {
+    /**
+     * 주소 검색을 연다. 모든 샤드에 FULLTEXT 색인(ft_deliveries_address_ngram)을 만든 뒤에 켠다.
+     */
+    private boolean addressEnabled = false;
+}
@@ -1,11 +1,15 @@
 package org.fortishop.deliveryservice.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.fortishop.deliveryservice.domain.DeliveryStatus;
 import org.fortishop.deliveryservice.dto.request.AddressUpdateRequest;
 import org.fortishop.deliveryservice.dto.request.DeliveryRequest;
 import org.fortishop.deliveryservice.dto.request.StartDeliveryRequest;
 import org.fortishop.deliveryservice.dto.request.TrackingUpdateRequest;
+import org.fortishop.deliveryservice.dto.response.CompensationResult;
 import org.fortishop.deliveryservice.dto.response.DeliveryResponse;
 
 public interface DeliveryService {
@@ -24,4 +28,10 @@ public interface DeliveryService {
     void completeDelivery(Long orderId);
 
     void compensateDeliveryOnPaymentFailure(Long orderId);
+
+    CompensationResult compensateDeliveriesOnPaymentFailure(Collection<Long> orderIds);
+
+    int markDeliveriesPaid(Collection<Long> orderIds);
+
+    List<Long> applyParkedPayments(Map<Long, LocalDateTime> paidAtByOrderId);
 }
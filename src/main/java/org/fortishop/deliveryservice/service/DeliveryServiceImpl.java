@@ -1,21 +1,36 @@
 package org.fortishop.deliveryservice.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.cache.CachedDelivery;
+import org.fortishop.deliveryservice.cache.DeliveryStateCache;
+import org.fortishop.deliveryservice.carrier.CarrierAssignment;
+import org.fortishop.deliveryservice.carrier.CarrierAssignmentEngine;
 import org.fortishop.deliveryservice.domain.Delivery;
 import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
 import org.fortishop.deliveryservice.dto.request.AddressUpdateRequest;
 import org.fortishop.deliveryservice.dto.request.DeliveryRequest;
 import org.fortishop.deliveryservice.dto.request.StartDeliveryRequest;
 import org.fortishop.deliveryservice.dto.request.TrackingUpdateRequest;
+import org.fortishop.deliveryservice.dto.response.CompensationResult;
 import org.fortishop.deliveryservice.dto.response.DeliveryResponse;
 import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
 import org.fortishop.deliveryservice.exception.delivery.DeliveryExceptionType;
 import org.fortishop.deliveryservice.kafka.DeliveryKafkaProducer;
 import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,8 +38,15 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 public class DeliveryServiceImpl implements DeliveryService {
+    private static final int BATCH_CHUNK_SIZE = 500;
+
     private final DeliveryRepository deliveryRepository;
     private final DeliveryKafkaProducer kafkaProducer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PendingCompensationStore pendingCompensationStore;
+    private final PendingPaymentStore pendingPaymentStore;
+    private final DeliveryStateCache deliveryStateCache;
+    private final CarrierAssignmentEngine carrierAssignmentEngine;
 
     @Override
     @Transactional
@@ -35,8 +57,20 @@ public class DeliveryServiceImpl implements DeliveryService {
                 .status(DeliveryStatus.READY)
                 .traceId(request.getTraceId())
                 .build();
+        LocalDateTime parkedPaidAt = pendingPaymentStore.consume(request.getOrderId());
+        if (pendingCompensationStore.consume(request.getOrderId())) {
+            delivery.cancel();
+            log.info("[Compensation] Applied parked compensation on create: orderId={}, traceId={}",
+                    request.getOrderId(), request.getTraceId());
+        } else if (parkedPaidAt != null) {
+            delivery.markPaid(parkedPaidAt);
+            log.info("[Payment] Applied parked payment on create: orderId={}, traceId={}",
+                    request.getOrderId(), request.getTraceId());
+        }
 
-        return DeliveryResponse.of(deliveryRepository.save(delivery));
+        Delivery saved = deliveryRepository.save(delivery);
+        eventPublisher.publishEvent(DeliveryChangedEvent.of(saved, null));
+        return DeliveryResponse.of(saved);
     }
 
     @Override
@@ -61,7 +95,9 @@ public class DeliveryServiceImpl implements DeliveryService {
     public void updateTracking(Long orderId, TrackingUpdateRequest request) {
         Delivery delivery = deliveryRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new DeliveryException(DeliveryExceptionType.DELIVERY_NOT_FOUND));
+        verifyTrackingNumberAvailable(request.getTrackingNumber(), orderId);
         delivery.updateTrackingInfo(request.getTrackingNumber(), request.getDeliveryCompany());
+        eventPublisher.publishEvent(DeliveryChangedEvent.of(delivery, delivery.getStatus()));
     }
 
     @Override
@@ -70,6 +106,7 @@ public class DeliveryServiceImpl implements DeliveryService {
         Delivery delivery = deliveryRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new DeliveryException(DeliveryExceptionType.DELIVERY_NOT_FOUND));
         delivery.updateAddress(request.getAddress());
+        eventPublisher.publishEvent(DeliveryChangedEvent.of(delivery, delivery.getStatus()));
     }
 
     @Override
@@ -77,10 +114,23 @@ public class DeliveryServiceImpl implements DeliveryService {
     public void startDelivery(Long orderId, StartDeliveryRequest request) {
         Delivery delivery = deliveryRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new DeliveryException(DeliveryExceptionType.DELIVERY_NOT_FOUND));
+        DeliveryStatus previousStatus = delivery.getStatus();
+        if (request.hasTrackingInfo()) {
+            // 상태를 바꾸기 전에 확인해야 중복 확인 쿼리의 자동 flush가 UPDATE를 하나 더 만들지 않는다.
+            verifyTrackingNumberAvailable(request.getTrackingNumber(), orderId);
+        } else if (request.getTrackingNumber() != null && !request.getTrackingNumber().isBlank()) {
+            throw new IllegalArgumentException("송장 번호를 지정하려면 배송사도 함께 지정해야 합니다.");
+        }
         delivery.startDelivery(LocalDateTime.now());
-        delivery.updateTrackingInfo(request.getTrackingNumber(), request.getDeliveryCompany());
+        if (request.hasTrackingInfo()) {
+            delivery.updateTrackingInfo(request.getTrackingNumber(), request.getDeliveryCompany());
+        } else {
+            CarrierAssignment assignment = carrierAssignmentEngine.assign(request.getDeliveryCompany());
+            delivery.updateTrackingInfo(assignment.trackingNumber(), assignment.deliveryCompany());
+        }
+        eventPublisher.publishEvent(DeliveryChangedEvent.of(delivery, previousStatus));
 
-        kafkaProducer.sendDeliveryStarted(orderId);
+        kafkaProducer.sendDeliveryStarted(delivery);
     }
 
     @Override
@@ -88,23 +138,216 @@ public class DeliveryServiceImpl implements DeliveryService {
     public void completeDelivery(Long orderId) {
         Delivery delivery = deliveryRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new DeliveryException(DeliveryExceptionType.DELIVERY_NOT_FOUND));
+        DeliveryStatus previousStatus = delivery.getStatus();
         delivery.completeDelivery(LocalDateTime.now());
+        eventPublisher.publishEvent(DeliveryChangedEvent.of(delivery, previousStatus));
 
-        kafkaProducer.sendDeliveryCompleted(orderId);
+        kafkaProducer.sendDeliveryCompleted(delivery);
     }
 
     @Override
     @Transactional
     public void compensateDeliveryOnPaymentFailure(Long orderId) {
-        Delivery delivery = deliveryRepository.findByOrderId(orderId)
-                .orElseThrow(() -> new DeliveryException(DeliveryExceptionType.DELIVERY_NOT_FOUND));
+        Delivery delivery = deliveryRepository.findByOrderId(orderId).orElse(null);
+        if (delivery == null) {
+            pendingCompensationStore.park(List.of(orderId));
+            log.info("[Compensation] Parked compensation until order.created arrives: orderId={}", orderId);
+            return;
+        }
 
         if (delivery.getStatus() == DeliveryStatus.READY) {
             delivery.cancel();
+            eventPublisher.publishEvent(DeliveryChangedEvent.of(delivery, DeliveryStatus.READY));
             log.info("[Compensation] Cancelled delivery for orderId={}, traceId={}", orderId, delivery.getTraceId());
         } else {
             log.warn("[Compensation] Cannot cancel delivery. Current status={}, orderId={}, traceId={}",
                     delivery.getTraceId(), delivery.getStatus(), orderId);
         }
     }
+
+    @Override
+    @Transactional
+    public CompensationResult compensateDeliveriesOnPaymentFailure(Collection<Long> orderIds) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        List<Long> cancelled = new ArrayList<>();
+        Map<Long, DeliveryStatus> notCancellable = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (int from = 0; from < distinct.size(); from += BATCH_CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + BATCH_CHUNK_SIZE, distinct.size()));
+            compensateChunk(chunk, cancelled, notCancellable, missing);
+        }
+        pendingCompensationStore.park(missing);
+
+        log.info("[Compensation] Batch processed: requested={}, cancelled={}, notCancellable={}, parked={}",
+                distinct.size(), cancelled.size(), notCancellable.size(), missing.size());
+        if (log.isDebugEnabled()) {
+            log.debug("[Compensation] cancelled={}, notCancellable={}, missing={}", cancelled, notCancellable, missing);
+        }
+        return new CompensationResult(cancelled, notCancellable, missing);
+    }
+
+    @Override
+    @Transactional
+    public int markDeliveriesPaid(Collection<Long> orderIds) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        LocalDateTime paidAt = LocalDateTime.now();
+        int marked = 0;
+        List<Long> missing = new ArrayList<>();
+
+        for (int from = 0; from < distinct.size(); from += BATCH_CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + BATCH_CHUNK_SIZE, distinct.size()));
+            List<Delivery> found = deliveryRepository.findAllByOrderIdIn(chunk);
+            Set<Long> foundIds = found.stream().map(Delivery::getOrderId).collect(Collectors.toSet());
+            chunk.stream().filter(orderId -> !foundIds.contains(orderId)).forEach(missing::add);
+            List<Delivery> candidates = found.stream()
+                    .filter(delivery -> delivery.getStatus() == DeliveryStatus.READY && delivery.getPaidAt() == null)
+                    .toList();
+            if (candidates.isEmpty()) {
+                continue;
+            }
+            List<Long> candidateIds = candidates.stream().map(Delivery::getOrderId).toList();
+            int updated = deliveryRepository.markPaidByOrderIdIn(candidateIds, DeliveryStatus.READY, paidAt);
+            if (updated < candidates.size()) {
+                // 조회와 갱신 사이에 상태가 바뀐 배송은 이벤트에서 제외한다.
+                candidates = deliveryRepository.findAllByOrderIdIn(candidateIds).stream()
+                        .filter(delivery -> delivery.getStatus() == DeliveryStatus.READY && delivery.getPaidAt() != null)
+                        .toList();
+            }
+            for (Delivery delivery : candidates) {
+                if (delivery.getPaidAt() == null) {
+                    delivery.markPaid(paidAt);
+                }
+                eventPublisher.publishEvent(DeliveryChangedEvent.of(delivery, delivery.getStatus()));
+            }
+            marked += updated;
+        }
+
+        // order.created보다 먼저 온 결제 완료는 버리지 않고 배송이 생길 때 적용하도록 보관한다.
+        pendingPaymentStore.park(missing, paidAt);
+
+        log.info("[Payment] Batch marked paid: requested={}, marked={}, parked={}",
+                distinct.size(), marked, missing.size());
+        return marked;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> applyParkedPayments(Map<Long, LocalDateTime> paidAtByOrderId) {
+        List<Long> orderIds = new ArrayList<>(paidAtByOrderId.keySet());
+        List<Long> resolved = new ArrayList<>();
+
+        for (int from = 0; from < orderIds.size(); from += BATCH_CHUNK_SIZE) {
+            List<Long> chunk = orderIds.subList(from, Math.min(from + BATCH_CHUNK_SIZE, orderIds.size()));
+            for (Delivery delivery : deliveryRepository.findAllByOrderIdIn(chunk)) {
+                resolved.add(delivery.getOrderId());
+                if (delivery.getStatus() == DeliveryStatus.READY && delivery.getPaidAt() == null) {
+                    delivery.markPaid(paidAtByOrderId.get(delivery.getOrderId()));
+                    eventPublisher.publishEvent(DeliveryChangedEvent.of(delivery, delivery.getStatus()));
+                }
+            }
+        }
+        if (!resolved.isEmpty()) {
+            log.info("[Payment] Applied parked payments: parked={}, applied={}", orderIds.size(), resolved.size());
+        }
+        return resolved;
+    }
+
+    /**
+     * 현재 샤드에서 다른 주문이 이 송장 번호를 쓰고 있는지. 샤딩 중에는 다른 샤드도 이것으로 확인한다.
+     */
+    @Transactional(readOnly = true)
+    public boolean isTrackingNumberTaken(String trackingNumber, Long orderId) {
+        return deliveryRepository.existsByTrackingNumberAndOrderIdNot(trackingNumber, orderId);
+    }
+
+    private void verifyTrackingNumberAvailable(String trackingNumber, Long orderId) {
+        if (deliveryRepository.existsByTrackingNumberAndOrderIdNot(trackingNumber, orderId)) {
+            throw new DeliveryException(DeliveryExceptionType.DUPLICATE_TRACKING_NUMBER);
+        }
+    }
+
+    private void classifyStale(List<Long> orderIds, Map<Long, DeliveryStatus> notCancellable, List<Long> missing) {
+        Set<Long> found = new HashSet<>();
+        for (Delivery current : deliveryRepository.findAllByOrderIdIn(orderIds)) {
+            found.add(current.getOrderId());
+            notCancellable.put(current.getOrderId(), current.getStatus());
+        }
+        for (Long orderId : orderIds) {
+            if (!found.contains(orderId)) {
+                missing.add(orderId);
+            }
+            deliveryStateCache.evict(orderId);
+        }
+    }
+
+    private void compensateChunk(List<Long> orderIds, List<Long> cancelled,
+                                 Map<Long, DeliveryStatus> notCancellable, List<Long> missing) {
+        // 상태를 잠근 채 읽으므로 READY로 읽은 행은 아래 조건부 UPDATE까지 READY로 남고, 그 행만 여기서 취소한 것으로 센다.
+        // 파티션 캐시에 READY로 있는 배송은 엔티티를 읽지 않고 READY인 행만 잠근다.
+        Map<Long, CachedDelivery> cached = deliveryStateCache.findReady(orderIds);
+        List<Long> readyIds = new ArrayList<>();
+        if (!cached.isEmpty()) {
+            Set<Long> locked = new HashSet<>(deliveryRepository.lockOrderIdsByStatus(cached.keySet(),
+                    DeliveryStatus.READY.name()));
+            List<Long> stale = new ArrayList<>();
+            for (Long orderId : cached.keySet()) {
+                (locked.contains(orderId) ? readyIds : stale).add(orderId);
+            }
+            if (!stale.isEmpty()) {
+                // 캐시가 낡았다. 이미 취소됐거나(재전달된 payment.failed 등) 다른 상태로 바뀐 배송은 현재 상태로 분류한다.
+                classifyStale(stale, notCancellable, missing);
+            }
+        }
+
+        List<Long> lookup = orderIds.stream().filter(orderId -> !cached.containsKey(orderId)).toList();
+        Map<Long, Delivery> deliveries = lookup.isEmpty()
+                ? Map.of()
+                : deliveryRepository.findAllByOrderIdInForUpdate(lookup).stream()
+                        .collect(Collectors.toMap(Delivery::getOrderId, Function.identity(), (a, b) -> a));
+        for (Long orderId : lookup) {
+            Delivery delivery = deliveries.get(orderId);
+            if (delivery == null) {
+                missing.add(orderId);
+            } else if (delivery.getStatus() == DeliveryStatus.READY) {
+                readyIds.add(orderId);
+            } else {
+                notCancellable.put(orderId, delivery.getStatus());
+            }
+        }
+        if (readyIds.isEmpty()) {
+            return;
+        }
+
+        int updated = deliveryRepository.updateStatusByOrderIdIn(readyIds, DeliveryStatus.READY,
+                DeliveryStatus.CANCELLED, LocalDateTime.now());
+        if (updated != readyIds.size()) {
+            log.warn("[Compensation] Cancelled rows do not match locked rows: updated={}, locked={}",
+                    updated, readyIds.size());
+        }
+
+        for (Long orderId : readyIds) {
+            Delivery delivery = deliveries.get(orderId);
+            if (delivery != null) {
+                // 벌크 갱신 후 분리된 엔티티이므로 이벤트 스냅샷용으로만 상태를 맞춘다.
+                delivery.cancel();
+                eventPublisher.publishEvent(DeliveryChangedEvent.of(delivery, DeliveryStatus.READY));
+            } else {
+                eventPublisher.publishEvent(cancelledEvent(cached.get(orderId)));
+            }
+            deliveryStateCache.evict(orderId);
+            cancelled.add(orderId);
+        }
+    }
+
+    private DeliveryChangedEvent cancelledEvent(CachedDelivery cached) {
+        return DeliveryChangedEvent.builder()
+                .orderId(cached.orderId())
+                .deliveryId(cached.deliveryId())
+                .previousStatus(DeliveryStatus.READY)
+                .status(DeliveryStatus.CANCELLED)
+                .changedAt(LocalDateTime.now())
+                .traceId(cached.traceId())
+                .build();
+    }
 }
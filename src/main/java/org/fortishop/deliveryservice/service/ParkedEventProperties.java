@@ -0,0 +1,15 @@
+package org.fortishop.deliveryservice.service;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 보관 이벤트 종류마다 접두사만 다르게 바인딩하는 공통 설정.
+ */
+@Getter
+@Setter
+public abstract class ParkedEventProperties {
+    private Duration ttl = Duration.ofHours(1);
+    private int maxSize = 100_000;
+}
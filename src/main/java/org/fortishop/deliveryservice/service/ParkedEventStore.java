@@ -0,0 +1,116 @@
+package org.fortishop.deliveryservice.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.fortishop.deliveryservice.domain.ParkedEvent;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.repository.ParkedEventRepository;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * order.created보다 먼저 도착한 이벤트를 주문 키로 보관한다.
+ * 테이블이 원본이고, 메모리 맵은 createDelivery에서 DB 조회 없이 확인하기 위한 제한된 크기의 색인이다.
+ * 보관 행은 주문과 같은 샤드에 둔다. 이벤트 종류마다 행을 만드는 방법과 꺼낸 값을 쓰는 방법만 하위 클래스가 정한다.
+ */
+public abstract class ParkedEventStore<E extends ParkedEvent> {
+
+    private final ParkedEventRepository<E> repository;
+    private final ParkedEventProperties properties;
+    private final ShardTemplate shardTemplate;
+    private final Map<Long, E> parked = new ConcurrentHashMap<>();
+
+    protected ParkedEventStore(ParkedEventRepository<E> repository, ParkedEventProperties properties,
+                               ShardTemplate shardTemplate) {
+        this.repository = repository;
+        this.properties = properties;
+        this.shardTemplate = shardTemplate;
+    }
+
+    @FunctionalInterface
+    protected interface ParkedEventFactory<E> {
+        E create(Long orderId, LocalDateTime createdAt, LocalDateTime expiresAt);
+    }
+
+    /**
+     * 이미 보관 중인 주문은 건너뛴다. 재전달된 이벤트가 처음 값이나 만료 시각을 덮어쓰지 않는다.
+     */
+    protected void parkAll(Collection<Long> orderIds, ParkedEventFactory<E> factory) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        Set<Long> existing = repository.findAllById(orderIds).stream()
+                .map(ParkedEvent::getOrderId)
+                .collect(Collectors.toSet());
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(properties.getTtl());
+        List<E> created = orderIds.stream()
+                .filter(orderId -> !existing.contains(orderId))
+                .distinct()
+                .map(orderId -> factory.create(orderId, now, expiresAt))
+                .toList();
+        repository.saveAll(created);
+        created.forEach(this::remember);
+    }
+
+    /**
+     * 색인에 있던 이벤트를 꺼내고 행을 지운다. 없거나 만료됐으면 비어 있다.
+     */
+    protected Optional<E> take(Long orderId) {
+        E event = parked.remove(orderId);
+        if (event == null) {
+            return Optional.empty();
+        }
+        repository.deleteAllByOrderIdIn(List.of(orderId));
+        return event.isExpired(LocalDateTime.now()) ? Optional.empty() : Optional.of(event);
+    }
+
+    public void remove(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        orderIds.forEach(parked::remove);
+        shardTemplate.partition(orderIds).forEach((shard, ids) ->
+                shardTemplate.onShard(shard, () -> repository.deleteAllByOrderIdIn(ids)));
+    }
+
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        parked.values().removeIf(event -> event.isExpired(now));
+        return shardTemplate.onEachShard(() -> repository.deleteExpired(now)).stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    /**
+     * 다른 인스턴스가 보관한 이벤트도 색인에 반영하고, 살아 있는 이벤트를 돌려준다.
+     */
+    public List<E> reloadLive() {
+        LocalDateTime now = LocalDateTime.now();
+        List<E> live = new ArrayList<>();
+        for (List<E> shardLive : shardTemplate.onEachShard(() ->
+                repository.findAllByExpiresAtAfter(now, PageRequest.of(0, properties.getMaxSize())))) {
+            live.addAll(shardLive.subList(0, Math.min(shardLive.size(), properties.getMaxSize() - live.size())));
+        }
+        parked.clear();
+        live.forEach(this::remember);
+        return live;
+    }
+
+    public int size() {
+        return parked.size();
+    }
+
+    private void remember(E event) {
+        if (parked.size() < properties.getMaxSize()) {
+            parked.put(event.getOrderId(), event);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.fortishop.deliveryservice.service;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.domain.ParkedEvent;
+
+/**
+ * 보관 이벤트의 색인을 인스턴스마다 새로 고치고, 만료된 행을 지운 뒤 남은 이벤트를 일괄 적용한다.
+ * 일정과 임대 작업 이름은 설정 접두사가 종류마다 달라 하위 클래스의 메서드에 붙인다.
+ */
+@Slf4j
+public abstract class ParkedEventSweeper<E extends ParkedEvent> {
+
+    private final ParkedEventStore<E> store;
+    private final String kind;
+
+    protected ParkedEventSweeper(ParkedEventStore<E> store, String kind) {
+        this.store = store;
+        this.kind = kind;
+    }
+
+    /**
+     * 적용은 한 노드만 하지만 createDelivery 색인은 인스턴스마다 최신으로 유지한다.
+     */
+    protected void reloadIndex() {
+        store.reloadLive();
+    }
+
+    protected void sweepParked() {
+        int expired = store.purgeExpired();
+        if (expired > 0) {
+            log.warn("[Parking] Expired parked {} without order.created: count={}", kind, expired);
+        }
+
+        List<E> live = store.reloadLive();
+        if (live.isEmpty()) {
+            return;
+        }
+        // createDelivery 시점에 다른 인스턴스의 색인에 없어 놓친 이벤트를 일괄 적용한다.
+        store.remove(apply(live));
+    }
+
+    /**
+     * @return 적용이 끝나 더 보관할 필요가 없는 주문
+     */
+    protected abstract List<Long> apply(List<E> live);
+}
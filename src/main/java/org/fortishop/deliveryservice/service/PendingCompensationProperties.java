@@ -0,0 +1,9 @@
+package org.fortishop.deliveryservice.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.compensation.pending")
+public class PendingCompensationProperties extends ParkedEventProperties {
+}
@@ -0,0 +1,39 @@
+package org.fortishop.deliveryservice.service;
+
+import java.util.Collection;
+import java.util.List;
+import org.fortishop.deliveryservice.domain.PendingCompensation;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.repository.PendingCompensationRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * order.created보다 먼저 도착한 결제 실패 보상을 보관한다.
+ */
+@Component
+public class PendingCompensationStore extends ParkedEventStore<PendingCompensation> {
+
+    public PendingCompensationStore(PendingCompensationRepository repository,
+                                    PendingCompensationProperties properties, ShardTemplate shardTemplate) {
+        super(repository, properties, shardTemplate);
+    }
+
+    @Transactional
+    public void park(Collection<Long> orderIds) {
+        parkAll(orderIds, (orderId, createdAt, expiresAt) -> PendingCompensation.builder()
+                .orderId(orderId)
+                .createdAt(createdAt)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Transactional
+    public boolean consume(Long orderId) {
+        return take(orderId).isPresent();
+    }
+
+    public List<Long> reload() {
+        return reloadLive().stream().map(PendingCompensation::getOrderId).toList();
+    }
+}
@@ -0,0 +1,40 @@
+package org.fortishop.deliveryservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.fortishop.deliveryservice.domain.PendingCompensation;
+import org.fortishop.deliveryservice.dto.response.CompensationResult;
+import org.fortishop.deliveryservice.global.lease.LeasedJob;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PendingCompensationSweeper extends ParkedEventSweeper<PendingCompensation> {
+
+    private final DeliveryService deliveryService;
+
+    public PendingCompensationSweeper(PendingCompensationStore store, DeliveryService deliveryService) {
+        super(store, "compensations");
+        this.deliveryService = deliveryService;
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.compensation.pending.refresh-interval:10000}")
+    public void refresh() {
+        reloadIndex();
+    }
+
+    @LeasedJob(name = "pending-compensation-sweep")
+    @Scheduled(fixedDelayString = "${delivery.compensation.pending.sweep-interval:10000}")
+    public void sweep() {
+        sweepParked();
+    }
+
+    @Override
+    protected List<Long> apply(List<PendingCompensation> live) {
+        CompensationResult result = deliveryService.compensateDeliveriesOnPaymentFailure(
+                live.stream().map(PendingCompensation::getOrderId).toList());
+        List<Long> resolved = new ArrayList<>(result.getCancelled());
+        resolved.addAll(result.getNotCancellable().keySet());
+        return resolved;
+    }
+}
@@ -0,0 +1,49 @@
+package org.fortishop.deliveryservice.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.fortishop.deliveryservice.domain.PendingPayment;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.repository.PendingPaymentRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * order.created보다 먼저 도착한 결제 완료를 결제 시각과 함께 보관한다.
+ */
+@Component
+public class PendingPaymentStore extends ParkedEventStore<PendingPayment> {
+
+    public PendingPaymentStore(PendingPaymentRepository repository, PendingPaymentProperties properties,
+                               ShardTemplate shardTemplate) {
+        super(repository, properties, shardTemplate);
+    }
+
+    @Transactional
+    public void park(Collection<Long> orderIds, LocalDateTime paidAt) {
+        parkAll(orderIds, (orderId, createdAt, expiresAt) -> PendingPayment.builder()
+                .orderId(orderId)
+                .paidAt(paidAt)
+                .createdAt(createdAt)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    /**
+     * 보관된 결제 시각을 꺼낸다. 없거나 만료됐으면 null.
+     */
+    @Transactional
+    public LocalDateTime consume(Long orderId) {
+        return take(orderId).map(PendingPayment::getPaidAt).orElse(null);
+    }
+
+    /**
+     * 살아 있는 결제의 주문별 결제 시각을 돌려준다.
+     */
+    public Map<Long, LocalDateTime> reload() {
+        return reloadLive().stream()
+                .collect(Collectors.toMap(PendingPayment::getOrderId, PendingPayment::getPaidAt));
+    }
+}
@@ -0,0 +1,39 @@
+package org.fortishop.deliveryservice.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.fortishop.deliveryservice.domain.PendingPayment;
+import org.fortishop.deliveryservice.global.lease.LeasedJob;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PendingPaymentSweeper extends ParkedEventSweeper<PendingPayment> {
+
+    private final DeliveryService deliveryService;
+
+    public PendingPaymentSweeper(PendingPaymentStore store, DeliveryService deliveryService) {
+        super(store, "payments");
+        this.deliveryService = deliveryService;
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.payment.pending.refresh-interval:10000}")
+    public void refresh() {
+        reloadIndex();
+    }
+
+    @LeasedJob(name = "pending-payment-sweep")
+    @Scheduled(fixedDelayString = "${delivery.payment.pending.sweep-interval:10000}")
+    public void sweep() {
+        sweepParked();
+    }
+
+    /**
+     * 원래 결제 시각으로 적용한다.
+     */
+    @Override
+    protected List<Long> apply(List<PendingPayment> live) {
+        return deliveryService.applyParkedPayments(live.stream()
+                .collect(Collectors.toMap(PendingPayment::getOrderId, PendingPayment::getPaidAt)));
+    }
+}
@@ -0,0 +1,157 @@
+package org.fortishop.deliveryservice.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.request.AddressUpdateRequest;
+import org.fortishop.deliveryservice.dto.request.DeliveryRequest;
+import org.fortishop.deliveryservice.dto.request.StartDeliveryRequest;
+import org.fortishop.deliveryservice.dto.request.TrackingUpdateRequest;
+import org.fortishop.deliveryservice.dto.response.CompensationResult;
+import org.fortishop.deliveryservice.dto.response.DeliveryResponse;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryExceptionType;
+import org.fortishop.deliveryservice.global.shard.MergeSort;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * 샤딩을 켜면 DeliveryService 앞에 서서 샤드를 고른 뒤 트랜잭션이 시작되도록 위임한다.
+ * 단건 작업은 orderId의 샤드 하나로, 일괄 작업은 샤드별로 나눠 각자의 트랜잭션으로,
+ * 상태별 조회는 모든 샤드에 흩뿌린 뒤 orderId 순으로 병합한다.
+ * 송장 번호 유니크 색인은 샤드 안에서만 걸리므로, 송장 번호를 지정하는 요청은 위임 전에 다른 샤드에서도 중복을 확인한다.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "delivery.sharding", name = "enabled", havingValue = "true")
+public class ShardedDeliveryService implements DeliveryService {
+    private static final Comparator<DeliveryResponse> BY_ORDER_ID = Comparator.comparing(DeliveryResponse::getOrderId);
+
+    private final DeliveryServiceImpl delegate;
+    private final ShardTemplate shardTemplate;
+
+    public ShardedDeliveryService(DeliveryServiceImpl delegate, ShardTemplate shardTemplate) {
+        this.delegate = delegate;
+        this.shardTemplate = shardTemplate;
+    }
+
+    @Override
+    public DeliveryResponse createDelivery(DeliveryRequest request) {
+        return shardTemplate.forOrder(request.getOrderId(), () -> delegate.createDelivery(request));
+    }
+
+    @Override
+    public DeliveryResponse getByOrderId(Long orderId) {
+        return shardTemplate.forOrder(orderId, () -> delegate.getByOrderId(orderId));
+    }
+
+    @Override
+    public List<DeliveryResponse> getByStatus(DeliveryStatus status) {
+        List<List<DeliveryResponse>> perShard = shardTemplate.onEachShard(() -> {
+            List<DeliveryResponse> responses = new ArrayList<>(delegate.getByStatus(status));
+            responses.sort(BY_ORDER_ID);
+            return responses;
+        });
+        return MergeSort.merge(perShard, BY_ORDER_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void updateTracking(Long orderId, TrackingUpdateRequest request) {
+        verifyTrackingNumberAvailableElsewhere(request.getTrackingNumber(), orderId);
+        shardTemplate.forOrder(orderId, () -> {
+            delegate.updateTracking(orderId, request);
+            return null;
+        });
+    }
+
+    @Override
+    public void updateAddress(Long orderId, AddressUpdateRequest request) {
+        shardTemplate.forOrder(orderId, () -> {
+            delegate.updateAddress(orderId, request);
+            return null;
+        });
+    }
+
+    @Override
+    public void startDelivery(Long orderId, StartDeliveryRequest request) {
+        if (request.hasTrackingInfo()) {
+            verifyTrackingNumberAvailableElsewhere(request.getTrackingNumber(), orderId);
+        }
+        shardTemplate.forOrder(orderId, () -> {
+            delegate.startDelivery(orderId, request);
+            return null;
+        });
+    }
+
+    @Override
+    public void completeDelivery(Long orderId) {
+        shardTemplate.forOrder(orderId, () -> {
+            delegate.completeDelivery(orderId);
+            return null;
+        });
+    }
+
+    @Override
+    public void compensateDeliveryOnPaymentFailure(Long orderId) {
+        shardTemplate.forOrder(orderId, () -> {
+            delegate.compensateDeliveryOnPaymentFailure(orderId);
+            return null;
+        });
+    }
+
+    @Override
+    public CompensationResult compensateDeliveriesOnPaymentFailure(Collection<Long> orderIds) {
+        List<Long> cancelled = new ArrayList<>();
+        Map<Long, DeliveryStatus> notCancellable = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        shardTemplate.partition(orderIds).forEach((shard, ids) -> {
+            CompensationResult result = shardTemplate.onShard(shard,
+                    () -> delegate.compensateDeliveriesOnPaymentFailure(ids));
+            cancelled.addAll(result.getCancelled());
+            notCancellable.putAll(result.getNotCancellable());
+            missing.addAll(result.getMissing());
+        });
+        return new CompensationResult(cancelled, notCancellable, missing);
+    }
+
+    @Override
+    public int markDeliveriesPaid(Collection<Long> orderIds) {
+        int marked = 0;
+        for (Map.Entry<Integer, List<Long>> partition : shardTemplate.partition(orderIds).entrySet()) {
+            marked += shardTemplate.onShard(partition.getKey(),
+                    () -> delegate.markDeliveriesPaid(partition.getValue()));
+        }
+        return marked;
+    }
+
+    @Override
+    public List<Long> applyParkedPayments(Map<Long, LocalDateTime> paidAtByOrderId) {
+        List<Long> resolved = new ArrayList<>();
+        shardTemplate.partition(paidAtByOrderId.keySet()).forEach((shard, ids) -> {
+            Map<Long, LocalDateTime> shardPayments = new HashMap<>();
+            ids.forEach(orderId -> shardPayments.put(orderId, paidAtByOrderId.get(orderId)));
+            resolved.addAll(shardTemplate.onShard(shard, () -> delegate.applyParkedPayments(shardPayments)));
+        });
+        return resolved;
+    }
+
+    /**
+     * 주문의 샤드는 위임한 트랜잭션 안에서 확인하므로 나머지 샤드만 본다.
+     */
+    private void verifyTrackingNumberAvailableElsewhere(String trackingNumber, Long orderId) {
+        int home = shardTemplate.shardOf(orderId);
+        for (int shard = 0; shard < shardTemplate.shardCount(); shard++) {
+            if (shard != home
+                    && shardTemplate.onShard(shard, () -> delegate.isTrackingNumberTaken(trackingNumber, orderId))) {
+                throw new DeliveryException(DeliveryExceptionType.DUPLICATE_TRACKING_NUMBER);
+            }
+        }
+    }
+}
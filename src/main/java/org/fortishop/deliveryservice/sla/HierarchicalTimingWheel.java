@@ -0,0 +1,155 @@
+package org.fortishop.deliveryservice.sla;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 64칸짜리 바퀴 4단으로 만든 계층형 타이밍 휠. 틱이 1초면 약 194일까지 표현한다.
+ * 등록·취소는 O(1)이고, 상위 단의 칸은 해당 구간이 시작될 때 한 번만 하위 단으로 내려온다.
+ * 범위를 넘는 마감은 가장 먼 칸에 두었다가 내려올 때 다시 배치한다. 스레드 안전하지 않다.
+ */
+final class HierarchicalTimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final Set<Entry<T>>[][] buckets;
+    private final Map<Long, Entry<T>> entries = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.buckets = new Set[LEVELS][WHEEL_SIZE];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                buckets[level][slot] = new LinkedHashSet<>();
+            }
+        }
+    }
+
+    /**
+     * @param replace false면 이미 등록된 키는 그대로 둔다
+     * @return 새로 등록했으면 true
+     */
+    boolean schedule(long key, T payload, long deadlineMillis, boolean replace) {
+        Entry<T> existing = entries.get(key);
+        if (existing != null) {
+            if (!replace) {
+                return false;
+            }
+            unlink(existing);
+        }
+        Entry<T> entry = new Entry<>(key, payload, deadlineMillis);
+        entries.put(key, entry);
+        place(entry, currentTick + 1);
+        return true;
+    }
+
+    boolean cancel(long key) {
+        Entry<T> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        buckets[entry.level][entry.slot].remove(entry);
+        return true;
+    }
+
+    T get(long key) {
+        Entry<T> entry = entries.get(key);
+        return entry != null ? entry.payload : null;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * 현재 시각까지 틱을 진행하고 마감된 항목을 돌려준다. 돌려준 항목은 휠에서 빠진다.
+     */
+    List<T> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        while (currentTick < nowTick) {
+            currentTick++;
+            cascade();
+            Set<Entry<T>> bucket = buckets[0][(int) (currentTick & SLOT_MASK)];
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            List<Entry<T>> due = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Entry<T> entry : due) {
+                if (entry.deadlineMillis > nowMillis) {
+                    // 범위를 넘어 가장 먼 칸에 있었던 항목
+                    place(entry, currentTick + 1);
+                } else {
+                    entries.remove(entry.key);
+                    expired.add(entry.payload);
+                }
+            }
+        }
+        return expired;
+    }
+
+    private void cascade() {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+            Set<Entry<T>> bucket = buckets[level][(int) ((currentTick >>> shift) & SLOT_MASK)];
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            List<Entry<T>> moving = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Entry<T> entry : moving) {
+                place(entry, currentTick);
+            }
+        }
+    }
+
+    private void place(Entry<T> entry, long minTick) {
+        long deadlineTick = Math.max(-Math.floorDiv(-entry.deadlineMillis, tickMillis), minTick);
+        long delta = deadlineTick - currentTick;
+        if (delta >= MAX_SPAN) {
+            deadlineTick = currentTick + MAX_SPAN - 1;
+            delta = MAX_SPAN - 1;
+        }
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        entry.level = level;
+        entry.slot = (int) ((deadlineTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        buckets[level][entry.slot].add(entry);
+    }
+
+    private void unlink(Entry<T> entry) {
+        entries.remove(entry.key);
+        buckets[entry.level][entry.slot].remove(entry);
+    }
+
+    private static final class Entry<T> {
+        private final long key;
+        private final T payload;
+        private final long deadlineMillis;
+        private int level;
+        private int slot;
+
+        private Entry(long key, T payload, long deadlineMillis) {
+            this.key = key;
+            this.payload = payload;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package org.fortishop.deliveryservice.sla;
+
+import java.time.LocalDateTime;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+
+public record SlaDeadline(Long orderId, Long deliveryId, DeliveryStatus status, LocalDateTime since,
+                          LocalDateTime deadline, String traceId) {
+}
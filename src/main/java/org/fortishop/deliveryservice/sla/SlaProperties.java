@@ -0,0 +1,18 @@
+package org.fortishop.deliveryservice.sla;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.sla")
+@Getter
+@Setter
+public class SlaProperties {
+    private Duration readyTimeout = Duration.ofHours(48);
+    private Duration shippedTimeout = Duration.ofDays(7);
+    private Duration tick = Duration.ofSeconds(1);
+    private int catchUpPageSize = 1_000;
+}
@@ -0,0 +1,8 @@
+package org.fortishop.deliveryservice.sla;
+
+import java.time.LocalDateTime;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+
+public record SlaRow(Long deliveryId, Long orderId, DeliveryStatus status, LocalDateTime createdAt,
+                     LocalDateTime startedAt, String traceId) {
+}
@@ -0,0 +1,190 @@
+package org.fortishop.deliveryservice.sla;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.dto.event.DeliverySlaBreachedEvent;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.warmup.WarmUpTask;
+import org.fortishop.deliveryservice.kafka.DeliveryKafkaProducer;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * READY·SHIPPED 배송의 SLA 마감을 타이밍 휠로 추적하고, 마감이 지나면 delivery.sla.breached를 발행한다.
+ * 모든 인스턴스가 delivery.changed 버스로 같은 마감을 들고 있으므로, 발행 전 조건부 UPDATE로 선점한
+ * 인스턴스만 이벤트를 보낸다. 같은 UPDATE가 현재 상태와 경과 시간도 다시 확인한다.
+ */
+@Slf4j
+@Component
+public class SlaWatchdog implements WarmUpTask {
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final DeliveryEventBus eventBus;
+    private final DeliveryRepository deliveryRepository;
+    private final DeliveryKafkaProducer kafkaProducer;
+    private final SlaProperties properties;
+    private final ShardTemplate shardTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final HierarchicalTimingWheel<SlaDeadline> wheel;
+    private final Map<DeliveryStatus, Counter> breachCounters = new ConcurrentHashMap<>();
+    private final Set<Long> removedDuringCatchUp = new ConcurrentSkipListSet<>();
+    // 따라잡기는 구독보다 늦게 백그라운드에서 시작하므로, 그 사이의 종료도 기록하도록 처음부터 켜 둔다.
+    private volatile boolean catchingUp = true;
+
+    public SlaWatchdog(DeliveryEventBus eventBus, DeliveryRepository deliveryRepository,
+                       DeliveryKafkaProducer kafkaProducer, SlaProperties properties, ShardTemplate shardTemplate,
+                       MeterRegistry meterRegistry) {
+        this.eventBus = eventBus;
+        this.deliveryRepository = deliveryRepository;
+        this.kafkaProducer = kafkaProducer;
+        this.properties = properties;
+        this.shardTemplate = shardTemplate;
+        this.meterRegistry = meterRegistry;
+        this.wheel = new HierarchicalTimingWheel<>(properties.getTick().toMillis(), System.currentTimeMillis());
+        Gauge.builder("delivery.sla.tracked", this, SlaWatchdog::tracked).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        eventBus.subscribe(this::onDeliveryChanged);
+    }
+
+    /**
+     * 기동 전에 만들어진 READY·SHIPPED 배송의 마감을 테이블에서 따라잡는다.
+     */
+    @Override
+    public void warmUp() {
+        int loaded = 0;
+        try {
+            for (int shardLoaded : shardTemplate.onEachShard(this::catchUpShard)) {
+                loaded += shardLoaded;
+            }
+        } finally {
+            catchingUp = false;
+            removedDuringCatchUp.clear();
+        }
+        log.info("[SLA] Caught up: tracked={}", loaded);
+    }
+
+    private int catchUpShard() {
+        int loaded = 0;
+        for (DeliveryStatus status : List.of(DeliveryStatus.READY, DeliveryStatus.SHIPPED)) {
+            long lastId = 0L;
+            List<SlaRow> page;
+            do {
+                page = deliveryRepository.findSlaRowsAfter(status, lastId,
+                        PageRequest.of(0, properties.getCatchUpPageSize()));
+                for (SlaRow row : page) {
+                    LocalDateTime since = status == DeliveryStatus.READY ? row.createdAt() : row.startedAt();
+                    if (since != null && !removedDuringCatchUp.contains(row.orderId())
+                            && track(row.orderId(), row.deliveryId(), status, since, row.traceId(), true)) {
+                        loaded++;
+                    }
+                    lastId = row.deliveryId();
+                }
+            } while (page.size() == properties.getCatchUpPageSize());
+        }
+        return loaded;
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.sla.tick:1000}")
+    public void advance() {
+        List<SlaDeadline> expired;
+        synchronized (wheel) {
+            expired = wheel.advance(System.currentTimeMillis());
+        }
+        for (SlaDeadline deadline : expired) {
+            try {
+                breach(deadline);
+            } catch (Exception e) {
+                log.error("[SLA] Failed to handle breach: orderId={}", deadline.orderId(), e);
+            }
+        }
+    }
+
+    int tracked() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private void breach(SlaDeadline deadline) {
+        LocalDateTime threshold = LocalDateTime.now().minus(timeoutOf(deadline.status()));
+        int claimed = shardTemplate.forOrder(deadline.orderId(), () -> deadline.status() == DeliveryStatus.READY
+                ? deliveryRepository.claimCreatedSlaBreach(deadline.orderId(), deadline.status(), threshold)
+                : deliveryRepository.claimStartedSlaBreach(deadline.orderId(), deadline.status(), threshold));
+        if (claimed == 0) {
+            // 다른 인스턴스가 먼저 발행했거나 그사이 상태가 바뀌었다.
+            return;
+        }
+        kafkaProducer.sendSlaBreached(DeliverySlaBreachedEvent.builder()
+                .orderId(deadline.orderId())
+                .deliveryId(deadline.deliveryId())
+                .status(deadline.status())
+                .since(deadline.since())
+                .deadline(deadline.deadline())
+                .breachedAt(LocalDateTime.now())
+                .traceId(deadline.traceId())
+                .build());
+        breachCounters.computeIfAbsent(deadline.status(), status -> Counter.builder("delivery.sla.breached")
+                .tag("status", status.name())
+                .register(meterRegistry)).increment();
+        log.warn("[SLA] Breached: orderId={}, status={}, since={}", deadline.orderId(), deadline.status(),
+                deadline.since());
+    }
+
+    private void onDeliveryChanged(DeliveryChangedEvent event) {
+        DeliveryStatus status = event.getStatus();
+        if (status == DeliveryStatus.READY) {
+            // 결제·주소 변경도 READY 이벤트로 오므로 추적 중인 마감은 늦추지 않는다.
+            LocalDateTime since = event.getChangedAt() != null ? event.getChangedAt() : LocalDateTime.now();
+            track(event.getOrderId(), event.getDeliveryId(), status, since, event.getTraceId(), false);
+        } else if (status == DeliveryStatus.SHIPPED) {
+            LocalDateTime since = event.getStartedAt() != null ? event.getStartedAt() : LocalDateTime.now();
+            track(event.getOrderId(), event.getDeliveryId(), status, since, event.getTraceId(), false);
+        } else {
+            if (catchingUp) {
+                removedDuringCatchUp.add(event.getOrderId());
+            }
+            synchronized (wheel) {
+                wheel.cancel(event.getOrderId());
+            }
+        }
+    }
+
+    private boolean track(Long orderId, Long deliveryId, DeliveryStatus status, LocalDateTime since,
+                          String traceId, boolean onlyIfAbsent) {
+        LocalDateTime deadline = since.plus(timeoutOf(status));
+        SlaDeadline sla = new SlaDeadline(orderId, deliveryId, status, since, deadline, traceId);
+        long deadlineMillis = deadline.atZone(ZONE).toInstant().toEpochMilli();
+        synchronized (wheel) {
+            // 같은 상태로 이미 추적 중이면 마감을 유지하고, 상태가 바뀌었으면 새 마감으로 교체한다.
+            SlaDeadline existing = wheel.get(orderId);
+            if (existing != null && (onlyIfAbsent || existing.status() == status)) {
+                return false;
+            }
+            return wheel.schedule(orderId, sla, deadlineMillis, true);
+        }
+    }
+
+    private Duration timeoutOf(DeliveryStatus status) {
+        return status == DeliveryStatus.READY ? properties.getReadyTimeout() : properties.getShippedTimeout();
+    }
+}
@@ -0,0 +1,189 @@
+package org.fortishop.deliveryservice.stats;
+
+import jakarta.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.dto.response.DeliveryCountsResponse;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.warmup.WarmUpTask;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * orderId별 현재 상태와 배송사를 메모리에 두고, 상태별·배송사별 건수를 LongAdder로 유지한다.
+ * 값은 (배송사 번호 << 8 | 상태 ordinal)로 묶어 int 하나에 저장한다.
+ * 변경은 delivery.changed 버스로만 들어오므로 모든 인스턴스가 같은 건수를 보여 준다.
+ * <p>
+ * 주문별 상태는 orderId 해시로 나눈 스트라이프마다 따로 잠근다. 건수 조회는 LongAdder만 읽으므로 잠그지 않고,
+ * 버스 팬아웃 스레드와 웜업, 단건 조회는 서로 다른 스트라이프라면 기다리지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeliveryStatusIndex implements WarmUpTask {
+    static final String UNASSIGNED = "UNASSIGNED";
+
+    private static final int WARM_UP_PAGE_SIZE = 5_000;
+    private static final int STRIPE_BITS = 6;
+    private static final int STATUS_BITS = 8;
+    private static final int STATUS_MASK = (1 << STATUS_BITS) - 1;
+    private static final DeliveryStatus[] STATUSES = DeliveryStatus.values();
+
+    private final DeliveryEventBus eventBus;
+    private final DeliveryRepository deliveryRepository;
+    private final ShardTemplate shardTemplate;
+
+    private final LongIntHashMap[] stripes = newStripes();
+    private final LongAdder[] byStatus = newCounters();
+    private final Map<String, Integer> carrierIds = new ConcurrentHashMap<>();
+    private final List<String> carriers = new CopyOnWriteArrayList<>(List.of(UNASSIGNED));
+    private final List<LongAdder[]> byCarrier = new CopyOnWriteArrayList<>(List.<LongAdder[]>of(newCounters()));
+    private volatile boolean warmedUp;
+
+    @PostConstruct
+    void subscribe() {
+        eventBus.subscribe(this::onDeliveryChanged);
+    }
+
+    @Override
+    public void warmUp() {
+        long startedAt = System.currentTimeMillis();
+        int loaded = 0;
+        for (int shardLoaded : shardTemplate.onEachShard(this::warmUpShard)) {
+            loaded += shardLoaded;
+        }
+        warmedUp = true;
+        log.info("[StatusIndex] Warmed up: size={}, elapsedMs={}", loaded, System.currentTimeMillis() - startedAt);
+    }
+
+    private int warmUpShard() {
+        long lastId = 0L;
+        int loaded = 0;
+        List<StatusRow> page;
+        do {
+            page = deliveryRepository.findStatusRowsAfter(lastId, PageRequest.of(0, WARM_UP_PAGE_SIZE));
+            for (StatusRow row : page) {
+                LongIntHashMap stripe = stripeOf(row.orderId());
+                synchronized (stripe) {
+                    // 적재 중 버스로 먼저 들어온 변경이 더 최신이므로 덮어쓰지 않는다.
+                    if (stripe.get(row.orderId()) == LongIntHashMap.MISSING) {
+                        apply(stripe, row.orderId(), row.status(), row.deliveryCompany());
+                        loaded++;
+                    }
+                }
+                lastId = row.deliveryId();
+            }
+        } while (page.size() == WARM_UP_PAGE_SIZE);
+        return loaded;
+    }
+
+    public DeliveryStatus statusOf(Long orderId) {
+        LongIntHashMap stripe = stripeOf(orderId);
+        int packed;
+        synchronized (stripe) {
+            packed = stripe.get(orderId);
+        }
+        return packed == LongIntHashMap.MISSING ? null : STATUSES[packed & STATUS_MASK];
+    }
+
+    public long count(String carrier, DeliveryStatus status) {
+        Integer carrierId = carrierIds.get(carrier);
+        return carrierId == null ? 0L : byCarrier.get(carrierId)[status.ordinal()].sum();
+    }
+
+    public DeliveryCountsResponse counts() {
+        Map<DeliveryStatus, Long> statusCounts = toMap(byStatus);
+        long total = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+        Map<String, Map<DeliveryStatus, Long>> carrierCounts = new LinkedHashMap<>();
+        // 배송사 이름은 카운터보다 나중에 추가되므로 이름 목록 기준으로 읽는다.
+        for (int i = 0; i < carriers.size(); i++) {
+            carrierCounts.put(carriers.get(i), toMap(byCarrier.get(i)));
+        }
+        return new DeliveryCountsResponse(total, statusCounts, carrierCounts, warmedUp);
+    }
+
+    private void onDeliveryChanged(DeliveryChangedEvent event) {
+        LongIntHashMap stripe = stripeOf(event.getOrderId());
+        synchronized (stripe) {
+            apply(stripe, event.getOrderId(), event.getStatus(), event.getDeliveryCompany());
+        }
+    }
+
+    private void apply(LongIntHashMap stripe, Long orderId, DeliveryStatus status, String carrier) {
+        int previous = stripe.get(orderId);
+        // 배송사를 싣지 않은 이벤트(캐시 경로의 취소 등)는 이미 알고 있는 배송사를 유지한다.
+        int carrierId = carrier == null || carrier.isBlank()
+                ? (previous == LongIntHashMap.MISSING ? 0 : previous >>> STATUS_BITS)
+                : carrierId(carrier);
+        int packed = carrierId << STATUS_BITS | status.ordinal();
+        if (previous == packed) {
+            return;
+        }
+        stripe.put(orderId, packed);
+        if (previous != LongIntHashMap.MISSING) {
+            byStatus[previous & STATUS_MASK].decrement();
+            byCarrier.get(previous >>> STATUS_BITS)[previous & STATUS_MASK].decrement();
+        }
+        byStatus[status.ordinal()].increment();
+        byCarrier.get(carrierId)[status.ordinal()].increment();
+    }
+
+    private int carrierId(String carrier) {
+        Integer id = carrierIds.get(carrier);
+        if (id != null) {
+            return id;
+        }
+        // 새 배송사는 드물므로 번호 발급만 따로 잠근다. 카운터를 먼저 넣어야 번호를 본 쪽이 바로 쓸 수 있다.
+        synchronized (carriers) {
+            id = carrierIds.get(carrier);
+            if (id != null) {
+                return id;
+            }
+            byCarrier.add(newCounters());
+            carriers.add(carrier);
+            int assigned = carriers.size() - 1;
+            carrierIds.put(carrier, assigned);
+            return assigned;
+        }
+    }
+
+    private LongIntHashMap stripeOf(long orderId) {
+        // 스트라이프 안 해시맵은 곱셈 해시의 하위 비트로 슬롯을 고르므로 상위 비트로 스트라이프를 나눈다.
+        return stripes[(int) ((orderId * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - STRIPE_BITS))];
+    }
+
+    private static LongIntHashMap[] newStripes() {
+        LongIntHashMap[] stripes = new LongIntHashMap[1 << STRIPE_BITS];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new LongIntHashMap(1 << 10);
+        }
+        return stripes;
+    }
+
+    private static Map<DeliveryStatus, Long> toMap(LongAdder[] counters) {
+        Map<DeliveryStatus, Long> counts = new EnumMap<>(DeliveryStatus.class);
+        for (DeliveryStatus status : STATUSES) {
+            counts.put(status, counters[status.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[STATUSES.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,113 @@
+package org.fortishop.deliveryservice.stats;
+
+import java.util.Arrays;
+
+/**
+ * long 키와 int 값을 박싱 없이 저장하는 오픈 어드레싱 해시맵.
+ * 항목당 long 하나와 int 하나만 쓰므로 HashMap&lt;Long, ...&gt;보다 훨씬 작다. 스레드 안전하지 않다.
+ */
+final class LongIntHashMap {
+    static final int MISSING = -1;
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int threshold;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int get(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : MISSING;
+        }
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == EMPTY) {
+                return MISSING;
+            }
+        }
+    }
+
+    /**
+     * @return 이전 값, 없었다면 {@link #MISSING}
+     */
+    int put(long key, int value) {
+        if (key == EMPTY) {
+            int previous = hasZeroKey ? zeroValue : MISSING;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            if (current == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size > threshold) {
+                    rehash(keys.length << 1);
+                }
+                return MISSING;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        hasZeroKey = false;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = slot(key, mask);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
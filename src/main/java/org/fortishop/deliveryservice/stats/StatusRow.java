@@ -0,0 +1,6 @@
+package org.fortishop.deliveryservice.stats;
+
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+
+public record StatusRow(Long deliveryId, Long orderId, DeliveryStatus status, String deliveryCompany) {
+}
@@ -0,0 +1,252 @@
+package org.fortishop.deliveryservice.stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.dto.response.DeliveryResponse;
+import org.fortishop.deliveryservice.dto.response.DeliveryStatusResponse;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryExceptionType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeliveryStatusStreamService {
+
+    private final DeliveryEventBus eventBus;
+    private final DeliveryStreamProperties properties;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private ExecutorService sender;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(properties.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "delivery-sse-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        eventBus.subscribe(this::onDeliveryChanged);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(Subscriber::close));
+    }
+
+    /**
+     * 구독자를 먼저 등록한 뒤 스냅샷을 읽는다. 그 사이에 커밋된 변경은 스냅샷이나 이벤트 중 하나로 반드시 전달되고,
+     * 스냅샷보다 새롭지 않은 이벤트는 이미 스냅샷에 반영된 것이므로 버린다.
+     */
+    public SseEmitter subscribe(Long orderId, Supplier<DeliveryResponse> snapshotReader) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new DeliveryException(DeliveryExceptionType.STREAM_SUBSCRIBER_LIMIT_EXCEEDED);
+        }
+
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(orderId, emitter, properties.getBufferSize());
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        subscribers.computeIfAbsent(orderId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        DeliveryResponse snapshot;
+        try {
+            snapshot = snapshotReader.get();
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        if (!subscriber.start(DeliveryStatusResponse.of(snapshot))) {
+            evictedCount.incrementAndGet();
+            log.warn("[SSE] Evicted slow subscriber: orderId={}", orderId);
+            subscriber.close();
+        }
+        return emitter;
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(properties.getTimeout().toMillis());
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    private void onDeliveryChanged(DeliveryChangedEvent event) {
+        if (!event.isStatusChanged()) {
+            return;
+        }
+        Set<Subscriber> targets = subscribers.get(event.getOrderId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        DeliveryStatusResponse response = DeliveryStatusResponse.of(event);
+        for (Subscriber subscriber : targets) {
+            if (!subscriber.offer(response)) {
+                evictedCount.incrementAndGet();
+                log.warn("[SSE] Evicted slow subscriber: orderId={}", subscriber.orderId);
+                subscriber.close();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.stream.heartbeat-interval:15000}")
+    void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(Subscriber::heartbeat));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.orderId, (key, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private final class Subscriber {
+        private final Long orderId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<DeliveryStatusResponse> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private final AtomicBoolean pendingHeartbeat = new AtomicBoolean();
+        private final int bufferSize;
+        // 스냅샷을 보내기 전에 도착한 이벤트. 스냅샷을 보낸 뒤에는 null이다.
+        private List<DeliveryStatusResponse> early = new ArrayList<>();
+        private LocalDateTime snapshotAt;
+
+        private Subscriber(Long orderId, SseEmitter emitter, int bufferSize) {
+            this.orderId = orderId;
+            this.emitter = emitter;
+            this.bufferSize = bufferSize;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * 스냅샷을 첫 이벤트로 넣고, 기다리던 이벤트 중 스냅샷보다 새로운 것만 뒤에 붙인다.
+         */
+        private synchronized boolean start(DeliveryStatusResponse snapshot) {
+            snapshotAt = snapshot.getChangedAt();
+            List<DeliveryStatusResponse> pending = early;
+            early = null;
+            if (removed.get()) {
+                return true;
+            }
+            boolean accepted = buffer.offer(snapshot);
+            for (DeliveryStatusResponse response : pending) {
+                accepted = accepted && (!isNewer(response) || buffer.offer(response));
+            }
+            schedule();
+            return accepted;
+        }
+
+        private synchronized boolean offer(DeliveryStatusResponse response) {
+            if (removed.get()) {
+                return true;
+            }
+            if (early != null) {
+                return early.size() < bufferSize && early.add(response);
+            }
+            if (!isNewer(response)) {
+                return true;
+            }
+            if (!buffer.offer(response)) {
+                return false;
+            }
+            schedule();
+            return true;
+        }
+
+        private boolean isNewer(DeliveryStatusResponse response) {
+            return snapshotAt == null || response.getChangedAt() == null
+                    || response.getChangedAt().isAfter(snapshotAt);
+        }
+
+        private void heartbeat() {
+            if (!removed.get() && pendingHeartbeat.compareAndSet(false, true)) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (Exception e) {
+                    draining.set(false);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                if (pendingHeartbeat.getAndSet(false)) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                DeliveryStatusResponse response;
+                while (!removed.get() && (response = buffer.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                            .name("status")
+                            .id(String.valueOf(response.getChangedAt()))
+                            .data(response));
+                    if (response.isTerminal()) {
+                        close();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("[SSE] Subscriber disconnected: orderId={}", orderId);
+                close();
+            } finally {
+                draining.set(false);
+                if (!removed.get() && (!buffer.isEmpty() || pendingHeartbeat.get())) {
+                    schedule();
+                }
+            }
+        }
+
+        private void close() {
+            remove(this);
+            buffer.clear();
+            try {
+                emitter.complete();
+            } catch (Exception ignored) {
+                // 이미 종료된 연결
+            }
+        }
+    }
+}
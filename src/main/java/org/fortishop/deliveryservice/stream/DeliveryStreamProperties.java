@@ -0,0 +1,18 @@
+package org.fortishop.deliveryservice.stream;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "delivery.stream")
+@Getter
+@Setter
+public class DeliveryStreamProperties {
+    private Duration timeout = Duration.ofMinutes(30);
+    private int bufferSize = 16;
+    private int maxSubscribers = 10_000;
+    private int senderThreads = 4;
+}
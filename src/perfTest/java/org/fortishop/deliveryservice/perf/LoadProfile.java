@@ -0,0 +1,35 @@
+package org.fortishop.deliveryservice.perf;
+
+/**
+ * perfTest 태스크가 넘긴 perf.* 시스템 속성으로 만든 부하 설정.
+ *
+ * @param rate                초당 order.created 발행 수
+ * @param events              발행할 주문 수
+ * @param partitions          토픽 파티션 수
+ * @param hotKeyRatio         0번 파티션으로 몰리는 주문 비율(orderId 쏠림)
+ * @param paymentFailureRatio order.created 뒤에 payment.failed를 보낼 비율. 나머지는 payment.completed를 보낸다.
+ * @param items               주문당 상품 수
+ * @param drainTimeoutSeconds 발행이 끝난 뒤 저장을 기다리는 최대 시간
+ */
+record LoadProfile(int rate, int events, int partitions, double hotKeyRatio, double paymentFailureRatio,
+                   int items, int drainTimeoutSeconds) {
+
+    static LoadProfile fromSystemProperties() {
+        LoadProfile profile = new LoadProfile(
+                Integer.getInteger("perf.rate", 1_000),
+                Integer.getInteger("perf.events", 20_000),
+                Integer.getInteger("perf.partitions", 6),
+                Double.parseDouble(System.getProperty("perf.hotKeyRatio", "0.0")),
+                Double.parseDouble(System.getProperty("perf.paymentFailureRatio", "0.05")),
+                Integer.getInteger("perf.items", 3),
+                Integer.getInteger("perf.drainTimeoutSeconds", 120));
+        if (profile.rate <= 0 || profile.events <= 0 || profile.partitions <= 0 || profile.items < 0) {
+            throw new IllegalArgumentException("perf.rate, perf.events, perf.partitions는 양수여야 합니다: " + profile);
+        }
+        if (profile.hotKeyRatio < 0 || profile.hotKeyRatio > 1
+                || profile.paymentFailureRatio < 0 || profile.paymentFailureRatio > 1) {
+            throw new IllegalArgumentException("비율은 0과 1 사이여야 합니다: " + profile);
+        }
+        return profile;
+    }
+}
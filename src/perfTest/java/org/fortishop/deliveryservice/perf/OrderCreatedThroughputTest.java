@@ -0,0 +1,282 @@
+package org.fortishop.deliveryservice.perf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.common.utils.Utils;
+import org.fortishop.deliveryservice.dto.event.OrderCreatedEvent;
+import org.fortishop.deliveryservice.dto.event.OrderItemInfo;
+import org.fortishop.deliveryservice.dto.event.PaymentCompletedEvent;
+import org.fortishop.deliveryservice.dto.event.PaymentFailedEvent;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * 임베디드 Kafka로 order.created를 정해진 속도로 흘려보내고, 한 인스턴스가 흡수하는 처리량과
+ * 발행부터 배송 행 저장(created_at)까지의 지연, 소비 지연(lag)을 잰다.
+ * 결과는 표준 출력과 build/reports/perf/order-created.json에 남는다.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.config.location=classpath:/application-perf.yml"
+)
+class OrderCreatedThroughputTest {
+    private static final Logger log = LoggerFactory.getLogger(OrderCreatedThroughputTest.class);
+    private static final String GROUP_ID = "delivery-group";
+    private static final String ORDER_CREATED = "order.created";
+    private static final int POLL_PAGE_SIZE = 5_000;
+
+    private static final LoadProfile PROFILE = LoadProfile.fromSystemProperties();
+    private static final EmbeddedKafkaBroker BROKER = startBroker();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, Long> sentAtMicros = new ConcurrentHashMap<>();
+    private final Histogram latencyMicros = new Histogram(TimeUnit.MINUTES.toMicros(10), 3);
+    private final AtomicLong maxLag = new AtomicLong();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static EmbeddedKafkaBroker startBroker() {
+        EmbeddedKafkaBroker broker = new EmbeddedKafkaKraftBroker(1, PROFILE.partitions(),
+                ORDER_CREATED, "payment.failed", "payment.completed", "delivery.changed");
+        broker.afterPropertiesSet();
+        return broker;
+    }
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.kafka.bootstrap-servers", BROKER::getBrokersAsString);
+        for (String key : List.of("url", "username", "password", "driver-class-name")) {
+            String value = System.getProperty("perf.datasource." + key);
+            if (value != null) {
+                registry.add("spring.datasource." + key, () -> value);
+            }
+        }
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        BROKER.destroy();
+    }
+
+    @Test
+    void measureOrderCreatedThroughput() throws Exception {
+        log.info("[Perf] Load profile: {}", PROFILE);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        try (AdminClient admin = AdminClient.create(Map.of(
+                AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, BROKER.getBrokersAsString()));
+             KafkaProducer<String, String> producer = createProducer()) {
+            sampler.scheduleAtFixedRate(() -> sampleLag(admin), 1, 1, TimeUnit.SECONDS);
+
+            long startedAt = System.nanoTime();
+            produce(producer);
+            long producedAt = System.nanoTime();
+
+            long persisted = awaitPersisted(producedAt);
+            long finishedAt = System.nanoTime();
+            sampler.shutdownNow();
+            long finalLag = lag(admin);
+
+            Map<String, Object> report = report(persisted, startedAt, producedAt, finishedAt, finalLag);
+            log.info("[Perf] Result: {}", report);
+            writeReport(report);
+            assertThat(persisted).as("저장된 배송 수").isEqualTo(PROFILE.events());
+        } finally {
+            sampler.shutdownNow();
+        }
+    }
+
+    private void produce(KafkaProducer<String, String> producer) throws Exception {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / PROFILE.rate();
+        long next = System.nanoTime();
+        long nextOrderId = System.currentTimeMillis() * 1_000;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < PROFILE.events(); i++) {
+            long now;
+            while ((now = System.nanoTime()) < next) {
+                // 바쁜 대기는 측정 대상인 컨슈머와 CPU를 다투므로 잠든다.
+                LockSupport.parkNanos(next - now);
+            }
+            // 발행이 밀려도 따라잡으려 한꺼번에 쏟지 않도록 기준 시각을 현재로 당긴다.
+            next = Math.max(next, now - intervalNanos) + intervalNanos;
+
+            long orderId = nextOrderId++;
+            if (random.nextDouble() < PROFILE.hotKeyRatio()) {
+                while (partitionOf(orderId) != 0) {
+                    orderId = nextOrderId++;
+                }
+            }
+            String key = Long.toString(orderId);
+            sentAtMicros.put(orderId, epochMicros(LocalDateTime.now()));
+            producer.send(new ProducerRecord<>(ORDER_CREATED, key,
+                    objectMapper.writeValueAsString(orderCreated(orderId))));
+            if (random.nextDouble() < PROFILE.paymentFailureRatio()) {
+                producer.send(new ProducerRecord<>("payment.failed", key,
+                        objectMapper.writeValueAsString(paymentFailed(orderId))));
+            } else {
+                producer.send(new ProducerRecord<>("payment.completed", key,
+                        objectMapper.writeValueAsString(paymentCompleted(orderId))));
+            }
+        }
+        producer.flush();
+    }
+
+    private long awaitPersisted(long producedAt) throws InterruptedException {
+        long deadline = producedAt + TimeUnit.SECONDS.toNanos(PROFILE.drainTimeoutSeconds());
+        long lastId = 0L;
+        long persisted = 0;
+        while (persisted < PROFILE.events() && System.nanoTime() < deadline) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "select id, order_id, created_at from deliveries where id > ? order by id limit " + POLL_PAGE_SIZE,
+                    lastId);
+            for (Map<String, Object> row : rows) {
+                lastId = ((Number) row.get("id")).longValue();
+                Long sentAt = sentAtMicros.remove(((Number) row.get("order_id")).longValue());
+                if (sentAt != null) {
+                    LocalDateTime createdAt = ((Timestamp) row.get("created_at")).toLocalDateTime();
+                    latencyMicros.recordValue(Math.max(0, epochMicros(createdAt) - sentAt));
+                    persisted++;
+                }
+            }
+            if (rows.size() < POLL_PAGE_SIZE) {
+                Thread.sleep(100);
+            }
+        }
+        return persisted;
+    }
+
+    private void sampleLag(AdminClient admin) {
+        try {
+            maxLag.accumulateAndGet(lag(admin), Math::max);
+        } catch (Exception e) {
+            log.debug("[Perf] Failed to sample lag", e);
+        }
+    }
+
+    private long lag(AdminClient admin) throws Exception {
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(GROUP_ID)
+                .partitionsToOffsetAndMetadata().get(5, TimeUnit.SECONDS);
+        Map<TopicPartition, OffsetSpec> latest = new LinkedHashMap<>();
+        for (int partition = 0; partition < PROFILE.partitions(); partition++) {
+            latest.put(new TopicPartition(ORDER_CREATED, partition), OffsetSpec.latest());
+        }
+        long lag = 0;
+        for (var entry : admin.listOffsets(latest).all().get(5, TimeUnit.SECONDS).entrySet()) {
+            OffsetAndMetadata offset = committed.get(entry.getKey());
+            lag += entry.getValue().offset() - (offset == null ? 0 : offset.offset());
+        }
+        return lag;
+    }
+
+    private Map<String, Object> report(long persisted, long startedAt, long producedAt, long finishedAt,
+                                       long finalLag) {
+        double elapsedSeconds = (finishedAt - startedAt) / 1e9;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("profile", PROFILE.toString());
+        report.put("sent", PROFILE.events());
+        report.put("persisted", persisted);
+        report.put("produceSeconds", (producedAt - startedAt) / 1e9);
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("throughputPerSecond", persisted / elapsedSeconds);
+        report.put("maxConsumerLag", maxLag.get());
+        report.put("finalConsumerLag", finalLag);
+        report.put("latencyMillisP50", latencyMicros.getValueAtPercentile(50) / 1_000.0);
+        report.put("latencyMillisP99", latencyMicros.getValueAtPercentile(99) / 1_000.0);
+        report.put("latencyMillisP999", latencyMicros.getValueAtPercentile(99.9) / 1_000.0);
+        report.put("latencyMillisMax", latencyMicros.getMaxValue() / 1_000.0);
+        return report;
+    }
+
+    private void writeReport(Map<String, Object> report) throws Exception {
+        Path dir = Path.of(System.getProperty("perf.reportDir", "build/reports/perf"));
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("order-created.json"),
+                objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report), StandardCharsets.UTF_8);
+    }
+
+    private OrderCreatedEvent orderCreated(long orderId) {
+        List<OrderCreatedEvent.Item> items = new ArrayList<>(PROFILE.items());
+        for (int i = 0; i < PROFILE.items(); i++) {
+            items.add(new OrderCreatedEvent.Item(1_000L + i, 1, 12_000));
+        }
+        return OrderCreatedEvent.builder()
+                .orderId(orderId)
+                .memberId(orderId % 10_000)
+                .totalPrice(12_000L * PROFILE.items())
+                .address("서울특별시 강남구 테헤란로 " + orderId % 500 + " 포티빌딩")
+                .items(items)
+                .createdAt(LocalDateTime.now().toString())
+                .traceId(Long.toHexString(orderId))
+                .build();
+    }
+
+    private PaymentFailedEvent paymentFailed(long orderId) {
+        List<OrderItemInfo> items = new ArrayList<>(PROFILE.items());
+        for (int i = 0; i < PROFILE.items(); i++) {
+            items.add(new OrderItemInfo(1_000L + i, 1, BigDecimal.valueOf(12_000)));
+        }
+        return new PaymentFailedEvent(orderId, items, "CARD_DECLINED", LocalDateTime.now().toString(),
+                Long.toHexString(orderId));
+    }
+
+    private PaymentCompletedEvent paymentCompleted(long orderId) {
+        return new PaymentCompletedEvent(orderId, orderId, 12_000L * PROFILE.items(), "CARD",
+                LocalDateTime.now().toString(), Long.toHexString(orderId));
+    }
+
+    private KafkaProducer<String, String> createProducer() {
+        return new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, BROKER.getBrokersAsString(),
+                ProducerConfig.LINGER_MS_CONFIG, 5,
+                ProducerConfig.ACKS_CONFIG, "1"), new StringSerializer(), new StringSerializer());
+    }
+
+    private static int partitionOf(long orderId) {
+        // 기본 파티셔너와 같은 방식으로 키를 해시한다.
+        byte[] key = Long.toString(orderId).getBytes(StandardCharsets.UTF_8);
+        return Utils.toPositive(Utils.murmur2(key)) % PROFILE.partitions();
+    }
+
+    private static long epochMicros(LocalDateTime time) {
+        return TimeUnit.SECONDS.toMicros(time.atZone(ZoneId.systemDefault()).toEpochSecond())
+                + time.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,155 @@
+package org.fortishop.deliveryservice.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 팻 jar를 그대로 띄울 때(before)와 추출본에 AOT·CDS를 적용해 띄울 때(after)의 기동 시간을 번갈아 잰다.
+ * 두 경우 모두 aot/application.yml로 외부 시스템 없이 컨텍스트 refresh까지 간 뒤 종료하므로,
+ * 프로세스 시작부터 종료까지가 DB·Kafka 연결을 뺀 준비 시간이다.
+ * <pre>
+ * gradle measureStartup -Pstartup.runs=5
+ * </pre>
+ */
+public class StartupTimer {
+    private static final Logger log = LoggerFactory.getLogger(StartupTimer.class);
+    private static final List<String> TRAINING_PROPERTIES = List.of(
+            "-Dspring.config.location=classpath:/aot/application.yml",
+            "-Dspring.context.exit=onRefresh");
+
+    private final String java;
+    private final Path jar;
+    private final Path workDir;
+
+    StartupTimer(String java, Path jar, Path workDir) {
+        this.java = java;
+        this.jar = jar;
+        this.workDir = workDir;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+        if (runs < 1) {
+            throw new IllegalArgumentException("runs는 1 이상이어야 합니다.");
+        }
+        String java = ProcessHandle.current().info().command()
+                .orElseThrow(() -> new IllegalStateException("java 실행 파일을 찾을 수 없습니다."));
+        StartupTimer timer = new StartupTimer(java, Path.of(required(options, "jar")),
+                Path.of(required(options, "work-dir")));
+
+        Map<String, Object> report = timer.measure(runs);
+        Path reportFile = Path.of(required(options, "report"));
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report),
+                StandardCharsets.UTF_8);
+        log.info("[Startup] Result: {}", report);
+    }
+
+    Map<String, Object> measure(int runs) throws IOException, InterruptedException {
+        Path extracted = workDir.resolve("extracted");
+        Path archive = extracted.resolve("application.jsa");
+        Path thinJar = extracted.resolve(jar.getFileName());
+
+        run("extract", List.of(java, "-Djarmode=tools", "-jar", jar.toString(), "extract", "--force",
+                "--destination", extracted.toString()));
+        long trainingMillis = run("training", command(List.of("-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.aot.enabled=true"), thinJar));
+
+        List<Long> before = new ArrayList<>();
+        List<Long> after = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            // 번갈아 돌려 캐시·열 상태가 한쪽에만 유리하지 않게 한다.
+            before.add(run("before-" + i, command(List.of(), jar)));
+            after.add(run("after-" + i, command(List.of("-XX:SharedArchiveFile=" + archive,
+                    "-Dspring.aot.enabled=true"), thinJar)));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runs", runs);
+        report.put("trainingMs", trainingMillis);
+        report.put("before", summary(before));
+        report.put("after", summary(after));
+        report.put("medianSpeedup", Math.round(median(before) * 100.0 / median(after)) / 100.0);
+        return report;
+    }
+
+    private List<String> command(List<String> jvmOptions, Path applicationJar) {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmOptions);
+        command.addAll(TRAINING_PROPERTIES);
+        command.add("-jar");
+        command.add(applicationJar.toString());
+        return command;
+    }
+
+    private long run(String name, List<String> command) throws IOException, InterruptedException {
+        Path logFile = workDir.resolve("logs").resolve(name + ".log");
+        Files.createDirectories(logFile.getParent());
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        int exitCode = process.waitFor();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        if (exitCode != 0) {
+            throw new IllegalStateException(name + " 실행이 실패했습니다: exitCode=" + exitCode + ", log=" + logFile);
+        }
+        log.info("[Startup] {} took {} ms", name, elapsedMillis);
+        return elapsedMillis;
+    }
+
+    private static Map<String, Object> summary(List<Long> millis) {
+        List<Long> sorted = millis.stream().sorted().toList();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("minMs", sorted.get(0));
+        summary.put("medianMs", median(sorted));
+        summary.put("maxMs", sorted.get(sorted.size() - 1));
+        summary.put("samplesMs", millis);
+        return summary;
+    }
+
+    private static long median(List<Long> millis) {
+        List<Long> sorted = millis.stream().sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new TreeMap<>();
+        List<String> invalid = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                invalid.add(arg);
+                continue;
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        if (!invalid.isEmpty()) {
+            throw new IllegalArgumentException("--이름=값 형식이 아닌 인자: " + invalid);
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("--" + name + " 인자가 필요합니다.");
+        }
+        return value;
+    }
+}
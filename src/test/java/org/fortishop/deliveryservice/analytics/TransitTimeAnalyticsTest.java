@@ -0,0 +1,141 @@
+package org.fortishop.deliveryservice.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.domain.TransitTimeSnapshot;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.dto.response.TransitTimeStatsResponse;
+import org.fortishop.deliveryservice.repository.TransitTimeSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class TransitTimeAnalyticsTest {
+
+    private final TransitTimeSnapshotRepository repository = Mockito.mock(TransitTimeSnapshotRepository.class);
+    private final TransitTimeProperties properties = new TransitTimeProperties();
+    private final LocalDate today = LocalDate.now();
+    private final List<TransitTimeSnapshot> saved = new ArrayList<>();
+    private TransitTimeAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        analytics = new TransitTimeAnalytics(repository, properties);
+        when(repository.findByInstanceIdAndDayAndCarrier(any(), any(), any())).thenReturn(Optional.empty());
+        when(repository.save(any())).thenAnswer(invocation -> {
+            saved.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+    }
+
+    @Test
+    @DisplayName("배송 완료 이벤트로 배송사·일자별 분위수를 계산한다")
+    void completed_recordsPercentiles() {
+        for (int hours = 1; hours <= 100; hours++) {
+            analytics.onDeliveryChanged(completed("CJ", hours));
+        }
+        analytics.onDeliveryChanged(shipped());
+
+        List<TransitTimeStatsResponse> stats = analytics.stats(today, today, null);
+
+        assertThat(stats).hasSize(1);
+        TransitTimeStatsResponse cj = stats.get(0);
+        assertThat(cj.getCarrier()).isEqualTo("CJ");
+        assertThat(cj.getCount()).isEqualTo(100);
+        assertThat(cj.getP50Seconds()).isBetween(49L * 3600, 51L * 3600);
+        assertThat(cj.getP99Seconds()).isBetween(98L * 3600, 100L * 3600);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스의 스냅샷과 합쳐서 분위수를 계산한다")
+    void stats_mergesOtherInstances() {
+        analytics.onDeliveryChanged(completed("CJ", 10));
+        analytics.snapshot();
+        TransitTimeSnapshot other = saved.get(0);
+
+        TransitTimeProperties otherProperties = new TransitTimeProperties();
+        TransitTimeAnalytics otherInstance = new TransitTimeAnalytics(repository, otherProperties);
+        otherInstance.onDeliveryChanged(completed("CJ", 30));
+        when(repository.findAllByDayBetween(today, today)).thenReturn(List.of(other));
+
+        List<TransitTimeStatsResponse> stats = otherInstance.stats(today, today, "CJ");
+
+        assertThat(stats).hasSize(1);
+        assertThat(stats.get(0).getCount()).isEqualTo(2);
+        assertThat(stats.get(0).getMaxSeconds()).isBetween(29L * 3600, 31L * 3600);
+    }
+
+    @Test
+    @DisplayName("변경이 없으면 스냅샷을 다시 저장하지 않는다")
+    void snapshot_skipsCleanSketches() {
+        analytics.onDeliveryChanged(completed("CJ", 10));
+        analytics.snapshot();
+        analytics.snapshot();
+
+        assertThat(saved).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("보존 기간이 지나 메모리에서 비운 날짜는 이 인스턴스의 스냅샷으로 계산한다")
+    void stats_readsOwnSnapshotAfterEviction() {
+        LocalDate old = today.minusDays(properties.getRetainedDays() + 3L);
+        analytics.onDeliveryChanged(completed("CJ", 10, old));
+        analytics.snapshot();
+        when(repository.findAllByDayBetween(old, old)).thenReturn(List.copyOf(saved));
+
+        List<TransitTimeStatsResponse> stats = analytics.stats(old, old, "CJ");
+
+        assertThat(saved).hasSize(1);
+        assertThat(stats).hasSize(1);
+        assertThat(stats.get(0).getDay()).isEqualTo(old);
+        assertThat(stats.get(0).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("메모리에 남아 있는 날짜는 이 인스턴스의 스냅샷을 두 번 더하지 않는다")
+    void stats_prefersMemoryOverOwnSnapshot() {
+        analytics.onDeliveryChanged(completed("CJ", 10));
+        analytics.snapshot();
+        analytics.onDeliveryChanged(completed("CJ", 20));
+        when(repository.findAllByDayBetween(today, today)).thenReturn(List.copyOf(saved));
+
+        List<TransitTimeStatsResponse> stats = analytics.stats(today, today, "CJ");
+
+        assertThat(stats).hasSize(1);
+        assertThat(stats.get(0).getCount()).isEqualTo(2);
+    }
+
+    private DeliveryChangedEvent completed(String carrier, int hours) {
+        return completed(carrier, hours, today);
+    }
+
+    private DeliveryChangedEvent completed(String carrier, int hours, LocalDate day) {
+        LocalDateTime completedAt = day.atTime(23, 0);
+        return DeliveryChangedEvent.builder()
+                .orderId((long) hours)
+                .previousStatus(DeliveryStatus.SHIPPED)
+                .status(DeliveryStatus.DELIVERED)
+                .deliveryCompany(carrier)
+                .startedAt(completedAt.minusHours(hours))
+                .completedAt(completedAt)
+                .build();
+    }
+
+    private DeliveryChangedEvent shipped() {
+        return DeliveryChangedEvent.builder()
+                .orderId(999L)
+                .previousStatus(DeliveryStatus.READY)
+                .status(DeliveryStatus.SHIPPED)
+                .startedAt(today.atStartOfDay())
+                .build();
+    }
+}
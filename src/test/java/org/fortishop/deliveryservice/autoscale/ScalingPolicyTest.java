@@ -0,0 +1,104 @@
+package org.fortishop.deliveryservice.autoscale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ScalingPolicyTest {
+
+    private AutoscalingProperties properties;
+    private ScalingPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AutoscalingProperties();
+        properties.setMaxReplicas(10);
+        properties.setTargetLagPerReplica(1_000);
+        properties.setUnrecoverableLag(10_000);
+        properties.setUnrecoverableWindow(Duration.ofMinutes(5));
+        policy = new ScalingPolicy(properties);
+    }
+
+    @Test
+    @DisplayName("lag 권고는 목표 lag으로 나눈 값이며 토픽 파티션 수를 넘지 않는다")
+    void lagBoundByPartitions() {
+        assertThat(evaluate(sample(1, 3_500, 6, 0, 0), 0).desiredReplicas()).isEqualTo(4);
+        assertThat(evaluate(sample(1, 50_000, 6, 0, 0), 0).desiredReplicas()).isEqualTo(6);
+        assertThat(evaluate(sample(3, 0, 6, 0, 0), 0).desiredReplicas()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("인스턴스별 신호는 현재 레플리카 수에 목표 대비 비율을 곱하고 최대 레플리카로 자른다")
+    void perInstanceSignals() {
+        AutoscalingSignal poolBound = evaluate(sample(2, 0, 6, 50, 0), 0);
+        assertThat(poolBound.desiredReplicas()).isEqualTo(5);
+        assertThat(poolBound.reasons()).singleElement().asString().startsWith("poolWaitMs=");
+
+        assertThat(evaluate(sample(4, 0, 6, 0, 100), 0).desiredReplicas()).isEqualTo(10);
+        assertThat(evaluate(sample(8, 0, 6, 0, 200), 0).desiredReplicas()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("임계값 위 lag이 window 내내 줄지 않으면 회복 불가, 줄기 시작하면 해제된다")
+    void unrecoverableLag() {
+        long minute = Duration.ofMinutes(1).toMillis();
+        assertThat(evaluate(sample(3, 20_000, 6, 0, 0), 0).unrecoverable()).isFalse();
+        assertThat(evaluate(sample(3, 25_000, 6, 0, 0), 3 * minute).unrecoverable()).isFalse();
+        assertThat(evaluate(sample(3, 30_000, 6, 0, 0), 5 * minute).unrecoverable()).isTrue();
+        assertThat(evaluate(sample(3, 31_000, 6, 0, 0), 7 * minute).unrecoverable()).isTrue();
+
+        assertThat(evaluate(sample(3, 15_000, 6, 0, 0), 9 * minute).unrecoverable()).isFalse();
+        assertThat(evaluate(sample(3, 5_000, 6, 0, 0), 10 * minute).unrecoverable()).isFalse();
+        assertThat(evaluate(sample(3, 40_000, 6, 0, 0), 11 * minute).unrecoverable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("백프레셔가 리스너를 멈춘 동안에는 lag 권고가 현재 레플리카를 넘지 않고 회복 불가도 판정하지 않는다")
+    void backpressurePaused_capsLagAndSkipsUnrecoverable() {
+        long minute = Duration.ofMinutes(1).toMillis();
+        AutoscalingSignal paused = evaluate(sample(2, 50_000, 50_000, 6, true), 0);
+        assertThat(paused.desiredReplicas()).isEqualTo(2);
+        assertThat(paused.backpressurePaused()).isTrue();
+        assertThat(paused.reasons()).anyMatch(reason -> reason.startsWith("backpressure"));
+
+        assertThat(evaluate(sample(2, 60_000, 60_000, 6, true), 6 * minute).unrecoverable()).isFalse();
+        assertThat(evaluate(sample(2, 70_000, 70_000, 6, true), 12 * minute).unrecoverable()).isFalse();
+
+        // 재개되면 window를 처음부터 다시 잰다.
+        assertThat(evaluate(sample(2, 70_000, 70_000, 6, false), 13 * minute).unrecoverable()).isFalse();
+        assertThat(evaluate(sample(2, 70_000, 70_000, 6, false), 18 * minute).unrecoverable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("그룹 lag이 커도 이 인스턴스에 배정된 파티션이 따라잡고 있으면 readiness를 내리지 않는다")
+    void unrecoverable_decidedByAssignedPartitions() {
+        long minute = Duration.ofMinutes(1).toMillis();
+        assertThat(evaluate(sample(3, 60_000, 2_000, 6, false), 0).unrecoverable()).isFalse();
+        assertThat(evaluate(sample(3, 70_000, 3_000, 6, false), 6 * minute).unrecoverable()).isFalse();
+        AutoscalingSignal signal = evaluate(sample(3, 80_000, 1_000, 6, false), 12 * minute);
+        assertThat(signal.unrecoverable()).isFalse();
+        assertThat(signal.totalLag()).isEqualTo(80_000);
+        assertThat(signal.assignedLag()).isEqualTo(1_000);
+    }
+
+    private AutoscalingSignal evaluate(ScalingPolicy.Sample sample, long nowMillis) {
+        return policy.evaluate(sample, nowMillis);
+    }
+
+    private ScalingPolicy.Sample sample(int replicas, long lag, int partitions, double poolWaitMillis,
+                                        long inFlight) {
+        return new ScalingPolicy.Sample(replicas, List.of(new GroupLag("delivery-group", "order.created",
+                partitions, lag)), lag, poolWaitMillis, 0, inFlight, false, LocalDateTime.now());
+    }
+
+    private ScalingPolicy.Sample sample(int replicas, long groupLag, long assignedLag, int partitions,
+                                        boolean backpressurePaused) {
+        return new ScalingPolicy.Sample(replicas, List.of(new GroupLag("delivery-group", "order.created",
+                partitions, groupLag)), assignedLag, 0, 0, 0, backpressurePaused, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,94 @@
+package org.fortishop.deliveryservice.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.shard.ShardingProperties;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DeliveryStateCacheTest {
+    private static final int PARTITIONS = 2;
+
+    private final DeliveryRepository deliveryRepository = Mockito.mock(DeliveryRepository.class);
+    private final Consumer<?, ?> consumer = Mockito.mock(Consumer.class);
+    private final CountDownLatch scanGate = new CountDownLatch(1);
+    private final List<CachedDelivery> rows = LongStream.rangeClosed(1, 20)
+            .mapToObj(orderId -> new CachedDelivery(orderId * 10, orderId, "trace-" + orderId))
+            .toList();
+    private DeliveryStateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(consumer.partitionsFor(DeliveryStateCache.TOPIC)).thenReturn(List.of(
+                new PartitionInfo(DeliveryStateCache.TOPIC, 0, null, null, null),
+                new PartitionInfo(DeliveryStateCache.TOPIC, 1, null, null, null)));
+        when(deliveryRepository.findCachedByStatusAfter(eq(DeliveryStatus.READY), anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    scanGate.await(5, TimeUnit.SECONDS);
+                    return (long) invocation.getArgument(1) == 0L ? rows : List.of();
+                });
+        cache = new DeliveryStateCache(deliveryRepository, new DeliveryEventBus(),
+                new ShardTemplate(new ShardingProperties()), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    @DisplayName("파티션 할당 콜백은 적재를 기다리지 않고, 적재는 할당된 파티션 몫만 채운다")
+    void assigned_warmsUpInBackground() {
+        cache.onPartitionsAssigned(consumer, List.of(new TopicPartition(DeliveryStateCache.TOPIC, 0)));
+
+        assertThat(cache.size()).isZero();
+        scanGate.countDown();
+
+        List<Long> expected = rows.stream().map(CachedDelivery::orderId).filter(orderId -> partitionOf(orderId) == 0)
+                .toList();
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(cache.size()).isEqualTo(expected.size()));
+        assertThat(cache.findReady(rows.stream().map(CachedDelivery::orderId).toList()))
+                .containsOnlyKeys(expected);
+    }
+
+    @Test
+    @DisplayName("적재 도중 회수된 파티션은 캐시에 남기지 않는다")
+    void revokedDuringWarmUp_notLoaded() {
+        TopicPartition partition = new TopicPartition(DeliveryStateCache.TOPIC, 0);
+        cache.onPartitionsAssigned(consumer, List.of(partition));
+
+        cache.onPartitionsRevokedBeforeCommit(consumer, List.of(partition));
+        scanGate.countDown();
+
+        await().pollDelay(Duration.ofMillis(200)).atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(cache.size()).isZero());
+    }
+
+    private static int partitionOf(Long orderId) {
+        byte[] key = orderId.toString().getBytes(StandardCharsets.UTF_8);
+        return Utils.toPositive(Utils.murmur2(key)) % PARTITIONS;
+    }
+}
@@ -0,0 +1,105 @@
+package org.fortishop.deliveryservice.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.fortishop.deliveryservice.controller.DeliveryController;
+import org.fortishop.deliveryservice.controller.DeliverySearchController;
+import org.fortishop.deliveryservice.dto.request.DeliveryRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+class HttpCaptureFilterTest {
+
+    private final TrafficRecorder recorder = Mockito.mock(TrafficRecorder.class);
+    private HttpCaptureFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        CaptureProperties properties = new CaptureProperties();
+        properties.setHttpSampleRate(1.0);
+        filter = new HttpCaptureFilter(recorder, properties);
+    }
+
+    @Test
+    @DisplayName("DeliveryController가 처리한 요청은 본문과 함께 기록한다")
+    void deliveryController_recorded() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/delivery");
+        request.setContentType("application/json");
+        request.setContent("{\"orderId\":1}".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilter(request, new MockHttpServletResponse(), handledBy(
+                handler(DeliveryController.class, "createDelivery", DeliveryRequest.class), true));
+
+        ArgumentCaptor<CaptureRecord> captor = ArgumentCaptor.forClass(CaptureRecord.class);
+        verify(recorder).record(captor.capture());
+        assertThat(captor.getValue().source()).isEqualTo("POST /api/delivery");
+        assertThat(captor.getValue().key()).isEqualTo("application/json");
+        assertThat(new String(captor.getValue().payload(), StandardCharsets.UTF_8)).isEqualTo("{\"orderId\":1}");
+    }
+
+    @Test
+    @DisplayName("같은 접두사 아래의 다른 컨트롤러, SSE 구독, 매핑되지 않은 요청은 기록하지 않는다")
+    void otherHandlers_notRecorded() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/delivery/new-feature"),
+                new MockHttpServletResponse(), handledBy(handler(DeliverySearchController.class, "search",
+                String.class, String.class, String.class, int.class), false));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/delivery/1/stream"),
+                new MockHttpServletResponse(), handledBy(
+                        handler(DeliveryController.class, "streamStatus", Long.class), false));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/delivery/unknown/path"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(recorder, never()).record(any());
+    }
+
+    @Test
+    @DisplayName("표본에 들지 않은 요청은 감싸지도 기록하지도 않는다")
+    void notSampled_skipped() throws Exception {
+        CaptureProperties properties = new CaptureProperties();
+        properties.setHttpSampleRate(0.0);
+        HttpCaptureFilter unsampled = new HttpCaptureFilter(recorder, properties);
+
+        unsampled.doFilter(new MockHttpServletRequest("GET", "/api/delivery/1"), new MockHttpServletResponse(),
+                handledBy(handler(DeliveryController.class, "getByOrderId", Long.class), false));
+
+        verify(recorder, never()).record(any());
+    }
+
+    private static HandlerMethod handler(Class<?> controller, String method, Class<?>... parameterTypes)
+            throws NoSuchMethodException {
+        return new HandlerMethod(Mockito.mock(controller), controller.getMethod(method, parameterTypes));
+    }
+
+    /**
+     * DispatcherServlet처럼 매핑된 핸들러를 요청 속성에 남기고, 필요하면 본문을 읽는다.
+     */
+    private static MockFilterChain handledBy(HandlerMethod handler, boolean readBody) {
+        return new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response)
+                    throws IOException, ServletException {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+                if (readBody) {
+                    request.getInputStream().readAllBytes();
+                }
+                super.doFilter(request, response);
+            }
+        };
+    }
+}
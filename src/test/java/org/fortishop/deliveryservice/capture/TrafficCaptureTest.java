@@ -0,0 +1,79 @@
+package org.fortishop.deliveryservice.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TrafficCaptureTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("기록한 레코드를 그대로 읽고, 잘린 마지막 레코드는 버린다")
+    void roundTrip_dropsTruncatedTail() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CaptureWriter writer = new CaptureWriter(bytes)) {
+            writer.write(kafka(1_000L, "order.created", "1"));
+            writer.write(new CaptureRecord(CaptureRecord.Type.HTTP, 1_500L, "PATCH /api/delivery/1/address",
+                    null, "{\"address\":\"서울\"}".getBytes(StandardCharsets.UTF_8)));
+            writer.write(kafka(2_000L, "payment.failed", "2"));
+        }
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 3);
+
+        try (CaptureReader reader = new CaptureReader(new ByteArrayInputStream(truncated))) {
+            CaptureRecord first = reader.next();
+            CaptureRecord second = reader.next();
+
+            assertThat(first.source()).isEqualTo("order.created");
+            assertThat(first.key()).isEqualTo("1");
+            assertThat(second.type()).isEqualTo(CaptureRecord.Type.HTTP);
+            assertThat(second.key()).isNull();
+            assertThat(new String(second.payload(), StandardCharsets.UTF_8)).isEqualTo("{\"address\":\"서울\"}");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("여러 캡처 파일을 타임스탬프 순으로 병합해 같은 토픽과 키로 다시 발행한다")
+    void replay_mergesFilesByTimestamp() throws Exception {
+        write(dir.resolve("a.dcap"), kafka(1_000L, "order.created", "1"), kafka(1_030L, "order.created", "3"));
+        write(dir.resolve("b.dcap"), kafka(1_010L, "payment.failed", "2"));
+        MockProducer<String, byte[]> producer =
+                new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+
+        TrafficReplayer replayer = new TrafficReplayer(0, producer, null, null);
+        replayer.replay(List.of(dir.resolve("a.dcap"), dir.resolve("b.dcap")));
+
+        assertThat(producer.history()).extracting(ProducerRecord::key).containsExactly("1", "2", "3");
+        assertThat(producer.history()).extracting(ProducerRecord::topic)
+                .containsExactly("order.created", "payment.failed", "order.created");
+    }
+
+    private void write(Path file, CaptureRecord... records) throws Exception {
+        try (OutputStream out = Files.newOutputStream(file); CaptureWriter writer = new CaptureWriter(out)) {
+            for (CaptureRecord record : records) {
+                writer.write(record);
+            }
+        }
+    }
+
+    private CaptureRecord kafka(long timestamp, String topic, String key) {
+        return new CaptureRecord(CaptureRecord.Type.KAFKA, timestamp, topic, key,
+                ("{\"orderId\":" + key + "}").getBytes(StandardCharsets.UTF_8));
+    }
+}
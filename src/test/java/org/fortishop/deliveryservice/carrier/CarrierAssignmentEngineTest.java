@@ -0,0 +1,64 @@
+package org.fortishop.deliveryservice.carrier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
+import org.fortishop.deliveryservice.stats.DeliveryStatusIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class CarrierAssignmentEngineTest {
+
+    private final TrackingNumberAllocator allocator = Mockito.mock(TrackingNumberAllocator.class);
+    private final DeliveryStatusIndex statusIndex = Mockito.mock(DeliveryStatusIndex.class);
+    private final CarrierProperties properties = new CarrierProperties();
+    private CarrierAssignmentEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        properties.setCarriers(List.of(carrier("CJ", 3, 1_000), carrier("HANJIN", 1, 10)));
+        engine = new CarrierAssignmentEngine(properties, allocator, statusIndex);
+        when(allocator.next(any())).thenAnswer(invocation ->
+                ((CarrierProperties.Carrier) invocation.getArgument(0)).getPrefix() + "-1");
+    }
+
+    @Test
+    @DisplayName("가중치 대비 배송 중 건수가 가장 적은 배송사를 고른다")
+    void assign_lowestWeightedLoad() {
+        when(statusIndex.count("CJ", DeliveryStatus.SHIPPED)).thenReturn(8L);
+        when(statusIndex.count("HANJIN", DeliveryStatus.SHIPPED)).thenReturn(2L);
+
+        assertThat(engine.assign(null).deliveryCompany()).isEqualTo("CJ");
+    }
+
+    @Test
+    @DisplayName("최대 처리량에 도달한 배송사는 제외한다")
+    void assign_skipsFullCarrier() {
+        when(statusIndex.count("CJ", DeliveryStatus.SHIPPED)).thenReturn(1_000L);
+        when(statusIndex.count("HANJIN", DeliveryStatus.SHIPPED)).thenReturn(5L);
+
+        assertThat(engine.assign(null).deliveryCompany()).isEqualTo("HANJIN");
+    }
+
+    @Test
+    @DisplayName("지정한 배송사가 설정에 없으면 예외")
+    void assign_unknownCarrier() {
+        assertThatThrownBy(() -> engine.assign("UNKNOWN")).isInstanceOf(DeliveryException.class);
+    }
+
+    private CarrierProperties.Carrier carrier(String code, int weight, long maxInFlight) {
+        CarrierProperties.Carrier carrier = new CarrierProperties.Carrier();
+        carrier.setCode(code);
+        carrier.setPrefix(code);
+        carrier.setWeight(weight);
+        carrier.setMaxInFlight(maxInFlight);
+        return carrier;
+    }
+}
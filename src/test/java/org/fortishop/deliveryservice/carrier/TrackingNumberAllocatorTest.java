@@ -0,0 +1,71 @@
+package org.fortishop.deliveryservice.carrier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.shard.ShardingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class TrackingNumberAllocatorTest {
+
+    private final TrackingNumberBlockReserver reserver = Mockito.mock(TrackingNumberBlockReserver.class);
+    private final AtomicLong nextValue = new AtomicLong(1L);
+    private final CarrierProperties.Carrier carrier = new CarrierProperties.Carrier();
+    private TrackingNumberAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        CarrierProperties properties = new CarrierProperties();
+        properties.setBlockSize(100);
+        carrier.setCode("CJ");
+        carrier.setPrefix("CJ");
+        allocator = new TrackingNumberAllocator(reserver, properties, new ShardTemplate(new ShardingProperties()));
+
+        when(reserver.reserve("CJ", 100)).thenAnswer(invocation -> nextValue.getAndAdd(100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        allocator.shutdown();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 발급해도 중복 없이 구간 단위로만 DB를 예약한다")
+    void concurrentAllocation_uniqueAndBlockReserved() throws InterruptedException {
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1_000; i++) {
+            executor.execute(() -> issued.add(allocator.next(carrier)));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(issued).hasSize(1_000).allMatch(number -> TrackingNumbers.isValid(number, "CJ"));
+        // 미리 받아 두는 다음 구간까지 포함해도 구간 수만큼만 예약한다.
+        verify(reserver, atMost(11)).reserve(eq("CJ"), eq(100));
+    }
+
+    @Test
+    @DisplayName("검증 숫자가 틀린 송장 번호는 거절한다")
+    void checkDigit_detectsTypo() {
+        String number = TrackingNumbers.format("CJ", 12_345L);
+        String typo = number.substring(0, 5) + (char) ('0' + (number.charAt(5) - '0' + 1) % 10) + number.substring(6);
+
+        assertThat(TrackingNumbers.isValid(number, "CJ")).isTrue();
+        assertThat(TrackingNumbers.isValid(typo, "CJ")).isFalse();
+    }
+}
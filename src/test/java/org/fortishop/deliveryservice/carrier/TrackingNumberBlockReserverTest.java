@@ -0,0 +1,126 @@
+package org.fortishop.deliveryservice.carrier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.shard.ShardingProperties;
+import org.fortishop.deliveryservice.repository.TrackingNumberSequenceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 레플리카 두 개를 흉내 낸 할당기 두 개가 같은 배송사 시퀀스를 두고 경쟁해도 번호가 겹치지 않는지 MySQL 모드 H2에서 확인한다.
+ */
+@DataJpaTest(properties = {
+        "spring.config.location=classpath:/application-test.yml",
+        "spring.datasource.url=jdbc:h2:mem:tracking;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DAY",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(TrackingNumberBlockReserver.class)
+class TrackingNumberBlockReserverTest {
+    private static final int BLOCK_SIZE = 10;
+
+    @Autowired
+    private TrackingNumberBlockReserver reserver;
+
+    @Autowired
+    private TrackingNumberSequenceRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CarrierProperties.Carrier carrier = new CarrierProperties.Carrier();
+    private TrackingNumberAllocator first;
+    private TrackingNumberAllocator second;
+
+    @BeforeEach
+    void setUp() {
+        carrier.setCode("CJ");
+        carrier.setPrefix("CJ");
+        first = allocator();
+        second = allocator();
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.shutdown();
+        second.shutdown();
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("두 할당기가 같은 배송사 번호를 동시에 발급해도 중복이 없다")
+    void twoAllocators_concurrent_unique() throws Exception {
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            TrackingNumberAllocator allocator = i % 2 == 0 ? first : second;
+            futures.add(executor.submit(() -> {
+                for (int n = 0; n < 100; n++) {
+                    assertThat(issued.add(allocator.next(carrier))).isTrue();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(issued).hasSize(800).allMatch(number -> TrackingNumbers.isValid(number, "CJ"));
+        assertThat(repository.findById("CJ")).get()
+                .satisfies(sequence -> assertThat(sequence.getNextValue() - 1).isGreaterThanOrEqualTo(800));
+    }
+
+    @Test
+    @DisplayName("바깥 트랜잭션이 시퀀스를 먼저 읽었고 다른 레플리카가 앞서 예약해도 새 구간을 받고 바깥 트랜잭션은 커밋된다")
+    void staleOuterContext_reservesFreshBlock() {
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        issued.add(first.next(carrier));
+
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        outer.executeWithoutResult(status -> {
+            long seen = repository.findById("CJ").orElseThrow().getNextValue();
+            for (int n = 0; n < BLOCK_SIZE * 3; n++) {
+                issued.add(second.next(carrier));
+            }
+            for (int n = 1; n < BLOCK_SIZE * 3; n++) {
+                issued.add(first.next(carrier));
+            }
+            assertThat(repository.findById("CJ").orElseThrow().getNextValue()).isEqualTo(seen);
+            assertThat(status.isRollbackOnly()).isFalse();
+        });
+
+        assertThat(issued).hasSize(BLOCK_SIZE * 6);
+    }
+
+    private TrackingNumberAllocator allocator() {
+        CarrierProperties properties = new CarrierProperties();
+        properties.setBlockSize(BLOCK_SIZE);
+        return new TrackingNumberAllocator(reserver, properties, new ShardTemplate(new ShardingProperties()));
+    }
+}
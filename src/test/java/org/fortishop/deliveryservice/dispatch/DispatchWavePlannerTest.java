@@ -0,0 +1,186 @@
+package org.fortishop.deliveryservice.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.dto.response.DispatchPlanResponse;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.shard.ShardingProperties;
+import org.fortishop.deliveryservice.pick.PaidReadyRow;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DispatchWavePlannerTest {
+
+    private final DeliveryEventBus eventBus = new DeliveryEventBus();
+    private final LocalDateTime paidAt = LocalDateTime.of(2025, 5, 1, 10, 0);
+    private final DeliveryRepository deliveryRepository = Mockito.mock(DeliveryRepository.class);
+    private DispatchWavePlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        planner = new DispatchWavePlanner(eventBus, deliveryRepository,
+                new ShardTemplate(new ShardingProperties()));
+        planner.subscribe();
+    }
+
+    @Test
+    @DisplayName("주소를 권역 키로 정규화한다")
+    void normalizeRegion() {
+        assertThat(RegionNormalizer.normalize("서울특별시 강남구 테헤란로 1")).isEqualTo("서울 강남구");
+        assertThat(RegionNormalizer.normalize("서울시 강남구 역삼동")).isEqualTo("서울 강남구");
+        assertThat(RegionNormalizer.normalize("경상북도 포항시 북구")).isEqualTo("경북 포항시");
+        assertThat(RegionNormalizer.normalize("(06236) 서울 강남구 테헤란로")).isEqualTo("P062");
+        assertThat(RegionNormalizer.normalize(null)).isEqualTo(RegionNormalizer.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("오래 기다린 권역부터 용량 안에서 웨이브를 채우고 큰 권역은 나눈다")
+    void plan_fillsWavesByRegionUrgency() {
+        eventBus.publish(paid(1L, "서울 강남구 1", 0));
+        eventBus.publish(paid(2L, "부산 해운대구 1", 1));
+        eventBus.publish(paid(3L, "서울 강남구 2", 2));
+        eventBus.publish(paid(4L, "서울 강남구 3", 3));
+        eventBus.publish(paid(5L, "부산 해운대구 2", 4));
+
+        Map<String, Integer> carriers = new LinkedHashMap<>();
+        carriers.put("CJ", 2);
+        carriers.put("HANJIN", 2);
+        DispatchPlanResponse plan = planner.plan(carriers, 2);
+
+        List<DispatchWave> waves = plan.getWaves();
+        assertThat(waves).extracting(DispatchWave::getCarrier).containsExactly("CJ", "HANJIN", "CJ");
+        assertThat(waves.get(0).getRegions().get(0).getRegion()).isEqualTo("서울 강남구");
+        assertThat(waves.get(0).getRegions().get(0).getOrderIds()).containsExactly(1L, 3L);
+        // 부산 해운대구는 남은 한 자리에는 안 들어가지만 빈 웨이브에는 들어가므로 나누지 않고 다음 웨이브로 넘긴다.
+        assertThat(waves.get(1).getRegions()).extracting(DispatchWave.RegionBatch::getRegion)
+                .containsExactly("서울 강남구");
+        assertThat(waves.get(1).getRegions().get(0).getOrderIds()).containsExactly(4L);
+        assertThat(waves.get(2).getRegions()).singleElement()
+                .satisfies(batch -> assertThat(batch.getOrderIds()).containsExactly(2L, 5L));
+        assertThat(plan.getPlanned()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("두 권역의 합이 용량을 조금 넘으면 뒤 권역을 나누지 않고 다음 웨이브에 통째로 담는다")
+    void plan_keepsRegionWholeWhenItFitsNextWave() {
+        for (long orderId = 1; orderId <= 3; orderId++) {
+            eventBus.publish(paid(orderId, "서울 강남구 " + orderId, (int) orderId));
+            eventBus.publish(paid(orderId + 10, "부산 해운대구 " + orderId, (int) orderId + 10));
+        }
+
+        DispatchPlanResponse plan = planner.plan(Map.of("CJ", 5), 2);
+
+        assertThat(plan.getWaves()).hasSize(2);
+        assertThat(plan.getWaves().get(0).getRegions()).singleElement()
+                .satisfies(batch -> assertThat(batch.getOrderIds()).containsExactly(1L, 2L, 3L));
+        assertThat(plan.getWaves().get(1).getRegions()).singleElement()
+                .satisfies(batch -> assertThat(batch.getOrderIds()).containsExactly(11L, 12L, 13L));
+        assertThat(plan.getPlanned()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("출고되거나 주소가 바뀌면 색인에서 빠지거나 권역을 옮긴다")
+    void changes_updateIndex() {
+        eventBus.publish(paid(1L, "서울 강남구 1", 0));
+        eventBus.publish(paid(2L, "서울 강남구 2", 1));
+        eventBus.publish(paid(1L, "부산 해운대구 1", 0));
+        eventBus.publish(DeliveryChangedEvent.builder()
+                .orderId(2L)
+                .previousStatus(DeliveryStatus.READY)
+                .status(DeliveryStatus.SHIPPED)
+                .build());
+
+        DispatchPlanResponse plan = planner.plan(Map.of("CJ", 10), 1);
+
+        assertThat(plan.getWaves()).hasSize(1);
+        assertThat(plan.getWaves().get(0).getRegions()).extracting(DispatchWave.RegionBatch::getRegion)
+                .containsExactly("부산 해운대구");
+        assertThat(planner.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("웜업은 주소를 권역으로 바꿔 적재하고 시작 전에 빠진 배송은 건너뛴다")
+    void warmUp_loadsRegionsAndSkipsRemoved() {
+        eventBus.publish(DeliveryChangedEvent.builder()
+                .orderId(1L)
+                .previousStatus(DeliveryStatus.READY)
+                .status(DeliveryStatus.SHIPPED)
+                .build());
+        when(deliveryRepository.findPaidRowsAfter(eq(DeliveryStatus.READY), anyLong(), any())).thenReturn(List.of(
+                new PaidReadyRow(1L, 1L, "서울 강남구 1", paidAt),
+                new PaidReadyRow(2L, 2L, "부산 해운대구 1", paidAt.plusMinutes(1))));
+
+        planner.warmUp();
+
+        DispatchPlanResponse plan = planner.plan(Map.of("CJ", 10), 1);
+        assertThat(plan.getWaves().get(0).getRegions()).extracting(DispatchWave.RegionBatch::getRegion)
+                .containsExactly("부산 해운대구");
+        assertThat(planner.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 주문의 추가와 제거가 동시에 일어나도 권역에 주인 없는 항목이 남지 않는다")
+    void concurrentAddAndRemove_leavesNoOrphans() throws Exception {
+        int orders = 8;
+        int rounds = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            boolean adder = t % 2 == 0;
+            futures.add(executor.submit(() -> {
+                for (int round = 0; round < rounds; round++) {
+                    for (long orderId = 1; orderId <= orders; orderId++) {
+                        if (adder) {
+                            // 라운드마다 결제 시각을 달리해 남은 항목이 다음 제거로 우연히 지워지지 않게 한다.
+                            eventBus.publish(paid(orderId, round % 2 == 0 ? "서울 강남구 1" : "부산 해운대구 1",
+                                    (int) (round * orders + orderId)));
+                        } else {
+                            eventBus.publish(DeliveryChangedEvent.builder()
+                                    .orderId(orderId)
+                                    .previousStatus(DeliveryStatus.READY)
+                                    .status(DeliveryStatus.CANCELLED)
+                                    .build());
+                        }
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        DispatchPlanResponse plan = planner.plan(Map.of("CJ", orders * 2), 1);
+        assertThat(plan.getPlanned()).isEqualTo(planner.size());
+    }
+
+    private DeliveryChangedEvent paid(Long orderId, String address, int minutes) {
+        return DeliveryChangedEvent.builder()
+                .orderId(orderId)
+                .deliveryId(orderId)
+                .previousStatus(DeliveryStatus.READY)
+                .status(DeliveryStatus.READY)
+                .region(RegionNormalizer.normalize(address))
+                .paidAt(paidAt.plusMinutes(minutes))
+                .build();
+    }
+}
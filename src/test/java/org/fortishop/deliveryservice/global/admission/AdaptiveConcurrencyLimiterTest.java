@@ -0,0 +1,68 @@
+package org.fortishop.deliveryservice.global.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final long threshold = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    @DisplayName("한도만큼 동시 요청이 들어오면 이후 요청은 거절된다")
+    void tryAcquire_rejectsOverLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, threshold);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10), true);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("지연이 임계값을 넘으면 한도가 줄어들고 최소값 아래로는 내려가지 않는다")
+    void release_slowResponse_decreasesLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, threshold);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(500), true);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("한도 근처로 사용 중이고 응답이 빠르면 한도가 늘어난다")
+    void release_fastResponse_increasesLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 8, threshold);
+
+        for (int i = 0; i < 200; i++) {
+            while (limiter.tryAcquire()) {
+                // 한도까지 채운다
+            }
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(5), true);
+            while (limiter.getInFlight() > 0) {
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(5), true);
+            }
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(4);
+        assertThat(limiter.getLimit()).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 지연과 무관하게 한도를 줄인다")
+    void release_failure_decreasesLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, threshold);
+
+        limiter.tryAcquire();
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+
+        assertThat(limiter.getLimit()).isEqualTo(9);
+    }
+}
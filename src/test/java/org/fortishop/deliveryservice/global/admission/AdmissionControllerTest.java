@@ -0,0 +1,45 @@
+package org.fortishop.deliveryservice.global.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdmissionControllerTest {
+
+    private AdmissionController admissionController;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setKafka(new AdmissionProperties.Limit(4, 1, 8, Duration.ofMillis(20)));
+        admissionController = new AdmissionController(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("배치는 레코드당 지연으로 판단해 오래 걸린 큰 묶음도 한도를 줄이지 않는다")
+    void executeKafka_batchUsesPerRecordLatency() {
+        admissionController.executeKafka(100, () -> sleep(50));
+
+        assertThat(admissionController.getLimiter(Bulkhead.KAFKA).getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("단건이 기준보다 오래 걸리면 한도를 줄인다")
+    void executeKafka_slowRecordDecreasesLimit() {
+        admissionController.executeKafka(() -> sleep(50));
+
+        assertThat(admissionController.getLimiter(Bulkhead.KAFKA).getLimit()).isEqualTo(3);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
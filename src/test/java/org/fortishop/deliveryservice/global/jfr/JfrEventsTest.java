@@ -0,0 +1,141 @@
+package org.fortishop.deliveryservice.global.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.dto.response.CompensationResult;
+import org.fortishop.deliveryservice.service.DeliveryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+class JfrEventsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("단건 작업은 호출 기간을 가진 전이 이벤트 하나, 일괄 작업은 건별 전이 이벤트가 된다")
+    void stateTransitions() throws Exception {
+        JfrEventAspect aspect = new JfrEventAspect(emptyRecorder());
+        DeliveryService target = mock(DeliveryService.class);
+        doAnswer(invocation -> {
+            Thread.sleep(20);
+            aspect.onDeliveryChanged(changed(invocation.getArgument(0), DeliveryStatus.SHIPPED, DeliveryStatus.DELIVERED));
+            return null;
+        }).when(target).completeDelivery(anyLong());
+        doAnswer(invocation -> {
+            Collection<Long> orderIds = invocation.getArgument(0);
+            orderIds.forEach(orderId -> aspect.onDeliveryChanged(
+                    changed(orderId, DeliveryStatus.READY, DeliveryStatus.CANCELLED)));
+            return new CompensationResult(List.copyOf(orderIds), Map.of(), List.of());
+        }).when(target).compensateDeliveriesOnPaymentFailure(anyCollection());
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        DeliveryService service = factory.getProxy();
+
+        List<RecordedEvent> events = record(StateTransitionEvent.class, () -> {
+            service.completeDelivery(7L);
+            service.compensateDeliveriesOnPaymentFailure(List.of(8L, 9L));
+        });
+
+        assertThat(events).hasSize(3);
+        RecordedEvent completed = events.stream().filter(e -> e.getLong("orderId") == 7L).findFirst().orElseThrow();
+        assertThat(completed.getString("fromStatus")).isEqualTo("SHIPPED");
+        assertThat(completed.getString("toStatus")).isEqualTo("DELIVERED");
+        assertThat(completed.getString("operation")).isEqualTo("completeDelivery");
+        assertThat(completed.getDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+        assertThat(events).filteredOn(e -> e.getLong("orderId") != 7L)
+                .allMatch(e -> "compensateDeliveriesOnPaymentFailure".equals(e.getString("operation")))
+                .extracting(e -> e.getString("toStatus")).containsOnly("CANCELLED");
+    }
+
+    @Test
+    @DisplayName("덤프 파일은 이유를 이름에 담고 최대 개수를 넘으면 오래된 것부터 지운다")
+    void dumpAndPrune() throws Exception {
+        DeliveryFlightRecorder recorder = new DeliveryFlightRecorder(properties(2, Duration.ofMinutes(10)));
+        recorder.start();
+        try {
+            assertThat(recorder.isRecording()).isTrue();
+            Path first = recorder.dump("first");
+            recorder.dump("second");
+            Path third = recorder.dump("p99 spike/api");
+
+            assertThat(third.getFileName().toString()).endsWith("-p99_spike_api.jfr");
+            assertThat(recorder.dumps()).hasSize(2).doesNotContain(first);
+        } finally {
+            recorder.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("지연 임계값을 넘으면 자동 덤프하고 쿨다운 안의 재요청은 무시한다")
+    void autoDumpOnBreach() throws Exception {
+        DeliveryFlightRecorder recorder = new DeliveryFlightRecorder(properties(20, Duration.ofMinutes(10)));
+        recorder.start();
+        try {
+            recorder.onLatencyBreach("service.fast", Duration.ofMillis(10).toNanos());
+            recorder.onLatencyBreach("service.slow", Duration.ofSeconds(3).toNanos());
+            recorder.onLatencyBreach("service.slower", Duration.ofSeconds(5).toNanos());
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (recorder.dumps().isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            Thread.sleep(200);
+            assertThat(recorder.dumps()).singleElement()
+                    .satisfies(file -> assertThat(file.getFileName().toString()).endsWith("-slow-service.slow.jfr"));
+        } finally {
+            recorder.stop();
+        }
+    }
+
+    private List<RecordedEvent> record(Class<? extends Event> type, Runnable action) throws Exception {
+        Path file = dir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(type);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(type.getAnnotation(Name.class).value()))
+                .toList();
+    }
+
+    private JfrProperties properties(int maxDumps, Duration cooldown) {
+        JfrProperties properties = new JfrProperties();
+        properties.setDirectory(dir.resolve("dumps").toString());
+        properties.setMaxDumps(maxDumps);
+        properties.setAutoDumpCooldown(cooldown);
+        properties.setMaxAge(Duration.ofMinutes(1));
+        return properties;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectProvider<DeliveryFlightRecorder> emptyRecorder() {
+        return mock(ObjectProvider.class);
+    }
+
+    private DeliveryChangedEvent changed(Long orderId, DeliveryStatus from, DeliveryStatus to) {
+        return DeliveryChangedEvent.builder().orderId(orderId).previousStatus(from).status(to).build();
+    }
+}
@@ -0,0 +1,100 @@
+package org.fortishop.deliveryservice.global.lease;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.fortishop.deliveryservice.domain.ScheduledLock;
+import org.fortishop.deliveryservice.repository.ScheduledLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class LeaseManagerTest {
+
+    private static final String JOB = "job";
+    private static final Duration LEASE_FOR = Duration.ofSeconds(30);
+
+    private final ScheduledLockRepository repository = Mockito.mock(ScheduledLockRepository.class);
+    private final LeaseProperties properties = new LeaseProperties();
+    private LeaseManager leaseManager;
+
+    @BeforeEach
+    void setUp() {
+        properties.setOwner("me");
+        leaseManager = new LeaseManager(repository, properties);
+    }
+
+    @Test
+    @DisplayName("해제된 임대는 펜싱 토큰을 올리며 획득한다")
+    void releasedLease_acquiredWithNextToken() {
+        givenLock(null, LocalDateTime.now().minusSeconds(1), 7L);
+        when(repository.acquire(eq(JOB), eq("me"), eq(7L), any(), any())).thenReturn(1);
+
+        Lease lease = leaseManager.tryAcquire(JOB, LEASE_FOR);
+
+        assertThat(lease).isNotNull();
+        assertThat(lease.getFencingToken()).isEqualTo(8L);
+        assertThat(lease.isStolen()).isFalse();
+    }
+
+    @Test
+    @DisplayName("다른 노드의 임대가 유효하면 건너뛴다")
+    void heldByOther_skipped() {
+        givenLock("other", LocalDateTime.now().plusSeconds(10), 3L);
+
+        assertThat(leaseManager.tryAcquire(JOB, LEASE_FOR)).isNull();
+        verify(repository, never()).acquire(anyString(), anyString(), anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("만료된 다른 노드의 임대를 가져오면 탈취로 표시한다")
+    void expiredLeaseOfOther_stolen() {
+        givenLock("other", LocalDateTime.now().minusSeconds(1), 3L);
+        when(repository.acquire(eq(JOB), eq("me"), eq(3L), any(), any())).thenReturn(1);
+
+        Lease lease = leaseManager.tryAcquire(JOB, LEASE_FOR);
+
+        assertThat(lease).isNotNull();
+        assertThat(lease.isStolen()).isTrue();
+    }
+
+    @Test
+    @DisplayName("같은 순간 다른 노드가 먼저 획득하면 건너뛴다")
+    void lostRace_skipped() {
+        givenLock(null, LocalDateTime.now().minusSeconds(1), 3L);
+        when(repository.acquire(eq(JOB), eq("me"), eq(3L), any(), any())).thenReturn(0);
+
+        assertThat(leaseManager.tryAcquire(JOB, LEASE_FOR)).isNull();
+    }
+
+    @Test
+    @DisplayName("연장에 실패하면 임대를 잃은 것으로 표시한다")
+    void renewFailed_markedLost() {
+        givenLock(null, LocalDateTime.now().minusSeconds(1), 0L);
+        when(repository.acquire(eq(JOB), eq("me"), eq(0L), any(), any())).thenReturn(1);
+        Lease lease = leaseManager.tryAcquire(JOB, LEASE_FOR);
+        when(repository.renew(eq(JOB), eq("me"), eq(1L), any())).thenReturn(0);
+
+        assertThat(leaseManager.renew(lease)).isFalse();
+        assertThat(lease.isLost()).isTrue();
+    }
+
+    private void givenLock(String lockedBy, LocalDateTime lockedUntil, long token) {
+        when(repository.findById(JOB)).thenReturn(Optional.of(ScheduledLock.builder()
+                .name(JOB)
+                .lockedBy(lockedBy)
+                .lockedUntil(lockedUntil)
+                .fencingToken(token)
+                .build()));
+    }
+}
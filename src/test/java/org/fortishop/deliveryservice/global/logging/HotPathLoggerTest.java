@@ -0,0 +1,98 @@
+package org.fortishop.deliveryservice.global.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+class HotPathLoggerTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger("org.fortishop.deliveryservice.hotpath.test");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HotPathLogProperties properties = new HotPathLogProperties();
+    private DebugTargets debugTargets;
+    private HotPathLogger hotPathLogger;
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.INFO);
+        properties.setRateLimits(Map.of("limited", 2));
+        properties.setSampleRates(Map.of("muted", 0.0));
+        debugTargets = new DebugTargets(properties);
+        debugTargets.install();
+        hotPathLogger = new HotPathLogger(properties, debugTargets, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        debugTargets.uninstall();
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    @Test
+    @DisplayName("이벤트 종류별 초당 한도를 넘는 줄은 버리고 개수를 센다")
+    void rateLimitPerType() {
+        for (int i = 0; i < 5; i++) {
+            hotPathLogger.info(logger, "limited", (long) i, null, "received orderId={}", i);
+        }
+        hotPathLogger.info(logger, "other", 9L, null, "other orderId={}", 9);
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("received orderId=0", "received orderId=1", "other orderId=9");
+        assertThat(appender.list.get(0).getKeyValuePairs())
+                .anySatisfy(pair -> assertThat(pair.key).isEqualTo("event"));
+        assertThat(meterRegistry.get("delivery.logging.suppressed").tag("event", "limited").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("샘플링이나 레벨에서 빠져도 디버그 대상 주문은 detail까지 남기고, detail은 그때만 계산한다")
+    void debugTargetBypassesSampling() {
+        AtomicInteger detailCalls = new AtomicInteger();
+        logger.setLevel(Level.WARN);
+        debugTargets.add(7L, null, Duration.ofMinutes(1));
+
+        hotPathLogger.info(logger, "muted", 1L, null, () -> "payload-" + detailCalls.incrementAndGet(),
+                "sent orderId={}", 1L);
+        hotPathLogger.info(logger, "muted", 7L, null, () -> "payload-" + detailCalls.incrementAndGet(),
+                "sent orderId={}", 7L);
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("sent orderId=7 detail=payload-1");
+        assertThat(detailCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("디버그 대상 주문의 MDC가 있으면 꺼진 DEBUG 로그도 남긴다")
+    void debugTargetEnablesDebugLevel() {
+        debugTargets.add(null, "trace-1", Duration.ofMinutes(1));
+
+        logger.debug("hidden");
+        try (MDC.MDCCloseable ignored = MDC.putCloseable(DebugTargets.MDC_TRACE_ID, "trace-1")) {
+            logger.debug("visible");
+        }
+        debugTargets.remove(null, "trace-1");
+        try (MDC.MDCCloseable ignored = MDC.putCloseable(DebugTargets.MDC_TRACE_ID, "trace-1")) {
+            logger.debug("hidden again");
+        }
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage).containsExactly("visible");
+        assertThat(debugTargets.isActive()).isFalse();
+    }
+}
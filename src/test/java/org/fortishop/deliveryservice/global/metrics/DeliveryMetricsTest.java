@@ -0,0 +1,92 @@
+package org.fortishop.deliveryservice.global.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchInterceptor;
+
+class DeliveryMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private DeliveryMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new MetricsConfig().deliverySloMeterFilter(new MetricsProperties()));
+        metrics = new DeliveryMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("배송 타이머에는 설정한 SLO 경계만큼 버킷이 생긴다")
+    void sloBuckets() throws Exception {
+        metrics.recordService(DeliveryMetricsTest.class, DeliveryMetricsTest.class.getDeclaredMethod("sloBuckets"),
+                TimeUnit.MILLISECONDS.toNanos(30), null);
+
+        Timer timer = registry.get(DeliveryMetrics.SERVICE).tag("method", "sloBuckets").tag("exception", "none")
+                .timer();
+        CountAtBucket[] buckets = timer.takeSnapshot().histogramCounts();
+        assertThat(buckets).hasSize(new MetricsProperties().getServiceSlo().size());
+        assertThat(countAt(buckets, 25)).isZero();
+        assertThat(countAt(buckets, 50)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("주문 지연은 올바른 시각만 기록하고 형식 오류나 음수는 건너뛴다")
+    void orderLag() {
+        LocalDateTime persistedAt = LocalDateTime.of(2025, 5, 1, 12, 0, 1);
+
+        metrics.recordOrderLag("2025-05-01T12:00:00", persistedAt);
+        metrics.recordOrderLag("2025-05-01 12:00:00", persistedAt);
+        metrics.recordOrderLag("2025-05-01T12:00:05", persistedAt);
+        metrics.recordOrderLag(null, persistedAt);
+
+        Timer lag = registry.get(DeliveryMetrics.ORDER_LAG).timer();
+        assertThat(lag.count()).isEqualTo(1);
+        assertThat(lag.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("배치 처리 시간은 배치에 담긴 파티션마다 기록된다")
+    void batchPerPartition() {
+        BatchInterceptor<String, String> interceptor = new KafkaListenerMetrics(metrics).batchInterceptor();
+        TopicPartition p0 = new TopicPartition("payment.failed", 0);
+        TopicPartition p1 = new TopicPartition("payment.failed", 1);
+        ConsumerRecords<String, String> records = new ConsumerRecords<>(Map.of(
+                p0, List.of(new ConsumerRecord<>("payment.failed", 0, 0L, "1", "a")),
+                p1, List.of(new ConsumerRecord<>("payment.failed", 1, 0L, "2", "b"))));
+
+        interceptor.intercept(records, null);
+        interceptor.success(records, null);
+        interceptor.intercept(records, null);
+        interceptor.failure(records, new IllegalStateException(), null);
+
+        for (String partition : List.of("0", "1")) {
+            assertThat(registry.get(DeliveryMetrics.KAFKA_CONSUMER).tag("partition", partition)
+                    .tag("outcome", "success").timer().count()).isEqualTo(1);
+            assertThat(registry.get(DeliveryMetrics.KAFKA_CONSUMER).tag("partition", partition)
+                    .tag("outcome", "failure").timer().count()).isEqualTo(1);
+        }
+    }
+
+    private double countAt(CountAtBucket[] buckets, double millis) {
+        for (CountAtBucket bucket : buckets) {
+            if (bucket.bucket(TimeUnit.MILLISECONDS) == millis) {
+                return bucket.count();
+            }
+        }
+        throw new AssertionError("버킷 없음: " + millis);
+    }
+}
@@ -0,0 +1,141 @@
+package org.fortishop.deliveryservice.global.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.fortishop.deliveryservice.domain.Delivery;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 샤드마다 id가 따로 매겨지므로, 요청에 묶인 EntityManager가 있어도 샤드별 조회가 서로의 엔티티로 바뀌지 않는지 확인한다.
+ * 스키마는 Hibernate가 기본(0번) 샤드에 만든 것을 1번 샤드에 복사한다.
+ */
+@DataJpaTest(properties = {
+        "spring.config.location=classpath:/application-test.yml",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShardEntityManagerTest {
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TwoShards shards;
+
+    private ShardTemplate shardTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate home = new JdbcTemplate(shards.databases.get(0));
+        JdbcTemplate other = new JdbcTemplate(shards.databases.get(1));
+        other.execute("drop all objects");
+        home.queryForList("script nodata", String.class).stream()
+                .filter(statement -> (statement.startsWith("CREATE") || statement.startsWith("ALTER"))
+                        && !statement.startsWith("CREATE USER"))
+                .forEach(other::execute);
+
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.getShards().add(new ShardingProperties.Shard());
+        properties.getShards().add(new ShardingProperties.Shard());
+        shardTemplate = new ShardTemplate(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+            ((EntityManagerHolder) TransactionSynchronizationManager.unbindResource(entityManagerFactory))
+                    .getEntityManager().close();
+        }
+        shardTemplate.forEachShard(deliveryRepository::deleteAllInBatch);
+    }
+
+    @Test
+    @DisplayName("open-in-view EntityManager가 묶여 있어도 같은 id를 가진 두 샤드의 배송을 각각 돌려준다")
+    void sameIdOnTwoShards_notMergedByBoundEntityManager() {
+        Delivery first = shardTemplate.onShard(0, () -> deliveryRepository.save(delivery(100L)));
+        Delivery second = shardTemplate.onShard(1, () -> deliveryRepository.save(delivery(200L)));
+        assertThat(first.getId()).isEqualTo(second.getId());
+
+        // OpenEntityManagerInViewInterceptor가 요청마다 하는 것처럼 EntityManager를 스레드에 묶는다.
+        TransactionSynchronizationManager.bindResource(entityManagerFactory,
+                new EntityManagerHolder(entityManagerFactory.createEntityManager()));
+
+        List<Long> orderIds = shardTemplate.onEachShard(() ->
+                        deliveryRepository.findAllByStatus(DeliveryStatus.READY)).stream()
+                .flatMap(List::stream)
+                .map(Delivery::getOrderId)
+                .toList();
+
+        assertThat(orderIds).containsExactly(100L, 200L);
+        assertThat(TransactionSynchronizationManager.hasResource(entityManagerFactory)).isTrue();
+    }
+
+    private static Delivery delivery(Long orderId) {
+        LocalDateTime now = LocalDateTime.now();
+        return Delivery.builder()
+                .orderId(orderId)
+                .status(DeliveryStatus.READY)
+                .address("서울시 강남구")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    @TestConfiguration
+    static class TwoShards {
+        private final List<EmbeddedDatabase> databases = List.of(shard(), shard());
+
+        @Bean
+        @Primary
+        DataSource dataSource() {
+            Map<Object, Object> targets = new HashMap<>();
+            targets.put(0, databases.get(0));
+            targets.put(1, databases.get(1));
+            ShardRoutingDataSource routing = new ShardRoutingDataSource();
+            routing.setTargetDataSources(targets);
+            routing.setDefaultTargetDataSource(databases.get(0));
+            routing.setLenientFallback(false);
+            routing.afterPropertiesSet();
+            return routing;
+        }
+
+        private static EmbeddedDatabase shard() {
+            return new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .setName("shard-em-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DAY")
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.fortishop.deliveryservice.global.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class ShardingTest {
+
+    private static final int BUCKETS = 64;
+    private static final String SCHEMA = """
+            create table deliveries (
+                id bigint auto_increment primary key,
+                order_id bigint not null unique,
+                status varchar(20) not null,
+                address varchar(255)
+            );
+            create table pending_compensations (
+                order_id bigint primary key,
+                created_at timestamp not null,
+                expires_at timestamp not null
+            );
+            create table pending_payments (
+                order_id bigint primary key,
+                paid_at timestamp not null,
+                created_at timestamp not null,
+                expires_at timestamp not null
+            );
+            """;
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    @Test
+    @DisplayName("같은 orderId는 항상 같은 샤드로 라우팅되고 샤드별 조회는 모든 샤드를 돈다")
+    void routesByOrderId() {
+        ShardingProperties properties = properties(3);
+        ShardRoutingDataSource routing = routing(List.of(shard(), shard(), shard()));
+        JdbcTemplate jdbc = new JdbcTemplate(routing);
+        ShardTemplate shardTemplate = new ShardTemplate(properties);
+
+        for (long orderId = 1; orderId <= 300; orderId++) {
+            long id = orderId;
+            shardTemplate.forOrder(id, () -> jdbc.update(
+                    "insert into deliveries (order_id, status) values (?, 'READY')", id));
+        }
+
+        List<Integer> counts = shardTemplate.onEachShard(() ->
+                jdbc.queryForObject("select count(*) from deliveries", Integer.class));
+        assertThat(counts).hasSize(3).allMatch(count -> count > 0);
+        assertThat(counts.stream().mapToInt(Integer::intValue).sum()).isEqualTo(300);
+        assertThat(shardTemplate.forOrder(42L, () -> jdbc.queryForObject(
+                "select count(*) from deliveries where order_id = 42", Integer.class))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("2개에서 3개 샤드로 늘리면 새 배치에 맞는 행만 옮기고 다시 실행해도 결과가 같다")
+    void reshard_twoToThree() {
+        List<DataSource> sources = List.of(shard(), shard());
+        List<DataSource> targets = List.of(sources.get(0), sources.get(1), shard());
+        for (long orderId = 1; orderId <= 500; orderId++) {
+            JdbcTemplate jdbc = new JdbcTemplate(sources.get(ShardResolver.shardOf(orderId, BUCKETS, 2)));
+            jdbc.update("insert into deliveries (order_id, status) values (?, 'READY')", orderId);
+            if (orderId % 10 == 0) {
+                jdbc.update("insert into pending_compensations (order_id, created_at, expires_at) "
+                        + "values (?, current_timestamp, current_timestamp)", orderId);
+            }
+            if (orderId % 10 == 5) {
+                jdbc.update("insert into pending_payments (order_id, paid_at, created_at, expires_at) "
+                        + "values (?, current_timestamp, current_timestamp, current_timestamp)", orderId);
+            }
+        }
+
+        Map<String, Long> moved = new ReshardingTool(sources, targets, BUCKETS, 37, true).run();
+        Map<String, Long> again = new ReshardingTool(sources, targets, BUCKETS, 37, true).run();
+
+        assertThat(moved.get("deliveries")).isPositive();
+        assertThat(moved.get("pending_payments")).isPositive();
+        assertThat(again).containsEntry("deliveries", 0L).containsEntry("pending_compensations", 0L)
+                .containsEntry("pending_payments", 0L);
+        long total = 0;
+        long payments = 0;
+        for (int shard = 0; shard < 3; shard++) {
+            JdbcTemplate jdbc = new JdbcTemplate(targets.get(shard));
+            for (Long orderId : jdbc.queryForList("select order_id from deliveries", Long.class)) {
+                assertThat(ShardResolver.shardOf(orderId, BUCKETS, 3)).isEqualTo(shard);
+                total++;
+            }
+            for (Long orderId : jdbc.queryForList("select order_id from pending_compensations", Long.class)) {
+                assertThat(ShardResolver.shardOf(orderId, BUCKETS, 3)).isEqualTo(shard);
+            }
+            for (Long orderId : jdbc.queryForList("select order_id from pending_payments", Long.class)) {
+                assertThat(ShardResolver.shardOf(orderId, BUCKETS, 3)).isEqualTo(shard);
+                payments++;
+            }
+        }
+        assertThat(total).isEqualTo(500);
+        assertThat(payments).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("샤드 수가 바뀌어도 버킷은 통째로 움직인다")
+    void bucketsMoveWhole() {
+        Map<Integer, Integer> shardOfBucket = new HashMap<>();
+        for (long orderId = 1; orderId <= 10_000; orderId++) {
+            int bucket = ShardResolver.bucketOf(orderId, BUCKETS);
+            int shard = ShardResolver.shardOf(orderId, BUCKETS, 3);
+            assertThat(shardOfBucket.computeIfAbsent(bucket, key -> shard)).isEqualTo(shard);
+        }
+    }
+
+    private ShardingProperties properties(int shards) {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setBucketCount(BUCKETS);
+        for (int i = 0; i < shards; i++) {
+            properties.getShards().add(new ShardingProperties.Shard());
+        }
+        return properties;
+    }
+
+    private ShardRoutingDataSource routing(List<DataSource> shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shards.get(0));
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private DataSource shard() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("shard-" + UUID.randomUUID())
+                .build();
+        new JdbcTemplate(database).execute(SCHEMA);
+        databases.add(database);
+        return database;
+    }
+}
@@ -0,0 +1,165 @@
+package org.fortishop.deliveryservice.global.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.sampler.RateLimitingSampler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zipkin2.reporter.BytesMessageSender;
+import zipkin2.reporter.Encoding;
+import zipkin2.reporter.brave.MutableSpanBytesEncoder;
+
+class TracingSamplingTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<MutableSpan> reported = new CopyOnWriteArrayList<>();
+    private Tracing tracing;
+
+    @AfterEach
+    void tearDown() {
+        if (tracing != null) {
+            tracing.close();
+        }
+    }
+
+    @Test
+    @DisplayName("헤드 샘플링된 트레이스도 토픽별 초당 한도를 넘으면 버린다")
+    void perTopicRateLimit() {
+        Tracer tracer = tracer(100);
+
+        for (int i = 0; i < 5; i++) {
+            tracer.newTrace().kind(Span.Kind.CONSUMER).tag("messaging.source.name", "order.created").start().finish();
+        }
+        tracer.newTrace().tag("method", "GET").tag("uri", "/api/delivery/{orderId}").start().finish();
+
+        assertThat(reported).extracting(TailSamplingSpanHandler::keyOf)
+                .containsExactly("order.created", "order.created", "GET /api/delivery/{orderId}");
+        assertThat(meterRegistry.get(TailSamplingSpanHandler.TRACES).tag("decision", "dropped").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("헤드 샘플링에서 빠졌어도 자식 스팬에 오류가 있으면 트레이스 전체를 남긴다")
+    void promotesErrorTrace() {
+        Tracer tracer = tracer(0);
+
+        Span root = tracer.newTrace().name("root").start();
+        tracer.newChild(root.context()).name("child").error(new IllegalStateException("boom")).start().finish();
+        root.finish();
+        Span ok = tracer.newTrace().name("ok").start();
+        tracer.newChild(ok.context()).name("child").start().finish();
+        ok.finish();
+
+        assertThat(reported).extracting(MutableSpan::name).containsExactly("child", "root");
+        assertThat(meterRegistry.get(TailSamplingSpanHandler.TRACES).tag("decision", "error").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("느린 루트는 종류별 임계값으로 판단해 남긴다")
+    void promotesSlowTrace() {
+        Tracer tracer = tracer(0);
+
+        tracer.newTrace().name("slow-http").start(1_000_000L).finish(2_500_000L);
+        tracer.newTrace().name("fast-http").start(1_000_000L).finish(1_200_000L);
+        tracer.newTrace().name("slow-kafka").kind(Span.Kind.CONSUMER).start(1_000_000L).finish(1_600_000L);
+
+        assertThat(reported).extracting(MutableSpan::name).containsExactly("slow-http", "slow-kafka");
+    }
+
+    @Test
+    @DisplayName("리포터는 큐가 차면 기다리지 않고 버린다")
+    void reporterDropsWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<byte[]> sent = new CopyOnWriteArrayList<>();
+        TracingProperties.Reporter properties = new TracingProperties.Reporter();
+        properties.setQueueSize(4);
+        properties.setBatchSize(1);
+        BoundedSpanReporter reporter = new BoundedSpanReporter(properties, new BlockingSender(release, sent),
+                MutableSpanBytesEncoder.JSON_V2, meterRegistry);
+        reporter.start();
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            MutableSpan span = new MutableSpan();
+            span.traceId("1");
+            span.id(Integer.toHexString(i + 1));
+            reporter.report(span);
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        release.countDown();
+
+        assertThat(Duration.ofNanos(elapsed)).isLessThan(Duration.ofMillis(500));
+        assertThat(meterRegistry.get(BoundedSpanReporter.DROPPED).tag("reason", "queue_full").counter().count())
+                .isGreaterThanOrEqualTo(15);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(sent).hasSizeBetween(4, 5));
+        reporter.stop();
+    }
+
+    private Tracer tracer(int tracesPerSecond) {
+        TracingProperties properties = new TracingProperties();
+        properties.setRateLimits(Map.of("order.created", 2));
+        BoundedSpanReporter reporter = mock(BoundedSpanReporter.class);
+        doAnswer(invocation -> reported.add(invocation.getArgument(0))).when(reporter).report(any());
+        tracing = Tracing.newBuilder()
+                .sampler(RateLimitingSampler.create(tracesPerSecond))
+                .alwaysSampleLocal()
+                .addSpanHandler(new TailSamplingSpanHandler(properties, reporter, meterRegistry))
+                .build();
+        return tracing.tracer();
+    }
+
+    private record BlockingSender(CountDownLatch release, List<byte[]> sent) implements BytesMessageSender {
+        @Override
+        public Encoding encoding() {
+            return Encoding.JSON;
+        }
+
+        @Override
+        public int messageMaxBytes() {
+            return 500_000;
+        }
+
+        @Override
+        public int messageSizeInBytes(List<byte[]> encodedSpans) {
+            return Encoding.JSON.listSizeInBytes(encodedSpans);
+        }
+
+        @Override
+        public int messageSizeInBytes(int encodedSizeInBytes) {
+            return Encoding.JSON.listSizeInBytes(encodedSizeInBytes);
+        }
+
+        @Override
+        public void send(List<byte[]> encodedSpans) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            sent.addAll(new ArrayList<>(encodedSpans));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.fortishop.deliveryservice.global.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.support.StaticApplicationContext;
+
+class WarmUpCoordinatorTest {
+
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private WarmUpCoordinator coordinator;
+
+    @AfterEach
+    void tearDown() {
+        gate.countDown();
+        coordinator.shutdown();
+    }
+
+    @Test
+    @DisplayName("웜업은 기동 스레드를 막지 않고, 끝날 때까지 readiness를 warming으로 둔다")
+    void start_runsInBackgroundAndGatesReadiness() {
+        coordinator = coordinator(new SlowTask(gate), new FailingTask());
+        WarmUpHealthIndicator indicator = new WarmUpHealthIndicator(coordinator);
+
+        assertThat(indicator.health().getStatus()).isEqualTo(WarmUpHealthIndicator.WARMING);
+
+        coordinator.start();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(coordinator.pending()).containsExactly("SlowTask"));
+        Health warming = indicator.health();
+        assertThat(warming.getStatus().getCode()).isEqualTo(Status.OUT_OF_SERVICE.getCode());
+        assertThat(warming.getDetails()).containsKey("pending");
+
+        gate.countDown();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(indicator.health().getStatus()).isEqualTo(Status.UP));
+        assertThat(coordinator.failed()).containsExactly("FailingTask");
+        assertThat(indicator.health().getDetails()).containsKey("failed");
+    }
+
+    private static WarmUpCoordinator coordinator(WarmUpTask... tasks) {
+        StaticApplicationContext context = new StaticApplicationContext();
+        for (WarmUpTask task : tasks) {
+            context.getBeanFactory().registerSingleton(task.getClass().getSimpleName(), task);
+        }
+        return new WarmUpCoordinator(context.getBeanProvider(WarmUpTask.class), 2);
+    }
+
+    private record SlowTask(CountDownLatch gate) implements WarmUpTask {
+        @Override
+        public void warmUp() {
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class FailingTask implements WarmUpTask {
+        @Override
+        public void warmUp() {
+            throw new IllegalStateException("db unavailable");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.fortishop.deliveryservice.kafka.backpressure;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import javax.sql.DataSource;
+import org.fortishop.deliveryservice.global.shard.ShardContext;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.shard.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class KafkaBackpressureControllerTest {
+
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private MessageListenerContainer paymentFailed;
+
+    @Mock
+    private MessageListenerContainer orderCreated;
+
+    private final BackpressureProperties properties = new BackpressureProperties();
+    private KafkaBackpressureController controller;
+
+    @BeforeEach
+    void setUp() {
+        properties.setResumeAfterHealthySamples(2);
+        when(listenerRegistry.getListenerContainer("paymentFailedListener")).thenReturn(paymentFailed);
+        when(listenerRegistry.getListenerContainer("orderCreatedListener")).thenReturn(orderCreated);
+        when(paymentFailed.isRunning()).thenReturn(true);
+        when(orderCreated.isRunning()).thenReturn(true);
+        controller = new KafkaBackpressureController(properties, listenerRegistry, dataSource,
+                new ShardTemplate(new ShardingProperties()), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("커넥션 풀이 포화되면 모든 리스너를 멈춘다")
+    void evaluate_saturated_pausesAll() {
+        controller.evaluate(0.95, 0, 10);
+
+        verify(paymentFailed).pause();
+        verify(orderCreated).pause();
+    }
+
+    @Test
+    @DisplayName("DB 지연이 임계값을 넘으면 리스너를 멈춘다")
+    void evaluate_slowDb_pausesAll() {
+        controller.evaluate(0.1, 0, 800);
+
+        verify(paymentFailed).pause();
+        verify(orderCreated).pause();
+    }
+
+    @Test
+    @DisplayName("회복 후 정상 샘플이 연속되면 리스너를 하나씩 재개한다")
+    void evaluate_recovered_resumesGradually() {
+        when(paymentFailed.isPauseRequested()).thenReturn(true);
+        when(orderCreated.isPauseRequested()).thenReturn(true);
+
+        controller.evaluate(0.1, 0, 10);
+        verify(paymentFailed, never()).resume();
+
+        controller.evaluate(0.1, 0, 10);
+        verify(paymentFailed).resume();
+        verify(orderCreated, never()).resume();
+    }
+
+    @Test
+    @DisplayName("샤딩 중에는 홈이 아닌 샤드의 프로브가 실패해도 리스너를 멈춘다")
+    void sample_degradedNonHomeShard_pausesAll() throws SQLException {
+        ShardingProperties sharding = new ShardingProperties();
+        sharding.setEnabled(true);
+        sharding.setShards(List.of(new ShardingProperties.Shard(), new ShardingProperties.Shard()));
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.execute(anyString())).thenReturn(true);
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            if (Integer.valueOf(1).equals(ShardContext.current())) {
+                throw new SQLException("shard 1 unreachable");
+            }
+            return connection;
+        });
+        KafkaBackpressureController sharded = new KafkaBackpressureController(properties, listenerRegistry,
+                dataSource, new ShardTemplate(sharding), new SimpleMeterRegistry());
+
+        sharded.sample();
+
+        verify(paymentFailed).pause();
+        verify(orderCreated).pause();
+    }
+}
@@ -0,0 +1,101 @@
+package org.fortishop.deliveryservice.pick;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.dto.response.PickQueueResponse;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.shard.ShardingProperties;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class PickQueueIndexTest {
+
+    private final DeliveryEventBus eventBus = new DeliveryEventBus();
+    private final LocalDateTime paidAt = LocalDateTime.of(2025, 5, 1, 10, 0);
+    private final DeliveryRepository deliveryRepository = Mockito.mock(DeliveryRepository.class);
+    private PickQueueIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PickQueueIndex(eventBus, deliveryRepository,
+                new ShardTemplate(new ShardingProperties()));
+        index.subscribe();
+    }
+
+    @Test
+    @DisplayName("결제된 READY 배송을 결제 시각 순으로 커서를 따라 읽는다")
+    void read_followsCursorInPaidOrder() {
+        eventBus.publish(paid(3L, paidAt.plusSeconds(2)));
+        eventBus.publish(paid(1L, paidAt));
+        eventBus.publish(paid(2L, paidAt.plusSeconds(1)));
+
+        PickQueueResponse first = index.read(null, 2);
+        assertThat(first.getItems()).extracting(PickQueueItem::getOrderId).containsExactly(1L, 2L);
+        assertThat(first.isHasMore()).isTrue();
+
+        PickQueueResponse second = index.read(first.getNextCursor(), 2);
+        assertThat(second.getItems()).extracting(PickQueueItem::getOrderId).containsExactly(3L);
+        assertThat(second.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("배송이 시작되면 출고 대기열에서 빠진다")
+    void shippedDelivery_removed() {
+        eventBus.publish(paid(1L, paidAt));
+        eventBus.publish(DeliveryChangedEvent.builder()
+                .orderId(1L)
+                .previousStatus(DeliveryStatus.READY)
+                .status(DeliveryStatus.SHIPPED)
+                .paidAt(paidAt)
+                .build());
+
+        assertThat(index.read(null, 10).getItems()).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 커서는 거절한다")
+    void read_invalidCursor() {
+        assertThatThrownBy(() -> index.read("abc", 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("웜업 시작 전에 빠진 배송은 스캔 결과로 되살리지 않는다")
+    void warmUp_skipsRemovedBeforeStart() {
+        eventBus.publish(DeliveryChangedEvent.builder()
+                .orderId(1L)
+                .previousStatus(DeliveryStatus.READY)
+                .status(DeliveryStatus.CANCELLED)
+                .build());
+        when(deliveryRepository.findPaidRowsAfter(eq(DeliveryStatus.READY), anyLong(), any())).thenReturn(List.of(
+                new PaidReadyRow(1L, 1L, "서울 강남구", paidAt),
+                new PaidReadyRow(2L, 2L, "부산 해운대구", paidAt.plusSeconds(1))));
+
+        index.warmUp();
+
+        assertThat(index.read(null, 10).getItems()).extracting(PickQueueItem::getOrderId).containsExactly(2L);
+    }
+
+    private DeliveryChangedEvent paid(Long orderId, LocalDateTime paidAt) {
+        return DeliveryChangedEvent.builder()
+                .orderId(orderId)
+                .deliveryId(orderId)
+                .previousStatus(DeliveryStatus.READY)
+                .status(DeliveryStatus.READY)
+                .paidAt(paidAt)
+                .build();
+    }
+}
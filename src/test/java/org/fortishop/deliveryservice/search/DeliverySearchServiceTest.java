@@ -0,0 +1,119 @@
+package org.fortishop.deliveryservice.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.fortishop.deliveryservice.domain.Delivery;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.response.DeliveryResponse;
+import org.fortishop.deliveryservice.dto.response.DeliverySearchResponse;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryExceptionType;
+import org.fortishop.deliveryservice.global.shard.ShardContext;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.shard.ShardingProperties;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DeliverySearchServiceTest {
+
+    private final DeliveryRepository deliveryRepository = Mockito.mock(DeliveryRepository.class);
+    private final SearchProperties properties = new SearchProperties();
+    private final DeliverySearchService searchService = new DeliverySearchService(deliveryRepository,
+            new ShardTemplate(new ShardingProperties()), properties);
+
+    @BeforeEach
+    void setUp() {
+        properties.setAddressEnabled(true);
+    }
+
+    @Test
+    @DisplayName("주소는 저장할 때와 같은 규칙으로 정규화한다")
+    void normalizeAddress() {
+        assertThat(AddressNormalizer.normalize("  서울시 강남구, 테헤란로-1 (ＡＢＣ빌딩) "))
+                .isEqualTo("서울시 강남구 테헤란로 1 abc빌딩");
+    }
+
+    @Test
+    @DisplayName("정규화한 주소 조각으로 구문 검색하고, 다음 페이지는 마지막 항목 뒤에서 키셋으로 읽는다")
+    void searchByAddress_paginatesByKeyset() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 5, 1, 10, 0, 0, 123_000);
+        when(deliveryRepository.searchByAddress("\"강남구 테헤란로\"", 3))
+                .thenReturn(List.of(delivery(3L, createdAt), delivery(2L, createdAt), delivery(1L, createdAt)));
+        when(deliveryRepository.searchByAddressBefore("\"강남구 테헤란로\"", createdAt, 2L, 3))
+                .thenReturn(List.of(delivery(1L, createdAt)));
+
+        DeliverySearchResponse first = searchService.searchByAddress("강남구, 테헤란로", null, 2);
+        DeliverySearchResponse second = searchService.searchByAddress("강남구, 테헤란로", first.getNextCursor(), 2);
+
+        assertThat(first.getItems()).extracting(DeliveryResponse::getOrderId).containsExactly(3L, 2L);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getItems()).extracting(DeliveryResponse::getOrderId).containsExactly(1L);
+        assertThat(second.isHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 커서는 거절한다")
+    void searchByAddress_invalidCursor() {
+        assertThatThrownBy(() -> searchService.searchByAddress("강남구", "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("너무 짧은 주소 검색어는 거절한다")
+    void searchByAddress_tooShort() {
+        assertThatThrownBy(() -> searchService.searchByAddress(" 서 ", null, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(deliveryRepository, never()).searchByAddress(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("FULLTEXT 색인을 만들고 주소 검색을 켜기 전에는 조회하지 않고 D006으로 거절한다")
+    void searchByAddress_disabledUntilIndexed() {
+        properties.setAddressEnabled(false);
+
+        assertThatThrownBy(() -> searchService.searchByAddress("강남구 테헤란로", null, 20))
+                .isInstanceOf(DeliveryException.class)
+                .extracting(e -> ((DeliveryException) e).getExceptionType())
+                .isEqualTo(DeliveryExceptionType.ADDRESS_SEARCH_NOT_READY);
+        verify(deliveryRepository, never()).searchByAddress(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("같은 송장번호가 여러 샤드에 있으면 아무 쪽이나 돌려주지 않고 실패한다")
+    void searchByTrackingNumber_duplicateAcrossShards() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.getShards().add(new ShardingProperties.Shard());
+        properties.getShards().add(new ShardingProperties.Shard());
+        DeliverySearchService sharded = new DeliverySearchService(deliveryRepository, new ShardTemplate(properties),
+                this.properties);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 5, 1, 10, 0);
+        when(deliveryRepository.findByTrackingNumber("CJ000000000017"))
+                .thenAnswer(invocation -> Optional.of(delivery(ShardContext.current() + 1L, createdAt)));
+
+        assertThatThrownBy(() -> sharded.searchByTrackingNumber(" CJ000000000017 "))
+                .isInstanceOf(DeliveryException.class);
+    }
+
+    private Delivery delivery(Long orderId, LocalDateTime createdAt) {
+        return Delivery.builder()
+                .id(orderId)
+                .orderId(orderId)
+                .status(DeliveryStatus.READY)
+                .address("서울시 강남구 테헤란로 " + orderId)
+                .createdAt(createdAt)
+                .build();
+    }
+}
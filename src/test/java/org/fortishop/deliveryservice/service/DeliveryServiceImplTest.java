@@ -3,17 +3,28 @@ package org.fortishop.deliveryservice.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.fortishop.deliveryservice.cache.CachedDelivery;
+import org.fortishop.deliveryservice.cache.DeliveryStateCache;
+import org.fortishop.deliveryservice.carrier.CarrierAssignment;
+import org.fortishop.deliveryservice.carrier.CarrierAssignmentEngine;
 import org.fortishop.deliveryservice.domain.Delivery;
 import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
 import org.fortishop.deliveryservice.dto.request.AddressUpdateRequest;
 import org.fortishop.deliveryservice.dto.request.DeliveryRequest;
 import org.fortishop.deliveryservice.dto.request.StartDeliveryRequest;
 import org.fortishop.deliveryservice.dto.request.TrackingUpdateRequest;
+import org.fortishop.deliveryservice.dto.response.CompensationResult;
 import org.fortishop.deliveryservice.dto.response.DeliveryResponse;
 import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
 import org.fortishop.deliveryservice.kafka.DeliveryKafkaProducer;
@@ -21,9 +32,11 @@ import org.fortishop.deliveryservice.repository.DeliveryRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class DeliveryServiceImplTest {
@@ -37,6 +50,21 @@ class DeliveryServiceImplTest {
     @Mock
     private DeliveryKafkaProducer kafkaProducer;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PendingCompensationStore pendingCompensationStore;
+
+    @Mock
+    private PendingPaymentStore pendingPaymentStore;
+
+    @Mock
+    private DeliveryStateCache deliveryStateCache;
+
+    @Mock
+    private CarrierAssignmentEngine carrierAssignmentEngine;
+
     private final Long orderId = 1L;
 
     @Test
@@ -87,6 +115,133 @@ class DeliveryServiceImplTest {
         assertThat(delivery.getStatus()).isEqualTo(DeliveryStatus.CANCELLED);
     }
 
+    @Test
+    @DisplayName("결제 실패 일괄 보상 - READY는 한 번에 취소하고 나머지는 분류한다")
+    void compensateDeliveries_batch_classifiesResult() {
+        Delivery ready = Delivery.builder().orderId(1L).status(DeliveryStatus.READY).build();
+        Delivery shipped = Delivery.builder().orderId(2L).status(DeliveryStatus.SHIPPED).build();
+
+        when(deliveryRepository.findAllByOrderIdInForUpdate(anyList())).thenReturn(List.of(ready, shipped));
+        when(deliveryRepository.updateStatusByOrderIdIn(eq(List.of(1L)), eq(DeliveryStatus.READY),
+                eq(DeliveryStatus.CANCELLED), any())).thenReturn(1);
+
+        CompensationResult result = deliveryService.compensateDeliveriesOnPaymentFailure(List.of(1L, 2L, 3L, 1L));
+
+        assertThat(result.getCancelled()).containsExactly(1L);
+        assertThat(result.getNotCancellable()).containsEntry(2L, DeliveryStatus.SHIPPED);
+        assertThat(result.getMissing()).containsExactly(3L);
+        verify(eventPublisher).publishEvent(any(DeliveryChangedEvent.class));
+        verify(pendingCompensationStore).park(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("결제 실패 일괄 보상 - 파티션 캐시에 READY로 있으면 엔티티를 읽지 않고 READY 행만 잠가 취소한다")
+    void compensateDeliveries_cachedReady_skipsSelect() {
+        when(deliveryStateCache.findReady(anyList())).thenReturn(Map.of(1L, new CachedDelivery(10L, 1L, "trace")));
+        when(deliveryRepository.lockOrderIdsByStatus(any(), eq("READY"))).thenReturn(List.of(1L));
+        when(deliveryRepository.updateStatusByOrderIdIn(eq(List.of(1L)), eq(DeliveryStatus.READY),
+                eq(DeliveryStatus.CANCELLED), any())).thenReturn(1);
+
+        CompensationResult result = deliveryService.compensateDeliveriesOnPaymentFailure(List.of(1L));
+
+        assertThat(result.getCancelled()).containsExactly(1L);
+        verify(deliveryRepository, never()).findAllByOrderIdIn(anyList());
+        verify(deliveryRepository, never()).findAllByOrderIdInForUpdate(anyList());
+        verify(deliveryStateCache).evict(1L);
+    }
+
+    @Test
+    @DisplayName("결제 실패 일괄 보상 - 캐시와 달리 이미 취소된 배송은 잠근 상태로 판정해 새로 취소한 것으로 세지 않는다")
+    void compensateDeliveries_cachedAlreadyCancelled_notCountedTwice() {
+        when(deliveryStateCache.findReady(anyList())).thenReturn(Map.of(
+                1L, new CachedDelivery(10L, 1L, "trace-1"),
+                2L, new CachedDelivery(20L, 2L, "trace-2")));
+        when(deliveryRepository.lockOrderIdsByStatus(any(), eq("READY"))).thenReturn(List.of(1L));
+        when(deliveryRepository.findAllByOrderIdIn(List.of(2L))).thenReturn(List.of(
+                Delivery.builder().orderId(2L).status(DeliveryStatus.CANCELLED).build()));
+        when(deliveryRepository.updateStatusByOrderIdIn(eq(List.of(1L)), eq(DeliveryStatus.READY),
+                eq(DeliveryStatus.CANCELLED), any())).thenReturn(1);
+
+        CompensationResult result = deliveryService.compensateDeliveriesOnPaymentFailure(List.of(1L, 2L));
+
+        assertThat(result.getCancelled()).containsExactly(1L);
+        assertThat(result.getNotCancellable()).containsEntry(2L, DeliveryStatus.CANCELLED);
+        ArgumentCaptor<DeliveryChangedEvent> captor = ArgumentCaptor.forClass(DeliveryChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getOrderId()).isEqualTo(1L);
+        verify(deliveryStateCache).evict(1L);
+        verify(deliveryStateCache).evict(2L);
+    }
+
+    @Test
+    @DisplayName("결제 실패 보상 - 배송이 아직 없으면 보관해두고 예외를 던지지 않는다")
+    void compensateDelivery_notFound_parked() {
+        when(deliveryRepository.findByOrderId(orderId)).thenReturn(Optional.empty());
+
+        deliveryService.compensateDeliveryOnPaymentFailure(orderId);
+
+        verify(pendingCompensationStore).park(List.of(orderId));
+    }
+
+    @Test
+    @DisplayName("보관된 보상이 있으면 배송을 취소 상태로 생성한다")
+    void createDelivery_parkedCompensation_createdCancelled() {
+        DeliveryRequest request = new DeliveryRequest(orderId, "서울시 강남구", "123123123123");
+        when(pendingCompensationStore.consume(orderId)).thenReturn(true);
+        when(deliveryRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        DeliveryResponse result = deliveryService.createDelivery(request);
+
+        assertThat(result.getStatus()).isEqualTo(DeliveryStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("결제 완료 일괄 반영 - 배송이 아직 없으면 결제 시각과 함께 보관한다")
+    void markDeliveriesPaid_beforeOrderCreated_parked() {
+        Delivery ready = Delivery.builder().orderId(1L).status(DeliveryStatus.READY).build();
+        when(deliveryRepository.findAllByOrderIdIn(anyList())).thenReturn(List.of(ready));
+        when(deliveryRepository.markPaidByOrderIdIn(eq(List.of(1L)), eq(DeliveryStatus.READY), any())).thenReturn(1);
+
+        int marked = deliveryService.markDeliveriesPaid(List.of(1L, 2L));
+
+        assertThat(marked).isEqualTo(1);
+        ArgumentCaptor<LocalDateTime> paidAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(pendingPaymentStore).park(eq(List.of(2L)), paidAt.capture());
+        assertThat(ready.getPaidAt()).isEqualTo(paidAt.getValue());
+    }
+
+    @Test
+    @DisplayName("보관된 결제 완료가 있으면 원래 결제 시각으로 배송을 생성한다")
+    void createDelivery_parkedPayment_createdPaid() {
+        LocalDateTime paidAt = LocalDateTime.of(2025, 5, 1, 10, 0);
+        DeliveryRequest request = new DeliveryRequest(orderId, "서울시 강남구", "123123123123");
+        when(pendingPaymentStore.consume(orderId)).thenReturn(paidAt);
+        when(deliveryRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        deliveryService.createDelivery(request);
+
+        ArgumentCaptor<Delivery> saved = ArgumentCaptor.forClass(Delivery.class);
+        verify(deliveryRepository).save(saved.capture());
+        assertThat(saved.getValue().getStatus()).isEqualTo(DeliveryStatus.READY);
+        assertThat(saved.getValue().getPaidAt()).isEqualTo(paidAt);
+    }
+
+    @Test
+    @DisplayName("보관된 결제 적용 - READY이고 미결제인 배송만 갱신하고 배송이 있는 주문은 모두 해소로 본다")
+    void applyParkedPayments_marksReadyUnpaid() {
+        LocalDateTime paidAt = LocalDateTime.of(2025, 5, 1, 10, 0);
+        Delivery ready = Delivery.builder().orderId(1L).status(DeliveryStatus.READY).build();
+        Delivery cancelled = Delivery.builder().orderId(2L).status(DeliveryStatus.CANCELLED).build();
+        when(deliveryRepository.findAllByOrderIdIn(anyList())).thenReturn(List.of(ready, cancelled));
+
+        List<Long> resolved = deliveryService.applyParkedPayments(Map.of(1L, paidAt, 2L, paidAt, 3L, paidAt));
+
+        assertThat(resolved).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ready.getPaidAt()).isEqualTo(paidAt);
+        assertThat(cancelled.getPaidAt()).isNull();
+        verify(eventPublisher).publishEvent(any(DeliveryChangedEvent.class));
+    }
+
     @Test
     @DisplayName("배송 시작 시 상태 변경 및 Kafka 발행")
     void startDelivery_success() {
@@ -102,7 +257,51 @@ class DeliveryServiceImplTest {
         deliveryService.startDelivery(orderId, request);
 
         assertThat(delivery.getStatus()).isEqualTo(DeliveryStatus.SHIPPED);
-        verify(kafkaProducer).sendDeliveryStarted(orderId);
+        verify(kafkaProducer).sendDeliveryStarted(delivery);
+
+        ArgumentCaptor<DeliveryChangedEvent> captor = ArgumentCaptor.forClass(DeliveryChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getPreviousStatus()).isEqualTo(DeliveryStatus.READY);
+        assertThat(captor.getValue().getStatus()).isEqualTo(DeliveryStatus.SHIPPED);
+    }
+
+    @Test
+    @DisplayName("배송 시작 시 송장 정보가 없으면 배송사와 송장 번호를 자동 배정")
+    void startDelivery_autoAssign() {
+        Delivery delivery = Delivery.builder()
+                .orderId(orderId)
+                .status(DeliveryStatus.READY)
+                .traceId("123123123123")
+                .build();
+
+        when(deliveryRepository.findByOrderId(orderId)).thenReturn(Optional.of(delivery));
+        when(carrierAssignmentEngine.assign(null)).thenReturn(new CarrierAssignment("CJ", "CJ000000000017"));
+
+        deliveryService.startDelivery(orderId, new StartDeliveryRequest(null, null));
+
+        assertThat(delivery.getDeliveryCompany()).isEqualTo("CJ");
+        assertThat(delivery.getTrackingNumber()).isEqualTo("CJ000000000017");
+        verify(kafkaProducer).sendDeliveryStarted(delivery);
+    }
+
+    @Test
+    @DisplayName("배송사 없이 송장 번호만 지정하면 배송 상태를 바꾸기 전에 거절한다")
+    void startDelivery_trackingNumberWithoutCompany_rejectedBeforeStateChange() {
+        Delivery delivery = Delivery.builder()
+                .orderId(orderId)
+                .status(DeliveryStatus.READY)
+                .traceId("123123123123")
+                .build();
+
+        when(deliveryRepository.findByOrderId(orderId)).thenReturn(Optional.of(delivery));
+
+        assertThatThrownBy(() -> deliveryService.startDelivery(orderId, new StartDeliveryRequest("TRACK1234", null)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(delivery.getStatus()).isEqualTo(DeliveryStatus.READY);
+        assertThat(delivery.getStartedAt()).isNull();
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(carrierAssignmentEngine, never()).assign(any());
     }
 
     @Test
@@ -119,7 +318,7 @@ class DeliveryServiceImplTest {
         deliveryService.completeDelivery(orderId);
 
         assertThat(delivery.getStatus()).isEqualTo(DeliveryStatus.DELIVERED);
-        verify(kafkaProducer).sendDeliveryCompleted(orderId);
+        verify(kafkaProducer).sendDeliveryCompleted(delivery);
     }
 
     @Test
@@ -158,6 +357,23 @@ class DeliveryServiceImplTest {
         assertThat(delivery.getDeliveryCompany()).isEqualTo("한진택배");
     }
 
+    @Test
+    @DisplayName("다른 배송에 등록된 운송장 번호로 수정하면 예외")
+    void updateTracking_duplicateTrackingNumber() {
+        Delivery delivery = Delivery.builder()
+                .orderId(orderId)
+                .status(DeliveryStatus.READY)
+                .build();
+
+        when(deliveryRepository.findByOrderId(orderId)).thenReturn(Optional.of(delivery));
+        when(deliveryRepository.existsByTrackingNumberAndOrderIdNot("TRACK1234", orderId)).thenReturn(true);
+
+        assertThatThrownBy(() -> deliveryService.updateTracking(orderId,
+                new TrackingUpdateRequest("TRACK1234", "한진택배")))
+                .isInstanceOf(DeliveryException.class);
+        assertThat(delivery.getTrackingNumber()).isNull();
+    }
+
     @Test
     @DisplayName("배송 상태별 조회 성공")
     void getByStatus_success() {
@@ -0,0 +1,265 @@
+package org.fortishop.deliveryservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fortishop.deliveryservice.support.QueryCountAssertions.assertQueries;
+import static org.fortishop.deliveryservice.support.QueryCountAssertions.insert;
+import static org.fortishop.deliveryservice.support.QueryCountAssertions.select;
+import static org.fortishop.deliveryservice.support.QueryCountAssertions.update;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.fortishop.deliveryservice.cache.CachedDelivery;
+import org.fortishop.deliveryservice.cache.DeliveryStateCache;
+import org.fortishop.deliveryservice.carrier.CarrierAssignment;
+import org.fortishop.deliveryservice.carrier.CarrierAssignmentEngine;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.OrderCreatedEvent;
+import org.fortishop.deliveryservice.dto.event.PaymentCompletedEvent;
+import org.fortishop.deliveryservice.dto.event.PaymentFailedEvent;
+import org.fortishop.deliveryservice.dto.request.AddressUpdateRequest;
+import org.fortishop.deliveryservice.dto.request.DeliveryRequest;
+import org.fortishop.deliveryservice.dto.request.StartDeliveryRequest;
+import org.fortishop.deliveryservice.dto.request.TrackingUpdateRequest;
+import org.fortishop.deliveryservice.dto.response.CompensationResult;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.fortishop.deliveryservice.global.admission.AdmissionController;
+import org.fortishop.deliveryservice.global.admission.AdmissionProperties;
+import org.fortishop.deliveryservice.global.logging.DebugTargets;
+import org.fortishop.deliveryservice.global.logging.HotPathLogProperties;
+import org.fortishop.deliveryservice.global.logging.HotPathLogger;
+import org.fortishop.deliveryservice.global.metrics.DeliveryMetrics;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.shard.ShardingProperties;
+import org.fortishop.deliveryservice.kafka.DeliveryKafkaConsumer;
+import org.fortishop.deliveryservice.kafka.DeliveryKafkaProducer;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.fortishop.deliveryservice.repository.PendingCompensationRepository;
+import org.fortishop.deliveryservice.repository.PendingPaymentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * DeliveryService의 메서드마다 실행되는 SQL 수를 고정해 N+1이나 불필요한 왕복이 다시 생기면 실패하게 한다.
+ * MySQL 모드 H2에서 실제 Hibernate가 만드는 문장을 센다.
+ */
+@DataJpaTest(properties = {
+        "spring.config.location=classpath:/application-test.yml",
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DAY",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "org.fortishop.deliveryservice.support.QueryCounter",
+        "delivery.admission.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DeliveryServiceImpl.class, DeliveryKafkaProducer.class, DeliveryKafkaConsumer.class,
+        PendingCompensationStore.class, PendingCompensationProperties.class, PendingPaymentStore.class,
+        PendingPaymentProperties.class, ShardTemplate.class,
+        ShardingProperties.class, AdmissionController.class, AdmissionProperties.class, DeliveryMetrics.class,
+        HotPathLogger.class, HotPathLogProperties.class, DebugTargets.class,
+        DeliveryServiceQueryCountTest.MetricsConfig.class})
+class DeliveryServiceQueryCountTest {
+
+    @Autowired
+    private DeliveryServiceImpl deliveryService;
+
+    @Autowired
+    private DeliveryKafkaConsumer consumer;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private PendingCompensationRepository pendingCompensationRepository;
+
+    @Autowired
+    private PendingPaymentRepository pendingPaymentRepository;
+
+    @MockitoBean
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @MockitoBean
+    private DeliveryStateCache deliveryStateCache;
+
+    @MockitoBean
+    private CarrierAssignmentEngine carrierAssignmentEngine;
+
+    @MockitoBean
+    private DeliveryEventBus deliveryEventBus;
+
+    @BeforeEach
+    void setUp() {
+        when(carrierAssignmentEngine.assign(any())).thenReturn(new CarrierAssignment("CJ", "CJ-0001"));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(new CompletableFuture<>());
+    }
+
+    @AfterEach
+    void tearDown() {
+        deliveryRepository.deleteAllInBatch();
+        pendingCompensationRepository.deleteAllInBatch();
+        pendingPaymentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("배송 생성은 INSERT 한 번이다")
+    void createDelivery() {
+        assertQueries(() -> deliveryService.createDelivery(new DeliveryRequest(1L, "서울", "trace-1")), insert(1));
+    }
+
+    @Test
+    @DisplayName("orderId 조회와 상태별 조회는 SELECT 한 번이다")
+    void reads() {
+        create(1L);
+        create(2L);
+
+        assertQueries(() -> deliveryService.getByOrderId(1L), select(1));
+        assertQueries(() -> assertThat(deliveryService.getByStatus(DeliveryStatus.READY)).hasSize(2), select(1));
+    }
+
+    @Test
+    @DisplayName("송장 갱신은 배송 조회와 중복 확인 후 UPDATE 한 번이다")
+    void updateTracking() {
+        create(1L);
+
+        assertQueries(() -> deliveryService.updateTracking(1L, new TrackingUpdateRequest("T-1", "CJ")),
+                select(2), update(1));
+    }
+
+    @Test
+    @DisplayName("주소 변경은 조회 후 UPDATE 한 번이다")
+    void updateAddress() {
+        create(1L);
+
+        assertQueries(() -> deliveryService.updateAddress(1L, new AddressUpdateRequest("부산")),
+                select(1), update(1));
+    }
+
+    @Test
+    @DisplayName("배송 시작 이벤트 발행은 추가 조회를 하지 않는다")
+    void startDelivery() {
+        create(1L);
+        create(2L);
+
+        assertQueries(() -> deliveryService.startDelivery(1L, new StartDeliveryRequest("T-1", "CJ")),
+                select(2), update(1));
+        assertQueries(() -> deliveryService.startDelivery(2L, new StartDeliveryRequest()),
+                select(1), update(1));
+    }
+
+    @Test
+    @DisplayName("배송 완료 이벤트 발행은 추가 조회를 하지 않는다")
+    void completeDelivery() {
+        create(1L);
+        deliveryService.startDelivery(1L, new StartDeliveryRequest());
+
+        assertQueries(() -> deliveryService.completeDelivery(1L), select(1), update(1));
+    }
+
+    @Test
+    @DisplayName("단건 보상은 READY면 UPDATE 한 번, 배송이 없으면 보관 INSERT 한 번이다")
+    void compensateDeliveryOnPaymentFailure() {
+        create(1L);
+
+        assertQueries(() -> deliveryService.compensateDeliveryOnPaymentFailure(1L), select(1), update(1));
+        assertQueries(() -> deliveryService.compensateDeliveryOnPaymentFailure(99L), select(2), insert(1));
+    }
+
+    @Test
+    @DisplayName("일괄 보상은 배치 크기와 관계없이 SELECT 한 번과 벌크 UPDATE 한 번이다")
+    void compensateDeliveriesOnPaymentFailure() {
+        List<Long> orderIds = List.of(1L, 2L, 3L, 4L, 5L);
+        orderIds.forEach(this::create);
+
+        assertQueries(() -> assertThat(deliveryService.compensateDeliveriesOnPaymentFailure(orderIds)
+                .getCancelled()).hasSize(5), select(1), update(1));
+    }
+
+    @Test
+    @DisplayName("캐시에 READY로 있는 배송은 READY 행만 잠가 취소하고, 이미 취소된 배송은 현재 상태로 분류한다")
+    void compensateDeliveriesOnPaymentFailure_cached() {
+        List<Long> orderIds = List.of(1L, 2L, 3L);
+        orderIds.forEach(this::create);
+        deliveryService.compensateDeliveryOnPaymentFailure(3L);
+        when(deliveryStateCache.findReady(any())).thenReturn(Map.of(
+                1L, new CachedDelivery(1L, 1L, "trace-1"),
+                2L, new CachedDelivery(2L, 2L, "trace-2"),
+                3L, new CachedDelivery(3L, 3L, "trace-3")));
+
+        CompensationResult[] result = new CompensationResult[1];
+        assertQueries(() -> result[0] = deliveryService.compensateDeliveriesOnPaymentFailure(orderIds),
+                select(2), update(1));
+        assertThat(result[0].getCancelled()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(result[0].getNotCancellable()).containsExactly(Map.entry(3L, DeliveryStatus.CANCELLED));
+    }
+
+    @Test
+    @DisplayName("일괄 결제 완료 반영은 SELECT 한 번과 벌크 UPDATE 한 번이다")
+    void markDeliveriesPaid() {
+        List<Long> orderIds = List.of(1L, 2L, 3L, 4L, 5L);
+        orderIds.forEach(this::create);
+
+        assertQueries(() -> assertThat(deliveryService.markDeliveriesPaid(orderIds)).isEqualTo(5),
+                select(1), update(1));
+    }
+
+    @Test
+    @DisplayName("Kafka 소비 경로도 레코드당, 배치당 문장 수가 같다")
+    void kafkaConsumers() {
+        Acknowledgment ack = mock(Acknowledgment.class);
+
+        assertQueries(() -> consumer.consumeOrderCreated(orderCreated(1L), ack), insert(1));
+        assertQueries(() -> consumer.consumeOrderCreated(orderCreated(2L), ack), insert(1));
+        assertQueries(() -> consumer.consumePaymentCompleted(List.of(paymentCompleted(1L)), ack),
+                select(1), update(1));
+        assertQueries(() -> consumer.consumePaymentFailed(List.of(paymentFailed(2L)), ack),
+                select(1), update(1));
+    }
+
+    private void create(Long orderId) {
+        deliveryService.createDelivery(new DeliveryRequest(orderId, "서울 " + orderId, "trace-" + orderId));
+    }
+
+    private OrderCreatedEvent orderCreated(Long orderId) {
+        return OrderCreatedEvent.builder().orderId(orderId).address("서울").traceId("trace-" + orderId).build();
+    }
+
+    private PaymentFailedEvent paymentFailed(Long orderId) {
+        return PaymentFailedEvent.builder().orderId(orderId).build();
+    }
+
+    private PaymentCompletedEvent paymentCompleted(Long orderId) {
+        return PaymentCompletedEvent.builder().orderId(orderId).build();
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
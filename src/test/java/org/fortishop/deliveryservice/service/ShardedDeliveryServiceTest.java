@@ -0,0 +1,129 @@
+package org.fortishop.deliveryservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.fortishop.deliveryservice.domain.Delivery;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.request.TrackingUpdateRequest;
+import org.fortishop.deliveryservice.dto.response.CompensationResult;
+import org.fortishop.deliveryservice.dto.response.DeliveryResponse;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
+import org.fortishop.deliveryservice.global.shard.ShardContext;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.shard.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ShardedDeliveryServiceTest {
+
+    private final DeliveryServiceImpl delegate = Mockito.mock(DeliveryServiceImpl.class);
+    private ShardTemplate shardTemplate;
+    private ShardedDeliveryService service;
+
+    @BeforeEach
+    void setUp() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setBucketCount(64);
+        for (int i = 0; i < 3; i++) {
+            properties.getShards().add(new ShardingProperties.Shard());
+        }
+        shardTemplate = new ShardTemplate(properties);
+        service = new ShardedDeliveryService(delegate, shardTemplate);
+    }
+
+    @Test
+    @DisplayName("단건 조회는 orderId의 샤드 컨텍스트에서 위임한다")
+    void getByOrderId_routesToShard() {
+        List<Integer> seen = new ArrayList<>();
+        when(delegate.getByOrderId(7L)).thenAnswer(invocation -> {
+            seen.add(ShardContext.current());
+            return null;
+        });
+
+        service.getByOrderId(7L);
+
+        assertThat(seen).containsExactly(shardTemplate.shardOf(7L));
+        assertThat(ShardContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("상태별 조회는 모든 샤드 결과를 orderId 순으로 병합한다")
+    void getByStatus_mergesShards() {
+        when(delegate.getByStatus(DeliveryStatus.READY)).thenAnswer(invocation -> switch (ShardContext.current()) {
+            case 0 -> List.of(response(5L), response(1L));
+            case 1 -> List.of(response(2L));
+            default -> List.of(response(4L), response(3L));
+        });
+
+        List<DeliveryResponse> responses = service.getByStatus(DeliveryStatus.READY);
+
+        assertThat(responses).extracting(DeliveryResponse::getOrderId).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("일괄 보상은 샤드별로 나눠 위임하고 결과를 합친다")
+    void compensate_partitionsByShard() {
+        List<Long> orderIds = List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        when(delegate.compensateDeliveriesOnPaymentFailure(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            assertThat(ids).allMatch(id -> shardTemplate.shardOf(id) == ShardContext.current());
+            return new CompensationResult(new ArrayList<>(ids), Map.of(), List.of());
+        });
+
+        CompensationResult result = service.compensateDeliveriesOnPaymentFailure(orderIds);
+
+        assertThat(result.getCancelled()).containsExactlyInAnyOrderElementsOf(orderIds);
+    }
+
+    @Test
+    @DisplayName("지정한 송장 번호가 다른 샤드에 있으면 위임하지 않고 거절한다")
+    void updateTracking_duplicateOnOtherShard() {
+        long orderId = 7L;
+        int otherShard = (shardTemplate.shardOf(orderId) + 1) % 3;
+        when(delegate.isTrackingNumberTaken("TRACK1234", orderId))
+                .thenAnswer(invocation -> ShardContext.current() == otherShard);
+
+        assertThatThrownBy(() -> service.updateTracking(orderId,
+                new TrackingUpdateRequest("TRACK1234", "CJ")))
+                .isInstanceOf(DeliveryException.class);
+        verify(delegate, never()).updateTracking(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("다른 샤드에 없으면 주문의 샤드는 묻지 않고 위임한다")
+    void updateTracking_checksOtherShardsOnly() {
+        long orderId = 7L;
+        List<Integer> checked = new ArrayList<>();
+        when(delegate.isTrackingNumberTaken("TRACK1234", orderId)).thenAnswer(invocation -> {
+            checked.add(ShardContext.current());
+            return false;
+        });
+
+        service.updateTracking(orderId, new TrackingUpdateRequest("TRACK1234", "CJ"));
+
+        assertThat(checked).hasSize(2).doesNotContain(shardTemplate.shardOf(orderId));
+        verify(delegate).updateTracking(eq(orderId), any());
+    }
+
+    private DeliveryResponse response(Long orderId) {
+        return DeliveryResponse.of(Delivery.builder()
+                .orderId(orderId)
+                .status(DeliveryStatus.READY)
+                .build());
+    }
+}
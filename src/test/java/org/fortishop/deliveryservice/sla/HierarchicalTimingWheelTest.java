@@ -0,0 +1,85 @@
+package org.fortishop.deliveryservice.sla;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1_000L;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("마감 전에는 만료되지 않고 마감 틱에 정확히 만료된다")
+    void expiresAtDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        wheel.schedule(1L, "a", START + 5_000, false);
+
+        assertThat(wheel.advance(START + 4_999)).isEmpty();
+        assertThat(wheel.advance(START + 5_000)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("상위 단에 있던 먼 마감도 하위 단으로 내려와 제 시각에 만료된다")
+    void cascadesAcrossLevels() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (long key = 0; key < 500; key++) {
+            long deadline = START + 1 + (long) (random.nextDouble() * 300_000_000L);
+            deadlines.add(deadline);
+            wheel.schedule(key, deadline, deadline, false);
+        }
+
+        long now = START;
+        int fired = 0;
+        while (fired < deadlines.size()) {
+            now += 60_000;
+            for (Long deadline : wheel.advance(now)) {
+                assertThat(deadline).isLessThanOrEqualTo(now).isGreaterThan(now - 60_000 - TICK);
+                fired++;
+            }
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("휠 범위를 넘는 마감은 다시 배치되어 실제 마감에 만료된다")
+    void overflowReinserted() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        long farDeadline = START + 200L * 24 * 3600 * 1000;
+        wheel.schedule(1L, "far", farDeadline, false);
+
+        assertThat(wheel.advance(farDeadline - TICK)).isEmpty();
+        assertThat(wheel.advance(farDeadline)).containsExactly("far");
+    }
+
+    @Test
+    @DisplayName("취소하거나 교체한 항목은 이전 마감에 만료되지 않는다")
+    void cancelAndReplace() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        wheel.schedule(1L, "cancelled", START + 2_000, false);
+        wheel.schedule(2L, "old", START + 2_000, false);
+        wheel.cancel(1L);
+
+        assertThat(wheel.schedule(2L, "ignored", START + 9_000, false)).isFalse();
+        wheel.schedule(2L, "new", START + 9_000, true);
+
+        assertThat(wheel.advance(START + 5_000)).isEmpty();
+        assertThat(wheel.advance(START + 9_000)).containsExactly("new");
+    }
+
+    @Test
+    @DisplayName("이미 지난 마감은 다음 틱에 만료된다")
+    void pastDeadline_firesNextTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        wheel.schedule(1L, "late", START - 60_000, false);
+
+        assertThat(wheel.advance(START + TICK)).containsExactly("late");
+    }
+}
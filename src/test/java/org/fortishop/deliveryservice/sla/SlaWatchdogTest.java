@@ -0,0 +1,112 @@
+package org.fortishop.deliveryservice.sla;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.dto.event.DeliverySlaBreachedEvent;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.shard.ShardingProperties;
+import org.fortishop.deliveryservice.kafka.DeliveryKafkaProducer;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class SlaWatchdogTest {
+
+    private final DeliveryEventBus eventBus = new DeliveryEventBus();
+    private final DeliveryRepository deliveryRepository = Mockito.mock(DeliveryRepository.class);
+    private final DeliveryKafkaProducer kafkaProducer = Mockito.mock(DeliveryKafkaProducer.class);
+    private SlaWatchdog watchdog;
+
+    @BeforeEach
+    void setUp() {
+        SlaProperties properties = new SlaProperties();
+        properties.setReadyTimeout(Duration.ofHours(1));
+        properties.setTick(Duration.ofMillis(10));
+        watchdog = new SlaWatchdog(eventBus, deliveryRepository, kafkaProducer, properties,
+                new ShardTemplate(new ShardingProperties()), new SimpleMeterRegistry());
+        watchdog.subscribe();
+    }
+
+    @Test
+    @DisplayName("마감이 지난 READY 배송을 선점하면 SLA 위반 이벤트를 발행한다")
+    void expiredReady_claimedAndPublished() throws InterruptedException {
+        when(deliveryRepository.claimCreatedSlaBreach(eq(1L), eq(DeliveryStatus.READY), any())).thenReturn(1);
+        eventBus.publish(changed(1L, DeliveryStatus.READY, LocalDateTime.now().minusHours(2)));
+
+        advanceNextTick();
+
+        ArgumentCaptor<DeliverySlaBreachedEvent> captor = ArgumentCaptor.forClass(DeliverySlaBreachedEvent.class);
+        verify(kafkaProducer).sendSlaBreached(captor.capture());
+        assertThat(captor.getValue().getOrderId()).isEqualTo(1L);
+        assertThat(captor.getValue().getStatus()).isEqualTo(DeliveryStatus.READY);
+        assertThat(watchdog.tracked()).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 먼저 선점하면 발행하지 않는다")
+    void claimedElsewhere_notPublished() throws InterruptedException {
+        when(deliveryRepository.claimCreatedSlaBreach(eq(1L), eq(DeliveryStatus.READY), any())).thenReturn(0);
+        eventBus.publish(changed(1L, DeliveryStatus.READY, LocalDateTime.now().minusHours(2)));
+
+        advanceNextTick();
+
+        verify(kafkaProducer, never()).sendSlaBreached(any());
+    }
+
+    @Test
+    @DisplayName("배송이 끝나면 추적을 멈춘다")
+    void completed_untracked() {
+        eventBus.publish(changed(1L, DeliveryStatus.READY, LocalDateTime.now()));
+        assertThat(watchdog.tracked()).isEqualTo(1);
+
+        eventBus.publish(changed(1L, DeliveryStatus.CANCELLED, LocalDateTime.now()));
+
+        assertThat(watchdog.tracked()).isZero();
+    }
+
+    @Test
+    @DisplayName("웜업은 테이블의 마감을 따라잡되 시작 전에 끝난 배송은 추적하지 않는다")
+    void warmUp_skipsEndedBeforeStart() {
+        eventBus.publish(changed(1L, DeliveryStatus.CANCELLED, LocalDateTime.now()));
+        LocalDateTime createdAt = LocalDateTime.now();
+        when(deliveryRepository.findSlaRowsAfter(eq(DeliveryStatus.READY), eq(0L), any())).thenReturn(List.of(
+                new SlaRow(1L, 1L, DeliveryStatus.READY, createdAt, null, "trace-1"),
+                new SlaRow(2L, 2L, DeliveryStatus.READY, createdAt, null, "trace-2")));
+        when(deliveryRepository.findSlaRowsAfter(eq(DeliveryStatus.SHIPPED), anyLong(), any())).thenReturn(List.of());
+
+        watchdog.warmUp();
+
+        assertThat(watchdog.tracked()).isEqualTo(1);
+    }
+
+    private void advanceNextTick() throws InterruptedException {
+        // 이미 지난 마감은 다음 틱에 만료된다.
+        Thread.sleep(30);
+        watchdog.advance();
+    }
+
+    private DeliveryChangedEvent changed(Long orderId, DeliveryStatus status, LocalDateTime changedAt) {
+        return DeliveryChangedEvent.builder()
+                .orderId(orderId)
+                .deliveryId(orderId)
+                .status(status)
+                .changedAt(changedAt)
+                .build();
+    }
+}
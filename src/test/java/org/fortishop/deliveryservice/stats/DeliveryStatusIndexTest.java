@@ -0,0 +1,138 @@
+package org.fortishop.deliveryservice.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.dto.response.DeliveryCountsResponse;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.fortishop.deliveryservice.global.shard.ShardTemplate;
+import org.fortishop.deliveryservice.global.shard.ShardingProperties;
+import org.fortishop.deliveryservice.repository.DeliveryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DeliveryStatusIndexTest {
+
+    private final DeliveryEventBus eventBus = new DeliveryEventBus();
+    private final DeliveryRepository deliveryRepository = Mockito.mock(DeliveryRepository.class);
+    private DeliveryStatusIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DeliveryStatusIndex(eventBus, deliveryRepository, new ShardTemplate(new ShardingProperties()));
+        index.subscribe();
+    }
+
+    @Test
+    @DisplayName("상태가 바뀌면 이전 상태와 배송사 건수를 옮긴다")
+    void statusChange_movesCounters() {
+        eventBus.publish(changed(1L, DeliveryStatus.READY, null));
+        eventBus.publish(changed(2L, DeliveryStatus.READY, null));
+        eventBus.publish(changed(1L, DeliveryStatus.SHIPPED, "CJ"));
+
+        DeliveryCountsResponse counts = index.counts();
+        assertThat(counts.getTotal()).isEqualTo(2);
+        assertThat(counts.getByStatus()).containsEntry(DeliveryStatus.READY, 1L)
+                .containsEntry(DeliveryStatus.SHIPPED, 1L);
+        assertThat(counts.getByCarrier().get("CJ")).containsEntry(DeliveryStatus.SHIPPED, 1L);
+        assertThat(counts.getByCarrier().get(DeliveryStatusIndex.UNASSIGNED))
+                .containsEntry(DeliveryStatus.READY, 1L)
+                .containsEntry(DeliveryStatus.SHIPPED, 0L);
+        assertThat(index.statusOf(1L)).isEqualTo(DeliveryStatus.SHIPPED);
+    }
+
+    @Test
+    @DisplayName("배송사 없이 들어온 변경은 이전 배송사 건수로 옮긴다")
+    void changeWithoutCarrier_keepsPreviousCarrier() {
+        eventBus.publish(changed(1L, DeliveryStatus.SHIPPED, "CJ"));
+        eventBus.publish(changed(1L, DeliveryStatus.CANCELLED, null));
+
+        DeliveryCountsResponse counts = index.counts();
+        assertThat(counts.getByCarrier().get("CJ")).containsEntry(DeliveryStatus.CANCELLED, 1L)
+                .containsEntry(DeliveryStatus.SHIPPED, 0L);
+        assertThat(counts.getByCarrier().get(DeliveryStatusIndex.UNASSIGNED))
+                .containsEntry(DeliveryStatus.CANCELLED, 0L);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 반영해도 건수와 상태가 어긋나지 않는다")
+    void concurrentChanges_keepCountsConsistent() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * perThread;
+            String carrier = "C" + (t % 3);
+            futures.add(executor.submit(() -> {
+                for (long orderId = base; orderId < base + perThread; orderId++) {
+                    eventBus.publish(changed(orderId, DeliveryStatus.READY, null));
+                    eventBus.publish(changed(orderId, DeliveryStatus.SHIPPED, carrier));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        DeliveryCountsResponse counts = index.counts();
+        assertThat(counts.getTotal()).isEqualTo((long) threads * perThread);
+        assertThat(counts.getByStatus()).containsEntry(DeliveryStatus.SHIPPED, (long) threads * perThread)
+                .containsEntry(DeliveryStatus.READY, 0L);
+        assertThat(counts.getByCarrier()).containsOnlyKeys(DeliveryStatusIndex.UNASSIGNED, "C0", "C1", "C2");
+        assertThat(index.statusOf(0L)).isEqualTo(DeliveryStatus.SHIPPED);
+    }
+
+    @Test
+    @DisplayName("적재 중 버스로 먼저 반영된 배송은 스캔 결과로 덮어쓰지 않는다")
+    void warmUp_keepsNewerBusState() {
+        eventBus.publish(changed(1L, DeliveryStatus.CANCELLED, null));
+        when(deliveryRepository.findStatusRowsAfter(anyLong(), any())).thenReturn(List.of(
+                new StatusRow(1L, 1L, DeliveryStatus.READY, null),
+                new StatusRow(2L, 2L, DeliveryStatus.DELIVERED, "CJ")));
+
+        index.warmUp();
+
+        DeliveryCountsResponse counts = index.counts();
+        assertThat(counts.isWarmedUp()).isTrue();
+        assertThat(counts.getByStatus()).containsEntry(DeliveryStatus.CANCELLED, 1L)
+                .containsEntry(DeliveryStatus.READY, 0L)
+                .containsEntry(DeliveryStatus.DELIVERED, 1L);
+    }
+
+    @Test
+    @DisplayName("많은 주문을 넣어도 상태를 정확히 조회한다")
+    void manyOrders_survivesRehash() {
+        for (long orderId = 0; orderId < 200_000; orderId++) {
+            eventBus.publish(changed(orderId, orderId % 2 == 0 ? DeliveryStatus.READY : DeliveryStatus.SHIPPED,
+                    null));
+        }
+
+        assertThat(index.counts().getTotal()).isEqualTo(200_000);
+        assertThat(index.statusOf(0L)).isEqualTo(DeliveryStatus.READY);
+        assertThat(index.statusOf(199_999L)).isEqualTo(DeliveryStatus.SHIPPED);
+        assertThat(index.statusOf(200_000L)).isNull();
+    }
+
+    private DeliveryChangedEvent changed(Long orderId, DeliveryStatus status, String carrier) {
+        return DeliveryChangedEvent.builder()
+                .orderId(orderId)
+                .deliveryId(orderId)
+                .status(status)
+                .deliveryCompany(carrier)
+                .build();
+    }
+}
@@ -0,0 +1,247 @@
+package org.fortishop.deliveryservice.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.fortishop.deliveryservice.domain.DeliveryStatus;
+import org.fortishop.deliveryservice.dto.event.DeliveryChangedEvent;
+import org.fortishop.deliveryservice.dto.response.DeliveryResponse;
+import org.fortishop.deliveryservice.dto.response.DeliveryStatusResponse;
+import org.fortishop.deliveryservice.event.DeliveryEventBus;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryException;
+import org.fortishop.deliveryservice.exception.delivery.DeliveryExceptionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class DeliveryStatusStreamServiceTest {
+
+    private final DeliveryEventBus eventBus = new DeliveryEventBus();
+    private final DeliveryStreamProperties properties = new DeliveryStreamProperties();
+    private final LocalDateTime now = LocalDateTime.of(2025, 5, 1, 10, 0);
+    private DeliveryStatusStreamService service;
+    private CountDownLatch nextGate;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBufferSize(2);
+        properties.setSenderThreads(2);
+        service = new DeliveryStatusStreamService(eventBus, properties) {
+            @Override
+            SseEmitter newEmitter() {
+                StubEmitter emitter = new StubEmitter(nextGate);
+                nextGate = null;
+                return emitter;
+            }
+        };
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("큐가 넘친 느린 구독자만 끊고, 같은 주문의 다른 구독자는 계속 받는다")
+    void slowSubscriber_evictedOnOverflow() {
+        CountDownLatch gate = new CountDownLatch(1);
+        nextGate = gate;
+        StubEmitter slow = (StubEmitter) subscribe(1L);
+        StubEmitter fast = (StubEmitter) subscribe(1L);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(slow.sent).hasSize(1);
+            assertThat(fast.sent).hasSize(1);
+        });
+
+        for (int i = 1; i <= 3; i++) {
+            eventBus.publish(changed(1L, DeliveryStatus.READY, DeliveryStatus.SHIPPED, i));
+            int expected = i + 1;
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(fast.sent).hasSize(expected));
+        }
+
+        assertThat(service.getEvictedCount()).isEqualTo(1);
+        assertThat(slow.completed).isTrue();
+        assertThat(fast.completed).isFalse();
+        assertThat(service.getSubscriberCount()).isEqualTo(1);
+        gate.countDown();
+    }
+
+    @Test
+    @DisplayName("하트비트는 구독자마다 주석 한 줄로 보낸다")
+    void heartbeat_sendsComment() {
+        StubEmitter emitter = (StubEmitter) subscribe(1L);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(emitter.sent).hasSize(1));
+
+        service.heartbeat();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(emitter.sent).hasSize(2).last().asString().contains(":heartbeat"));
+    }
+
+    @Test
+    @DisplayName("구독자 상한을 넘으면 거절하고, 자리가 나면 다시 받는다")
+    void subscriberLimit() {
+        properties.setMaxSubscribers(1);
+        StubEmitter first = (StubEmitter) subscribe(1L);
+
+        assertThatThrownBy(() -> subscribe(2L))
+                .isInstanceOf(DeliveryException.class)
+                .extracting(e -> ((DeliveryException) e).getExceptionType())
+                .isEqualTo(DeliveryExceptionType.STREAM_SUBSCRIBER_LIMIT_EXCEEDED);
+        assertThat(service.getSubscriberCount()).isEqualTo(1);
+
+        first.timeout();
+
+        assertThat(subscribe(2L)).isNotNull();
+        assertThat(service.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("타임아웃·완료·오류 콜백이 겹쳐도 구독자는 한 번만 정리되고 이후 변경을 받지 않는다")
+    void callbacks_cleanUpOnce() {
+        StubEmitter timedOut = (StubEmitter) subscribe(1L);
+        StubEmitter failed = (StubEmitter) subscribe(2L);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(timedOut.sent).hasSize(1));
+
+        timedOut.timeout();
+        timedOut.complete();
+        failed.error(new IOException("broken pipe"));
+        eventBus.publish(changed(1L, DeliveryStatus.READY, DeliveryStatus.SHIPPED, 1));
+
+        assertThat(service.getSubscriberCount()).isZero();
+        assertThat(timedOut.sent).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("종료 상태를 보내면 스트림을 닫는다")
+    void terminalStatus_completesStream() {
+        StubEmitter emitter = (StubEmitter) subscribe(1L);
+
+        eventBus.publish(changed(1L, DeliveryStatus.SHIPPED, DeliveryStatus.DELIVERED, 1));
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(emitter.completed).isTrue());
+        assertThat(emitter.sent).last().asString().contains("DELIVERED");
+        assertThat(service.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("스냅샷을 읽는 사이에 커밋된 변경도 전달하고, 스냅샷에 이미 반영된 변경은 다시 보내지 않는다")
+    void changesDuringSnapshotRead_deliveredAfterSnapshot() {
+        StubEmitter emitter = (StubEmitter) service.subscribe(1L, () -> {
+            eventBus.publish(changed(1L, DeliveryStatus.SHIPPED, DeliveryStatus.READY, -1));
+            eventBus.publish(changed(1L, DeliveryStatus.READY, DeliveryStatus.SHIPPED, 1));
+            return snapshot(1L);
+        });
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(emitter.sent).satisfiesExactly(
+                        first -> assertThat(first).contains("data:READY"),
+                        second -> assertThat(second).contains("data:SHIPPED")));
+        eventBus.publish(changed(1L, DeliveryStatus.SHIPPED, DeliveryStatus.READY, 0));
+        eventBus.publish(changed(1L, DeliveryStatus.SHIPPED, DeliveryStatus.DELIVERED, 2));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(emitter.sent).hasSize(3).last().asString().contains("data:DELIVERED"));
+    }
+
+    @Test
+    @DisplayName("스냅샷을 읽지 못하면 등록한 구독자를 정리하고 예외를 그대로 던진다")
+    void snapshotFailure_removesSubscriber() {
+        assertThatThrownBy(() -> service.subscribe(1L, () -> {
+            throw new DeliveryException(DeliveryExceptionType.DELIVERY_NOT_FOUND);
+        })).isInstanceOf(DeliveryException.class);
+
+        assertThat(service.getSubscriberCount()).isZero();
+    }
+
+    private SseEmitter subscribe(Long orderId) {
+        return service.subscribe(orderId, () -> snapshot(orderId));
+    }
+
+    private DeliveryResponse snapshot(Long orderId) {
+        return new DeliveryResponse(orderId, orderId, DeliveryStatus.READY, null, null, null, null, null, now, now,
+                null);
+    }
+
+    private DeliveryChangedEvent changed(Long orderId, DeliveryStatus from, DeliveryStatus to, int seconds) {
+        return DeliveryChangedEvent.builder()
+                .orderId(orderId)
+                .previousStatus(from)
+                .status(to)
+                .changedAt(now.plusSeconds(seconds))
+                .build();
+    }
+
+    /**
+     * 보낸 이벤트를 문자열로 남기는 SseEmitter. gate가 있으면 첫 전송에서 멈춰 느린 클라이언트를 흉내 낸다.
+     */
+    private static final class StubEmitter extends SseEmitter {
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final List<Runnable> completionCallbacks = new CopyOnWriteArrayList<>();
+        private final List<Runnable> timeoutCallbacks = new CopyOnWriteArrayList<>();
+        private final List<Consumer<Throwable>> errorCallbacks = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate;
+        private volatile boolean completed;
+
+        private StubEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sent.add(builder.build().stream()
+                    .map(data -> data.getData() instanceof DeliveryStatusResponse response
+                            ? response.getStatus().name()
+                            : String.valueOf(data.getData()))
+                    .collect(Collectors.joining()));
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            completionCallbacks.forEach(Runnable::run);
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completionCallbacks.add(callback);
+        }
+
+        @Override
+        public void onTimeout(Runnable callback) {
+            timeoutCallbacks.add(callback);
+        }
+
+        @Override
+        public void onError(Consumer<Throwable> callback) {
+            errorCallbacks.add(callback);
+        }
+
+        private void timeout() {
+            timeoutCallbacks.forEach(Runnable::run);
+        }
+
+        private void error(Throwable t) {
+            errorCallbacks.forEach(callback -> callback.accept(t));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.fortishop.deliveryservice.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumMap;
+import java.util.Map;
+import org.fortishop.deliveryservice.support.QueryCounter.Kind;
+
+/**
+ * 작업 하나가 실행한 SQL 수를 종류별로 정확히 검증한다. 지정하지 않은 종류는 0이어야 한다.
+ * <pre>
+ * assertQueries(() -> deliveryService.startDelivery(orderId, request), select(2), update(1));
+ * </pre>
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static Expected select(int count) {
+        return new Expected(Kind.SELECT, count);
+    }
+
+    public static Expected insert(int count) {
+        return new Expected(Kind.INSERT, count);
+    }
+
+    public static Expected update(int count) {
+        return new Expected(Kind.UPDATE, count);
+    }
+
+    public static Expected delete(int count) {
+        return new Expected(Kind.DELETE, count);
+    }
+
+    public static void assertQueries(ThrowingRunnable action, Expected... expected) {
+        Map<Kind, Integer> expectedCounts = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            expectedCounts.put(kind, 0);
+        }
+        for (Expected expectation : expected) {
+            expectedCounts.put(expectation.kind(), expectation.count());
+        }
+
+        QueryCounter.reset();
+        try {
+            action.run();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+        assertThat(QueryCounter.snapshot()).as("실행한 SQL 수").isEqualTo(expectedCounts);
+    }
+
+    public record Expected(Kind kind, int count) {
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Throwable;
+    }
+}
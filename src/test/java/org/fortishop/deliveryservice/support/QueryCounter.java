@@ -0,0 +1,58 @@
+package org.fortishop.deliveryservice.support;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate가 준비하는 SQL을 종류별로 센다.
+ * hibernate.session_factory.statement_inspector에 등록하며, 테스트는 순차 실행이므로 전역 카운터를 쓴다.
+ */
+public class QueryCounter implements StatementInspector {
+    private static final Map<Kind, AtomicInteger> COUNTS = new EnumMap<>(Kind.class);
+
+    static {
+        for (Kind kind : Kind.values()) {
+            COUNTS.put(kind, new AtomicInteger());
+        }
+    }
+
+    public enum Kind {
+        SELECT, INSERT, UPDATE, DELETE, OTHER
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNTS.get(kindOf(sql)).incrementAndGet();
+        return sql;
+    }
+
+    public static void reset() {
+        COUNTS.values().forEach(count -> count.set(0));
+    }
+
+    public static Map<Kind, Integer> snapshot() {
+        Map<Kind, Integer> snapshot = new EnumMap<>(Kind.class);
+        COUNTS.forEach((kind, count) -> snapshot.put(kind, count.get()));
+        return snapshot;
+    }
+
+    private static Kind kindOf(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (head.startsWith("select") || head.startsWith("with")) {
+            return Kind.SELECT;
+        }
+        if (head.startsWith("insert")) {
+            return Kind.INSERT;
+        }
+        if (head.startsWith("update")) {
+            return Kind.UPDATE;
+        }
+        if (head.startsWith("delete")) {
+            return Kind.DELETE;
+        }
+        return Kind.OTHER;
+    }
+}